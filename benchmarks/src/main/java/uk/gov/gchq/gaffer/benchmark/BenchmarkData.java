@@ -0,0 +1,123 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * The schema, elements, views and seeds shared by the benchmarks. The elements are
+ * generated from a fixed random seed so every run of a benchmark uses the same data.
+ */
+public final class BenchmarkData {
+    public static final String ENTITY_GROUP = "BasicEntity";
+    public static final String EDGE_GROUP = "BasicEdge";
+    public static final String COUNT = "count";
+    public static final String PROPERTY_1 = "property1";
+
+    private static final long RANDOM_SEED = 1234L;
+
+    private BenchmarkData() {
+        // Private constructor to prevent instantiation.
+    }
+
+    public static Schema createSchema() {
+        return Schema.fromJson(StreamUtil.openStream(BenchmarkData.class, "/benchmarkSchema.json"));
+    }
+
+    /**
+     * Creates an entity for each vertex and the given number of edges, each from
+     * a random vertex to a random vertex. Where the same edge is created twice the
+     * elements will be aggregated together.
+     *
+     * @param numVertices the number of vertices
+     * @param numEdges    the number of edges
+     * @return the elements
+     */
+    public static List<Element> createElements(final int numVertices, final int numEdges) {
+        final Random random = new Random(RANDOM_SEED);
+        final List<Element> elements = new ArrayList<>(numVertices + numEdges);
+        for (int i = 0; i < numVertices; i++) {
+            elements.add(new Entity.Builder()
+                    .group(ENTITY_GROUP)
+                    .vertex(vertex(i))
+                    .property(COUNT, (long) random.nextInt(10))
+                    .property(PROPERTY_1, "e")
+                    .build());
+        }
+        for (int i = 0; i < numEdges; i++) {
+            elements.add(new Edge.Builder()
+                    .group(EDGE_GROUP)
+                    .source(vertex(random.nextInt(numVertices)))
+                    .dest(vertex(random.nextInt(numVertices)))
+                    .directed(random.nextBoolean())
+                    .property(COUNT, (long) random.nextInt(10))
+                    .property(PROPERTY_1, "e")
+                    .build());
+        }
+        return elements;
+    }
+
+    /**
+     * Creates seeds for the given number of vertices, spread evenly across the vertices.
+     *
+     * @param numVertices the number of vertices in the graph
+     * @param numSeeds    the number of seeds
+     * @return the seeds
+     */
+    public static List<EntitySeed> createSeeds(final int numVertices, final int numSeeds) {
+        final List<EntitySeed> seeds = new ArrayList<>(numSeeds);
+        final int step = Math.max(1, numVertices / numSeeds);
+        for (int i = 0; i < numSeeds; i++) {
+            seeds.add(new EntitySeed(vertex((i * step) % numVertices)));
+        }
+        return seeds;
+    }
+
+    /**
+     * @return a view containing both groups, with a pre aggregation filter on the count property
+     */
+    public static View createFilteringView() {
+        final ElementFilter countFilter = new ElementFilter.Builder()
+                .select(COUNT)
+                .execute(new IsMoreThan(5L))
+                .build();
+        return new View.Builder()
+                .entity(ENTITY_GROUP, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(countFilter)
+                        .build())
+                .edge(EDGE_GROUP, new ViewElementDefinition.Builder()
+                        .preAggregationFilter(countFilter)
+                        .build())
+                .build();
+    }
+
+    public static String vertex(final int i) {
+        return "vertex" + i;
+    }
+}
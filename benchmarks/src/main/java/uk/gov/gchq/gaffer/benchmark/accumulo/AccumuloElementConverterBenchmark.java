@@ -0,0 +1,99 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.accumulo;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Value;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.classic.ClassicAccumuloElementConverter;
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks converting elements to and from Accumulo keys and values with the
+ * byte entity and classic {@link AccumuloElementConverter}s.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AccumuloElementConverterBenchmark {
+    private static final int NUM_ELEMENTS = 1000;
+
+    @Param({"byteEntity", "classic"})
+    private String keyPackage;
+
+    private AccumuloElementConverter converter;
+    private List<Element> elements;
+    private List<Key> keys;
+    private List<Value> values;
+
+    @Setup
+    public void setup() {
+        final Schema schema = BenchmarkData.createSchema();
+        if ("classic".equals(keyPackage)) {
+            converter = new ClassicAccumuloElementConverter(schema);
+        } else {
+            converter = new ByteEntityAccumuloElementConverter(schema);
+        }
+
+        elements = BenchmarkData.createElements(NUM_ELEMENTS / 10, NUM_ELEMENTS - NUM_ELEMENTS / 10);
+        keys = new ArrayList<>(elements.size());
+        values = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            keys.add(converter.getKeysFromElement(element).getFirst());
+            values.add(converter.getValueFromElement(element));
+        }
+    }
+
+    @Benchmark
+    public void elementToKeysAndValue(final Blackhole blackhole) {
+        for (final Element element : elements) {
+            final Pair<Key, Key> elementKeys = converter.getKeysFromElement(element);
+            blackhole.consume(elementKeys);
+            blackhole.consume(converter.getValueFromElement(element));
+        }
+    }
+
+    @Benchmark
+    public void keyAndValueToElement(final Blackhole blackhole) {
+        for (int i = 0; i < keys.size(); i++) {
+            blackhole.consume(converter.getFullElement(keys.get(i), values.get(i), false));
+        }
+    }
+}
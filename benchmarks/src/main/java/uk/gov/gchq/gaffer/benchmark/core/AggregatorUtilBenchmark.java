@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Benchmarks ingest and query aggregation using {@link AggregatorUtil}.
+ * Each edge is expected to be aggregated with roughly one other edge.
+ * The aggregation updates the properties of the elements it merges, so each
+ * invocation aggregates a fresh copy of the elements.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class AggregatorUtilBenchmark {
+    @Param({"10000", "100000"})
+    private int numElements;
+
+    private Schema schema;
+    private View view;
+    private List<Element> elements;
+    private List<Element> input;
+
+    @Setup
+    public void setup() {
+        schema = BenchmarkData.createSchema();
+        view = new View.Builder()
+                .entity(BenchmarkData.ENTITY_GROUP)
+                .edge(BenchmarkData.EDGE_GROUP)
+                .build();
+        // Roughly square root of the number of edges as vertices gives many duplicate edges
+        final int numVertices = (int) Math.sqrt(numElements);
+        elements = BenchmarkData.createElements(numVertices, numElements - numVertices);
+    }
+
+    @Setup(Level.Invocation)
+    public void copyElements() {
+        input = elements.stream().map(Element::shallowClone).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void ingestAggregate(final Blackhole blackhole) {
+        for (final Element element : AggregatorUtil.ingestAggregate(input, schema)) {
+            blackhole.consume(element);
+        }
+    }
+
+    @Benchmark
+    public void queryAggregate(final Blackhole blackhole) {
+        for (final Element element : AggregatorUtil.queryAggregate(input, schema, view)) {
+            blackhole.consume(element);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.store.ElementValidator;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks validating elements against the schema with an {@link ElementValidator}
+ * and filtering them with the pre aggregation filters of a {@link uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ElementFilterBenchmark {
+    private static final int NUM_ELEMENTS = 10000;
+
+    private ElementValidator schemaValidator;
+    private ElementValidator viewValidator;
+    private View view;
+    private List<Element> elements;
+
+    @Setup
+    public void setup() {
+        schemaValidator = new ElementValidator(BenchmarkData.createSchema());
+        view = BenchmarkData.createFilteringView();
+        viewValidator = new ElementValidator(view);
+        elements = BenchmarkData.createElements(NUM_ELEMENTS / 10, NUM_ELEMENTS - NUM_ELEMENTS / 10);
+    }
+
+    @Benchmark
+    public int validateWithSchema() {
+        int valid = 0;
+        for (final Element element : elements) {
+            if (schemaValidator.validate(element)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int validateWithView() {
+        int valid = 0;
+        for (final Element element : elements) {
+            if (viewValidator.validateInput(element)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+
+    @Benchmark
+    public int preAggregationFilter() {
+        int valid = 0;
+        for (final Element element : elements) {
+            if (view.getElement(element.getGroup()).getPreAggregationFilter().test(element)) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks serialising elements to JSON and back using the {@link JSONSerialiser}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class JSONSerialiserBenchmark {
+    private static final int NUM_ELEMENTS = 1000;
+
+    private List<Element> elements;
+    private List<byte[]> serialisedElements;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        elements = BenchmarkData.createElements(NUM_ELEMENTS / 10, NUM_ELEMENTS - NUM_ELEMENTS / 10);
+        serialisedElements = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            serialisedElements.add(JSONSerialiser.serialise(element));
+        }
+    }
+
+    @Benchmark
+    public void serialise(final Blackhole blackhole) throws SerialisationException {
+        for (final Element element : elements) {
+            blackhole.consume(JSONSerialiser.serialise(element));
+        }
+    }
+
+    @Benchmark
+    public void deserialise(final Blackhole blackhole) throws SerialisationException {
+        for (final byte[] json : serialisedElements) {
+            blackhole.consume(JSONSerialiser.deserialise(json, Element.class));
+        }
+    }
+}
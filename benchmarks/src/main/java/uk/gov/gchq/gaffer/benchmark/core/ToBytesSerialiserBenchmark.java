@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.core;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.BooleanSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDateSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+
+import java.util.Date;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+/**
+ * Benchmarks serialising and deserialising values with the commonly used
+ * {@link ToBytesSerialiser} implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class ToBytesSerialiserBenchmark {
+    private static final int NUM_VALUES = 1000;
+
+    @Param({"CompactRawLongSerialiser", "CompactRawIntegerSerialiser", "OrderedLongSerialiser",
+            "OrderedDateSerialiser", "StringSerialiser", "BooleanSerialiser"})
+    private String serialiserName;
+
+    private ToBytesSerialiser<Object> serialiser;
+    private Object[] values;
+    private byte[][] serialisedValues;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        final Random random = new Random(1234L);
+        final IntFunction<Object> valueGenerator;
+        switch (serialiserName) {
+            case "CompactRawLongSerialiser":
+                serialiser = cast(new CompactRawLongSerialiser());
+                valueGenerator = i -> random.nextLong();
+                break;
+            case "CompactRawIntegerSerialiser":
+                serialiser = cast(new CompactRawIntegerSerialiser());
+                valueGenerator = i -> random.nextInt();
+                break;
+            case "OrderedLongSerialiser":
+                serialiser = cast(new OrderedLongSerialiser());
+                valueGenerator = i -> random.nextLong();
+                break;
+            case "OrderedDateSerialiser":
+                serialiser = cast(new OrderedDateSerialiser());
+                valueGenerator = i -> new Date(Math.abs(random.nextLong()) % 4102444800000L);
+                break;
+            case "StringSerialiser":
+                serialiser = cast(new StringSerialiser());
+                valueGenerator = i -> "vertex" + random.nextInt();
+                break;
+            case "BooleanSerialiser":
+                serialiser = cast(new BooleanSerialiser());
+                valueGenerator = i -> random.nextBoolean();
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown serialiser " + serialiserName);
+        }
+
+        values = new Object[NUM_VALUES];
+        serialisedValues = new byte[NUM_VALUES][];
+        for (int i = 0; i < NUM_VALUES; i++) {
+            values[i] = valueGenerator.apply(i);
+            serialisedValues[i] = serialiser.serialise(values[i]);
+        }
+    }
+
+    @Benchmark
+    public void serialise(final Blackhole blackhole) throws SerialisationException {
+        for (final Object value : values) {
+            blackhole.consume(serialiser.serialise(value));
+        }
+    }
+
+    @Benchmark
+    public void deserialise(final Blackhole blackhole) throws SerialisationException {
+        for (final byte[] bytes : serialisedValues) {
+            blackhole.consume(serialiser.deserialise(bytes));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ToBytesSerialiser<Object> cast(final ToBytesSerialiser<?> serialiser) {
+        return (ToBytesSerialiser<Object>) serialiser;
+    }
+}
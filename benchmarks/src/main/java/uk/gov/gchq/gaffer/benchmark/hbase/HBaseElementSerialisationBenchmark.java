@@ -0,0 +1,85 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.hbase;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.client.Put;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks converting elements to and from HBase puts and cells with the
+ * {@link ElementSerialisation}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HBaseElementSerialisationBenchmark {
+    private static final int NUM_ELEMENTS = 1000;
+
+    private ElementSerialisation serialisation;
+    private List<Element> elements;
+    private List<Cell> cells;
+
+    @Setup
+    public void setup() throws SerialisationException {
+        serialisation = new ElementSerialisation(BenchmarkData.createSchema());
+        elements = BenchmarkData.createElements(NUM_ELEMENTS / 10, NUM_ELEMENTS - NUM_ELEMENTS / 10);
+        cells = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            final Put put = serialisation.getPuts(element).getFirst();
+            cells.add(put.get(HBaseStoreConstants.getColFam(), serialisation.getColumnQualifier(element)).get(0));
+        }
+    }
+
+    @Benchmark
+    public void elementToPuts(final Blackhole blackhole) throws SerialisationException {
+        for (final Element element : elements) {
+            final Pair<Put, Put> puts = serialisation.getPuts(element);
+            blackhole.consume(puts);
+        }
+    }
+
+    @Benchmark
+    public void cellToElement(final Blackhole blackhole) throws SerialisationException {
+        for (final Cell cell : cells) {
+            blackhole.consume(serialisation.getElement(cell, false));
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.parquet;
+
+import org.apache.commons.io.FileUtils;
+
+import uk.gov.gchq.gaffer.benchmark.store.AbstractStoreBenchmark;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * End to end benchmarks for the {@link uk.gov.gchq.gaffer.parquetstore.ParquetStore},
+ * storing the graph in a local temporary directory and using a local Spark master.
+ */
+public class ParquetStoreBenchmark extends AbstractStoreBenchmark {
+    private final Map<String, File> dataDirs = new HashMap<>();
+
+    @Override
+    protected Graph createGraph(final String graphId) throws IOException {
+        final File dataDir = Files.createTempDirectory(graphId).toFile();
+        dataDirs.put(graphId, dataDir);
+
+        final ParquetStoreProperties properties = new ParquetStoreProperties();
+        properties.setDataDir(new File(dataDir, "data").getAbsolutePath());
+        properties.setTempFilesDir(new File(dataDir, "tmp").getAbsolutePath());
+        properties.setSparkMaster("local[*]");
+
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .addSchema(Schema.fromJson(StreamUtil.openStream(getClass(), "/parquetBenchmarkSchema.json")))
+                .storeProperties(properties)
+                .build();
+    }
+
+    @Override
+    protected void deleteGraph(final Graph graph) throws IOException {
+        final File dataDir = dataDirs.remove(graph.getGraphId());
+        if (null != dataDir) {
+            FileUtils.deleteDirectory(dataDir);
+        }
+    }
+}
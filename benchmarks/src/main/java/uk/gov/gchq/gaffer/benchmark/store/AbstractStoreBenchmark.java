@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.store;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.infra.Blackhole;
+
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Base class for the end to end benchmarks, which run {@link AddElements},
+ * {@link GetElements} and {@link GetAllElements} against a {@link Graph}.
+ * Subclasses provide the graph for the store being benchmarked.
+ * <p>
+ * The queries all read the same graph, which is loaded once. Each
+ * {@link AddElements} invocation adds the elements to a new, empty, graph so
+ * that it does not depend on how many times it has run before.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public abstract class AbstractStoreBenchmark {
+    protected static final int NUM_VERTICES = 1000;
+    protected static final int NUM_EDGES = 10000;
+    protected static final int NUM_SEEDS = 100;
+
+    private final User user = new User();
+    private final AtomicInteger graphCount = new AtomicInteger();
+    private Graph graph;
+    private Graph ingestGraph;
+    private List<Element> elements;
+    private List<EntitySeed> seeds;
+
+    /**
+     * Creates the graph to benchmark. Each call must return a new, empty, graph.
+     *
+     * @param graphId the graph id
+     * @return the graph
+     * @throws Exception if the graph could not be created
+     */
+    protected abstract Graph createGraph(final String graphId) throws Exception;
+
+    /**
+     * Deletes the data of a graph created by {@link #createGraph(String)}, if
+     * the data would not otherwise be released when the graph is no longer used.
+     *
+     * @param graph the graph to delete
+     * @throws Exception if the graph could not be deleted
+     */
+    protected void deleteGraph(final Graph graph) throws Exception {
+        // The data of most stores is released with the graph
+    }
+
+    @Setup
+    public void setup() throws Exception {
+        graph = createGraph(nextGraphId());
+        elements = BenchmarkData.createElements(NUM_VERTICES, NUM_EDGES);
+        seeds = BenchmarkData.createSeeds(NUM_VERTICES, NUM_SEEDS);
+        addElements(graph);
+    }
+
+    @Setup(Level.Invocation)
+    public void createIngestGraph(final BenchmarkParams params) throws Exception {
+        // Only the ingest benchmark needs a new graph for each invocation
+        if (params.getBenchmark().endsWith(".addElements")) {
+            ingestGraph = createGraph(nextGraphId());
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void deleteIngestGraph() throws Exception {
+        if (null != ingestGraph) {
+            deleteGraph(ingestGraph);
+            ingestGraph = null;
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        deleteGraph(graph);
+    }
+
+    /**
+     * Adds the elements to an empty graph.
+     *
+     * @throws OperationException if the operation fails
+     */
+    @Benchmark
+    public void addElements() throws OperationException {
+        addElements(ingestGraph);
+    }
+
+    @Benchmark
+    public void getElements(final Blackhole blackhole) throws OperationException {
+        consume(graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .build(), user), blackhole);
+    }
+
+    @Benchmark
+    public void getAllElements(final Blackhole blackhole) throws OperationException {
+        consume(graph.execute(new GetAllElements(), user), blackhole);
+    }
+
+    protected Graph getGraph() {
+        return graph;
+    }
+
+    private void addElements(final Graph target) throws OperationException {
+        target.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), user);
+    }
+
+    private String nextGraphId() {
+        return getClass().getSimpleName() + System.currentTimeMillis() + "_" + graphCount.incrementAndGet();
+    }
+
+    private static void consume(final CloseableIterable<? extends Element> results, final Blackhole blackhole) {
+        try (final CloseableIterable<? extends Element> closeableResults = results) {
+            for (final Element element : closeableResults) {
+                blackhole.consume(element);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.benchmark.store;
+
+import org.apache.accumulo.core.client.mock.MockInstance;
+import org.apache.accumulo.core.client.security.tokens.PasswordToken;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.MockAccumuloStore;
+import uk.gov.gchq.gaffer.benchmark.BenchmarkData;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+
+/**
+ * End to end benchmarks for the {@link MockAccumuloStore}. This measures the Gaffer
+ * code and the Accumulo iterators rather than the performance of a real Accumulo cluster.
+ */
+public class MockAccumuloStoreBenchmark extends AbstractStoreBenchmark {
+    private static final String INSTANCE = "benchmarkInstance";
+    private static final String USER = "user";
+    private static final String PASSWORD = "password";
+
+    @Override
+    protected Graph createGraph(final String graphId) {
+        final AccumuloProperties properties = new AccumuloProperties();
+        properties.setStoreClass(MockAccumuloStore.class);
+        properties.setInstance(INSTANCE);
+        properties.setZookeepers("benchmarkZookeeper");
+        properties.setUser(USER);
+        properties.setPassword(PASSWORD);
+
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId(graphId)
+                        .build())
+                .addSchema(BenchmarkData.createSchema())
+                .storeProperties(properties)
+                .build();
+    }
+
+    @Override
+    protected void deleteGraph(final Graph graph) throws Exception {
+        // The mock instances are held statically, so the table of each graph must be deleted
+        new MockInstance(INSTANCE).getConnector(USER, new PasswordToken(PASSWORD))
+                .tableOperations()
+                .delete(graph.getGraphId());
+    }
+}
@@ -16,31 +16,68 @@
 
 package uk.gov.gchq.gaffer.cache.impl;
 
-import com.google.common.collect.Lists;
-
 import uk.gov.gchq.gaffer.cache.ICache;
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * Simple implementation of the {@link ICache} interface, using a {@link HashMap}
- * as the cache data store.
+ * Simple implementation of the {@link ICache} interface, using a {@link java.util.HashMap}
+ * as the cache data store. The cache is safe to use from multiple threads.
+ * <p>
+ * The cache can optionally be bounded, in which case the least recently used entry is
+ * evicted when a new entry would exceed the maximum size, and can optionally
+ * expire entries a fixed time after they were added. Counts of the cache hits, misses and
+ * evictions are kept to help size the cache.
  *
  * @param <K> The object type that acts as the key for the HashMap
  * @param <V> The value that is stored in the HashMap
  */
 public class HashMapCache<K, V> implements ICache<K, V> {
     private static final JavaSerialiser JAVA_SERIALISER = new JavaSerialiser();
-    private boolean useJavaSerialisation;
-    private HashMap<K, Object> cache = new HashMap<>();
+    private final boolean useJavaSerialisation;
+    private final int maxSize;
+    private final long timeToLiveMillis;
+    private final LinkedHashMap<K, CacheEntry> cache;
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
 
-    public HashMapCache(final boolean useJavaSerialisation) {
+    /**
+     * @param useJavaSerialisation true if the values should be stored Java serialised
+     * @param maxSize              the maximum number of entries, or less than 1 for an unbounded cache
+     * @param timeToLiveMillis     the number of milliseconds after which entries expire, or less than 1 if entries should not expire
+     */
+    public HashMapCache(final boolean useJavaSerialisation, final int maxSize, final long timeToLiveMillis) {
         this.useJavaSerialisation = useJavaSerialisation;
+        this.maxSize = maxSize;
+        this.timeToLiveMillis = timeToLiveMillis;
+        this.cache = new LinkedHashMap<K, CacheEntry>(16, 0.75f, maxSize > 0) {
+            private static final long serialVersionUID = -5471853349880788011L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<K, CacheEntry> eldest) {
+                final boolean evict = HashMapCache.this.maxSize > 0 && size() > HashMapCache.this.maxSize;
+                if (evict) {
+                    evictionCount.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    public HashMapCache(final boolean useJavaSerialisation) {
+        this(useJavaSerialisation, 0, 0);
     }
 
     public HashMapCache() {
@@ -49,63 +86,184 @@ public class HashMapCache<K, V> implements ICache<K, V> {
 
     @Override
     public V get(final K key) {
-        try {
-            return (V) (useJavaSerialisation
-                    ? JAVA_SERIALISER.deserialise((byte[]) cache.get(key))
-                    : cache.get(key));
-        } catch (final SerialisationException e) {
-            throw new RuntimeException(e);
+        final Object value;
+        synchronized (cache) {
+            final CacheEntry entry = cache.get(key);
+            if (null == entry) {
+                value = null;
+            } else if (entry.hasExpired(System.currentTimeMillis())) {
+                cache.remove(key);
+                evictionCount.incrementAndGet();
+                value = null;
+            } else {
+                value = entry.value;
+            }
         }
+
+        if (null == value) {
+            missCount.incrementAndGet();
+            return null;
+        }
+        hitCount.incrementAndGet();
+        return fromCacheValue(value);
     }
 
     @Override
     public void put(final K key, final V value) {
-        if (useJavaSerialisation) {
-            try {
-                cache.put(key, JAVA_SERIALISER.serialise(value));
-            } catch (final SerialisationException e) {
-                throw new RuntimeException(e);
+        final CacheEntry entry = createEntry(value);
+        synchronized (cache) {
+            cache.put(key, entry);
+        }
+    }
+
+    /**
+     * Adds the value to the cache if there is no existing value for the key. The check and the
+     * addition are made atomically, so only one of a number of concurrent calls can add the value.
+     *
+     * @param key   the key to add
+     * @param value the value to add
+     * @throws OverwritingException if the key already has a value in the cache
+     */
+    @Override
+    public void putSafe(final K key, final V value) throws OverwritingException {
+        final CacheEntry entry = createEntry(value);
+        synchronized (cache) {
+            final CacheEntry existing = cache.get(key);
+            if (null != existing && null == existing.value) {
+                cache.remove(key);
+            } else if (null != existing && existing.hasExpired(System.currentTimeMillis())) {
+                cache.remove(key);
+                evictionCount.incrementAndGet();
+            }
+            if (null != cache.putIfAbsent(key, entry)) {
+                throw new OverwritingException("Cache entry already exists for key: " + key);
             }
-        } else {
-            cache.<K, V>put(key, value);
         }
     }
 
     @Override
     public void remove(final K key) {
-        cache.remove(key);
+        synchronized (cache) {
+            cache.remove(key);
+        }
     }
 
     @Override
     public Collection<V> getAllValues() {
-        ArrayList<V> rtn = Lists.newArrayList();
-        if (useJavaSerialisation) {
-            cache.values()
-                    .forEach((Object o) -> {
-                        try {
-                            rtn.add((V) JAVA_SERIALISER.deserialise((byte[]) o));
-                        } catch (final SerialisationException e) {
-                            throw new RuntimeException(e);
-                        }
-                    });
-        } else {
-            rtn.addAll((Collection<V>) cache.values());
+        final List<Object> values = new ArrayList<>();
+        synchronized (cache) {
+            removeExpired();
+            cache.values().forEach(entry -> values.add(entry.value));
         }
+
+        final List<V> rtn = new ArrayList<>(values.size());
+        values.forEach(value -> rtn.add(fromCacheValue(value)));
         return rtn;
     }
 
     @Override
     public Set<K> getAllKeys() {
-        return cache.keySet();
+        synchronized (cache) {
+            removeExpired();
+            return new HashSet<>(cache.keySet());
+        }
     }
 
     @Override
     public int size() {
-        return cache.size();
+        synchronized (cache) {
+            removeExpired();
+            return cache.size();
+        }
     }
 
     @Override
     public void clear() {
-        cache.clear();
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public long getTimeToLiveMillis() {
+        return timeToLiveMillis;
+    }
+
+    /**
+     * @return the number of times a value was found in the cache
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of times a value was not found in the cache
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of entries evicted as the cache was full or the entry had expired
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    private void removeExpired() {
+        if (timeToLiveMillis > 0) {
+            final long now = System.currentTimeMillis();
+            final Iterator<CacheEntry> itr = cache.values().iterator();
+            while (itr.hasNext()) {
+                if (itr.next().hasExpired(now)) {
+                    itr.remove();
+                    evictionCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private CacheEntry createEntry(final V value) {
+        return new CacheEntry(toCacheValue(value),
+                timeToLiveMillis > 0 ? System.currentTimeMillis() + timeToLiveMillis : Long.MAX_VALUE);
+    }
+
+    private Object toCacheValue(final V value) {
+        if (useJavaSerialisation) {
+            try {
+                return JAVA_SERIALISER.serialise(value);
+            } catch (final SerialisationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return value;
+    }
+
+    private V fromCacheValue(final Object value) {
+        if (useJavaSerialisation) {
+            try {
+                return (V) JAVA_SERIALISER.deserialise((byte[]) value);
+            } catch (final SerialisationException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return (V) value;
+    }
+
+    private static final class CacheEntry {
+        private final Object value;
+        private final long expiryTime;
+
+        private CacheEntry(final Object value, final long expiryTime) {
+            this.value = value;
+            this.expiryTime = expiryTime;
+        }
+
+        private boolean hasExpired(final long now) {
+            return now >= expiryTime;
+        }
     }
 }
@@ -19,26 +19,38 @@ package uk.gov.gchq.gaffer.cache.impl;
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.ICacheService;
 
-import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static uk.gov.gchq.gaffer.cache.util.CacheProperties.CACHE_MAX_SIZE;
+import static uk.gov.gchq.gaffer.cache.util.CacheProperties.CACHE_TIME_TO_LIVE_MILLIS;
 
 /**
  * Simple implementation of the {@link ICacheService} interface which uses a
  * {@link HashMapCache} as the cache implementation.
+ * The size and time to live of each cache are configured by its name using
+ * {@link uk.gov.gchq.gaffer.cache.util.CacheProperties#CACHE_MAX_SIZE} and
+ * {@link uk.gov.gchq.gaffer.cache.util.CacheProperties#CACHE_TIME_TO_LIVE_MILLIS},
+ * and caches are unbounded unless configured.
  */
 public class HashMapCacheService implements ICacheService {
     public static final String STATIC_CACHE = "gaffer.cache.hashmap.static";
     public static final String JAVA_SERIALISATION_CACHE = "gaffer.cache.hashmap.useJavaSerialisation";
-    private static final HashMap<String, HashMapCache> STATIC_CACHES = new HashMap<>();
-    private final HashMap<String, HashMapCache> nonStaticCaches = new HashMap<>();
+    private static final Map<String, HashMapCache> STATIC_CACHES = new ConcurrentHashMap<>();
+    private final Map<String, HashMapCache> nonStaticCaches = new ConcurrentHashMap<>();
     private boolean useJavaSerialisation = false;
+    private Properties properties = new Properties();
 
-    private HashMap<String, HashMapCache> caches = nonStaticCaches;
+    private Map<String, HashMapCache> caches = nonStaticCaches;
 
     @Override
     public void initialise(final Properties properties) {
         if (properties != null) {
             useJavaSerialisation = Boolean.parseBoolean(properties.getProperty(JAVA_SERIALISATION_CACHE));
+            this.properties = properties;
+        } else {
+            this.properties = new Properties();
         }
 
         if (properties != null && Boolean.parseBoolean(properties.getProperty(STATIC_CACHE))) {
@@ -55,8 +67,14 @@ public class HashMapCacheService implements ICacheService {
 
     @Override
     public <K, V> ICache<K, V> getCache(final String cacheName) {
-        HashMapCache<K, V> cache = caches.computeIfAbsent(cacheName, k -> new HashMapCache<>(useJavaSerialisation));
+        HashMapCache<K, V> cache = caches.computeIfAbsent(cacheName, k -> new HashMapCache<>(useJavaSerialisation,
+                Integer.parseInt(getCacheProperty(CACHE_MAX_SIZE, cacheName)),
+                Long.parseLong(getCacheProperty(CACHE_TIME_TO_LIVE_MILLIS, cacheName))));
 
         return cache;
     }
+
+    private String getCacheProperty(final String key, final String cacheName) {
+        return properties.getProperty(key + "." + cacheName, "0");
+    }
 }
@@ -35,4 +35,24 @@ public final class CacheProperties {
      */
     public static final String CACHE_CONFIG_FILE = "gaffer.cache.config.file";
 
+    /**
+     * Prefix of the property to use in order to define the maximum number of entries
+     * held by a single cache, which is set by appending "." and the cache name,
+     * e.g. gaffer.cache.maxSize.JobTracker=1000. Once the cache is full, the least
+     * recently used entry is evicted. Caches without a value, or with a value less
+     * than 1, are unbounded, so caches such as the named operations and federated
+     * graphs only evict entries if they are configured to.
+     * This is currently only supported by the HashMapCacheService.
+     */
+    public static final String CACHE_MAX_SIZE = "gaffer.cache.maxSize";
+
+    /**
+     * Prefix of the property to use in order to define the number of milliseconds after
+     * which an entry is evicted from a single cache, which is set by appending "." and
+     * the cache name. Entries in caches without a value, or with a value less than 1,
+     * do not expire.
+     * This is currently only supported by the HashMapCacheService.
+     */
+    public static final String CACHE_TIME_TO_LIVE_MILLIS = "gaffer.cache.timeToLiveMillis";
+
 }
@@ -24,8 +24,11 @@ import org.junit.Test;
 
 import uk.gov.gchq.gaffer.cache.ICache;
 import uk.gov.gchq.gaffer.cache.exception.CacheOperationException;
+import uk.gov.gchq.gaffer.cache.util.CacheProperties;
 import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 
+import java.util.Properties;
+
 import static org.junit.Assert.assertEquals;
 
 public class HashMapCacheServiceTest {
@@ -144,4 +147,23 @@ public class HashMapCacheServiceTest {
 
         Assert.assertThat(service.getAllValuesFromCache(CACHE_NAME), IsCollectionContaining.hasItems(1, 2, 3));
     }
+
+    @Test
+    public void shouldCreateCachesWithConfiguredSizeAndTimeToLive() {
+        // given
+        final Properties properties = new Properties();
+        properties.setProperty(CacheProperties.CACHE_MAX_SIZE + "." + CACHE_NAME, "2");
+        properties.setProperty(CacheProperties.CACHE_TIME_TO_LIVE_MILLIS + "." + CACHE_NAME, "1000");
+        service.initialise(properties);
+
+        // when
+        final HashMapCache cache = (HashMapCache) service.getCache(CACHE_NAME);
+        final HashMapCache otherCache = (HashMapCache) service.getCache("otherCache");
+
+        // then - caches that are not configured are unbounded
+        assertEquals(2, cache.getMaxSize());
+        assertEquals(1000L, cache.getTimeToLiveMillis());
+        assertEquals(0, otherCache.getMaxSize());
+        assertEquals(0L, otherCache.getTimeToLiveMillis());
+    }
 }
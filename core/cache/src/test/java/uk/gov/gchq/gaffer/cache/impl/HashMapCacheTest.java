@@ -17,14 +17,23 @@
 package uk.gov.gchq.gaffer.cache.impl;
 
 
+import com.google.common.collect.Sets;
 import org.hamcrest.core.IsCollectionContaining;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
+import uk.gov.gchq.gaffer.commonutil.exception.OverwritingException;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -158,4 +167,122 @@ public class HashMapCacheTest {
         TempClass tempClass = new TempClass();
         map.put("test1", tempClass);
     }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedEntryWhenFull() {
+        // given
+        final HashMapCache<String, Integer> boundedCache = new HashMapCache<>(false, 2, 0);
+        boundedCache.put("test1", 1);
+        boundedCache.put("test2", 2);
+        boundedCache.get("test1");
+
+        // when
+        boundedCache.put("test3", 3);
+
+        // then
+        assertEquals(2, boundedCache.size());
+        assertEquals(Sets.newHashSet("test1", "test3"), boundedCache.getAllKeys());
+        assertEquals(1, boundedCache.getEvictionCount());
+    }
+
+    @Test
+    public void shouldExpireEntriesAfterTimeToLive() throws InterruptedException {
+        // given
+        final HashMapCache<String, Integer> expiringCache = new HashMapCache<>(false, 0, 10);
+        expiringCache.put("test1", 1);
+
+        // when
+        Thread.sleep(50);
+
+        // then
+        assertNull(expiringCache.get("test1"));
+        assertEquals(0, expiringCache.size());
+        assertEquals(1, expiringCache.getEvictionCount());
+    }
+
+    @Test
+    public void shouldCountHitsAndMisses() {
+        // given
+        cache.put("test1", 1);
+
+        // when
+        cache.get("test1");
+        cache.get("test1");
+        cache.get("test2");
+
+        // then
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, cache.getEvictionCount());
+    }
+
+    @Test
+    public void shouldSupportConcurrentAccess() throws InterruptedException {
+        // given
+        final HashMapCache<Integer, Integer> boundedCache = new HashMapCache<>(false, 100, 0);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        // when
+        for (int thread = 0; thread < 4; thread++) {
+            final int offset = thread * 1000;
+            executor.submit(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    boundedCache.put(offset + i, i);
+                    boundedCache.get(offset + i);
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(100, boundedCache.size());
+        assertEquals(3900, boundedCache.getEvictionCount());
+    }
+
+    @Test
+    public void shouldOnlyAllowOneConcurrentPutSafeForAKey() throws InterruptedException {
+        // given
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        final CountDownLatch start = new CountDownLatch(1);
+        final AtomicInteger successes = new AtomicInteger();
+        final AtomicInteger failures = new AtomicInteger();
+
+        // when
+        for (int thread = 0; thread < 4; thread++) {
+            final int value = thread;
+            executor.submit(() -> {
+                start.await();
+                try {
+                    cache.putSafe("key", value);
+                    successes.incrementAndGet();
+                } catch (final OverwritingException e) {
+                    failures.incrementAndGet();
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        // then
+        assertEquals(1, successes.get());
+        assertEquals(3, failures.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void shouldPutSafeWhenExistingEntryHasExpired() throws Exception {
+        // given
+        final HashMapCache<String, Integer> expiringCache = new HashMapCache<>(false, 0, 50);
+        expiringCache.put("key", 1);
+        Thread.sleep(100);
+
+        // when
+        expiringCache.putSafe("key", 2);
+
+        // then
+        assertEquals(2, (int) expiringCache.get("key"));
+    }
 }
@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.function.Function;
+
+/**
+ * A {@code ParallelBatchIterator} splits an input iterator into batches and
+ * applies a function to each batch on an {@link Executor}, streaming
+ * back the results.
+ * <p>
+ * The input is only read on the thread consuming this iterator. At most
+ * {@code maxBatchesInFlight} batches are submitted at any one time, so a
+ * slow consumer holds back the producers rather than the results building
+ * up in memory. Results are returned in input order if {@code ordered} is
+ * true, otherwise each batch is returned as soon as it completes.
+ * </p>
+ * <p>
+ * If the consumer is waiting for a batch that the executor has not started,
+ * the batch is run on the consuming thread, so the iterator can use an
+ * executor that is shared with, or busy running, its consumer.
+ * </p>
+ * <p>
+ * Closing the iterator cancels any batches that are still running.
+ * </p>
+ *
+ * @param <I> the type of items in the input.
+ * @param <O> the type of items in the output.
+ */
+public class ParallelBatchIterator<I, O> implements CloseableIterator<O> {
+    private final Iterator<? extends I> input;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final boolean ordered;
+    private final Function<List<I>, Iterable<O>> batchFunction;
+    private final Executor executor;
+    private final Deque<BatchTask> inFlight = new ArrayDeque<>();
+    private final BlockingQueue<BatchTask> completed = new LinkedBlockingQueue<>();
+    private Iterator<O> current = Collections.emptyIterator();
+    private boolean closed;
+
+    public ParallelBatchIterator(final Iterator<? extends I> input,
+                                 final int batchSize,
+                                 final int maxBatchesInFlight,
+                                 final boolean ordered,
+                                 final Executor executor,
+                                 final Function<List<I>, Iterable<O>> batchFunction) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1");
+        }
+        if (maxBatchesInFlight < 1) {
+            throw new IllegalArgumentException("Maximum batches in flight must be at least 1");
+        }
+        this.input = input;
+        this.batchSize = batchSize;
+        this.maxBatchesInFlight = maxBatchesInFlight;
+        this.ordered = ordered;
+        this.batchFunction = batchFunction;
+        this.executor = executor;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!current.hasNext()) {
+            if (closed) {
+                return false;
+            }
+            submitBatches();
+            if (inFlight.isEmpty()) {
+                return false;
+            }
+            current = nextResult().iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public O next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        for (final BatchTask task : inFlight) {
+            task.cancel(true);
+        }
+        inFlight.clear();
+        completed.clear();
+        current = Collections.emptyIterator();
+        CloseableUtil.close(input);
+    }
+
+    private void submitBatches() {
+        while (inFlight.size() < maxBatchesInFlight && input.hasNext()) {
+            final List<I> batch = new ArrayList<>(batchSize);
+            while (batch.size() < batchSize && input.hasNext()) {
+                batch.add(input.next());
+            }
+            final BatchTask task = new BatchTask(batch);
+            inFlight.add(task);
+            executor.execute(task);
+        }
+    }
+
+    private Iterable<O> nextResult() {
+        try {
+            final BatchTask task;
+            if (ordered) {
+                task = inFlight.poll();
+            } else {
+                if (completed.isEmpty()) {
+                    // Make sure a batch completes even if the executor has not started any of them
+                    inFlight.peek().run();
+                }
+                task = completed.take();
+                inFlight.remove(task);
+            }
+            // Runs the batch here if the executor has not started it, otherwise this does nothing
+            task.run();
+            final Iterable<O> result = task.get();
+            // Keep the workers busy whilst this batch is consumed
+            submitBatches();
+            return null == result ? Collections.emptyList() : result;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            close();
+            throw new RuntimeException("Interrupted whilst waiting for batch results", e);
+        } catch (final ExecutionException e) {
+            close();
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new RuntimeException("Unable to process batch: " + e.getCause().getMessage(), e.getCause());
+        }
+    }
+
+    private final class BatchTask extends FutureTask<Iterable<O>> {
+        private BatchTask(final List<I> batch) {
+            super(() -> batchFunction.apply(batch));
+        }
+
+        @Override
+        protected void done() {
+            if (!ordered) {
+                completed.add(this);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.commonutil.iterable;
+
+import com.google.common.collect.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ParallelBatchIteratorTest {
+    private ExecutorService executor;
+
+    @Before
+    public void before() {
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void after() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldReturnResultsInInputOrderWhenOrdered() {
+        // Given
+        final List<Integer> input = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new ParallelBatchIterator<Integer, Integer>(
+                input.iterator(), 7, 4, true, executor, this::doubleWithRandomDelay));
+
+        // Then
+        assertEquals(input.stream().map(i -> i * 2).collect(Collectors.toList()), results);
+    }
+
+    @Test
+    public void shouldReturnAllResultsWhenUnordered() {
+        // Given
+        final List<Integer> input = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new ParallelBatchIterator<Integer, Integer>(
+                input.iterator(), 7, 4, false, executor, this::doubleWithRandomDelay));
+
+        // Then
+        Collections.sort(results);
+        assertEquals(input.stream().map(i -> i * 2).collect(Collectors.toList()), results);
+    }
+
+    @Test
+    public void shouldRunBatchesOnConsumingThreadWhenExecutorDoesNotRunThem() {
+        // Given
+        final List<Integer> input = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final Executor saturatedExecutor = runnable -> {
+        };
+
+        // When
+        final List<Integer> ordered = Lists.newArrayList(new ParallelBatchIterator<Integer, Integer>(
+                input.iterator(), 7, 4, true, saturatedExecutor, this::doubleWithRandomDelay));
+        final List<Integer> unordered = Lists.newArrayList(new ParallelBatchIterator<Integer, Integer>(
+                input.iterator(), 7, 4, false, saturatedExecutor, this::doubleWithRandomDelay));
+
+        // Then
+        final List<Integer> expected = input.stream().map(i -> i * 2).collect(Collectors.toList());
+        assertEquals(expected, ordered);
+        Collections.sort(unordered);
+        assertEquals(expected, unordered);
+    }
+
+    @Test
+    public void shouldHandleEmptyInput() {
+        // When
+        final ParallelBatchIterator<Integer, Integer> itr = new ParallelBatchIterator<>(
+                Collections.<Integer>emptyIterator(), 10, 2, true, executor, batch -> batch);
+
+        // Then
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldNotSubmitMoreThanMaxBatchesBeforeResultsAreConsumed() {
+        // Given
+        final AtomicInteger batchesProcessed = new AtomicInteger();
+        final List<Integer> input = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final ParallelBatchIterator<Integer, Integer> itr = new ParallelBatchIterator<>(
+                input.iterator(), 10, 2, true, executor, batch -> {
+            batchesProcessed.incrementAndGet();
+            return batch;
+        });
+
+        // When
+        itr.next();
+
+        // Then - first batch consumed and at most 2 more submitted
+        assertTrue(batchesProcessed.get() <= 3);
+        itr.close();
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldPropagateExceptionFromBatchFunction() {
+        // Given
+        final List<Integer> input = IntStream.range(0, 100).boxed().collect(Collectors.toList());
+        final ParallelBatchIterator<Integer, Integer> itr = new ParallelBatchIterator<>(
+                input.iterator(), 10, 2, true, executor, batch -> {
+            throw new IllegalStateException("batch failed");
+        });
+
+        // When / Then
+        try {
+            itr.hasNext();
+            fail("Exception expected");
+        } catch (final IllegalStateException e) {
+            assertEquals("batch failed", e.getMessage());
+        }
+    }
+
+    private Iterable<Integer> doubleWithRandomDelay(final List<Integer> batch) {
+        try {
+            Thread.sleep((long) (Math.random() * 3));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        final List<Integer> results = new ArrayList<>(batch.size());
+        for (final Integer item : batch) {
+            results.add(item * 2);
+        }
+        return results;
+    }
+}
@@ -19,20 +19,22 @@ package uk.gov.gchq.gaffer.data.elementdefinition.view;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Maps;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
-import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.JsonTemplate;
 
 import java.io.Serializable;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -51,6 +53,7 @@ public class NamedViewDetail implements Serializable {
     private String creatorId;
     private List<String> writeAccessRoles;
     private Map<String, ViewParameterDetail> parameters = Maps.newHashMap();
+    private transient volatile JsonTemplate viewTemplate;
 
     public NamedViewDetail() {
     }
@@ -92,6 +95,7 @@ public class NamedViewDetail implements Serializable {
     public void setView(final String view) {
         if (null != view) {
             this.view = view;
+            this.viewTemplate = null;
         } else {
             throw new IllegalArgumentException("View cannot be null");
         }
@@ -101,6 +105,7 @@ public class NamedViewDetail implements Serializable {
         if (null != view) {
             try {
                 this.view = new String(JSONSerialiser.serialise(view), Charset.forName(CHARSET_NAME));
+                this.viewTemplate = null;
             } catch (final SerialisationException se) {
                 throw new IllegalArgumentException(se.getMessage());
             }
@@ -152,29 +157,18 @@ public class NamedViewDetail implements Serializable {
      */
     @JsonIgnore
     public View getViewWithDefaultParams() {
-        String viewStringWithDefaults = view;
-
+        final Map<String, JsonNode> paramValues = new HashMap<>();
         if (null != parameters) {
             for (final Map.Entry<String, ViewParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    viewStringWithDefaults = viewStringWithDefaults.replace(buildParamNameString(paramKey),
-                            StringUtil.toString(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue())));
-                } catch (final SerialisationException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
+                paramValues.put(parameterDetailPair.getKey(), JsonTemplate.toJsonNode(parameterDetailPair.getValue().getDefaultValue()));
             }
         }
 
-        View view;
-
         try {
-            view = JSONSerialiser.deserialise(StringUtil.toBytes(viewStringWithDefaults), View.class);
+            return getViewTemplate().bind(paramValues, View.class);
         } catch (final Exception e) {
             throw new IllegalArgumentException(e.getMessage(), e);
         }
-        return view;
     }
 
     /**
@@ -186,7 +180,7 @@ public class NamedViewDetail implements Serializable {
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public View getView(final Map<String, Object> executionParams) {
-        String viewString = view;
+        final Map<String, JsonNode> paramValues = new HashMap<>();
 
         for (final Map.Entry<String, ViewParameterDetail> entry : parameters.entrySet()) {
             final String paramKey = entry.getKey();
@@ -202,22 +196,24 @@ public class NamedViewDetail implements Serializable {
                     throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
                 }
             }
-            try {
-                viewString = viewString.replace(buildParamNameString(paramKey),
-                        StringUtil.toString(JSONSerialiser.serialise(paramValueObj)));
-            } catch (final SerialisationException e) {
-                throw new IllegalArgumentException(e.getMessage());
-            }
+            paramValues.put(paramKey, JsonTemplate.toJsonNode(paramValueObj));
         }
 
-        View view;
-
         try {
-            view = JSONSerialiser.deserialise(StringUtil.toBytes(viewString), View.class);
+            return getViewTemplate().bind(paramValues, View.class);
         } catch (final Exception e) {
             throw new IllegalArgumentException(e.getMessage());
         }
-        return view;
+    }
+
+    private JsonTemplate getViewTemplate() throws SerialisationException {
+        // The template is compiled once, the first time this detail is used after the view is set
+        JsonTemplate template = viewTemplate;
+        if (null == template) {
+            template = JsonTemplate.compile(view);
+            viewTemplate = template;
+        }
+        return template;
     }
 
     @Override
@@ -267,11 +263,6 @@ public class NamedViewDetail implements Serializable {
                 .toString();
     }
 
-
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
     private boolean hasWriteAccess(final String userId, final Set<String> opAuths, final List<String> roles, final String adminAuth) {
         if (null != roles) {
             for (final String role : roles) {
@@ -22,9 +22,13 @@ import uk.gov.gchq.gaffer.commonutil.JsonAssert;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 public class NamedViewDetailTest {
     @Test
     public void shouldJsonSerialise() throws SerialisationException {
@@ -66,4 +70,32 @@ public class NamedViewDetailTest {
                 "  \"view\" : \"{\\\"entities\\\": {\\\"${entityGroup}\\\":{}}}\"%n" +
                 "}"), new String(json));
     }
+
+    @Test
+    public void shouldSubstituteParametersEachTimeTheViewIsRetrieved() {
+        // Given
+        final Map<String, ViewParameterDetail> params = new HashMap<>();
+        params.put("entityGroup", new ViewParameterDetail.Builder()
+                .description("the entity group")
+                .defaultValue("red")
+                .valueClass(String.class)
+                .build());
+        final NamedViewDetail namedViewDetail = new NamedViewDetail.Builder()
+                .name("view1")
+                .parameters(params)
+                .view("{\"entities\": {\"${entityGroup}\":{}}}")
+                .build();
+
+        // When
+        final View defaultView = namedViewDetail.getViewWithDefaultParams();
+        final View blueView = namedViewDetail.getView(Collections.singletonMap("entityGroup", "blue"));
+        namedViewDetail.setView("{\"edges\": {\"${entityGroup}\":{}}}");
+        final View greenView = namedViewDetail.getView(Collections.singletonMap("entityGroup", "green"));
+
+        // Then
+        assertEquals(Collections.singleton("red"), defaultView.getEntityGroups());
+        assertEquals(Collections.singleton("blue"), blueView.getEntityGroups());
+        assertEquals(Collections.singleton("green"), greenView.getEdgeGroups());
+        assertTrue(greenView.getEntityGroups().isEmpty());
+    }
 }
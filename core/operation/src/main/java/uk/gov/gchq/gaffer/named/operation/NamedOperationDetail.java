@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.named.operation;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.Maps;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -27,13 +28,14 @@ import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.jsonserialisation.JsonTemplate;
 import uk.gov.gchq.gaffer.operation.OperationChain;
 import uk.gov.gchq.gaffer.operation.OperationChainDAO;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.Serializable;
-import java.io.UnsupportedEncodingException;
 import java.nio.charset.Charset;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -54,6 +56,7 @@ public class NamedOperationDetail implements Serializable {
     private List<String> writeAccessRoles;
     private Map<String, ParameterDetail> parameters = Maps.newHashMap();
     private Integer score;
+    private transient volatile JsonTemplate operationsTemplate;
 
     public NamedOperationDetail() {
     }
@@ -128,10 +131,6 @@ public class NamedOperationDetail implements Serializable {
         return score;
     }
 
-    private String buildParamNameString(final String paramKey) {
-        return "\"${" + paramKey + "}\"";
-    }
-
     /**
      * Gets the OperationChain after adding in default values for any parameters. If a parameter
      * does not have a default, null is inserted.
@@ -141,29 +140,14 @@ public class NamedOperationDetail implements Serializable {
      */
     @JsonIgnore
     public OperationChain getOperationChainWithDefaultParams() {
-        String opStringWithDefaults = operations;
-
+        final Map<String, JsonNode> paramValues = new HashMap<>();
         if (null != parameters) {
             for (final Map.Entry<String, ParameterDetail> parameterDetailPair : parameters.entrySet()) {
-                String paramKey = parameterDetailPair.getKey();
-
-                try {
-                    opStringWithDefaults = opStringWithDefaults.replace(buildParamNameString(paramKey),
-                            new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
-                    throw new IllegalArgumentException(e.getMessage());
-                }
+                paramValues.put(parameterDetailPair.getKey(), JsonTemplate.toJsonNode(parameterDetailPair.getValue().getDefaultValue()));
             }
         }
 
-        OperationChain opChain;
-        try {
-            opChain = JSONSerialiser.deserialise(opStringWithDefaults.getBytes(CHARSET_NAME), OperationChainDAO.class);
-        } catch (final Exception e) {
-            throw new IllegalArgumentException(e.getMessage());
-        }
-
-        return opChain;
+        return bindOperationChain(paramValues);
     }
 
     /**
@@ -174,7 +158,7 @@ public class NamedOperationDetail implements Serializable {
      * @throws IllegalArgumentException if substituting the parameters fails
      */
     public OperationChain getOperationChain(final Map<String, Object> executionParams) {
-        String opStringWithParams = operations;
+        final Map<String, JsonNode> paramValues = new HashMap<>();
 
         // First check all the parameters supplied are expected parameter names
         if (null != parameters) {
@@ -191,31 +175,38 @@ public class NamedOperationDetail implements Serializable {
                 String paramKey = parameterDetailPair.getKey();
                 try {
                     if (null != executionParams && executionParams.containsKey(paramKey)) {
-                        Object paramObj = JSONSerialiser.deserialise(JSONSerialiser.serialise(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
-
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(paramObj, CHARSET_NAME), CHARSET_NAME));
+                        Object paramObj = JsonTemplate.fromJsonNode(JsonTemplate.toJsonNode(executionParams.get(paramKey)), parameterDetailPair.getValue().getValueClass());
+                        paramValues.put(paramKey, JsonTemplate.toJsonNode(paramObj));
                     } else if (!parameterDetailPair.getValue().isRequired()) {
-                        opStringWithParams = opStringWithParams.replace(buildParamNameString(paramKey),
-                                new String(JSONSerialiser.serialise(parameterDetailPair.getValue().getDefaultValue(), CHARSET_NAME), CHARSET_NAME));
+                        paramValues.put(paramKey, JsonTemplate.toJsonNode(parameterDetailPair.getValue().getDefaultValue()));
                     } else {
                         throw new IllegalArgumentException("Missing parameter " + paramKey + " with no default");
                     }
-                } catch (final SerialisationException | UnsupportedEncodingException e) {
+                } catch (final SerialisationException e) {
                     throw new IllegalArgumentException(e.getMessage());
                 }
             }
         }
 
-        OperationChain opChain;
+        return bindOperationChain(paramValues);
+    }
 
+    private OperationChain bindOperationChain(final Map<String, JsonNode> paramValues) {
         try {
-            opChain = JSONSerialiser.deserialise(opStringWithParams.getBytes(CHARSET_NAME), OperationChainDAO.class);
+            return getOperationsTemplate().bind(paramValues, OperationChainDAO.class);
         } catch (final Exception e) {
             throw new IllegalArgumentException(e.getMessage());
         }
+    }
 
-        return opChain;
+    private JsonTemplate getOperationsTemplate() throws SerialisationException {
+        // The template is compiled once, the first time this detail is used
+        JsonTemplate template = operationsTemplate;
+        if (null == template) {
+            template = JsonTemplate.compile(operations);
+            operationsTemplate = template;
+        }
+        return template;
     }
 
     @Override
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.jsonserialisation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * A JSON document containing parameter slots of the form <code>"${paramName}"</code>.
+ * The JSON is parsed once into a tree when the template is compiled. Binding the
+ * template copies the tree, replacing the slots with the parameter values, and
+ * deserialises the object straight from the copied tree, so no JSON text is parsed.
+ * <p>
+ * A slot is any JSON string, or field name, that is exactly <code>${paramName}</code>.
+ * This matches the text substitution previously used by the named operation and
+ * named view details. Instances are immutable and so safe to share between threads.
+ */
+public final class JsonTemplate {
+    private static final String SLOT_PREFIX = "${";
+    private static final String SLOT_SUFFIX = "}";
+
+    private final JsonNode tree;
+
+    private JsonTemplate(final JsonNode tree) {
+        this.tree = tree;
+    }
+
+    /**
+     * Parses the json into a template.
+     *
+     * @param json the json containing the parameter slots
+     * @return the compiled template
+     * @throws SerialisationException if the json cannot be parsed
+     */
+    public static JsonTemplate compile(final String json) throws SerialisationException {
+        return new JsonTemplate(JSONSerialiser.getJsonNodeFromString(json));
+    }
+
+    /**
+     * Converts a parameter value to the json tree that would be produced by
+     * serialising it with the {@link JSONSerialiser}.
+     *
+     * @param value the parameter value
+     * @return the json tree
+     */
+    public static JsonNode toJsonNode(final Object value) {
+        if (null == value) {
+            return NullNode.getInstance();
+        }
+        final JsonNode node = JSONSerialiser.getMapper().valueToTree(value);
+        return null == node ? NullNode.getInstance() : node;
+    }
+
+    /**
+     * Deserialises a json tree into an object.
+     *
+     * @param node  the json tree
+     * @param clazz the class of the object to deserialise
+     * @param <T>   the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if the tree fails to deserialise
+     */
+    public static <T> T fromJsonNode(final JsonNode node, final Class<T> clazz) throws SerialisationException {
+        try {
+            return JSONSerialiser.getMapper().treeToValue(node, clazz);
+        } catch (final IOException e) {
+            throw new SerialisationException(e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Binds the parameter values into a copy of the template and deserialises the result.
+     * Slots for parameters without a value are left unchanged.
+     *
+     * @param paramValues the json trees of the parameter values, keyed by parameter name
+     * @param clazz       the class of the object to deserialise
+     * @param <T>         the type of the object
+     * @return the deserialised object
+     * @throws SerialisationException if the bound json fails to deserialise
+     */
+    public <T> T bind(final Map<String, JsonNode> paramValues, final Class<T> clazz) throws SerialisationException {
+        return fromJsonNode(bind(tree, paramValues), clazz);
+    }
+
+    private JsonNode bind(final JsonNode node, final Map<String, JsonNode> paramValues) throws SerialisationException {
+        if (node.isTextual()) {
+            final JsonNode value = getParamValue(node.textValue(), paramValues);
+            return null != value ? value : node;
+        }
+        if (node.isArray()) {
+            final ArrayNode copy = JsonNodeFactory.instance.arrayNode();
+            for (final JsonNode child : node) {
+                copy.add(bind(child, paramValues));
+            }
+            return copy;
+        }
+        if (node.isObject()) {
+            final ObjectNode copy = JsonNodeFactory.instance.objectNode();
+            final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Map.Entry<String, JsonNode> field = fields.next();
+                copy.set(bindFieldName(field.getKey(), paramValues), bind(field.getValue(), paramValues));
+            }
+            return copy;
+        }
+
+        // Other value nodes are immutable so can be shared
+        return node;
+    }
+
+    private String bindFieldName(final String fieldName, final Map<String, JsonNode> paramValues) throws SerialisationException {
+        final JsonNode value = getParamValue(fieldName, paramValues);
+        if (null == value) {
+            return fieldName;
+        }
+        if (!value.isTextual()) {
+            throw new SerialisationException("Parameter " + getParamName(fieldName) + " is used as a field name so must be a string");
+        }
+        return value.textValue();
+    }
+
+    private JsonNode getParamValue(final String text, final Map<String, JsonNode> paramValues) {
+        final String paramName = getParamName(text);
+        return null != paramName ? paramValues.get(paramName) : null;
+    }
+
+    private static String getParamName(final String text) {
+        if (text.startsWith(SLOT_PREFIX) && text.endsWith(SLOT_SUFFIX) && text.length() > SLOT_PREFIX.length()) {
+            return text.substring(SLOT_PREFIX.length(), text.length() - SLOT_SUFFIX.length());
+        }
+        return null;
+    }
+}
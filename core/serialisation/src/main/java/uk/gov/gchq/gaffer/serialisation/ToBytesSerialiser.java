@@ -17,11 +17,20 @@
 package uk.gov.gchq.gaffer.serialisation;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
+
+import java.nio.ByteBuffer;
 
 /**
  * A class that implements this interface is responsible for serialising an
  * object of class T to a byte array, and for deserialising it back again.
  * It must also be able to deal with serialising null values.
+ * <p>
+ * To avoid creating short lived arrays, implementations should also override
+ * {@link #serialise(Object, ByteArrayBuffer)} to write straight into a
+ * caller supplied buffer and {@link #deserialise(byte[], int, int)} to read
+ * straight from a slice of a larger array. The default implementations of
+ * these methods copy the bytes.
  */
 public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
 
@@ -50,6 +59,18 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
     @Override
     byte[] serialise(final T object) throws SerialisationException;
 
+    /**
+     * Serialise some object and append the serialised form to the provided buffer.
+     * The bytes written must be the same as the bytes returned by {@link #serialise(Object)}.
+     *
+     * @param object the object to be serialised
+     * @param buffer the buffer to write the serialised bytes to
+     * @throws SerialisationException if the object fails to serialise
+     */
+    default void serialise(final T object, final ByteArrayBuffer buffer) throws SerialisationException {
+        buffer.write(serialise(object));
+    }
+
     /**
      * @param allBytes The bytes to be decoded into characters
      * @param offset   The index of the first byte to decode
@@ -67,6 +88,27 @@ public interface ToBytesSerialiser<T> extends Serialiser<T, byte[]> {
         return deserialise(selection);
     }
 
+    /**
+     * Deserialise the remaining bytes in the provided {@link ByteBuffer}. If the buffer
+     * is backed by an array the bytes are read in place, otherwise they are copied.
+     * The position of the buffer is not changed.
+     *
+     * @param buffer the bytes to deserialise
+     * @return T the deserialised object
+     * @throws SerialisationException if the object fails to deserialise
+     */
+    default T deserialise(final ByteBuffer buffer) throws SerialisationException {
+        if (!buffer.hasRemaining()) {
+            return deserialiseEmpty();
+        }
+        if (buffer.hasArray()) {
+            return deserialise(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+        }
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.duplicate().get(bytes);
+        return deserialise(bytes);
+    }
+
     /**
      * Deserialise an array of bytes into the original object.
      *
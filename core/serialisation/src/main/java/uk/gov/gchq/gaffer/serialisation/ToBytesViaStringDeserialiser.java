@@ -16,8 +16,10 @@
 package uk.gov.gchq.gaffer.serialisation;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
 
 /**
  * Abstract serialiser that deserialises the given byte[] via an interim String object.
@@ -64,12 +66,7 @@ public abstract class ToBytesViaStringDeserialiser<T> implements ToBytesSerialis
 
     @Override
     public byte[] serialise(final T object) throws SerialisationException {
-        String str;
-        try {
-            str = serialiseToString(object);
-        } catch (final Exception e) {
-            throw new SerialisationException("failed to convert object to string for serialisation.", e);
-        }
+        final String str = toSerialisedString(object);
         if (null != str) {
             try {
                 return str.getBytes(getCharset());
@@ -81,6 +78,30 @@ public abstract class ToBytesViaStringDeserialiser<T> implements ToBytesSerialis
         return serialiseNull();
     }
 
+    @Override
+    public void serialise(final T object, final ByteArrayBuffer buffer) throws SerialisationException {
+        final String str = toSerialisedString(object);
+        if (null == str) {
+            buffer.write(serialiseNull());
+        } else if (StandardCharsets.UTF_8.name().equalsIgnoreCase(getCharset())) {
+            buffer.writeUtf8(str);
+        } else {
+            try {
+                buffer.write(str.getBytes(getCharset()));
+            } catch (final UnsupportedEncodingException e) {
+                throw new SerialisationException("Unable to serialise to bytes using charset: " + getCharset(), e);
+            }
+        }
+    }
+
+    private String toSerialisedString(final T object) throws SerialisationException {
+        try {
+            return serialiseToString(object);
+        } catch (final Exception e) {
+            throw new SerialisationException("failed to convert object to string for serialisation.", e);
+        }
+    }
+
     protected abstract String serialiseToString(final T object) throws SerialisationException;
 
 }
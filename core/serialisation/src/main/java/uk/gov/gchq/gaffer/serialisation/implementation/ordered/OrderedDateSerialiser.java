@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 import java.util.Date;
 
@@ -36,11 +37,21 @@ public class OrderedDateSerialiser implements ToBytesSerialiser<Date> {
         return LONG_SERIALISER.serialise(object.getTime());
     }
 
+    @Override
+    public void serialise(final Date object, final ByteArrayBuffer buffer) {
+        LONG_SERIALISER.serialise(object.getTime(), buffer);
+    }
+
     @Override
     public Date deserialise(final byte[] bytes) throws SerialisationException {
         return new Date(LONG_SERIALISER.deserialise(bytes));
     }
 
+    @Override
+    public Date deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return new Date(LONG_SERIALISER.deserialise(allBytes, offset, length));
+    }
+
     @Override
     public Date deserialiseEmpty() {
         return null;
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * An {@code OrderedDoubleSerialser} serialises a {@link Double} to
@@ -32,24 +33,22 @@ public class OrderedDoubleSerialiser implements ToBytesSerialiser<Double> {
 
     @Override
     public byte[] serialise(final Double object) {
-        long l = Double.doubleToRawLongBits(object);
-        if (l < 0) {
-            l = ~l;
-        } else {
-            l = l ^ 0x8000000000000000L;
-        }
-        return LONG_SERIALISER.serialise(l);
+        return LONG_SERIALISER.serialise(toSortableBits(object));
+    }
+
+    @Override
+    public void serialise(final Double object, final ByteArrayBuffer buffer) {
+        LONG_SERIALISER.serialise(toSortableBits(object), buffer);
     }
 
     @Override
     public Double deserialise(final byte[] bytes) throws SerialisationException {
-        long l = LONG_SERIALISER.deserialise(bytes);
-        if (l < 0) {
-            l = l ^ 0x8000000000000000L;
-        } else {
-            l = ~l;
-        }
-        return Double.longBitsToDouble(l);
+        return fromSortableBits(LONG_SERIALISER.deserialise(bytes));
+    }
+
+    @Override
+    public Double deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return fromSortableBits(LONG_SERIALISER.deserialise(allBytes, offset, length));
     }
 
     @Override
@@ -71,4 +70,24 @@ public class OrderedDoubleSerialiser implements ToBytesSerialiser<Double> {
     public boolean canHandle(final Class clazz) {
         return Double.class.equals(clazz);
     }
+
+    private static long toSortableBits(final Double object) {
+        long l = Double.doubleToRawLongBits(object);
+        if (l < 0) {
+            l = ~l;
+        } else {
+            l = l ^ 0x8000000000000000L;
+        }
+        return l;
+    }
+
+    private static Double fromSortableBits(final long sortableBits) {
+        long l = sortableBits;
+        if (l < 0) {
+            l = l ^ 0x8000000000000000L;
+        } else {
+            l = ~l;
+        }
+        return Double.longBitsToDouble(l);
+    }
 }
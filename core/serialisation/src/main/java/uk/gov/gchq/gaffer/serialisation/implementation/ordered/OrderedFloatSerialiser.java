@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * An {@code OrderedFloatSerialser} serialises a {@link Float} to
@@ -32,24 +33,22 @@ public class OrderedFloatSerialiser implements ToBytesSerialiser<Float> {
 
     @Override
     public byte[] serialise(final Float object) {
-        int i = Float.floatToRawIntBits(object);
-        if (i < 0) {
-            i = ~i;
-        } else {
-            i = i ^ 0x80000000;
-        }
-        return INTEGER_SERIALISER.serialise(i);
+        return INTEGER_SERIALISER.serialise(toSortableBits(object));
+    }
+
+    @Override
+    public void serialise(final Float object, final ByteArrayBuffer buffer) {
+        INTEGER_SERIALISER.serialise(toSortableBits(object), buffer);
     }
 
     @Override
     public Float deserialise(final byte[] bytes) throws SerialisationException {
-        int i = INTEGER_SERIALISER.deserialise(bytes);
-        if (i < 0) {
-            i = i ^ 0x80000000;
-        } else {
-            i = ~i;
-        }
-        return Float.intBitsToFloat(i);
+        return fromSortableBits(INTEGER_SERIALISER.deserialise(bytes));
+    }
+
+    @Override
+    public Float deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        return fromSortableBits(INTEGER_SERIALISER.deserialise(allBytes, offset, length));
     }
 
     @Override
@@ -71,4 +70,24 @@ public class OrderedFloatSerialiser implements ToBytesSerialiser<Float> {
     public boolean canHandle(final Class clazz) {
         return Float.class.equals(clazz);
     }
+
+    private static int toSortableBits(final Float object) {
+        int i = Float.floatToRawIntBits(object);
+        if (i < 0) {
+            i = ~i;
+        } else {
+            i = i ^ 0x80000000;
+        }
+        return i;
+    }
+
+    private static Float fromSortableBits(final int sortableBits) {
+        int i = sortableBits;
+        if (i < 0) {
+            i = i ^ 0x80000000;
+        } else {
+            i = ~i;
+        }
+        return Float.intBitsToFloat(i);
+    }
 }
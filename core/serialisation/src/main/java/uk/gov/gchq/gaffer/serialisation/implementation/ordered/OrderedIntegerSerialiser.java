@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * An {@code OrderedIntegerSerialser} serialises a {@link Integer} to
@@ -30,47 +31,43 @@ public class OrderedIntegerSerialiser implements ToBytesSerialiser<Integer> {
 
     @Override
     public byte[] serialise(final Integer object) {
-        final Integer signedI = object ^ 0x80000000;
-        int shift = 56;
-        int prefix = (signedI.intValue()) < 0 ? 255 : 0;
+        final int signedI = object ^ 0x80000000;
+        final byte[] ret = new byte[getSerialisedLength(signedI)];
+        write(signedI, ret, 0, ret.length);
+        return ret;
+    }
 
-        int index;
-        for (index = 0; index < 4 && (signedI.intValue() >> shift & 255) == prefix; ++index) {
-            shift -= 8;
-        }
+    @Override
+    public void serialise(final Integer object, final ByteArrayBuffer buffer) {
+        final int signedI = object ^ 0x80000000;
+        final int length = getSerialisedLength(signedI);
+        final int offset = buffer.reserve(length);
+        write(signedI, buffer.getBuffer(), offset, length);
+    }
 
-        byte[] ret = new byte[5 - index];
-        ret[0] = (byte) (4 - index);
+    @Override
+    public Integer deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
 
-        for (index = 1; index < ret.length; ++index) {
-            ret[index] = (byte) (signedI.intValue() >> shift);
-            shift -= 8;
+    @Override
+    public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final byte header = allBytes[offset];
+        if (header < 0 || header > 8) {
+            throw new SerialisationException("Unexpected length " + (255 & header));
         }
 
-        if (signedI.intValue() < 0) {
-            ret[0] = (byte) (8 - ret[0]);
+        int i = 0;
+        int shift = 0;
+        for (int idx = offset + length - 1; idx > offset; --idx) {
+            i += (allBytes[idx] & 255) << shift;
+            shift += 8;
         }
-        return ret;
-    }
 
-    @Override
-    public Integer deserialise(final byte[] bytes) throws SerialisationException {
-        if (bytes[0] >= 0 && bytes[0] <= 8) {
-            int i = 0;
-            int shift = 0;
-
-            for (int idx = bytes.length - 1; idx >= 0 + 1; --idx) {
-                i = (int) ((long) i + (((long) bytes[idx] & 255L) << shift));
-                shift += 8;
-            }
-
-            if (bytes[0] > 4) {
-                i |= -1 << (8 - bytes[0] << 3);
-            }
-            return Integer.valueOf(i) ^ 0x80000000;
-        } else {
-            throw new SerialisationException("Unexpected length " + (255 & bytes[0]));
+        if (header > 4) {
+            i |= -1 << ((8 - header) << 3);
         }
+        return i ^ 0x80000000;
     }
 
     @Override
@@ -92,4 +89,24 @@ public class OrderedIntegerSerialiser implements ToBytesSerialiser<Integer> {
     public boolean canHandle(final Class clazz) {
         return Integer.class.equals(clazz);
     }
+
+    private static int getSerialisedLength(final int signedI) {
+        final int prefix = signedI < 0 ? 255 : 0;
+        int shift = 24;
+        int index;
+        for (index = 0; index < 4 && (signedI >> shift & 255) == prefix; ++index) {
+            shift -= 8;
+        }
+        return 5 - index;
+    }
+
+    private static void write(final int signedI, final byte[] bytes, final int offset, final int length) {
+        final int numBytes = length - 1;
+        bytes[offset] = (byte) (signedI < 0 ? 8 - numBytes : numBytes);
+        int shift = (numBytes - 1) << 3;
+        for (int index = offset + 1; index < offset + length; ++index) {
+            bytes[index] = (byte) (signedI >> shift);
+            shift -= 8;
+        }
+    }
 }
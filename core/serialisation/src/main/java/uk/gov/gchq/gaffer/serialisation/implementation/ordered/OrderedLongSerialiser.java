@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.ordered;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * An {@code OrderedLongSerialser} serialises a {@link Long} to
@@ -30,50 +31,41 @@ public class OrderedLongSerialiser implements ToBytesSerialiser<Long> {
 
     @Override
     public byte[] serialise(final Long object) {
-        final Long signedL = object ^ 0x8000000000000000L;
-        int shift = 56;
-        int index;
-        int prefix = signedL < 0 ? 0xff : 0x00;
-
-        for (index = 0; index < 8; index++) {
-            if (((signedL >> shift) & 0xff) != prefix) {
-                break;
-            }
-
-            shift -= 8;
-        }
-
-        byte[] ret = new byte[9 - index];
-        ret[0] = (byte) (8 - index);
-        for (index = 1; index < ret.length; index++) {
-            ret[index] = (byte) (signedL >> shift);
-            shift -= 8;
-        }
-
-        if (signedL < 0) {
-            ret[0] = (byte) (16 - ret[0]);
-        }
-
+        final long signedL = object ^ 0x8000000000000000L;
+        final byte[] ret = new byte[getSerialisedLength(signedL)];
+        write(signedL, ret, 0, ret.length);
         return ret;
     }
 
     @Override
-    public Long deserialise(final byte[] bytes) throws SerialisationException {
+    public void serialise(final Long object, final ByteArrayBuffer buffer) {
+        final long signedL = object ^ 0x8000000000000000L;
+        final int length = getSerialisedLength(signedL);
+        final int offset = buffer.reserve(length);
+        write(signedL, buffer.getBuffer(), offset, length);
+    }
 
-        long l = 0;
-        int shift = 0;
+    @Override
+    public Long deserialise(final byte[] bytes) throws SerialisationException {
+        return deserialise(bytes, 0, bytes.length);
+    }
 
-        if (bytes[0] < 0 || bytes[0] > 16) {
-            throw new SerialisationException("Unexpected length " + (0xff & bytes[0]));
+    @Override
+    public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
+        final byte header = allBytes[offset];
+        if (header < 0 || header > 16) {
+            throw new SerialisationException("Unexpected length " + (0xff & header));
         }
 
-        for (int i = bytes.length - 1; i >= 0 + 1; i--) {
-            l += (bytes[i] & 0xffL) << shift;
+        long l = 0;
+        int shift = 0;
+        for (int i = offset + length - 1; i > offset; i--) {
+            l += (allBytes[i] & 0xffL) << shift;
             shift += 8;
         }
 
-        if (bytes[0] > 8) {
-            l |= -1L << ((16 - bytes[0]) << 3);
+        if (header > 8) {
+            l |= -1L << ((16 - header) << 3);
         }
 
         return l ^ 0x8000000000000000L;
@@ -98,4 +90,27 @@ public class OrderedLongSerialiser implements ToBytesSerialiser<Long> {
     public boolean isConsistent() {
         return true;
     }
+
+    private static int getSerialisedLength(final long signedL) {
+        final int prefix = signedL < 0 ? 0xff : 0x00;
+        int shift = 56;
+        int index;
+        for (index = 0; index < 8; index++) {
+            if (((signedL >> shift) & 0xff) != prefix) {
+                break;
+            }
+            shift -= 8;
+        }
+        return 9 - index;
+    }
+
+    private static void write(final long signedL, final byte[] bytes, final int offset, final int length) {
+        final int numBytes = length - 1;
+        bytes[offset] = (byte) (signedL < 0 ? 16 - numBytes : numBytes);
+        int shift = (numBytes - 1) << 3;
+        for (int index = offset + 1; index < offset + length; index++) {
+            bytes[index] = (byte) (signedL >> shift);
+            shift -= 8;
+        }
+    }
 }
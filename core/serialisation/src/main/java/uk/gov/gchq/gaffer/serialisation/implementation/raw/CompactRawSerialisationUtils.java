@@ -16,6 +16,7 @@
 package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -33,11 +34,26 @@ public final class CompactRawSerialisationUtils {
     }
 
     public static byte[] writeLong(final long l) {
+        final byte[] result = new byte[getVIntSize(l)];
+        writeLong(l, result, 0);
+        return result;
+    }
+
+    /**
+     * Writes a long to the provided array, starting at the given offset. The array
+     * must have room for {@link #getVIntSize(long)} bytes.
+     *
+     * @param l      The long to write.
+     * @param bytes  The array to write the long to.
+     * @param offset The position in the array to write the first byte to.
+     * @return the number of bytes written.
+     */
+    public static int writeLong(final long l, final byte[] bytes, final int offset) {
         long value = l;
         if (value >= -112 && value <= 127) {
-            return new byte[]{(byte) value};
+            bytes[offset] = (byte) value;
+            return 1;
         }
-        final byte[] temp = new byte[9];
         int len = -112;
         if (value < 0) {
             value ^= -1L; // take one's complement'
@@ -48,17 +64,39 @@ public final class CompactRawSerialisationUtils {
             tmp = tmp >> 8;
             len--;
         }
-        temp[0] = (byte) len;
-        int place = 1;
+        bytes[offset] = (byte) len;
+        int place = offset + 1;
         len = (len < -120) ? -(len + 120) : -(len + 112);
         for (int idx = len; idx != 0; idx--) {
             final int shiftBits = (idx - 1) * 8;
             final long mask = 0xFFL << shiftBits;
-            temp[place++] = (byte) ((value & mask) >> shiftBits);
+            bytes[place++] = (byte) ((value & mask) >> shiftBits);
         }
-        final byte[] result = new byte[place];
-        System.arraycopy(temp, 0, result, 0, place);
-        return result;
+        return place - offset;
+    }
+
+    /**
+     * Writes a long straight into the backing array of the provided {@link ByteArrayBuffer}.
+     *
+     * @param l      The long to write.
+     * @param buffer The {@link ByteArrayBuffer} to write the long to.
+     */
+    public static void write(final long l, final ByteArrayBuffer buffer) {
+        final int offset = buffer.reserve(getVIntSize(l));
+        writeLong(l, buffer.getBuffer(), offset);
+    }
+
+    /**
+     * @param l The long to be written.
+     * @return the number of bytes needed to write the long.
+     */
+    public static int getVIntSize(final long l) {
+        if (l >= -112 && l <= 127) {
+            return 1;
+        }
+        final long value = (l < 0) ? (l ^ -1L) : l;
+        final int dataBits = Long.SIZE - Long.numberOfLeadingZeros(value);
+        return (dataBits + 7) / 8 + 1;
     }
 
     public static long readLong(final byte[] allBytes, final int offset) throws SerialisationException {
@@ -17,6 +17,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 import java.util.Date;
 
@@ -42,19 +43,16 @@ public class RawDateSerialiser implements ToBytesSerialiser<Date> {
     @Override
     public byte[] serialise(final Date date) throws SerialisationException {
         final byte[] out = new byte[8];
-        final long value = date.getTime();
-        // NB Serialise high-order bits first
-        out[0] = (byte) ((value >> 56) & 255);
-        out[1] = (byte) ((value >> 48) & 255);
-        out[2] = (byte) ((value >> 40) & 255);
-        out[3] = (byte) ((value >> 32) & 255);
-        out[4] = (byte) ((value >> 24) & 255);
-        out[5] = (byte) ((value >> 16) & 255);
-        out[6] = (byte) ((value >> 8) & 255);
-        out[7] = (byte) (value & 255);
+        write(date.getTime(), out, 0);
         return out;
     }
 
+    @Override
+    public void serialise(final Date date, final ByteArrayBuffer buffer) throws SerialisationException {
+        final int offset = buffer.reserve(8);
+        write(date.getTime(), buffer.getBuffer(), offset);
+    }
+
     @Override
     public Date deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -88,4 +86,16 @@ public class RawDateSerialiser implements ToBytesSerialiser<Date> {
     public boolean isConsistent() {
         return true;
     }
+
+    private static void write(final long value, final byte[] bytes, final int offset) {
+        // NB Serialise high-order bits first
+        bytes[offset] = (byte) ((value >> 56) & 255);
+        bytes[offset + 1] = (byte) ((value >> 48) & 255);
+        bytes[offset + 2] = (byte) ((value >> 40) & 255);
+        bytes[offset + 3] = (byte) ((value >> 32) & 255);
+        bytes[offset + 4] = (byte) ((value >> 24) & 255);
+        bytes[offset + 5] = (byte) ((value >> 16) & 255);
+        bytes[offset + 6] = (byte) ((value >> 8) & 255);
+        bytes[offset + 7] = (byte) (value & 255);
+    }
 }
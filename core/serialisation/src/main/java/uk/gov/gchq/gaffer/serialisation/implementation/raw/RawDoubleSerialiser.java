@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedDoubleSerialiser}.
@@ -38,18 +39,16 @@ public class RawDoubleSerialiser implements ToBytesSerialiser<Double> {
     @Override
     public byte[] serialise(final Double d) throws SerialisationException {
         final byte[] out = new byte[8];
-        final long value = Double.doubleToRawLongBits(d);
-        out[0] = (byte) ((int) (value & 255));
-        out[1] = (byte) ((int) (value >> 8) & 255);
-        out[2] = (byte) ((int) (value >> 16) & 255);
-        out[3] = (byte) ((int) (value >> 24) & 255);
-        out[4] = (byte) ((int) (value >> 32) & 255);
-        out[5] = (byte) ((int) (value >> 40) & 255);
-        out[6] = (byte) ((int) (value >> 48) & 255);
-        out[7] = (byte) ((int) (value >> 56) & 255);
+        write(Double.doubleToRawLongBits(d), out, 0);
         return out;
     }
 
+    @Override
+    public void serialise(final Double d, final ByteArrayBuffer buffer) throws SerialisationException {
+        final int offset = buffer.reserve(8);
+        write(Double.doubleToRawLongBits(d), buffer.getBuffer(), offset);
+    }
+
     @Override
     public Double deserialise(final byte[] bytes) throws SerialisationException {
         return deserialise(bytes, 0, bytes.length);
@@ -83,4 +82,15 @@ public class RawDoubleSerialiser implements ToBytesSerialiser<Double> {
     public boolean isConsistent() {
         return true;
     }
+
+    private static void write(final long value, final byte[] bytes, final int offset) {
+        bytes[offset] = (byte) ((int) (value & 255));
+        bytes[offset + 1] = (byte) ((int) (value >> 8) & 255);
+        bytes[offset + 2] = (byte) ((int) (value >> 16) & 255);
+        bytes[offset + 3] = (byte) ((int) (value >> 24) & 255);
+        bytes[offset + 4] = (byte) ((int) (value >> 32) & 255);
+        bytes[offset + 5] = (byte) ((int) (value >> 40) & 255);
+        bytes[offset + 6] = (byte) ((int) (value >> 48) & 255);
+        bytes[offset + 7] = (byte) ((int) (value >> 56) & 255);
+    }
 }
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedFloatSerialiser}.
@@ -38,14 +39,16 @@ public class RawFloatSerialiser implements ToBytesSerialiser<Float> {
     @Override
     public byte[] serialise(final Float f) throws SerialisationException {
         final byte[] out = new byte[4];
-        final int value = Float.floatToRawIntBits(f);
-        out[0] = (byte) (value & 255);
-        out[1] = (byte) ((value >> 8) & 255);
-        out[2] = (byte) ((value >> 16) & 255);
-        out[3] = (byte) ((value >> 24) & 255);
+        write(Float.floatToRawIntBits(f), out, 0);
         return out;
     }
 
+    @Override
+    public void serialise(final Float f, final ByteArrayBuffer buffer) throws SerialisationException {
+        final int offset = buffer.reserve(4);
+        write(Float.floatToRawIntBits(f), buffer.getBuffer(), offset);
+    }
+
     @Override
     public Float deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -74,4 +77,11 @@ public class RawFloatSerialiser implements ToBytesSerialiser<Float> {
     public boolean isConsistent() {
         return true;
     }
+
+    private static void write(final int value, final byte[] bytes, final int offset) {
+        bytes[offset] = (byte) (value & 255);
+        bytes[offset + 1] = (byte) ((value >> 8) & 255);
+        bytes[offset + 2] = (byte) ((value >> 16) & 255);
+        bytes[offset + 3] = (byte) ((value >> 24) & 255);
+    }
 }
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedIntegerSerialiser}.
@@ -38,13 +39,16 @@ public class RawIntegerSerialiser implements ToBytesSerialiser<Integer> {
     @Override
     public byte[] serialise(final Integer value) throws SerialisationException {
         final byte[] out = new byte[4];
-        out[0] = (byte) ((value & 255));
-        out[1] = (byte) ((value >> 8) & 255);
-        out[2] = (byte) ((value >> 16) & 255);
-        out[3] = (byte) ((value >> 24) & 255);
+        write(value, out, 0);
         return out;
     }
 
+    @Override
+    public void serialise(final Integer value, final ByteArrayBuffer buffer) throws SerialisationException {
+        final int offset = buffer.reserve(4);
+        write(value, buffer.getBuffer(), offset);
+    }
+
     @Override
     public Integer deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -73,4 +77,11 @@ public class RawIntegerSerialiser implements ToBytesSerialiser<Integer> {
     public boolean isConsistent() {
         return true;
     }
+
+    private static void write(final int value, final byte[] bytes, final int offset) {
+        bytes[offset] = (byte) ((value & 255));
+        bytes[offset + 1] = (byte) ((value >> 8) & 255);
+        bytes[offset + 2] = (byte) ((value >> 16) & 255);
+        bytes[offset + 3] = (byte) ((value >> 24) & 255);
+    }
 }
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.serialisation.implementation.raw;
 
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
 /**
  * For new properties use {@link uk.gov.gchq.gaffer.serialisation.implementation.ordered.OrderedLongSerialiser}.
@@ -38,17 +39,16 @@ public class RawLongSerialiser implements ToBytesSerialiser<Long> {
     @Override
     public byte[] serialise(final Long value) throws SerialisationException {
         final byte[] out = new byte[8];
-        out[0] = (byte) ((int) (value & 255));
-        out[1] = (byte) ((int) (value >> 8) & 255);
-        out[2] = (byte) ((int) (value >> 16) & 255);
-        out[3] = (byte) ((int) (value >> 24) & 255);
-        out[4] = (byte) ((int) (value >> 32) & 255);
-        out[5] = (byte) ((int) (value >> 40) & 255);
-        out[6] = (byte) ((int) (value >> 48) & 255);
-        out[7] = (byte) ((int) (value >> 56) & 255);
+        write(value, out, 0);
         return out;
     }
 
+    @Override
+    public void serialise(final Long value, final ByteArrayBuffer buffer) throws SerialisationException {
+        final int offset = buffer.reserve(8);
+        write(value, buffer.getBuffer(), offset);
+    }
+
     @Override
     public Long deserialise(final byte[] allBytes, final int offset, final int length) throws SerialisationException {
         int carriage = offset;
@@ -81,4 +81,15 @@ public class RawLongSerialiser implements ToBytesSerialiser<Long> {
     public boolean isConsistent() {
         return true;
     }
+
+    private static void write(final long value, final byte[] bytes, final int offset) {
+        bytes[offset] = (byte) ((int) (value & 255));
+        bytes[offset + 1] = (byte) ((int) (value >> 8) & 255);
+        bytes[offset + 2] = (byte) ((int) (value >> 16) & 255);
+        bytes[offset + 3] = (byte) ((int) (value >> 24) & 255);
+        bytes[offset + 4] = (byte) ((int) (value >> 32) & 255);
+        bytes[offset + 5] = (byte) ((int) (value >> 40) & 255);
+        bytes[offset + 6] = (byte) ((int) (value >> 48) & 255);
+        bytes[offset + 7] = (byte) ((int) (value >> 56) & 255);
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A {@code ByteArrayBuffer} is a growable byte buffer that serialisers can write
+ * into directly, see {@link uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser#serialise(Object, ByteArrayBuffer)}.
+ * <p>
+ * Unlike a plain {@link ByteArrayOutputStream} the backing array is exposed, so
+ * the written bytes can be read, or wrapped in a {@link ByteBuffer}, without
+ * copying them, and space can be reserved so that a serialiser can write its
+ * bytes straight into the backing array. The buffer can be reused by calling
+ * {@link #reset()}.
+ * <p>
+ * This class is not thread safe.
+ */
+public class ByteArrayBuffer extends ByteArrayOutputStream {
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    public ByteArrayBuffer() {
+        super();
+    }
+
+    public ByteArrayBuffer(final int size) {
+        super(size);
+    }
+
+    /**
+     * @return the backing array. Only the first {@link #getLength()} bytes are valid
+     * and the array is replaced whenever the buffer grows.
+     */
+    public byte[] getBuffer() {
+        return buf;
+    }
+
+    /**
+     * @return the number of bytes that have been written to the buffer.
+     */
+    public int getLength() {
+        return count;
+    }
+
+    /**
+     * Sets the number of valid bytes in the buffer. This can be used to
+     * truncate the buffer back to a previous length.
+     *
+     * @param length the new length, which must not be greater than the current length
+     */
+    public void setLength(final int length) {
+        if (length < 0 || length > count) {
+            throw new IllegalArgumentException("Length must be between 0 and " + count + " but was " + length);
+        }
+        count = length;
+    }
+
+    /**
+     * Makes sure the buffer can hold another {@code additional} bytes
+     * without growing.
+     *
+     * @param additional the number of bytes that are about to be written
+     */
+    public void ensureCapacity(final int additional) {
+        final int required = count + additional;
+        if (required < 0) {
+            throw new OutOfMemoryError("Buffer cannot hold more than " + MAX_ARRAY_SIZE + " bytes");
+        }
+        if (required > buf.length) {
+            int newCapacity = Math.max(buf.length << 1, required);
+            if (newCapacity < 0 || newCapacity > MAX_ARRAY_SIZE) {
+                newCapacity = Math.max(required, MAX_ARRAY_SIZE);
+            }
+            buf = Arrays.copyOf(buf, newCapacity);
+        }
+    }
+
+    /**
+     * Reserves {@code length} bytes at the end of the buffer, which the caller
+     * must then fill in directly in the array returned by {@link #getBuffer()}.
+     *
+     * @param length the number of bytes to reserve
+     * @return the offset in the backing array of the first reserved byte
+     */
+    public int reserve(final int length) {
+        ensureCapacity(length);
+        final int offset = count;
+        count += length;
+        return offset;
+    }
+
+    @Override
+    public void write(final int b) {
+        ensureCapacity(1);
+        buf[count++] = (byte) b;
+    }
+
+    @Override
+    public void write(final byte[] bytes) {
+        write(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int offset, final int length) {
+        if (offset < 0 || length < 0 || offset + length > bytes.length || offset + length < 0) {
+            throw new IndexOutOfBoundsException();
+        }
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buf, count, length);
+        count += length;
+    }
+
+    /**
+     * Encodes the string as UTF-8 straight into the buffer. The bytes written are
+     * the same as those returned by {@code str.getBytes(StandardCharsets.UTF_8)},
+     * including the replacement of unpaired surrogates with '?'.
+     *
+     * @param str the string to write
+     */
+    public void writeUtf8(final String str) {
+        final int numChars = str.length();
+        // A char never needs more than 3 bytes, a surrogate pair needs 4 bytes for 2 chars
+        ensureCapacity(3 * numChars);
+        final byte[] bytes = buf;
+        int pos = count;
+        for (int i = 0; i < numChars; i++) {
+            final char c = str.charAt(i);
+            if (c < 0x80) {
+                bytes[pos++] = (byte) c;
+            } else if (c < 0x800) {
+                bytes[pos++] = (byte) (0xc0 | (c >> 6));
+                bytes[pos++] = (byte) (0x80 | (c & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < numChars && Character.isLowSurrogate(str.charAt(i + 1))) {
+                    final int codePoint = Character.toCodePoint(c, str.charAt(++i));
+                    bytes[pos++] = (byte) (0xf0 | (codePoint >> 18));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 12) & 0x3f));
+                    bytes[pos++] = (byte) (0x80 | ((codePoint >> 6) & 0x3f));
+                    bytes[pos++] = (byte) (0x80 | (codePoint & 0x3f));
+                } else {
+                    bytes[pos++] = (byte) '?';
+                }
+            } else {
+                bytes[pos++] = (byte) (0xe0 | (c >> 12));
+                bytes[pos++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+                bytes[pos++] = (byte) (0x80 | (c & 0x3f));
+            }
+        }
+        count = pos;
+    }
+
+    @Override
+    public void reset() {
+        count = 0;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    @Override
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buf, count);
+    }
+
+    /**
+     * @return a {@link ByteBuffer} view of the bytes written to the buffer. The
+     * bytes are not copied, so the view is only valid until the buffer is next
+     * written to or reset.
+     */
+    public ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buf, 0, count);
+    }
+}
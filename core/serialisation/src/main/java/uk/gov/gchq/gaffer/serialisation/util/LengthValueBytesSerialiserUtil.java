@@ -20,22 +20,29 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
 
-import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.util.Arrays;
 
 /**
  * Utility methods for serialising objects to length-value byte arrays.
+ * <p>
+ * When the output stream is a {@link ByteArrayBuffer} the values are serialised
+ * straight into the buffer and when deserialising the values are read in place,
+ * so no intermediate arrays are created.
  */
 public abstract class LengthValueBytesSerialiserUtil {
     private static final byte[] EMPTY_BYTES = new byte[0];
 
     public static ByteArrayOutputStream createByteArray() {
-        return new ByteArrayOutputStream();
+        return new ByteArrayBuffer();
     }
 
     public static ByteArrayOutputStream appendLengthValueFromObjectToByteStream(final ByteArrayOutputStream byteOut, final ToBytesSerialiser serialiser, final Object object) throws SerialisationException {
+        if (byteOut instanceof ByteArrayBuffer && null != object) {
+            serialise(serialiser, object, (ByteArrayBuffer) byteOut);
+            return byteOut;
+        }
         return appendLengthValueFromBytesToByteStream(byteOut, serialiser.serialise(object));
     }
 
@@ -57,8 +64,44 @@ public abstract class LengthValueBytesSerialiserUtil {
 
     public static <T> void serialise(final ToBytesSerialiser<T> serialiser, final T value, final ByteArrayOutputStream out)
             throws SerialisationException {
-        final byte[] valueBytes = getValueBytes(serialiser, value);
-        serialise(valueBytes, out);
+        if (out instanceof ByteArrayBuffer) {
+            serialise(serialiser, value, (ByteArrayBuffer) out);
+        } else {
+            final byte[] valueBytes = getValueBytes(serialiser, value);
+            serialise(valueBytes, out);
+        }
+    }
+
+    /**
+     * Serialises the value straight into the buffer, prefixed by its length.
+     * The value is written first and then the length is written in front of it,
+     * so the serialised value does not need to be copied into a temporary array.
+     *
+     * @param serialiser the serialiser for the value
+     * @param value      the value to serialise
+     * @param out        the buffer to write to
+     * @param <T>        the type of the value
+     * @throws SerialisationException if the value could not be serialised
+     */
+    public static <T> void serialise(final ToBytesSerialiser<T> serialiser, final T value, final ByteArrayBuffer out)
+            throws SerialisationException {
+        if (null == serialiser || null == value) {
+            serialise(getValueBytes(serialiser, value), out);
+            return;
+        }
+
+        // Assume the length will fit in a single byte and move the value along if it does not
+        final int lengthPosition = out.reserve(1);
+        serialiser.serialise(value, out);
+        final int valueSize = out.getLength() - lengthPosition - 1;
+        final int lengthSize = CompactRawSerialisationUtils.getVIntSize(valueSize);
+        if (lengthSize > 1) {
+            out.ensureCapacity(lengthSize - 1);
+            final byte[] buffer = out.getBuffer();
+            System.arraycopy(buffer, lengthPosition + 1, buffer, lengthPosition + lengthSize, valueSize);
+            out.reserve(lengthSize - 1);
+        }
+        CompactRawSerialisationUtils.writeLong(valueSize, out.getBuffer(), lengthPosition);
     }
 
     public static byte[] serialise(final byte[] valueBytes) throws SerialisationException {
@@ -89,11 +132,25 @@ public abstract class LengthValueBytesSerialiserUtil {
     }
 
     public static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int delimiter) throws SerialisationException {
-        return getValue(serialiser, deserialise(allBytes, delimiter));
+        if (null == allBytes || 0 == allBytes.length) {
+            return serialiser.deserialiseEmpty();
+        }
+
+        final int lengthSize = getLengthSize(allBytes, delimiter);
+        final int valueSize = getValueSize(allBytes, lengthSize, delimiter);
+        return getValue(serialiser, allBytes, delimiter + lengthSize, valueSize);
     }
 
     public static <T> T deserialise(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int[] delimiterWrapper) throws SerialisationException {
-        return getValue(serialiser, deserialise(allBytes, delimiterWrapper));
+        if (1 != delimiterWrapper.length) {
+            throw new IllegalArgumentException("Delimiter wrapper must always be a int array of length 1 containing the delimiter");
+        }
+
+        final int lengthSize = getLengthSize(allBytes, delimiterWrapper[0]);
+        final int valueSize = getValueSize(allBytes, lengthSize, delimiterWrapper[0]);
+        final T value = getValue(serialiser, allBytes, delimiterWrapper[0] + lengthSize, valueSize);
+        delimiterWrapper[0] = getNextDelimiter(lengthSize, valueSize, delimiterWrapper[0]);
+        return value;
     }
 
     public static byte[] deserialise(final byte[] allBytes, final int[] delimiterWrapper) throws SerialisationException {
@@ -140,11 +197,10 @@ public abstract class LengthValueBytesSerialiserUtil {
     }
 
     public static int getValueSize(final byte[] allBytes, final int lengthSize, final int delimiter) throws SerialisationException {
-        try (final ByteArrayInputStream input = new ByteArrayInputStream(allBytes, delimiter, lengthSize)) {
-            return (int) CompactRawSerialisationUtils.read(input);
-        } catch (final IOException e) {
-            throw new SerialisationException("Exception reading length of property", e);
+        if (delimiter + lengthSize > allBytes.length) {
+            throw new SerialisationException("Exception reading length of property");
         }
+        return (int) CompactRawSerialisationUtils.readLong(allBytes, delimiter);
     }
 
     public static int getNextDelimiter(final byte[] allBytes, final int delimiter) throws SerialisationException {
@@ -177,30 +233,26 @@ public abstract class LengthValueBytesSerialiserUtil {
         return valueBytes;
     }
 
-    private static <T> T getValue(final ToBytesSerialiser<T> serialiser, final byte[] valueBytes) throws SerialisationException {
-        if (0 == valueBytes.length) {
+    private static <T> T getValue(final ToBytesSerialiser<T> serialiser, final byte[] allBytes, final int offset, final int valueSize) throws SerialisationException {
+        if (0 == valueSize) {
             return serialiser.deserialiseEmpty();
         }
-        return serialiser.deserialise(valueBytes);
+        return serialiser.deserialise(allBytes, offset, valueSize);
     }
 
 
     public static <T> ObjectCarriage<T> deserialiseNextObject(final ToBytesSerialiser<T> serialiser, final int currentCarriage, final byte[] bytes) throws SerialisationException {
         int rtn = currentCarriage;
         int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[rtn]);
-        int currentPropLength = getCurrentPropLength(bytes, rtn, numBytesForLength);
+        int currentPropLength = (int) CompactRawSerialisationUtils.readLong(bytes, rtn);
         int from = rtn += numBytesForLength;
-        int to = rtn += currentPropLength;
-        T object = serialiser.deserialise(Arrays.copyOfRange(bytes, from, to));
+        rtn += currentPropLength;
+        final T object = 0 == currentPropLength
+                ? serialiser.deserialise(EMPTY_BYTES)
+                : serialiser.deserialise(bytes, from, currentPropLength);
         return new ObjectCarriage<T>(object, rtn);
     }
 
-    private static int getCurrentPropLength(final byte[] bytes, final int pos, final int numBytesForLength) throws SerialisationException {
-        final byte[] length = new byte[numBytesForLength];
-        System.arraycopy(bytes, pos, length, 0, numBytesForLength);
-        return (int) CompactRawSerialisationUtils.readLong(length);
-    }
-
 
     public static class ObjectCarriage<T> {
         private T object;
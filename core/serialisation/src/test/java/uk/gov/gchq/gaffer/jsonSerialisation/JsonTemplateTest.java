@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.jsonSerialisation;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.jsonserialisation.JsonTemplate;
+import uk.gov.gchq.gaffer.serialisation.ParameterisedTestObject;
+import uk.gov.gchq.gaffer.serialisation.SimpleTestObject;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class JsonTemplateTest {
+
+    @Test
+    public void shouldBindParametersIntoACopyOfTheTemplate() throws SerialisationException {
+        // Given
+        final JsonTemplate template = JsonTemplate.compile("{\"x\":\"${x}\",\"k\":\"${k}\"}");
+
+        // When
+        final ParameterisedTestObject first = template.bind(ImmutableMap.of(
+                "x", JsonTemplate.toJsonNode("Test"),
+                "k", JsonTemplate.toJsonNode(2)), ParameterisedTestObject.class);
+        final ParameterisedTestObject second = template.bind(ImmutableMap.of(
+                "x", JsonTemplate.toJsonNode("Other"),
+                "k", JsonTemplate.toJsonNode(3)), ParameterisedTestObject.class);
+
+        // Then
+        assertEquals("Test", first.getX());
+        assertEquals(2, first.getK());
+        assertEquals("Other", second.getX());
+        assertEquals(3, second.getK());
+    }
+
+    @Test
+    public void shouldLeaveSlotsWithoutAValueUnchanged() throws SerialisationException {
+        // Given
+        final JsonTemplate template = JsonTemplate.compile("{\"x\":\"${x}\"}");
+
+        // When
+        final SimpleTestObject result = template.bind(Collections.emptyMap(), SimpleTestObject.class);
+
+        // Then
+        assertEquals("${x}", result.getX());
+    }
+
+    @Test
+    public void shouldBindStringParametersIntoFieldNames() throws SerialisationException {
+        // Given
+        final JsonTemplate template = JsonTemplate.compile("{\"${field}\":[1,\"${value}\"]}");
+
+        // When
+        final Map result = template.bind(ImmutableMap.of(
+                "field", JsonTemplate.toJsonNode("a"),
+                "value", JsonTemplate.toJsonNode(null)), Map.class);
+
+        // Then
+        assertEquals(Collections.singletonMap("a", Arrays.asList(1, null)), result);
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenFieldNameParameterIsNotAString() throws SerialisationException {
+        // Given
+        final JsonTemplate template = JsonTemplate.compile("{\"${field}\":1}");
+        final Map<String, JsonNode> paramValues = Collections.singletonMap("field", JsonTemplate.toJsonNode(1));
+
+        // When / Then
+        try {
+            template.bind(paramValues, Map.class);
+            fail("Exception expected");
+        } catch (final SerialisationException e) {
+            assertEquals("Parameter field is used as a field name so must be a string", e.getMessage());
+        }
+    }
+}
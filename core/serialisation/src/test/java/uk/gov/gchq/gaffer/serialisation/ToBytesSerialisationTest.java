@@ -20,11 +20,15 @@ import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assume.assumeNotNull;
 
 public abstract class ToBytesSerialisationTest<T> extends SerialisationTest<T, byte[]> {
 
@@ -48,4 +52,30 @@ public abstract class ToBytesSerialisationTest<T> extends SerialisationTest<T, b
         byte[] serialise = serialiser.serialise(pair.getFirst());
         assertArrayEquals(Arrays.toString(serialise), pair.getSecond(), serialise);
     }
+
+    @Test
+    public void shouldSerialiseIntoBufferAndDeserialiseInPlace() throws SerialisationException {
+        assumeNotNull((Object) historicSerialisationPairs);
+        final ToBytesSerialiser<T> toBytesSerialiser = (ToBytesSerialiser<T>) serialiser;
+        for (final Pair<T, byte[]> pair : historicSerialisationPairs) {
+            // Given
+            final byte[] expected = toBytesSerialiser.serialise(pair.getFirst());
+            final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+            buffer.write(-1);
+
+            // When
+            toBytesSerialiser.serialise(pair.getFirst(), buffer);
+            buffer.write(-1);
+
+            // Then
+            assertEquals(expected.length + 2, buffer.getLength());
+            assertArrayEquals(expected, Arrays.copyOfRange(buffer.getBuffer(), 1, expected.length + 1));
+            if (expected.length > 0) {
+                final T fromOffset = toBytesSerialiser.deserialise(buffer.getBuffer(), 1, expected.length);
+                assertArrayEquals(expected, toBytesSerialiser.serialise(fromOffset));
+                final T fromByteBuffer = toBytesSerialiser.deserialise(ByteBuffer.wrap(buffer.getBuffer(), 1, expected.length).slice());
+                assertArrayEquals(expected, toBytesSerialiser.serialise(fromByteBuffer));
+            }
+        }
+    }
 }
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.serialisation.util;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class ByteArrayBufferTest {
+
+    @Test
+    public void shouldGrowWhenWritingAndReservingBytes() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+
+        // When
+        buffer.write(1);
+        buffer.write(new byte[]{2, 3});
+        final int offset = buffer.reserve(2);
+        buffer.getBuffer()[offset] = 4;
+        buffer.getBuffer()[offset + 1] = 5;
+
+        // Then
+        assertEquals(3, offset);
+        assertEquals(5, buffer.getLength());
+        assertArrayEquals(new byte[]{1, 2, 3, 4, 5}, buffer.toByteArray());
+    }
+
+    @Test
+    public void shouldWrapWrittenBytesWithoutCopying() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        buffer.write(new byte[]{1, 2, 3});
+
+        // When
+        final ByteBuffer byteBuffer = buffer.toByteBuffer();
+
+        // Then
+        assertEquals(3, byteBuffer.remaining());
+        assertEquals(buffer.getBuffer(), byteBuffer.array());
+    }
+
+    @Test
+    public void shouldResetAndTruncate() {
+        // Given
+        final ByteArrayBuffer buffer = new ByteArrayBuffer();
+        buffer.write(new byte[]{1, 2, 3});
+
+        // When
+        buffer.setLength(1);
+        buffer.write(4);
+
+        // Then
+        assertArrayEquals(new byte[]{1, 4}, buffer.toByteArray());
+
+        // When
+        buffer.reset();
+
+        // Then
+        assertEquals(0, buffer.getLength());
+    }
+
+    @Test
+    public void shouldWriteUtf8TheSameAsString() {
+        // Given
+        final String[] strings = {"", "ascii", "café", "中文", "emoji 😀", "unpaired \ud83d and \ude00"};
+
+        for (final String string : strings) {
+            final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+
+            // When
+            buffer.writeUtf8(string);
+
+            // Then
+            assertArrayEquals(string, string.getBytes(StandardCharsets.UTF_8), buffer.toByteArray());
+        }
+    }
+}
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.serialisation.util;
 
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.StringUtil;
@@ -116,6 +117,39 @@ public class LengthValueBytesSerialiserUtilTest {
         assertEquals(string3, deserialisedString3);
     }
 
+    @Test
+    public void shouldSerialiseValuesWithSerialiserStraightIntoBuffer() throws IOException {
+        // Given
+        final ToBytesSerialiser<String> stringSerialiser = new StringSerialiser();
+        final String string1 = "Some value 1";
+        final String string2 = StringUtils.repeat("A long value \u00e9\u4e2d\ud83d\ude00 ", 1000);
+        final String string3 = "";
+
+        // When - serialise
+        final byte[] serialisedBytes;
+        try (final ByteArrayBuffer buffer = new ByteArrayBuffer(4)) {
+            LengthValueBytesSerialiserUtil.serialise(stringSerialiser, string1, buffer);
+            LengthValueBytesSerialiserUtil.serialise(stringSerialiser, string2, buffer);
+            LengthValueBytesSerialiserUtil.serialise(stringSerialiser, string3, buffer);
+            serialisedBytes = buffer.toByteArray();
+        }
+
+        // Then - the bytes are the same as when the values are serialised to arrays first
+        try (final ByteArrayOutputStream byteStream = new ByteArrayOutputStream()) {
+            LengthValueBytesSerialiserUtil.serialise(stringSerialiser.serialise(string1), byteStream);
+            LengthValueBytesSerialiserUtil.serialise(stringSerialiser.serialise(string2), byteStream);
+            LengthValueBytesSerialiserUtil.serialise(stringSerialiser.serialise(string3), byteStream);
+            assertArrayEquals(byteStream.toByteArray(), serialisedBytes);
+        }
+
+        // Then - the values can be deserialised
+        int[] delimiter = {0};
+        assertEquals(string1, LengthValueBytesSerialiserUtil.deserialise(stringSerialiser, serialisedBytes, delimiter));
+        assertEquals(string2, LengthValueBytesSerialiserUtil.deserialise(stringSerialiser, serialisedBytes, delimiter));
+        assertEquals(string3, LengthValueBytesSerialiserUtil.deserialise(stringSerialiser, serialisedBytes, delimiter));
+        assertEquals(serialisedBytes.length, delimiter[0]);
+    }
+
     @Test
     public void shouldSerialiseAndDeserialiseNullValue() throws IOException {
         // Given
@@ -33,10 +33,30 @@ import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+/**
+ * Samples the input elements, converts them to records, sorts the records and
+ * then picks evenly spaced records as the split points.
+ * <p>
+ * By default at most {@code maxSampledElements} elements may be sampled and a
+ * {@link uk.gov.gchq.gaffer.commonutil.exception.LimitExceededException} is thrown
+ * if there are more. The elements are streamed into records, so only the records
+ * are held in memory. If {@code reservoirSampling} is enabled then a uniform
+ * random sample of {@code maxSampledElements} elements is kept instead, so any
+ * number of elements can be streamed through. Each element is converted to
+ * records as it is added to the reservoir, so only the records of the reservoir
+ * are held in memory.
+ * The records are converted and sorted in parallel, unless {@code parallel} is
+ * disabled.
+ *
+ * @param <T> the type of the records used as split points
+ * @param <S> the type of store
+ */
 public abstract class AbstractSampleElementsForSplitPointsHandler<T, S extends Store> implements OutputOperationHandler<SampleElementsForSplitPoints<T>, List<T>> {
     public static final int MAX_SAMPLED_ELEMENTS_DEFAULT = 10000000;
 
     private int maxSampledElements = MAX_SAMPLED_ELEMENTS_DEFAULT;
+    private boolean reservoirSampling = false;
+    private boolean parallel = true;
 
     @Override
     public List<T> doOperation(final SampleElementsForSplitPoints<T> operation, final Context context, final Store store) throws OperationException {
@@ -61,12 +81,20 @@ public abstract class AbstractSampleElementsForSplitPointsHandler<T, S extends S
                 e -> null != e && (1 == proportionToSample || random.nextFloat() <= proportionToSample)
         );
 
-        final LimitedCloseableIterable<? extends Element> limitedElements =
-                new LimitedCloseableIterable<>(cleanElements, 0, maxSampledElements, false);
-
-        final Stream<T> recordStream = process(Streams.toStream(limitedElements), typedStore);
-        final Stream<T> sortedRecordStream = sort(recordStream, typedStore);
-        final List<T> records = sortedRecordStream.collect(Collectors.toList());
+        final List<T> records;
+        if (reservoirSampling) {
+            final List<List<T>> reservoir = sampleReservoir(cleanElements, random, typedStore);
+            final Stream<List<T>> reservoirStream = parallel ? reservoir.parallelStream() : reservoir.stream();
+            records = sort(reservoirStream.flatMap(List::stream), typedStore).collect(Collectors.toList());
+        } else {
+            try (final LimitedCloseableIterable<? extends Element> limitedElements =
+                         new LimitedCloseableIterable<>(cleanElements, 0, maxSampledElements, false)) {
+                final Stream<? extends Element> elementStream = parallel ? Streams.toParallelStream(limitedElements) : Streams.toStream(limitedElements);
+                final Stream<T> recordStream = process(elementStream, typedStore);
+                final Stream<T> sortedRecordStream = sort(recordStream, typedStore);
+                records = sortedRecordStream.collect(Collectors.toList());
+            }
+        }
 
         final List<T> splits;
         if (records.size() < 2 || records.size() <= numSplits) {
@@ -100,6 +128,45 @@ public abstract class AbstractSampleElementsForSplitPointsHandler<T, S extends S
         this.maxSampledElements = maxSampledElements;
     }
 
+    public boolean isReservoirSampling() {
+        return reservoirSampling;
+    }
+
+    public void setReservoirSampling(final boolean reservoirSampling) {
+        this.reservoirSampling = reservoirSampling;
+    }
+
+    public boolean isParallel() {
+        return parallel;
+    }
+
+    public void setParallel(final boolean parallel) {
+        this.parallel = parallel;
+    }
+
+    private List<List<T>> sampleReservoir(final Iterable<? extends Element> elements, final Random random, final S store) {
+        // Algorithm R - each element seen so far has the same chance of being in the reservoir. The reservoir holds
+        // the records of each element rather than the element itself.
+        final List<List<T>> reservoir = new ArrayList<>();
+        long numElements = 0;
+        for (final Element element : elements) {
+            numElements++;
+            if (reservoir.size() < maxSampledElements) {
+                reservoir.add(toRecords(element, store));
+            } else {
+                final long index = (long) (random.nextDouble() * numElements);
+                if (index < maxSampledElements) {
+                    reservoir.set((int) index, toRecords(element, store));
+                }
+            }
+        }
+        return reservoir;
+    }
+
+    private List<T> toRecords(final Element element, final S store) {
+        return process(Stream.of(element), store).collect(Collectors.toList());
+    }
+
     protected abstract Stream<T> process(final Stream<? extends Element> stream, final S store);
 
     protected void validate(final SampleElementsForSplitPoints operation, final S store) throws OperationException {
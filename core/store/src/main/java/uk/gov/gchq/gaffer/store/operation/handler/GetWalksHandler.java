@@ -16,11 +16,17 @@
 
 package uk.gov.gchq.gaffer.store.operation.handler;
 
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.ExecutorService;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.commonutil.iterable.LimitedCloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ParallelBatchIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -46,12 +52,17 @@ import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 import uk.gov.gchq.koryphe.impl.function.IterableFunction;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
 
 /**
  * An operation handler for {@link GetWalks} operations.
@@ -82,12 +93,27 @@ import java.util.stream.Collectors;
  * operationDeclarations.json file in order to limit the maximum number of hops
  * permitted or to enable/disable the pruning feature.
  * <p>
+ * The {@link Walk}s are not held in memory; they are enumerated lazily from the
+ * in-memory graph as the results are iterated. Three further settings control
+ * how the hops are executed: <ul> <li>inputBatchSize - if set, the input seeds
+ * are processed in batches of this size and the walks for each batch are
+ * returned before the next batch is started. This bounds the size of the
+ * in-memory graph and allows the first results to be returned quickly. Any
+ * While conditionals are evaluated against the seeds of each batch.</li>
+ * <li>hopBatchSize - if set, the seeds for each hop are split into batches of
+ * this size which are executed separately.</li> <li>hopParallelism - the number
+ * of hop batches that are executed concurrently on the store's job executor,
+ * defaults to 1.</li> </ul>
+ * <p>
  * Currently the handler only supports creating {@link Walk}s which contain
  * {@link Edge}s.
  */
 public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterable<Walk>> {
     private Integer maxHops = null;
     private boolean prune = true;
+    private Integer inputBatchSize = null;
+    private Integer hopBatchSize = null;
+    private int hopParallelism = 1;
 
     @Override
     public Iterable<Walk> doOperation(final GetWalks getWalks, final Context context, final Store store) throws OperationException {
@@ -105,8 +131,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         final int hops = getWalks.getNumberOfGetEdgeOperations();
 
 
-        final LimitedCloseableIterable limitedInputItr = new LimitedCloseableIterable<>(getWalks.getInput(), 0, resultLimit, false);
-        final List<EntityId> originalInput = Lists.newArrayList(limitedInputItr);
+        final LimitedCloseableIterable<? extends EntityId> limitedInput = new LimitedCloseableIterable<>(getWalks.getInput(), 0, resultLimit, false);
 
         // Check hops and maxHops (if set)
         if (hops == 0) {
@@ -115,13 +140,79 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             throw new OperationException("GetWalks operation contains " + hops + " hops. The maximum number of hops is: " + maxHops);
         }
 
+        if (null == inputBatchSize) {
+            final List<EntityId> originalInput = Lists.newArrayList(limitedInput);
+            final GraphWindow graphWindow = createGraphWindow(getWalks, originalInput, context, store);
+            return new WrappedCloseableIterable<>(() -> new WalkIterator(Collections.singletonList(originalInput).iterator(), batch -> graphWindow, hops));
+        }
+
+        return new WrappedCloseableIterable<>(() -> new WalkIterator(
+                Iterators.partition(limitedInput.iterator(), inputBatchSize),
+                batch -> {
+                    try {
+                        return createGraphWindow(getWalks, batch, context, store);
+                    } catch (final OperationException e) {
+                        throw new RuntimeException("Unable to execute GetWalks hops: " + e.getMessage(), e);
+                    }
+                },
+                hops));
+    }
+
+    public Integer getMaxHops() {
+        return maxHops;
+    }
+
+    public void setMaxHops(final Integer maxHops) {
+        this.maxHops = maxHops;
+    }
+
+    public Boolean getPrune() {
+        return prune;
+    }
+
+    public void setPrune(final Boolean prune) {
+        this.prune = prune;
+    }
+
+    public Integer getInputBatchSize() {
+        return inputBatchSize;
+    }
+
+    public void setInputBatchSize(final Integer inputBatchSize) {
+        this.inputBatchSize = inputBatchSize;
+    }
+
+    public Integer getHopBatchSize() {
+        return hopBatchSize;
+    }
+
+    public void setHopBatchSize(final Integer hopBatchSize) {
+        this.hopBatchSize = hopBatchSize;
+    }
+
+    public int getHopParallelism() {
+        return hopParallelism;
+    }
+
+    public void setHopParallelism(final int hopParallelism) {
+        this.hopParallelism = hopParallelism;
+    }
+
+    private GraphWindow createGraphWindow(final GetWalks getWalks,
+                                          final List<? extends EntityId> input,
+                                          final Context context,
+                                          final Store store) throws OperationException {
+        final Integer resultLimit = getWalks.getResultsLimit();
+        final int hops = getWalks.getNumberOfGetEdgeOperations();
         final AdjacencyMaps adjacencyMaps = prune ? new PrunedAdjacencyMaps() : new SimpleAdjacencyMaps();
         final EntityMaps entityMaps = new SimpleEntityMaps();
 
-        List<?> seeds = originalInput;
+        List<?> seeds = input;
 
-        // Execute the operations
-        for (final OperationChain<Iterable<Element>> operation : getWalks.getOperations()) {
+        // Execute the operations. They are cloned as executing them sets
+        // their input and they may be executed again for the next batch.
+        for (final OperationChain<Iterable<Element>> getWalksOperation : getWalks.getOperations()) {
+            final OperationChain<Iterable<Element>> operation = getWalksOperation.shallowClone();
             if (isWhileOperation(operation)) {
                 seeds = executeWhileOperation(
                         operation, seeds, resultLimit,
@@ -141,28 +232,7 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             entityMaps.add(new EntityMap());
         }
 
-        final GraphWindow graphWindow = new GraphWindow(adjacencyMaps, entityMaps);
-
-        // Track/recombine the edge objects and convert to return type
-        return Streams.toStream(originalInput)
-                .flatMap(seed -> walk(seed.getVertex(), null, graphWindow, new LinkedList<>(), new LinkedList<>(), hops).stream())
-                .collect(Collectors.toList());
-    }
-
-    public Integer getMaxHops() {
-        return maxHops;
-    }
-
-    public void setMaxHops(final Integer maxHops) {
-        this.maxHops = maxHops;
-    }
-
-    public Boolean getPrune() {
-        return prune;
-    }
-
-    public void setPrune(final Boolean prune) {
-        this.prune = prune;
+        return new GraphWindow(adjacencyMaps, entityMaps);
     }
 
     private boolean isWhileOperation(final OperationChain<Iterable<Element>> operation) {
@@ -228,21 +298,22 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
                                      final int hops,
                                      final AdjacencyMaps adjacencyMaps,
                                      final EntityMaps entityMaps) throws OperationException {
-        final Iterable<Element> results = executeOperation(operation, seeds, resultLimit, context, store);
-
         final AdjacencyMap adjacencyMap = new AdjacencyMap();
         final EntityMap entityMap = new EntityMap();
 
         final List<Object> nextSeeds = new ArrayList<>();
-        for (final Element e : results) {
-            if (e instanceof Edge) {
-                final Edge edge = (Edge) e;
-                final Object nextSeed = edge.getAdjacentMatchedVertexValue();
-                nextSeeds.add(nextSeed);
-                adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
-            } else {
-                final Entity entity = (Entity) e;
-                entityMap.putEntity(entity.getVertex(), entity);
+        try (final CloseableIterator<Element> results = executeOperation(operation, seeds, resultLimit, context, store)) {
+            while (results.hasNext()) {
+                final Element e = results.next();
+                if (e instanceof Edge) {
+                    final Edge edge = (Edge) e;
+                    final Object nextSeed = edge.getAdjacentMatchedVertexValue();
+                    nextSeeds.add(nextSeed);
+                    adjacencyMap.putEdge(edge.getMatchedVertexValue(), nextSeed, edge);
+                } else {
+                    final Entity entity = (Entity) e;
+                    entityMap.putEntity(entity.getVertex(), entity);
+                }
             }
         }
 
@@ -254,51 +325,50 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
         return nextSeeds;
     }
 
-    private Iterable<Element> executeOperation(final Output<Iterable<Element>> operation,
-                                               final List<?> seeds,
-                                               final Integer resultLimit,
-                                               final Context context,
-                                               final Store store) throws OperationException {
+    private CloseableIterator<Element> executeOperation(final Output<Iterable<Element>> operation,
+                                                        final List<?> seeds,
+                                                        final Integer resultLimit,
+                                                        final Context context,
+                                                        final Store store) throws OperationException {
+        if (null == hopBatchSize || seeds.size() <= hopBatchSize) {
+            // Execute an the operation chain on the supplied store
+            final Iterable<Element> results = store.execute(createHopOperation(operation, seeds), context);
+            return new LimitedCloseableIterable<>(results, 0, resultLimit, false).iterator();
+        }
 
-        final Output<Iterable<Element>> convertedOp = new OperationChain.Builder()
+        // Each batch gets its own copy of the operation and context as
+        // the store may modify them during execution.
+        final ParallelBatchIterator<Object, Element> results = new ParallelBatchIterator<>(
+                seeds.iterator(), hopBatchSize, Math.max(1, hopParallelism), true, getHopExecutor(store),
+                batch -> {
+                    final Context batchContext = context.shallowClone();
+                    batchContext.addVariables(context.getVariables());
+                    Iterable<Element> batchResults = null;
+                    try {
+                        batchResults = store.execute(createHopOperation((Output<Iterable<Element>>) operation.shallowClone(), batch), batchContext);
+                        return null == batchResults ? Collections.<Element>emptyList() : Lists.newArrayList(batchResults);
+                    } catch (final OperationException e) {
+                        throw new RuntimeException("Unable to execute GetWalks hop: " + e.getMessage(), e);
+                    } finally {
+                        CloseableUtil.close(batchResults);
+                    }
+                });
+        return new LimitedCloseableIterator<>(results, 0, resultLimit, false);
+    }
+
+    private Output<Iterable<Element>> createHopOperation(final Output<Iterable<Element>> operation, final List<?> seeds) {
+        return new OperationChain.Builder()
                 .first(new ToEntitySeeds.Builder()
                         .input(seeds)
                         .build())
                 .then(OperationChain.wrap(operation))
                 .build();
-
-        // Execute an the operation chain on the supplied store and cache
-        // the seeds in memory using an ArrayList.
-        return new LimitedCloseableIterable<>(store.execute(convertedOp, context), 0, resultLimit, false);
     }
 
-    private List<Walk> walk(final Object curr, final Object prev, final GraphWindow graphWindow, final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue, final int hops) {
-        final List<Walk> walks = new ArrayList<>();
-
-        if (null != prev && hops != edgeQueue.size()) {
-            edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
-        }
-
-        entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
-
-        if (hops == edgeQueue.size()) {
-            final Walk walk = buildWalk(edgeQueue, entityQueue);
-            walks.add(walk);
-        } else {
-            for (final Object obj : graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr)) {
-                walks.addAll(walk(obj, curr, graphWindow, edgeQueue, entityQueue, hops));
-            }
-        }
-
-        if (!edgeQueue.isEmpty()) {
-            edgeQueue.pollLast();
-        }
-
-        if (!entityQueue.isEmpty()) {
-            entityQueue.pollLast();
-        }
-
-        return walks;
+    // The hops run on the store's shared job executor, so no threads are created by this handler. If the
+    // executor is not available the batches are run in turn on the calling thread.
+    private static Executor getHopExecutor(final Store store) {
+        return ExecutorService.isEnabled() ? store::runAsync : Runnable::run;
     }
 
     private Walk buildWalk(final LinkedList<Set<Edge>> edgeQueue, final LinkedList<Set<Entity>> entityQueue) {
@@ -328,4 +398,107 @@ public class GetWalksHandler implements OutputOperationHandler<GetWalks, Iterabl
             );
         }
     }
+
+    /**
+     * Enumerates the {@link Walk}s from each seed in turn using an iterative
+     * depth-first search, so only the current path is held in memory. The
+     * {@link GraphWindow} for each batch of seeds is created when the batch
+     * is reached.
+     */
+    private final class WalkIterator implements CloseableIterator<Walk> {
+        private final Iterator<? extends List<? extends EntityId>> inputBatches;
+        private final Function<List<? extends EntityId>, GraphWindow> graphWindowFactory;
+        private final int hops;
+        private final Deque<Iterator<Object>> destinations = new ArrayDeque<>();
+        private final Deque<Object> path = new ArrayDeque<>();
+        private final LinkedList<Set<Edge>> edgeQueue = new LinkedList<>();
+        private final LinkedList<Set<Entity>> entityQueue = new LinkedList<>();
+        private Iterator<? extends EntityId> seeds = Collections.emptyIterator();
+        private GraphWindow graphWindow;
+        private Walk nextWalk;
+
+        private WalkIterator(final Iterator<? extends List<? extends EntityId>> inputBatches,
+                             final Function<List<? extends EntityId>, GraphWindow> graphWindowFactory,
+                             final int hops) {
+            this.inputBatches = inputBatches;
+            this.graphWindowFactory = graphWindowFactory;
+            this.hops = hops;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == nextWalk) {
+                if (path.isEmpty()) {
+                    if (!nextSeed()) {
+                        return false;
+                    }
+                } else if (destinations.peek().hasNext()) {
+                    visit(destinations.peek().next(), path.peek());
+                } else {
+                    leave();
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public Walk next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final Walk walk = nextWalk;
+            nextWalk = null;
+            return walk;
+        }
+
+        @Override
+        public void close() {
+            graphWindow = null;
+            seeds = Collections.emptyIterator();
+            CloseableUtil.close(inputBatches);
+        }
+
+        private boolean nextSeed() {
+            while (!seeds.hasNext()) {
+                if (!inputBatches.hasNext()) {
+                    close();
+                    return false;
+                }
+                final List<? extends EntityId> batch = inputBatches.next();
+                graphWindow = graphWindowFactory.apply(batch);
+                seeds = batch.iterator();
+            }
+            visit(seeds.next().getVertex(), null);
+            return true;
+        }
+
+        private void visit(final Object curr, final Object prev) {
+            if (null != prev && hops != edgeQueue.size()) {
+                edgeQueue.offer(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getEdges(prev, curr));
+            }
+
+            entityQueue.offer(graphWindow.getEntityMaps().get(entityQueue.size()).get(curr));
+
+            path.push(curr);
+            if (hops == edgeQueue.size()) {
+                nextWalk = buildWalk(edgeQueue, entityQueue);
+                destinations.push(Collections.emptyIterator());
+            } else {
+                destinations.push(graphWindow.getAdjacencyMaps().get(edgeQueue.size()).getDestinations(curr).iterator());
+            }
+        }
+
+        private void leave() {
+            path.pop();
+            destinations.pop();
+
+            if (!edgeQueue.isEmpty()) {
+                edgeQueue.pollLast();
+            }
+
+            if (!entityQueue.isEmpty()) {
+                entityQueue.pollLast();
+            }
+        }
+    }
 }
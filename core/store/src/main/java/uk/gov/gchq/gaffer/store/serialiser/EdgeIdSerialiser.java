@@ -21,10 +21,10 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.BooleanSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 /**
@@ -66,7 +66,7 @@ public class EdgeIdSerialiser implements ToBytesSerialiser<EdgeId> {
             return new byte[0];
         }
 
-        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+        try (final ByteArrayBuffer out = new ByteArrayBuffer()) {
             LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edgeId.getSource(), out);
             LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edgeId.getDestination(), out);
             LengthValueBytesSerialiserUtil.serialise(booleanSerialiser, edgeId.isDirected(), out);
@@ -21,11 +21,11 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.BooleanSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 /**
@@ -71,7 +71,7 @@ public class EdgeSerialiser extends PropertiesSerialiser<Edge> {
             throw new SerialisationException("No SchemaElementDefinition found for group " + edge.getGroup() + ", is this group in your schema?");
         }
 
-        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+        try (final ByteArrayBuffer out = new ByteArrayBuffer()) {
             LengthValueBytesSerialiserUtil.serialise(stringSerialiser, edge.getGroup(), out);
             LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edge.getSource(), out);
             LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, edge.getDestination(), out);
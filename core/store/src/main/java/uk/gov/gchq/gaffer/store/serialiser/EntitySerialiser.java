@@ -20,11 +20,11 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 /**
@@ -69,7 +69,7 @@ public class EntitySerialiser extends PropertiesSerialiser<Entity> {
             throw new SerialisationException("No SchemaElementDefinition found for group " + entity.getGroup() + ", is this group in your schema?");
         }
 
-        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+        try (final ByteArrayBuffer out = new ByteArrayBuffer()) {
             LengthValueBytesSerialiserUtil.serialise(stringSerialiser, entity.getGroup(), out);
             LengthValueBytesSerialiserUtil.serialise(vertexSerialiser, entity.getVertex(), out);
             serialiseProperties(entity.getProperties(), elementDefinition, out);
@@ -20,11 +20,11 @@ import uk.gov.gchq.gaffer.commonutil.StringUtil;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
 import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 
 /**
@@ -63,7 +63,7 @@ public class GroupedPropertiesSerialiser extends PropertiesSerialiser<GroupedPro
             throw new SerialisationException("No SchemaElementDefinition found for group " + properties.getGroup() + ", is this group in your schema?");
         }
 
-        try (final ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+        try (final ByteArrayBuffer out = new ByteArrayBuffer()) {
             LengthValueBytesSerialiserUtil.serialise(stringSerialiser, properties.getGroup(), out);
             serialiseProperties(properties, elementDefinition, out);
             return out.toByteArray();
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
+import uk.gov.gchq.koryphe.tuple.function.TupleAdaptedFunction;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A {@code PropertyProjection} works out, for each group in a {@link View}, which
+ * of the {@link Schema} properties are actually needed to answer a query. A property
+ * is needed if it is returned to the user, if it is selected by the schema validation,
+ * a view filter or a transformer, if it is in the view's groupBy or if it is
+ * aggregated alongside another property that is needed.
+ * <p>
+ * Stores can use the projection to avoid deserialising, and transferring, properties
+ * that the query will just throw away. If all properties of a group are needed
+ * {@link #getProperties(String)} returns null.
+ */
+public class PropertyProjection {
+    private final Map<String, Set<String>> groupToProperties = new HashMap<>();
+
+    public PropertyProjection(final Schema schema, final View view) {
+        if (null == schema || null == view) {
+            return;
+        }
+
+        for (final String group : view.getGroups()) {
+            final SchemaElementDefinition schemaElDef = schema.getElement(group);
+            final ViewElementDefinition viewElDef = view.getElement(group);
+            if (null != schemaElDef && null != viewElDef && !viewElDef.isAllProperties()) {
+                final Set<String> properties = getRequiredProperties(schemaElDef, viewElDef);
+                if (!properties.containsAll(schemaElDef.getProperties())) {
+                    groupToProperties.put(group, Collections.unmodifiableSet(properties));
+                }
+            }
+        }
+    }
+
+    /**
+     * @param group the element group
+     * @return the properties in the group that need to be loaded, or null if
+     * all of the properties need to be loaded.
+     */
+    public Set<String> getProperties(final String group) {
+        return groupToProperties.get(group);
+    }
+
+    /**
+     * @return true if at least one group does not need all of its properties.
+     */
+    public boolean hasProjection() {
+        return !groupToProperties.isEmpty();
+    }
+
+    private static Set<String> getRequiredProperties(final SchemaElementDefinition schemaElDef, final ViewElementDefinition viewElDef) {
+        final Set<String> properties = new HashSet<>();
+        if (null != viewElDef.getProperties()) {
+            properties.addAll(viewElDef.getProperties());
+        } else {
+            properties.addAll(schemaElDef.getProperties());
+            if (null != viewElDef.getExcludeProperties()) {
+                properties.removeAll(viewElDef.getExcludeProperties());
+            }
+        }
+
+        if (null != viewElDef.getGroupBy()) {
+            properties.addAll(viewElDef.getGroupBy());
+        }
+        addSelection(schemaElDef.getValidator(false), properties);
+        addSelection(viewElDef.getPreAggregationFilter(), properties);
+        addSelection(viewElDef.getPostAggregationFilter(), properties);
+        addSelection(viewElDef.getPostTransformFilter(), properties);
+        addSelection(viewElDef.getTransformer(), properties);
+
+        // An aggregator that selects several properties needs all of them if it needs any of them
+        boolean changed = true;
+        while (changed) {
+            changed = addSelection(viewElDef.getAggregator(), properties);
+            changed = addSelection(schemaElDef.getFullAggregator(), properties) || changed;
+        }
+
+        return properties;
+    }
+
+    private static void addSelection(final ElementFilter filter, final Set<String> properties) {
+        if (null != filter && null != filter.getComponents()) {
+            for (final TupleAdaptedPredicate<String, ?> component : filter.getComponents()) {
+                Collections.addAll(properties, component.getSelection());
+            }
+        }
+    }
+
+    private static void addSelection(final ElementTransformer transformer, final Set<String> properties) {
+        if (null != transformer && null != transformer.getComponents()) {
+            for (final TupleAdaptedFunction<String, ?, ?> component : transformer.getComponents()) {
+                Collections.addAll(properties, component.getSelection());
+            }
+        }
+    }
+
+    private static boolean addSelection(final ElementAggregator aggregator, final Set<String> properties) {
+        final int size = properties.size();
+        if (null != aggregator && null != aggregator.getComponents()) {
+            for (final TupleAdaptedBinaryOperator<String, ?> component : aggregator.getComponents()) {
+                final String[] selection = component.getSelection();
+                if (selection.length > 1) {
+                    for (final String property : selection) {
+                        if (properties.contains(property)) {
+                            Collections.addAll(properties, selection);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+        return properties.size() != size;
+    }
+}
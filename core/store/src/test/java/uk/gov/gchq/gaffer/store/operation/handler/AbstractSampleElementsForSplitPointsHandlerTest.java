@@ -145,6 +145,67 @@ public abstract class AbstractSampleElementsForSplitPointsHandlerTest<S extends
         // Then - no exception
     }
 
+    @Test
+    public void shouldKeepAReservoirOfMaxSampledElementsWhenReservoirSamplingIsEnabled() throws OperationException {
+        // Given
+        final int maxSampledElements = 5;
+        final int numSplits = 3;
+        final AbstractSampleElementsForSplitPointsHandler<?, S> handler = createHandler();
+        handler.setMaxSampledElements(maxSampledElements);
+        handler.setReservoirSampling(true);
+        final List<Element> elements =
+                IntStream.range(0, 100)
+                        .mapToObj(i -> new Entity(TestGroups.ENTITY, "vertex_" + i))
+                        .collect(Collectors.toList());
+        final SampleElementsForSplitPoints operation = new SampleElementsForSplitPoints.Builder<>()
+                .input(elements)
+                .numSplits(numSplits)
+                .build();
+
+        // When
+        final List<?> splits = handler.doOperation(operation, new Context(), createStore());
+
+        // Then
+        assertEquals(numSplits, splits.size());
+        handler.setMaxSampledElements(AbstractSampleElementsForSplitPointsHandler.MAX_SAMPLED_ELEMENTS_DEFAULT);
+        final SampleElementsForSplitPoints allElementsOperation = new SampleElementsForSplitPoints.Builder<>()
+                .input(elements)
+                .numSplits(Integer.MAX_VALUE)
+                .build();
+        final List<?> allElementsAsSplits = handler.doOperation(allElementsOperation, new Context(), createStore());
+        assertTrue(allElementsAsSplits.containsAll(splits));
+        int previousIndex = -1;
+        for (final Object split : splits) {
+            final int index = allElementsAsSplits.indexOf(split);
+            assertTrue(index > previousIndex);
+            previousIndex = index;
+        }
+    }
+
+    @Test
+    public void shouldCalculateTheSameSplitsWhenNotParallel() throws OperationException {
+        // Given
+        final int numSplits = 3;
+        final List<Element> elements =
+                IntStream.range(0, numSplits * 10)
+                        .mapToObj(i -> new Entity(TestGroups.ENTITY, "vertex_" + i))
+                        .collect(Collectors.toList());
+
+        final AbstractSampleElementsForSplitPointsHandler<?, S> handler = createHandler();
+        handler.setParallel(false);
+        final SampleElementsForSplitPoints operation = new SampleElementsForSplitPoints.Builder<>()
+                .input(elements)
+                .numSplits(numSplits)
+                .build();
+
+        // When
+        final List<?> splits = handler.doOperation(operation, new Context(), createStore());
+
+        // Then
+        handler.setParallel(true);
+        verifySplits(Arrays.asList(6, 14, 21), elements, splits, handler);
+    }
+
     @Test
     public void shouldReturnEmptyCollectionIfNumSplitsIsLessThan1() throws OperationException {
         // Given
@@ -17,20 +17,44 @@
 package uk.gov.gchq.gaffer.store.operation.handler;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.collect.Lists;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.graph.Walk;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.jsonserialisation.JSONSerialiser;
+import uk.gov.gchq.gaffer.operation.OperationChain;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.GetWalks;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.impl.output.ToEntitySeeds;
+import uk.gov.gchq.gaffer.operation.io.Output;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.Store;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class GetWalksHandlerTest {
     @Test
@@ -59,6 +83,9 @@ public class GetWalksHandlerTest {
         // Given
         final GetWalksHandler obj = new GetWalksHandler();
         obj.setPrune(true);
+        obj.setInputBatchSize(10);
+        obj.setHopBatchSize(100);
+        obj.setHopParallelism(4);
 
         // When
         final byte[] json = JSONSerialiser.serialise(obj, true);
@@ -66,5 +93,94 @@ public class GetWalksHandlerTest {
 
         // Then
         assertNotNull(deserialisedObj);
+        assertEquals(10, (int) deserialisedObj.getInputBatchSize());
+        assertEquals(100, (int) deserialisedObj.getHopBatchSize());
+        assertEquals(4, deserialisedObj.getHopParallelism());
+    }
+
+    @Test
+    public void shouldOnlyExecuteHopsForFirstInputBatchBeforeReturningFirstWalk() throws Exception {
+        // Given
+        final Store store = createBinaryTreeStore();
+        final GetWalksHandler handler = new GetWalksHandler();
+        handler.setInputBatchSize(1);
+
+        // When
+        final Iterator<Walk> walks = handler.doOperation(createGetWalks("A", "B"), new Context(new User()), store).iterator();
+        final Walk firstWalk = walks.next();
+
+        // Then
+        assertEquals(Arrays.asList("A", "Aa", "Aaa"), firstWalk.getVerticesOrdered());
+        verify(store, times(2)).execute(any(Output.class), any(Context.class));
+
+        // When
+        final List<Walk> remainingWalks = Lists.newArrayList(walks);
+
+        // Then
+        assertEquals(7, remainingWalks.size());
+        verify(store, times(4)).execute(any(Output.class), any(Context.class));
+    }
+
+    @Test
+    public void shouldReturnSameWalksWithBatchedParallelHops() throws Exception {
+        // Given
+        final GetWalks getWalks = createGetWalks("A", "B", "C", "D", "E");
+        final GetWalksHandler batchedHandler = new GetWalksHandler();
+        batchedHandler.setHopBatchSize(2);
+        batchedHandler.setHopParallelism(4);
+
+        // When
+        final List<List<Object>> expected = getVertices(new GetWalksHandler().doOperation(getWalks, new Context(new User()), createBinaryTreeStore()));
+        final List<List<Object>> results = getVertices(batchedHandler.doOperation(getWalks, new Context(new User()), createBinaryTreeStore()));
+
+        // Then
+        assertEquals(20, expected.size());
+        assertEquals(expected, results);
+    }
+
+    private GetWalks createGetWalks(final String... seeds) {
+        final GetElements getElements = new GetElements.Builder()
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build();
+        return new GetWalks.Builder()
+                .input(Arrays.stream(seeds).map(EntitySeed::new).toArray(EntitySeed[]::new))
+                .operations(getElements, getElements)
+                .build();
+    }
+
+    private List<List<Object>> getVertices(final Iterable<Walk> walks) {
+        final List<List<Object>> vertices = new ArrayList<>();
+        for (final Walk walk : walks) {
+            vertices.add(walk.getVerticesOrdered());
+        }
+        return vertices;
+    }
+
+    /**
+     * Creates a store where each vertex x has outgoing edges to xa and xb.
+     */
+    private Store createBinaryTreeStore() throws OperationException {
+        final Store store = mock(Store.class);
+        given(store.execute(any(Output.class), any(Context.class))).willAnswer(invocation -> {
+            final OperationChain<?> chain = (OperationChain<?>) invocation.getArguments()[0];
+            final ToEntitySeeds toEntitySeeds = (ToEntitySeeds) chain.getOperations().get(0);
+            final List<Element> results = new ArrayList<>();
+            for (final Object seed : toEntitySeeds.getInput()) {
+                final Object vertex = seed instanceof EntityId ? ((EntityId) seed).getVertex() : seed;
+                for (final String suffix : Arrays.asList("a", "b")) {
+                    results.add(new Edge.Builder()
+                            .group(TestGroups.EDGE)
+                            .source(vertex)
+                            .dest(vertex + suffix)
+                            .directed(true)
+                            .matchedVertex(EdgeId.MatchedVertex.SOURCE)
+                            .build());
+                }
+            }
+            return results;
+        });
+        return store;
     }
 }
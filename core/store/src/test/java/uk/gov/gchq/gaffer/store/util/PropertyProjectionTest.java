@@ -0,0 +1,180 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.store.util;
+
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
+import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.function.ExampleFilterFunction;
+import uk.gov.gchq.gaffer.function.ExampleTransformFunction;
+import uk.gov.gchq.gaffer.function.ExampleTuple2BinaryOperator;
+import uk.gov.gchq.gaffer.store.TestTypes;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyProjectionTest {
+    @Test
+    public void shouldLoadAllPropertiesWhenViewDoesNotRestrictProperties() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY)
+                .edge(TestGroups.EDGE)
+                .build();
+
+        // When
+        final PropertyProjection projection = new PropertyProjection(createSchema(), view);
+
+        // Then
+        assertFalse(projection.hasProjection());
+        assertNull(projection.getProperties(TestGroups.ENTITY));
+        assertNull(projection.getProperties(TestGroups.EDGE));
+    }
+
+    @Test
+    public void shouldOnlyLoadRequestedProperties() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .build())
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.PROP_3, TestPropertyNames.PROP_4)
+                        .build())
+                .build();
+
+        // When
+        final PropertyProjection projection = new PropertyProjection(createSchema(), view);
+
+        // Then
+        assertTrue(projection.hasProjection());
+        assertEquals(Sets.newHashSet(TestPropertyNames.PROP_1), projection.getProperties(TestGroups.ENTITY));
+        assertEquals(Sets.newHashSet(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2), projection.getProperties(TestGroups.EDGE));
+    }
+
+    @Test
+    public void shouldLoadPropertiesSelectedByFiltersAndTransformers() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .preAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_2)
+                                .execute(new ExampleFilterFunction())
+                                .build())
+                        .transformer(new ElementTransformer.Builder()
+                                .select(TestPropertyNames.PROP_3)
+                                .execute(new ExampleTransformFunction())
+                                .project(TestPropertyNames.TRANSIENT_1)
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final PropertyProjection projection = new PropertyProjection(createSchema(), view);
+
+        // Then
+        assertEquals(Sets.newHashSet(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2, TestPropertyNames.PROP_3),
+                projection.getProperties(TestGroups.ENTITY));
+    }
+
+    @Test
+    public void shouldLoadPropertiesAggregatedTogetherWithARequiredProperty() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .properties(TestPropertyNames.PROP_1)
+                        .aggregator(new ElementAggregator.Builder()
+                                .select(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                                .execute(new ExampleTuple2BinaryOperator())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final PropertyProjection projection = new PropertyProjection(createSchema(), view);
+
+        // Then
+        assertEquals(Sets.newHashSet(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2),
+                projection.getProperties(TestGroups.ENTITY));
+    }
+
+    @Test
+    public void shouldLoadAllPropertiesWhenTheRequiredPropertiesCoverTheSchema() {
+        // Given
+        final View view = new View.Builder()
+                .entity(TestGroups.ENTITY, new ViewElementDefinition.Builder()
+                        .excludeProperties(TestPropertyNames.PROP_4)
+                        .postAggregationFilter(new ElementFilter.Builder()
+                                .select(TestPropertyNames.PROP_4)
+                                .execute(new ExampleFilterFunction())
+                                .build())
+                        .build())
+                .build();
+
+        // When
+        final PropertyProjection projection = new PropertyProjection(createSchema(), view);
+
+        // Then
+        assertFalse(projection.hasProjection());
+        assertNull(projection.getProperties(TestGroups.ENTITY));
+    }
+
+    private Schema createSchema() {
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, new SchemaEntityDefinition.Builder()
+                        .vertex(TestTypes.ID_STRING)
+                        .property(TestPropertyNames.PROP_1, TestTypes.PROP_INTEGER)
+                        .property(TestPropertyNames.PROP_2, TestTypes.PROP_INTEGER)
+                        .property(TestPropertyNames.PROP_3, TestTypes.PROP_INTEGER)
+                        .property(TestPropertyNames.PROP_4, TestTypes.PROP_LONG)
+                        .build())
+                .edge(TestGroups.EDGE, new SchemaEdgeDefinition.Builder()
+                        .source(TestTypes.ID_STRING)
+                        .destination(TestTypes.ID_STRING)
+                        .property(TestPropertyNames.PROP_1, TestTypes.PROP_INTEGER)
+                        .property(TestPropertyNames.PROP_2, TestTypes.PROP_INTEGER)
+                        .property(TestPropertyNames.PROP_3, TestTypes.PROP_INTEGER)
+                        .property(TestPropertyNames.PROP_4, TestTypes.PROP_LONG)
+                        .build())
+                .type(TestTypes.ID_STRING, String.class)
+                .type(TestTypes.PROP_INTEGER, new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Sum())
+                        .build())
+                .type(TestTypes.PROP_LONG, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Max())
+                        .build())
+                .build();
+    }
+}
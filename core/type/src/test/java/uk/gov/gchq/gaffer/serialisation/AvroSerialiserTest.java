@@ -19,6 +19,9 @@ import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
+
+import java.nio.ByteBuffer;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
@@ -38,6 +41,24 @@ public class AvroSerialiserTest extends ToBytesSerialisationTest<Object> {
         assertEquals(2, o);
     }
 
+    @Test
+    @Override
+    public void shouldSerialiseIntoBufferAndDeserialiseInPlace() throws SerialisationException {
+        // Given - the Avro bytes are not repeatable, so the values are compared rather than the bytes
+        final ToBytesSerialiser<Object> toBytesSerialiser = (ToBytesSerialiser<Object>) serialiser;
+        final ByteArrayBuffer buffer = new ByteArrayBuffer(1);
+        buffer.write(-1);
+
+        // When
+        toBytesSerialiser.serialise("value", buffer);
+        final int length = buffer.getLength() - 1;
+        buffer.write(-1);
+
+        // Then
+        assertEquals("value", toBytesSerialiser.deserialise(buffer.getBuffer(), 1, length).toString());
+        assertEquals("value", toBytesSerialiser.deserialise(ByteBuffer.wrap(buffer.getBuffer(), 1, length).slice()).toString());
+    }
+
     @Override
     public Serialiser<Object, byte[]> getSerialisation() {
         return new AvroSerialiser();
@@ -379,6 +379,38 @@ public class GetWalksIT extends AbstractStoreIT {
         assertThat(getPaths(results), is(equalTo("AED,AEF,ABC,EDA,EFC")));
     }
 
+    @Test
+    public void shouldGetPathsWithBatchedInputAndParallelHops() throws Exception {
+        // Given
+        final StoreProperties properties = getStoreProperties();
+        properties.setOperationDeclarationPaths("getWalksWithBatchingDeclaration.json");
+        createGraph(properties);
+        addDefaultElements();
+
+        final GetElements operation = new GetElements.Builder()
+                .directedType(DirectedType.DIRECTED)
+                .view(new View.Builder()
+                        .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.COUNT)
+                                .build())
+                        .edge(TestGroups.EDGE_2, new ViewElementDefinition.Builder()
+                                .properties(TestPropertyNames.COUNT)
+                                .build())
+                        .build()).inOutType(SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING)
+                .build();
+
+        final GetWalks op = new GetWalks.Builder()
+                .input(seedA, seedE)
+                .operations(operation, operation)
+                .build();
+
+        // When
+        final Iterable<Walk> results = graph.execute(op, getUser());
+
+        // Then
+        assertThat(getPaths(results), is(equalTo("AED,AEF,ABC,EDA,EFC")));
+    }
+
     @Test
     public void shouldGetPathsWithLoops() throws Exception {
         // Given
@@ -44,12 +44,17 @@ public class AccumuloProperties extends StoreProperties {
     public static final String PASSWORD = "accumulo.password";
     public static final String THREADS_FOR_BATCH_SCANNER = "accumulo.batchScannerThreads";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "accumulo.entriesForBatchScanner";
+    public static final String SEED_BATCHES_TO_SORT_BY_TABLET = "accumulo.seedBatchesToSortByTablet";
+    public static final String PREFETCH_SEED_BATCHES = "accumulo.prefetchSeedBatches";
     public static final String CLIENT_SIDE_BLOOM_FILTER_SIZE = "accumulo.clientSideBloomFilterSize";
     public static final String FALSE_POSITIVE_RATE = "accumulo.falsePositiveRate";
     public static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR = "accumulo.maxBloomFilterToPassToAnIterator";
+    public static final String MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR = "accumulo.maxVertexSetToPassToAnIterator";
     public static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER = "accumulo.maxBufferSizeForBatchWriterInBytes";
     public static final String MAX_TIME_OUT_FOR_BATCH_WRITER = "accumulo.maxTimeOutForBatchWriterInMilliseconds";
     public static final String NUM_THREADS_FOR_BATCH_WRITER = "accumulo.numThreadsForBatchWriter";
+    public static final String INGEST_BUFFER_SIZE = "accumulo.ingestBufferSize";
+    public static final String INGEST_THREADS = "accumulo.ingestThreads";
     public static final String TABLE_REPLICATION_FACTOR = "accumulo.file.replication";
     public static final String ENABLE_VALIDATOR_ITERATOR = "gaffer.store.accumulo.enable.validator.iterator";
     public static final String HDFS_SKIP_PERMISSIONS = "accumulostore.operation.hdfs.skip_permissions";
@@ -57,12 +62,17 @@ public class AccumuloProperties extends StoreProperties {
     // default values
     private static final String NUM_THREADS_FOR_BATCH_WRITER_DEFAULT = "10";
     private static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    private static final String SEED_BATCHES_TO_SORT_BY_TABLET_DEFAULT = "1";
+    private static final String PREFETCH_SEED_BATCHES_DEFAULT = "true";
     private static final String CLIENT_SIDE_BLOOM_FILTER_SIZE_DEFAULT = "838860800";
     private static final String FALSE_POSITIVE_RATE_DEFAULT = "0.0002";
     private static final String MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR_DEFAULT = "8388608";
+    private static final String MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR_DEFAULT = "10000";
     private static final String MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT = "100000000";
     private static final String MAX_TIME_OUT_FOR_BATCH_WRITER_DEFAULT = "1000";
     private static final String THREADS_FOR_BATCH_SCANNER_DEFAULT = "10";
+    private static final String INGEST_BUFFER_SIZE_DEFAULT = "0";
+    private static final String INGEST_THREADS_DEFAULT = "1";
     public static final String ENABLE_VALIDATOR_ITERATOR_DEFAULT = "true";
 
     public AccumuloProperties() {
@@ -150,6 +160,47 @@ public class AccumuloProperties extends StoreProperties {
         return Long.parseLong(get(MAX_BUFFER_SIZE_FOR_BATCH_WRITER, MAX_BUFFER_SIZE_FOR_BATCH_WRITER_DEFAULT));
     }
 
+    /**
+     * Gets the number of elements that are buffered and aggregated in memory
+     * before they are converted to mutations and written to Accumulo. If this
+     * is less than 1 then elements are written without being aggregated first.
+     *
+     * @return The number of elements to aggregate together on ingest.
+     */
+    public int getIngestBufferSize() {
+        return Integer.parseInt(get(INGEST_BUFFER_SIZE, INGEST_BUFFER_SIZE_DEFAULT));
+    }
+
+    /**
+     * Sets the number of elements that are buffered and aggregated in memory
+     * before they are converted to mutations and written to Accumulo.
+     *
+     * @param ingestBufferSize The number of elements to aggregate together on ingest.
+     */
+    public void setIngestBufferSize(final String ingestBufferSize) {
+        set(INGEST_BUFFER_SIZE, ingestBufferSize);
+    }
+
+    /**
+     * Gets the number of threads that convert elements to mutations when
+     * elements are added. Each thread writes to its own batch writer.
+     *
+     * @return The number of threads to use to add elements.
+     */
+    public int getIngestThreads() {
+        return Integer.parseInt(get(INGEST_THREADS, INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Sets the number of threads that convert elements to mutations when
+     * elements are added. Each thread writes to its own batch writer.
+     *
+     * @param ingestThreads The number of threads to use to add elements.
+     */
+    public void setIngestThreads(final String ingestThreads) {
+        set(INGEST_THREADS, ingestThreads);
+    }
+
     /**
      * Gets the list of Zookeeper servers.
      *
@@ -284,6 +335,47 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Gets the number of batches of seeds that are read together, sorted and
+     * grouped by tablet before they are given to batch scanners. When this is
+     * greater than 1 each batch scanner only queries a subset of the tablets.
+     *
+     * @return The number of batches of seeds to sort by tablet.
+     */
+    public int getSeedBatchesToSortByTablet() {
+        return Integer.parseInt(get(SEED_BATCHES_TO_SORT_BY_TABLET, SEED_BATCHES_TO_SORT_BY_TABLET_DEFAULT));
+    }
+
+    /**
+     * Sets the number of batches of seeds that are read together, sorted and
+     * grouped by tablet before they are given to batch scanners.
+     *
+     * @param seedBatchesToSortByTablet The number of batches of seeds to sort by tablet.
+     */
+    public void setSeedBatchesToSortByTablet(final String seedBatchesToSortByTablet) {
+        set(SEED_BATCHES_TO_SORT_BY_TABLET, seedBatchesToSortByTablet);
+    }
+
+    /**
+     * Returns true if the ranges for the next batch of seeds should be created
+     * in the background while the current batch is scanned.
+     *
+     * @return true if the next batch of seeds should be prefetched.
+     */
+    public boolean getPrefetchSeedBatches() {
+        return Boolean.parseBoolean(get(PREFETCH_SEED_BATCHES, PREFETCH_SEED_BATCHES_DEFAULT));
+    }
+
+    /**
+     * Sets whether the ranges for the next batch of seeds should be created
+     * in the background while the current batch is scanned.
+     *
+     * @param prefetchSeedBatches true if the next batch of seeds should be prefetched.
+     */
+    public void setPrefetchSeedBatches(final boolean prefetchSeedBatches) {
+        set(PREFETCH_SEED_BATCHES, Boolean.toString(prefetchSeedBatches));
+    }
+
     /**
      * Gets the size that should be used for the creation of bloom filters on the
      * client side.
@@ -350,6 +442,30 @@ public class AccumuloProperties extends StoreProperties {
         set(MAX_BLOOM_FILTER_TO_PASS_TO_AN_ITERATOR, maxBloomFilterToPassToAnIterator);
     }
 
+    /**
+     * Gets the maximum number of vertices that can be passed to an iterator on
+     * the server side as an exact, sorted set. Larger sets are passed as bloom
+     * filters instead.
+     *
+     * @return the maximum number of vertices in a set passed to an iterator
+     */
+    public int getMaxVertexSetToPassToAnIterator() {
+        return Integer.parseInt(
+                get(MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR, MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR_DEFAULT));
+    }
+
+    /**
+     * Sets the maximum number of vertices that can be passed to an iterator on
+     * the server side as an exact, sorted set. Larger sets are passed as bloom
+     * filters instead. Set this to 0 to always use bloom filters.
+     *
+     * @param maxVertexSetToPassToAnIterator the maximum number of vertices in a
+     *                                       set passed to an iterator
+     */
+    public void setMaxVertexSetToPassToAnIterator(final String maxVertexSetToPassToAnIterator) {
+        set(MAX_VERTEX_SET_TO_PASS_TO_AN_ITERATOR, maxVertexSetToPassToAnIterator);
+    }
+
     /**
      * Gets the key package that should be used in conjunction with this table.
      *
@@ -25,6 +25,8 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.util.Set;
+
 public class AccumuloEdgeValueLoader extends AccumuloElementValueLoader {
     private static final long serialVersionUID = 6857884477152298375L;
     private final boolean includeMatchedVertex;
@@ -35,7 +37,17 @@ public class AccumuloEdgeValueLoader extends AccumuloElementValueLoader {
                                    final AccumuloElementConverter elementConverter,
                                    final Schema schema,
                                    final boolean includeMatchedVertex) {
-        super(group, key, value, elementConverter, schema);
+        this(group, key, value, elementConverter, schema, includeMatchedVertex, null);
+    }
+
+    public AccumuloEdgeValueLoader(final String group,
+                                   final Key key,
+                                   final Value value,
+                                   final AccumuloElementConverter elementConverter,
+                                   final Schema schema,
+                                   final boolean includeMatchedVertex,
+                                   final Set<String> valuePropertiesToLoad) {
+        super(group, key, value, elementConverter, schema, valuePropertiesToLoad);
         this.includeMatchedVertex = includeMatchedVertex;
     }
 
@@ -25,6 +25,8 @@ import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 
+import java.util.Set;
+
 public abstract class AccumuloElementValueLoader implements ElementValueLoader {
     private static final long serialVersionUID = 3874766099103158427L;
 
@@ -35,6 +37,7 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
     private final String group;
     private final Value value;
     private final String timestampProperty;
+    private final Set<String> valuePropertiesToLoad;
 
     private SchemaElementDefinition eDef;
 
@@ -43,12 +46,32 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
                                          final Value value,
                                          final AccumuloElementConverter elementConverter,
                                          final Schema schema) {
+        this(group, key, value, elementConverter, schema, null);
+    }
+
+    /**
+     * @param group                 the element group
+     * @param key                   the accumulo key
+     * @param value                 the accumulo value
+     * @param elementConverter      the element converter
+     * @param schema                the schema
+     * @param valuePropertiesToLoad the properties to deserialise together when
+     *                              one of them is requested, or null to deserialise all
+     *                              the properties in the value
+     */
+    protected AccumuloElementValueLoader(final String group,
+                                         final Key key,
+                                         final Value value,
+                                         final AccumuloElementConverter elementConverter,
+                                         final Schema schema,
+                                         final Set<String> valuePropertiesToLoad) {
         this.group = group;
         this.key = key;
         this.value = value;
         this.elementConverter = elementConverter;
         this.schema = schema;
         this.timestampProperty = schema.getConfig(AccumuloStoreConstants.TIMESTAMP_PROPERTY);
+        this.valuePropertiesToLoad = valuePropertiesToLoad;
     }
 
     @Override
@@ -67,6 +90,8 @@ public abstract class AccumuloElementValueLoader implements ElementValueLoader {
             props = elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray());
         } else if (name.equals(timestampProperty)) {
             props = elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp());
+        } else if (null != valuePropertiesToLoad && valuePropertiesToLoad.contains(name)) {
+            props = elementConverter.getPropertiesFromValue(group, value, valuePropertiesToLoad);
         } else {
             props = elementConverter.getPropertiesFromValue(group, value);
         }
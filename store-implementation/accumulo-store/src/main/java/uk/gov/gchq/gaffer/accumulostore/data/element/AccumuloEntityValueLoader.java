@@ -25,6 +25,8 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.util.Set;
+
 public class AccumuloEntityValueLoader extends AccumuloElementValueLoader {
     private static final long serialVersionUID = -2926043462653982497L;
 
@@ -36,6 +38,15 @@ public class AccumuloEntityValueLoader extends AccumuloElementValueLoader {
         super(group, key, value, elementConverter, schema);
     }
 
+    public AccumuloEntityValueLoader(final String group,
+                                     final Key key,
+                                     final Value value,
+                                     final AccumuloElementConverter elementConverter,
+                                     final Schema schema,
+                                     final Set<String> valuePropertiesToLoad) {
+        super(group, key, value, elementConverter, schema, valuePropertiesToLoad);
+    }
+
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST", justification = "element provided should always be an Entity")
     @Override
     public void loadIdentifiers(final Element entity) {
@@ -37,15 +37,18 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.LazyEdge;
 import uk.gov.gchq.gaffer.data.element.LazyEntity;
+import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.io.IOException;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
@@ -68,6 +71,8 @@ public abstract class AbstractElementFilter extends Filter {
 
     private Set<String> groupsWithoutFilters = Collections.emptySet();
 
+    private Map<String, Set<String>> groupToFilterProperties = Collections.emptyMap();
+
     private final ElementValidator.FilterType filterType;
 
     protected AbstractElementFilter(final ElementValidator.FilterType filterType) {
@@ -83,9 +88,9 @@ public abstract class AbstractElementFilter extends Filter {
 
         final Element element;
         if (schema.isEntity(group)) {
-            element = new LazyEntity(new Entity(group), new AccumuloEntityValueLoader(group, key, value, elementConverter, schema));
+            element = new LazyEntity(new Entity(group), new AccumuloEntityValueLoader(group, key, value, elementConverter, schema, groupToFilterProperties.get(group)));
         } else {
-            element = new LazyEdge(new Edge(group, null, null, false), new AccumuloEdgeValueLoader(group, key, value, elementConverter, schema, true));
+            element = new LazyEdge(new Edge(group, null, null, false), new AccumuloEdgeValueLoader(group, key, value, elementConverter, schema, true, groupToFilterProperties.get(group)));
         }
         return elementPredicate.test(element);
     }
@@ -124,9 +129,11 @@ public abstract class AbstractElementFilter extends Filter {
             LOGGER.debug("Determining groups that don't need to be filtered based on view {}", view);
             if (filterType == ElementValidator.FilterType.PRE_AGGREGATION_FILTER) {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPreAggregationFilters);
+                updateViewGroupFilterProperties(view, ViewElementDefinition::getPreAggregationFilter);
                 elementPredicate = new ElementValidator(view)::validateInput;
             } else {
                 updateViewGroupsWithoutFilters(view, ViewElementDefinition::hasPostAggregationFilters);
+                updateViewGroupFilterProperties(view, ViewElementDefinition::getPostAggregationFilter);
                 elementPredicate = new ElementValidator(view)::validateAggregation;
             }
         }
@@ -144,6 +151,7 @@ public abstract class AbstractElementFilter extends Filter {
         newInstance.schema = schema;
         newInstance.elementConverter = elementConverter;
         newInstance.elementPredicate = elementPredicate;
+        newInstance.groupToFilterProperties = groupToFilterProperties;
         return newInstance;
     }
 
@@ -172,6 +180,21 @@ public abstract class AbstractElementFilter extends Filter {
         LOGGER.debug("The following groups will not be filtered: {}", StringUtils.join(groupsWithoutFilters, ','));
     }
 
+    private void updateViewGroupFilterProperties(final View view, final Function<ViewElementDefinition, ElementFilter> getFilter) {
+        // Only the properties selected by the filter are deserialised from the value, rather than every property
+        groupToFilterProperties = new HashMap<>();
+        for (final Map.Entry<String, ViewElementDefinition> entry : new ChainedIterable<Map.Entry<String, ViewElementDefinition>>(view.getEntities().entrySet(), view.getEdges().entrySet())) {
+            final ElementFilter filter = null != entry.getValue() ? getFilter.apply(entry.getValue()) : null;
+            if (null != filter && null != filter.getComponents()) {
+                final Set<String> properties = new HashSet<>();
+                for (final TupleAdaptedPredicate<String, ?> component : filter.getComponents()) {
+                    Collections.addAll(properties, component.getSelection());
+                }
+                groupToFilterProperties.put(entry.getKey(), properties);
+            }
+        }
+    }
+
     private void updateSchemaGroupsWithoutFilters() {
         groupsWithoutFilters = new HashSet<>();
         for (final Map.Entry<String, SchemaElementDefinition> entry : new ChainedIterable<Map.Entry<String, SchemaElementDefinition>>(schema.getEntities().entrySet(), schema.getEdges().entrySet())) {
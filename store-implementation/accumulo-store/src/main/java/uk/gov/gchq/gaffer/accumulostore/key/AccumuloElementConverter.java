@@ -20,12 +20,16 @@ import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 
 import uk.gov.gchq.gaffer.accumulostore.utils.BytesAndRange;
+import uk.gov.gchq.gaffer.accumulostore.utils.SerialisedValueAggregator;
 import uk.gov.gchq.gaffer.commonutil.pair.Pair;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
+
+import java.util.Set;
 
 /**
  * The Accumulo ElementConverter Interface details the methods necessary to
@@ -95,6 +99,65 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromValue(final String group, final Value value);
 
+    /**
+     * Converts an Accumulo {@link org.apache.accumulo.core.data.Value} to a
+     * {@link uk.gov.gchq.gaffer.data.element.Properties} object, only deserialising
+     * the properties that are required.
+     *
+     * @param group            the element group
+     * @param value            the Value containing the serialised properties
+     * @param propertiesToLoad the properties to deserialise, or null to deserialise all properties
+     * @return A set of {@link uk.gov.gchq.gaffer.data.element.Properties} that represent
+     * the required properties stored within the {@link Value}
+     */
+    default Properties getPropertiesFromValue(final String group, final Value value, final Set<String> propertiesToLoad) {
+        final Properties properties = getPropertiesFromValue(group, value);
+        if (null != propertiesToLoad) {
+            properties.keySet().retainAll(propertiesToLoad);
+        }
+        return properties;
+    }
+
+    /**
+     * Adds the properties stored in an Accumulo {@link Value} to the provided
+     * {@link Properties}. This allows a single {@link Properties} object to be
+     * reused for many values.
+     *
+     * @param group            the element group
+     * @param value            the Value containing the serialised properties
+     * @param propertiesToLoad the properties to deserialise, or null to deserialise all properties
+     * @param properties       the properties to add to
+     */
+    default void addPropertiesFromValue(final String group, final Value value, final Set<String> propertiesToLoad, final Properties properties) {
+        properties.putAll(getPropertiesFromValue(group, value, propertiesToLoad));
+    }
+
+    /**
+     * Creates a {@link SerialisedValueAggregator} that applies the ingest
+     * aggregation functions of the group to serialised {@link Value}s, without
+     * converting each Value to {@link Properties}.
+     *
+     * @param group the element group
+     * @return the aggregator, or null if the Values of the group cannot be aggregated in their serialised form
+     */
+    default SerialisedValueAggregator getSerialisedValueAggregator(final String group) {
+        return null;
+    }
+
+    /**
+     * Removes the serialised properties that are not required from an Accumulo
+     * {@link org.apache.accumulo.core.data.Value}. The properties that are kept
+     * can still be read using {@link #getPropertiesFromValue(String, Value, Set)}.
+     *
+     * @param group            the element group
+     * @param value            the Value containing the serialised properties
+     * @param propertiesToKeep the properties to keep, or null to keep all properties
+     * @return A {@link Value} only containing the required properties
+     */
+    default Value getProjectedValue(final String group, final Value value, final Set<String> propertiesToKeep) {
+        return value;
+    }
+
     /**
      * Gets a new {@link ElementId} from an Accumulo {@link Key}.
      *
@@ -126,6 +189,26 @@ public interface AccumuloElementConverter {
      */
     Element getFullElement(final Key key, final Value value, final boolean includeMatchedVertex);
 
+    /**
+     * Returns an {@link Element} populated with the properties defined within
+     * the {@link Key} and the properties in the {@link Value} that are required
+     * by the provided {@link PropertyProjection}.
+     *
+     * @param key                  the accumulo Key containing serialised parts of the Element
+     * @param value                the accumulo Value containing serialised properties of the Element
+     * @param includeMatchedVertex if true then the matchedVertex field is set on Edges
+     * @param projection           the properties required for each group, or null if all properties are required
+     * @return Returns an {@link Element} populated with the required properties
+     */
+    default Element getFullElement(final Key key, final Value value, final boolean includeMatchedVertex, final PropertyProjection projection) {
+        if (null == projection) {
+            return getFullElement(key, value, includeMatchedVertex);
+        }
+        final Element element = getElementFromKey(key, includeMatchedVertex);
+        element.copyProperties(getPropertiesFromValue(element.getGroup(), value, projection.getProperties(element.getGroup())));
+        return element;
+    }
+
     /**
      * Helper Used to create Bloom Filters, method Serialises a given object
      * (from an {@link uk.gov.gchq.gaffer.data.element.id.EntityId} ) with the Identifier
@@ -168,6 +251,18 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromColumnQualifier(final String group, final byte[] columnQualifier);
 
+    /**
+     * Adds the {@link uk.gov.gchq.gaffer.data.element.Properties} that are stored
+     * in the column qualifier to the provided {@link Properties}.
+     *
+     * @param group           the element group
+     * @param columnQualifier the element column qualifier properties serialised into bytes
+     * @param properties      the properties to add to
+     */
+    default void addPropertiesFromColumnQualifier(final String group, final byte[] columnQualifier, final Properties properties) {
+        properties.putAll(getPropertiesFromColumnQualifier(group, columnQualifier));
+    }
+
     /**
      * Truncates the provided columnQualifier, returning the byte representation of the serialised version of the specified
      * properties.
@@ -217,6 +312,18 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility);
 
+    /**
+     * Adds the {@link uk.gov.gchq.gaffer.data.element.Properties} that are stored
+     * in the column visibility to the provided {@link Properties}.
+     *
+     * @param group            the element group
+     * @param columnVisibility the element visibility property serialised into bytes
+     * @param properties       the properties to add to
+     */
+    default void addPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility, final Properties properties) {
+        properties.putAll(getPropertiesFromColumnVisibility(group, columnVisibility));
+    }
+
     /**
      * Creates a timestamp based on the provided {@link Properties}
      * will return a default value if properties do not have a valid timestamp value
@@ -239,4 +346,16 @@ public interface AccumuloElementConverter {
      */
     Properties getPropertiesFromTimestamp(final String group, final long timestamp);
 
+    /**
+     * Adds the timestamp property, if the group has one, to the provided
+     * {@link Properties}.
+     *
+     * @param group      the group of the element
+     * @param timestamp  the timestamp
+     * @param properties the properties to add to
+     */
+    default void addPropertiesFromTimestamp(final String group, final long timestamp, final Properties properties) {
+        properties.putAll(getPropertiesFromTimestamp(group, timestamp));
+    }
+
 }
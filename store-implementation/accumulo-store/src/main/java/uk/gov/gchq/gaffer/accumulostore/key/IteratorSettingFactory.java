@@ -21,6 +21,7 @@ import org.apache.hadoop.util.bloom.BloomFilter;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
+import uk.gov.gchq.gaffer.accumulostore.utils.SortedVertexSet;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 
@@ -46,6 +47,20 @@ public interface IteratorSettingFactory {
      */
     IteratorSetting getBloomFilterIteratorSetting(final BloomFilter filter) throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will filter elements based on their
+     * vertices membership in a given {@link SortedVertexSet} to a
+     * {@link org.apache.accumulo.core.client.Scanner}. Unlike a
+     * {@link org.apache.hadoop.util.bloom.BloomFilter} the membership test is exact.
+     *
+     * @param vertices          the sorted set of serialised vertices
+     * @param falsePositiveRate the false positive rate of the bloom filter being replaced, used to report the false positives avoided
+     * @return A new {@link IteratorSetting} for an Iterator capable of filtering elements based on checking its serialised form for membership in a {@link SortedVertexSet}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getVertexSetFilterIteratorSetting(final SortedVertexSet vertices, final double falsePositiveRate) throws IteratorSettingException;
+
     /**
      * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
      * can be used to apply an iterator that will filter elements based on
@@ -72,6 +87,20 @@ public interface IteratorSettingFactory {
     IteratorSetting getElementPostAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException;
 
+    /**
+     * Returns an {@link org.apache.accumulo.core.client.IteratorSetting} that
+     * can be used to apply an iterator that will remove the properties that
+     * are not required by the view from the values returned by a {@link org.apache.accumulo.core.client.Scanner}.
+     * May return null if the view requires all properties.
+     *
+     * @param view  the operation view
+     * @param store the accumulo store
+     * @return A new {@link IteratorSetting} for an Iterator capable of removing unused properties based on a {@link View}
+     * @throws IteratorSettingException if an iterator setting could not be created
+     */
+    IteratorSetting getPropertyProjectionIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException;
+
     /**
      * Returns an Iterator that will filter out
      * Edges/Entities/Undirected/Directed Edges based on the options in the
@@ -24,6 +24,8 @@ import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.BytesAndRange;
+import uk.gov.gchq.gaffer.accumulostore.utils.SerialisedPropertyAggregator;
+import uk.gov.gchq.gaffer.accumulostore.utils.SerialisedValueAggregator;
 import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.commonutil.LongUtil;
@@ -40,16 +42,23 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.tuple.binaryoperator.TupleAdaptedBinaryOperator;
 
 import java.io.ByteArrayOutputStream;
-import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BinaryOperator;
 
 @SuppressWarnings("unchecked")
 public abstract class AbstractCoreKeyAccumuloElementConverter implements AccumuloElementConverter {
@@ -120,7 +129,7 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @SuppressWarnings("Convert2streamapi")
     @Override
     public Value getValueFromProperties(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ByteArrayBuffer stream = new ByteArrayBuffer();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
 
         for (final String propertyName : elementDefinition.getProperties()) {
@@ -140,6 +149,19 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromValue(final String group, final Value value) {
         final Properties properties = new Properties();
+        addPropertiesFromValue(group, value, null, properties);
+        return properties;
+    }
+
+    @Override
+    public Properties getPropertiesFromValue(final String group, final Value value, final Set<String> propertiesToLoad) {
+        final Properties properties = new Properties();
+        addPropertiesFromValue(group, value, propertiesToLoad, properties);
+        return properties;
+    }
+
+    @Override
+    public void addPropertiesFromValue(final String group, final Value value, final Set<String> propertiesToLoad, final Properties properties) {
         if (isNotEmpty(value)) {
             final byte[] bytes = value.get();
             int delimiterPosition = 0;
@@ -150,14 +172,80 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 final String propertyName = propertyNames.next();
                 try {
                     if (isStoredInValue(propertyName, elementDefinition)) {
-                        delimiterPosition = addDeserialisedProperty(bytes, delimiterPosition, properties, elementDefinition, propertyName);
+                        if (null == propertiesToLoad || propertiesToLoad.contains(propertyName)) {
+                            delimiterPosition = addDeserialisedProperty(bytes, delimiterPosition, properties, elementDefinition, propertyName);
+                        } else {
+                            delimiterPosition = skipProperty(bytes, delimiterPosition, elementDefinition, propertyName);
+                        }
                     }
                 } catch (final SerialisationException e) {
                     throw new AccumuloElementConversionException("Failed to deserialise property " + propertyName, e);
                 }
             }
         }
-        return properties;
+    }
+
+    @Override
+    public SerialisedValueAggregator getSerialisedValueAggregator(final String group) {
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+
+        // Only functions applied to a single property stored in the value can be applied to the serialised properties
+        final Map<String, BinaryOperator<?>> functions = new HashMap<>();
+        for (final TupleAdaptedBinaryOperator<String, ?> component : elementDefinition.getIngestAggregator().getComponents()) {
+            final String[] selection = component.getSelection();
+            for (final String propertyName : selection) {
+                if (isStoredInValue(propertyName, elementDefinition)
+                        && (1 != selection.length || functions.containsKey(propertyName))) {
+                    return null;
+                }
+            }
+            if (1 == selection.length && isStoredInValue(selection[0], elementDefinition)) {
+                functions.put(selection[0], component.getBinaryOperator());
+            }
+        }
+
+        final List<SerialisedPropertyAggregator> aggregators = new ArrayList<>();
+        for (final String propertyName : elementDefinition.getProperties()) {
+            if (isStoredInValue(propertyName, elementDefinition)) {
+                final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+                if (null == typeDefinition || !(typeDefinition.getSerialiser() instanceof ToBytesSerialiser)) {
+                    return null;
+                }
+                aggregators.add(SerialisedPropertyAggregator.create(functions.get(propertyName), (ToBytesSerialiser) typeDefinition.getSerialiser()));
+            }
+        }
+        return new SerialisedValueAggregator(aggregators);
+    }
+
+    @Override
+    public Value getProjectedValue(final String group, final Value value, final Set<String> propertiesToKeep) {
+        if (null == propertiesToKeep || !isNotEmpty(value)) {
+            return value;
+        }
+
+        final byte[] bytes = value.get();
+        final ByteArrayBuffer stream = new ByteArrayBuffer(bytes.length);
+        int delimiterPosition = 0;
+        int projectedLength = 0;
+        final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
+        final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+        while (propertyNames.hasNext() && delimiterPosition < bytes.length) {
+            final String propertyName = propertyNames.next();
+            if (isStoredInValue(propertyName, elementDefinition)) {
+                final int nextPosition = skipProperty(bytes, delimiterPosition, elementDefinition, propertyName);
+                if (propertiesToKeep.contains(propertyName)) {
+                    stream.write(bytes, delimiterPosition, nextPosition - delimiterPosition);
+                    projectedLength = stream.size();
+                } else if (nextPosition > delimiterPosition) {
+                    // Dropped properties are written with an empty length so the positions of the later properties are kept
+                    stream.write(0);
+                }
+                delimiterPosition = nextPosition;
+            }
+        }
+
+        // Any properties after the last one kept are dropped completely
+        return new Value(stream.getBuffer(), 0, projectedLength);
     }
 
     @Override
@@ -231,7 +319,12 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility) {
         final Properties properties = new Properties();
+        addPropertiesFromColumnVisibility(group, columnVisibility, properties);
+        return properties;
+    }
 
+    @Override
+    public void addPropertiesFromColumnVisibility(final String group, final byte[] columnVisibility, final Properties properties) {
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
 
         if (null != schema.getVisibilityProperty()) {
@@ -252,13 +345,11 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 }
             }
         }
-
-        return properties;
     }
 
     @Override
     public byte[] buildColumnQualifier(final String group, final Properties properties) {
-        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ByteArrayBuffer stream = new ByteArrayBuffer();
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
 
         for (final String groupByPropertyName : elementDefinition.getGroupBy()) {
@@ -280,16 +371,10 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         try {
             final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
             final ToBytesSerialiser serialiser = (null == typeDefinition) ? null : (ToBytesSerialiser) typeDefinition.getSerialiser();
-            byte[] bytes;
-            if (null == serialiser) {
-                bytes = AccumuloStoreConstants.EMPTY_BYTES;
-            } else {
-                Object value = properties.get(propertyName);
-                //serialiseNull could be different to AccumuloStoreConstants.EMPTY_BYTES
-                bytes = (null == value) ? serialiser.serialiseNull() : serialiser.serialise(value);
-            }
-            writeBytes(bytes, stream);
-        } catch (final IOException e) {
+            // A missing serialiser writes empty bytes and a null value uses serialiseNull.
+            // When the stream is a ByteArrayBuffer the value is serialised straight into it.
+            LengthValueBytesSerialiserUtil.serialise(serialiser, properties.get(propertyName), stream);
+        } catch (final SerialisationException e) {
             throw new AccumuloElementConversionException("Failed to write serialised property to ByteArrayOutputStream" + propertyName, e);
         }
     }
@@ -297,6 +382,12 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
     @Override
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes) {
         final Properties properties = new Properties();
+        addPropertiesFromColumnQualifier(group, bytes, properties);
+        return properties;
+    }
+
+    @Override
+    public void addPropertiesFromColumnQualifier(final String group, final byte[] bytes, final Properties properties) {
         if (null != bytes && bytes.length != 0) {
             int delimiterPosition = 0;
             final int arrayLength = bytes.length;
@@ -311,7 +402,6 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 }
             }
         }
-        return properties;
     }
 
     private int addDeserialisedProperty(final byte[] bytes, final int carriage, final Properties properties, final SchemaElementDefinition elementDefinition, final String propertyName) throws SerialisationException {
@@ -329,6 +419,14 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
         return rtn;
     }
 
+    private int skipProperty(final byte[] bytes, final int carriage, final SchemaElementDefinition elementDefinition, final String propertyName) {
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        if (null == typeDefinition || null == typeDefinition.getSerialiser()) {
+            return carriage;
+        }
+        return carriage + CompactRawSerialisationUtils.decodeVIntSize(bytes[carriage]) + getCurrentPropLength(bytes, carriage);
+    }
+
     @Override
     public BytesAndRange getPropertiesAsBytesFromColumnQualifier(final String group, final byte[] bytes, final int numProps) {
         BytesAndRange rtn = new BytesAndRange(bytes, 0, 0);
@@ -386,14 +484,19 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
      */
     @Override
     public Properties getPropertiesFromTimestamp(final String group, final long timestamp) {
+        final Properties properties = new Properties();
+        addPropertiesFromTimestamp(group, timestamp, properties);
+        return properties;
+    }
+
+    @Override
+    public void addPropertiesFromTimestamp(final String group, final long timestamp, final Properties properties) {
         final SchemaElementDefinition elementDefinition = getSchemaElementDefinition(group);
 
-        final Properties properties = new Properties();
         // If the element group requires a timestamp property then add it.
         if (null != timestampProperty && elementDefinition.containsProperty(timestampProperty)) {
             properties.put(timestampProperty, timestamp);
         }
-        return properties;
     }
 
     @Override
@@ -505,12 +608,6 @@ public abstract class AbstractCoreKeyAccumuloElementConverter implements Accumul
                 && !propertyName.equals(timestampProperty);
     }
 
-    private void writeBytes(final byte[] bytes, final ByteArrayOutputStream out)
-            throws IOException {
-        CompactRawSerialisationUtils.write(bytes.length, out);
-        out.write(bytes);
-    }
-
     private Object getDeserialisedObject(final ToBytesSerialiser serialiser, final byte[] bytes, final int from, final int length) throws SerialisationException {
         //Don't initialise with  #deserialiseEmpty() as this might initialise an complex empty structure to be immediately overwritten e.g. TreeSet<String>
         Object deserialisedObject;
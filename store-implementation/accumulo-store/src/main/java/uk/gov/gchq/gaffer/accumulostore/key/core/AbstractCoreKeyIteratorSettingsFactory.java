@@ -25,19 +25,23 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyBloomFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyGroupByAggregatorIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyVertexSetFilterIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.AggregatorIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPostAggregationFilter;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ElementPreAggregationFilter;
+import uk.gov.gchq.gaffer.accumulostore.key.impl.PropertyProjectionIterator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.RowIDAggregator;
 import uk.gov.gchq.gaffer.accumulostore.key.impl.ValidatorFilter;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorSettingBuilder;
+import uk.gov.gchq.gaffer.accumulostore.utils.SortedVertexSet;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaEdgeDefinition;
 import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
 
 public abstract class AbstractCoreKeyIteratorSettingsFactory implements IteratorSettingFactory {
     private static final Logger LOGGER = LoggerFactory.getLogger(AbstractCoreKeyIteratorSettingsFactory.class);
@@ -54,6 +58,19 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getVertexSetFilterIteratorSetting(final SortedVertexSet vertices, final double falsePositiveRate) throws IteratorSettingException {
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_NAME, CoreKeyVertexSetFilterIterator.class)
+                .vertexSet(vertices)
+                .falsePositiveRate(falsePositiveRate)
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {} and {} vertices",
+                CoreKeyVertexSetFilterIterator.class.getName(),
+                AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_PRIORITY, vertices.size());
+        return is;
+    }
+
     @Override
     public IteratorSetting getElementPreAggregationFilterIteratorSetting(final View view, final AccumuloStore store)
             throws IteratorSettingException {
@@ -100,6 +117,28 @@ public abstract class AbstractCoreKeyIteratorSettingsFactory implements Iterator
         return is;
     }
 
+    @Override
+    public IteratorSetting getPropertyProjectionIteratorSetting(final View view, final AccumuloStore store)
+            throws IteratorSettingException {
+        if (!new PropertyProjection(store.getSchema(), view).hasProjection()) {
+            LOGGER.debug("Returning null from getPropertyProjectionIteratorSetting as the view requires all properties");
+            return null;
+        }
+
+        final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_PRIORITY,
+                AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_NAME, PropertyProjectionIterator.class)
+                .schema(store.getSchema())
+                .view(view)
+                .keyConverter(store.getKeyPackage().getKeyConverter())
+                .build();
+        LOGGER.debug("Creating IteratorSetting for iterator class {} with priority = {}, "
+                        + "schema = {}, view = {}, keyConverter = {}",
+                PropertyProjectionIterator.class.getName(),
+                AccumuloStoreConstants.PROPERTY_PROJECTION_ITERATOR_PRIORITY,
+                store.getSchema(), view, store.getKeyPackage().getKeyConverter());
+        return is;
+    }
+
     @Override
     public IteratorSetting getAggregatorIteratorSetting(final AccumuloStore store) throws IteratorSettingException {
         final IteratorSetting is = new IteratorSettingBuilder(AccumuloStoreConstants.AGGREGATOR_ITERATOR_PRIORITY,
@@ -46,6 +46,12 @@ public class CoreKeyGroupByAggregatorIterator extends CoreKeyGroupByCombiner {
         return aggregatedProps;
     }
 
+    @Override
+    protected boolean reusesProperties() {
+        // Only the first Properties is kept, as the aggregation state
+        return true;
+    }
+
     @Override
     public IteratorOptions describeOptions() {
         return new IteratorOptionsBuilder(super.describeOptions())
@@ -47,6 +47,7 @@ import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
@@ -78,6 +79,9 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
     @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "elementConverter is initialised in init method, which is always called first")
     protected AccumuloElementConverter elementConverter;
 
+    @SuppressFBWarnings(value = "UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR", justification = "propertyProjection is initialised in init method, which is always called first")
+    protected PropertyProjection propertyProjection;
+
     private Key topKey;
     private Value topValue;
     private ColumnSet aggregatedGroups;
@@ -93,7 +97,11 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         private final AccumuloElementConverter elementConverter;
         private final Set<String> groupBy;
         private final Set<String> schemaGroupBy;
+        private final Set<String> propertiesToLoad;
+        private final boolean reuseProperties;
+        private Properties reusableProperties;
         private boolean hasNext;
+        private boolean isFirst = true;
 
         /**
          * Constructs an iterator over {@link Value}s whose {@link Key}s are
@@ -111,20 +119,77 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
                                 final String group, final AccumuloElementConverter elementConverter,
                                 final Schema schema,
                                 final Set<String> groupBy) {
+            this(source, group, elementConverter, schema, groupBy, null);
+        }
+
+        /**
+         * Constructs an iterator over {@link Value}s whose {@link Key}s are
+         * versions of the current topKey of the source
+         * {@link SortedKeyValueIterator}, only deserialising the required
+         * properties from each {@link Value}.
+         *
+         * @param source           The {@link SortedKeyValueIterator} of {@link Key},
+         *                         {@link Value} pairs from which to read data.
+         * @param group            the element group
+         * @param elementConverter the elementConverter to use
+         * @param schema           the schema
+         * @param groupBy          the groupBy properties
+         * @param propertiesToLoad the properties to load from the values, or null to load all properties
+         */
+        public KeyValueIterator(final SortedKeyValueIterator<Key, Value> source,
+                                final String group, final AccumuloElementConverter elementConverter,
+                                final Schema schema,
+                                final Set<String> groupBy,
+                                final Set<String> propertiesToLoad) {
+            this(source, group, elementConverter, schema, groupBy, propertiesToLoad, false);
+        }
+
+        /**
+         * Constructs an iterator over {@link Value}s whose {@link Key}s are
+         * versions of the current topKey of the source
+         * {@link SortedKeyValueIterator}, only deserialising the required
+         * properties from each {@link Value}.
+         * <p>
+         * If reuseProperties is true then the first call to {@link #next()}
+         * returns a new {@link Properties} object and all later calls return
+         * the same {@link Properties} object, cleared and refilled. This avoids
+         * creating a {@link Properties} object for every {@link Value}, but
+         * can only be used when the caller does not keep a reference to any
+         * of the returned {@link Properties} objects except the first, for
+         * example when the first one is used as the aggregation state.
+         *
+         * @param source           The {@link SortedKeyValueIterator} of {@link Key},
+         *                         {@link Value} pairs from which to read data.
+         * @param group            the element group
+         * @param elementConverter the elementConverter to use
+         * @param schema           the schema
+         * @param groupBy          the groupBy properties
+         * @param propertiesToLoad the properties to load from the values, or null to load all properties
+         * @param reuseProperties  true if the {@link Properties} objects returned after the first one can be reused
+         */
+        public KeyValueIterator(final SortedKeyValueIterator<Key, Value> source,
+                                final String group, final AccumuloElementConverter elementConverter,
+                                final Schema schema,
+                                final Set<String> groupBy,
+                                final Set<String> propertiesToLoad,
+                                final boolean reuseProperties) {
             this.source = source;
             this.group = group;
             this.elementConverter = elementConverter;
 
+            // The key parts are copied once here, so the Key does not need to copy them again
             final Key unsafeRef = source.getTopKey();
-            topKey = new Key(unsafeRef.getRow().getBytes(),
-                    unsafeRef.getColumnFamily().getBytes(),
-                    unsafeRef.getColumnQualifier().getBytes(),
-                    unsafeRef.getColumnVisibility().getBytes(),
+            topKey = new Key(unsafeRef.getRowData().toArray(),
+                    unsafeRef.getColumnFamilyData().toArray(),
+                    unsafeRef.getColumnQualifierData().toArray(),
+                    unsafeRef.getColumnVisibilityData().toArray(),
                     unsafeRef.getTimestamp(),
-                    unsafeRef.isDeleted(), true);
+                    unsafeRef.isDeleted(), false);
 
             schemaGroupBy = schema.getElement(this.group).getGroupBy();
             this.groupBy = groupBy;
+            this.propertiesToLoad = propertiesToLoad;
+            this.reuseProperties = reuseProperties;
             hasNext = _hasNext();
         }
 
@@ -145,25 +210,26 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
                 throw new NoSuchElementException();
             }
 
-            final byte[] topColumnQualifier = source.getTopKey().getColumnQualifierData().getBackingArray();
-            final byte[] topColumnVisibility = source.getTopKey().getColumnVisibilityData().getBackingArray();
-            final long topTimestamp = source.getTopKey().getTimestamp();
-            final Value topValue = new Value(source.getTopValue());
-
-            try {
-                source.next();
-                hasNext = _hasNext();
-            } catch (final IOException e) {
-                throw new RuntimeException(e); // Looks like a bad idea, but
-                // this is what the in-built Combiner iterator does
+            final Properties properties;
+            if (reuseProperties && !isFirst) {
+                if (null == reusableProperties) {
+                    reusableProperties = new Properties();
+                } else {
+                    reusableProperties.clear();
+                }
+                properties = reusableProperties;
+            } else {
+                properties = new Properties();
             }
+            isFirst = false;
 
-            final Properties properties = new Properties();
+            // The properties are deserialised before the source is moved on, so the value does not need to be copied
+            final Key key = source.getTopKey();
             try {
-                properties.putAll(elementConverter.getPropertiesFromColumnQualifier(group, topColumnQualifier));
-                properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, topColumnVisibility));
-                properties.putAll(elementConverter.getPropertiesFromValue(group, topValue));
-                properties.putAll(elementConverter.getPropertiesFromTimestamp(group, topTimestamp));
+                elementConverter.addPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray(), properties);
+                elementConverter.addPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray(), properties);
+                elementConverter.addPropertiesFromValue(group, source.getTopValue(), propertiesToLoad, properties);
+                elementConverter.addPropertiesFromTimestamp(group, key.getTimestamp(), properties);
                 if (null == groupBy) {
                     if (null != schemaGroupBy) {
                         properties.remove(schemaGroupBy);
@@ -175,6 +241,14 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
                 throw new RuntimeException(e);
             }
 
+            try {
+                source.next();
+                hasNext = _hasNext();
+            } catch (final IOException e) {
+                throw new RuntimeException(e); // Looks like a bad idea, but
+                // this is what the in-built Combiner iterator does
+            }
+
             return properties;
         }
 
@@ -250,6 +324,7 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
     }
 
     private final Key workKey = new Key();
+    private final Properties workProperties = new Properties();
 
     /**
      * Sets the topKey and topValue based on the top key of the source.
@@ -282,12 +357,14 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
             }
 
             final Iterator<Properties> iter = new KeyValueIterator(
-                    getSource(), group, elementConverter, schema, groupBy);
+                    getSource(), group, elementConverter, schema, groupBy, propertyProjection.getProperties(group), reusesProperties());
             final Properties aggregatedProperties = reduce(group, workKey, iter, groupBy, elementDef.getAggregator());
 
             try {
-                final Properties properties = elementConverter.getPropertiesFromColumnQualifier(group, workKey.getColumnQualifierData().getBackingArray());
-                properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, workKey.getColumnVisibilityData().getBackingArray()));
+                final Properties properties = workProperties;
+                properties.clear();
+                elementConverter.addPropertiesFromColumnQualifier(group, workKey.getColumnQualifierData().getBackingArray(), properties);
+                elementConverter.addPropertiesFromColumnVisibility(group, workKey.getColumnVisibilityData().getBackingArray(), properties);
                 properties.putAll(aggregatedProperties);
                 topValue = elementConverter.getValueFromProperties(group, properties);
                 topKey = new Key(workKey.getRowData().getBackingArray(), columnFamily,
@@ -340,6 +417,18 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
      */
     public abstract Properties reduce(final String group, final Key key, final Iterator<Properties> iter, final Set<String> groupBy, final ElementAggregator viewAggregator);
 
+    /**
+     * Indicates whether {@link #reduce(String, Key, Iterator, Set, ElementAggregator)}
+     * only keeps a reference to the first {@link Properties} returned by the
+     * iterator, in which case the iterator reuses a single {@link Properties}
+     * object for all the others. See {@link KeyValueIterator}.
+     *
+     * @return true if the iterator can reuse the {@link Properties} it returns
+     */
+    protected boolean reusesProperties() {
+        return false;
+    }
+
     @Override
     public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
         CoreKeyGroupByCombiner newInstance;
@@ -352,6 +441,7 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
         newInstance.schema = schema;
         newInstance.view = view;
         newInstance.elementConverter = elementConverter;
+        newInstance.propertyProjection = propertyProjection;
         return newInstance;
     }
 
@@ -370,6 +460,7 @@ public abstract class CoreKeyGroupByCombiner extends WrappingIterator
             throw new SchemaException("Unable to deserialise the view", e);
         }
         LOGGER.debug("Initialising CoreKeyGroupByCombiner with view {}", view);
+        propertyProjection = new PropertyProjection(schema, view);
 
         final String elementConverterClass = options.get(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS);
         try {
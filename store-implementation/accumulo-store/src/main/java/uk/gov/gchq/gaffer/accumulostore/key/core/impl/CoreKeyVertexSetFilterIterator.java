@@ -0,0 +1,168 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.core.impl;
+
+import org.apache.accumulo.core.data.ByteSequence;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.Filter;
+import org.apache.accumulo.core.iterators.IteratorEnvironment;
+import org.apache.accumulo.core.iterators.SortedKeyValueIterator;
+import org.apache.hadoop.io.WritableComparator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.key.exception.BloomFilterIteratorException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.accumulostore.utils.SortedVertexSet;
+import uk.gov.gchq.gaffer.commonutil.ByteArrayEscapeUtils;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * The CoreKeyVertexSetFilterIterator filters out Edges based on their non searched
+ * for vertex's membership of the provided {@link SortedVertexSet}. It is an exact
+ * alternative to the {@link CoreKeyBloomFilterIterator}, so no false positives are
+ * returned to the client.
+ * <p>
+ * Within a row range the non searched for vertices mostly arrive in ascending order,
+ * so each lookup carries on from where the previous one finished and the filter
+ * becomes a merge join with the set. The lookup restarts from the beginning of the
+ * set whenever a vertex is smaller than the previous one.
+ * <p>
+ * When the end of a range is reached the number of edges rejected is logged, together
+ * with the number of those that a Bloom filter with the given false positive rate
+ * would be expected to have let through.
+ */
+public class CoreKeyVertexSetFilterIterator extends Filter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CoreKeyVertexSetFilterIterator.class);
+
+    protected SortedVertexSet vertices;
+    private double falsePositiveRate;
+    private int cursor;
+    private long accepted;
+    private long rejected;
+
+    @Override
+    public boolean accept(final Key key, final Value value) {
+        final ByteSequence row = key.getRowData();
+        final byte[] bytes = row.getBackingArray();
+        final int start = row.offset();
+        final int end = start + row.length();
+        int pos = -1;
+        for (int i = end - 3; i > start; --i) {
+            if (bytes[i] == ByteArrayEscapeUtils.DELIMITER) {
+                pos = i;
+                break;
+            }
+        }
+        if (pos == -1) {
+            return true;
+        }
+
+        final int offset = pos + 1;
+        final int length = end - 2 - offset;
+        if (cursor > 0) {
+            final byte[] previous = vertices.get(cursor - 1);
+            if (WritableComparator.compareBytes(previous, 0, previous.length, bytes, offset, length) >= 0) {
+                cursor = 0;
+            }
+        }
+        cursor = vertices.ceiling(bytes, offset, length, cursor);
+        if (cursor < vertices.size()) {
+            final byte[] match = vertices.get(cursor);
+            if (0 == WritableComparator.compareBytes(match, 0, match.length, bytes, offset, length)) {
+                accepted++;
+                return true;
+            }
+        }
+        rejected++;
+        return false;
+    }
+
+    @Override
+    public void seek(final Range range, final Collection<ByteSequence> columnFamilies, final boolean inclusive) throws IOException {
+        cursor = 0;
+        accepted = 0;
+        rejected = 0;
+        super.seek(range, columnFamilies, inclusive);
+        logIfFinished();
+    }
+
+    @Override
+    public void next() throws IOException {
+        super.next();
+        logIfFinished();
+    }
+
+    private void logIfFinished() {
+        if (!hasTop() && LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Vertex set filter accepted {} edges and rejected {} edges, avoiding approximately {} bloom filter false positives",
+                    accepted, rejected, Math.round(rejected * falsePositiveRate));
+        }
+    }
+
+    @Override
+    public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
+                     final IteratorEnvironment env) throws IOException {
+        super.init(source, options, env);
+
+        try {
+            vertices = SortedVertexSet.deserialise(options.get(AccumuloStoreConstants.VERTEX_SET).getBytes(AccumuloStoreConstants.BLOOM_FILTER_CHARSET));
+        } catch (final IOException e) {
+            throw new BloomFilterIteratorException("Failed to re-create serialised vertex set", e);
+        }
+        if (options.containsKey(AccumuloStoreConstants.FALSE_POSITIVE_RATE)) {
+            falsePositiveRate = Double.parseDouble(options.get(AccumuloStoreConstants.FALSE_POSITIVE_RATE));
+        }
+        LOGGER.debug("Initialised CoreKeyVertexSetFilterIterator with {} vertices", vertices.size());
+    }
+
+    @Override
+    public SortedKeyValueIterator<Key, Value> deepCopy(final IteratorEnvironment env) {
+        final CoreKeyVertexSetFilterIterator copy = (CoreKeyVertexSetFilterIterator) super.deepCopy(env);
+        copy.vertices = vertices;
+        copy.falsePositiveRate = falsePositiveRate;
+        return copy;
+    }
+
+    @Override
+    public boolean validateOptions(final Map<String, String> options) {
+        if (!super.validateOptions(options)) {
+            return false;
+        }
+        if (!options.containsKey(AccumuloStoreConstants.VERTEX_SET)) {
+            throw new BloomFilterIteratorException("Must set the " + AccumuloStoreConstants.VERTEX_SET + " option");
+        }
+
+        return true;
+    }
+
+    @Override
+    public IteratorOptions describeOptions() {
+        return new IteratorOptionsBuilder(AccumuloStoreConstants.VERTEX_SET_FILTER_ITERATOR_NAME, "Vertex Set Filter")
+                .addNamedOption(AccumuloStoreConstants.VERTEX_SET,
+                        "Required: The serialised form of the sorted set of vertices that keys will be tested against")
+                .addNamedOption(AccumuloStoreConstants.FALSE_POSITIVE_RATE,
+                        "Optional: The false positive rate of the bloom filter this replaces, used to report the false positives avoided")
+                .build();
+    }
+}
@@ -29,15 +29,18 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AggregationException;
 import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
 import uk.gov.gchq.gaffer.accumulostore.utils.IteratorOptionsBuilder;
+import uk.gov.gchq.gaffer.accumulostore.utils.SerialisedValueAggregator;
 import uk.gov.gchq.gaffer.commonutil.CommonConstants;
 import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
 import uk.gov.gchq.gaffer.data.elementdefinition.exception.SchemaException;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.InvocationTargetException;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
@@ -46,12 +49,16 @@ import java.util.Map;
  * {@link Key} is the same (Except for the Timestamp column). The instructions
  * provided in the schema define how the aggregation takes place and
  * therefore what the resulting {@link Value} will be.
+ * Where the element converter provides a {@link SerialisedValueAggregator} for
+ * a group, the {@link Value}s are aggregated without being converted to
+ * {@link Properties}.
  */
 public class AggregatorIterator extends Combiner {
     private static final Logger LOGGER = LoggerFactory.getLogger(AggregatorIterator.class);
 
     private Schema schema;
     private AccumuloElementConverter elementConverter;
+    private final Map<String, SerialisedValueAggregator> serialisedAggregators = new HashMap<>();
 
     @Override
     public Value reduce(final Key key, final Iterator<Value> iter) {
@@ -62,6 +69,15 @@ public class AggregatorIterator extends Combiner {
             return value;
         }
         final String group = elementConverter.getGroupFromColumnFamily(key.getColumnFamilyData().getBackingArray());
+        final SerialisedValueAggregator serialisedAggregator = getSerialisedAggregator(group);
+        if (null != serialisedAggregator) {
+            try {
+                return serialisedAggregator.aggregate(value, iter);
+            } catch (final SerialisationException e) {
+                throw new AggregationException("Failed to aggregate the serialised properties of group " + group, e);
+            }
+        }
+
         Properties properties;
         final ElementAggregator aggregator = schema.getElement(group).getIngestAggregator();
         try {
@@ -86,6 +102,14 @@ public class AggregatorIterator extends Combiner {
         }
     }
 
+    private SerialisedValueAggregator getSerialisedAggregator(final String group) {
+        // A null aggregator is cached for groups that cannot be aggregated in their serialised form
+        if (!serialisedAggregators.containsKey(group)) {
+            serialisedAggregators.put(group, elementConverter.getSerialisedValueAggregator(group));
+        }
+        return serialisedAggregators.get(group);
+    }
+
     @Override
     public void init(final SortedKeyValueIterator<Key, Value> source, final Map<String, String> options,
                      final IteratorEnvironment env) throws IOException {
@@ -269,12 +269,12 @@ public class RowIDAggregator extends WrappingIterator implements OptionDescriber
             } catch (final IOException e) {
                 throw new RuntimeException(e);
             }
-            final Properties properties;
+            final Properties properties = new Properties();
             try {
-                properties = elementConverter.getPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray());
-                properties.putAll(elementConverter.getPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray()));
-                properties.putAll(elementConverter.getPropertiesFromTimestamp(group, key.getTimestamp()));
-                properties.putAll(elementConverter.getPropertiesFromValue(group, value));
+                elementConverter.addPropertiesFromColumnQualifier(group, key.getColumnQualifierData().getBackingArray(), properties);
+                elementConverter.addPropertiesFromColumnVisibility(group, key.getColumnVisibilityData().getBackingArray(), properties);
+                elementConverter.addPropertiesFromTimestamp(group, key.getTimestamp(), properties);
+                elementConverter.addPropertiesFromValue(group, value, null, properties);
             } catch (final AccumuloElementConversionException e) {
                 throw new RuntimeException(e);
             }
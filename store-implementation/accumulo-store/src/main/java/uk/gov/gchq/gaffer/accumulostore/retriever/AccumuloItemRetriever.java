@@ -16,18 +16,22 @@
 
 package uk.gov.gchq.gaffer.accumulostore.retriever;
 
+import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.accumulo.core.client.AccumuloSecurityException;
 import org.apache.accumulo.core.client.BatchScanner;
 import org.apache.accumulo.core.client.IteratorSetting;
 import org.apache.accumulo.core.client.TableNotFoundException;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Range;
 import org.apache.accumulo.core.data.Value;
+import org.apache.hadoop.io.Text;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
+import uk.gov.gchq.gaffer.accumulostore.utils.TabletRangeUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
@@ -40,12 +44,19 @@ import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.HashSet;
+import java.util.Deque;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
 public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<? extends Element>> & GraphFilters, I_ITEM>
         extends AccumuloRetriever<OP, Element> {
@@ -90,34 +101,42 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
     protected class ElementIterator implements CloseableIterator<Element> {
         private final Iterator<? extends I_ITEM> idsIterator;
-        private int count;
+        private final int maxEntriesForBatchScanner;
+        private final int maxEntriesToSort;
+        private final boolean prefetch;
+        private final Deque<Set<Range>> batches = new ArrayDeque<>();
+        private final Object idsLock = new Object();
+        private List<Text> splits;
+        private boolean hasMoreIds;
+        private Future<RangeBatches> nextBatches;
+        private volatile boolean closed;
         private BatchScanner scanner;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
 
         public ElementIterator(final Iterator<? extends I_ITEM> idIterator) throws RetrieverException {
             idsIterator = idIterator;
-            count = 0;
-            final Set<Range> ranges = new HashSet<>();
-            while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                count++;
-                try {
-                    addToRanges(idsIterator.next(), ranges);
-                } catch (final RangeFactoryException e) {
-                    LOGGER.error("Failed to create a range from given seed pair", e);
-                }
-            }
+            maxEntriesForBatchScanner = store.getProperties().getMaxEntriesForBatchScanner();
+            maxEntriesToSort = (int) Math.min(Integer.MAX_VALUE,
+                    (long) maxEntriesForBatchScanner * Math.max(1, store.getProperties().getSeedBatchesToSortByTablet()));
+            prefetch = store.getProperties().getPrefetchSeedBatches();
+            addBatches(createBatches());
 
             // Create BatchScanner, appropriately configured (i.e. ranges,
             // iterators, etc).
             try {
-                scanner = getScanner(ranges);
+                final Set<Range> ranges = getNextRanges();
+                if (null == ranges) {
+                    scannerIterator = Collections.emptyIterator();
+                } else {
+                    scanner = getScanner(ranges);
+                    scannerIterator = scanner.iterator();
+                }
             } catch (final Exception e) {
-                CloseableUtil.close(idsIterator);
+                close();
                 CloseableUtil.close(ids);
                 throw new RetrieverException(e);
             }
-            scannerIterator = scanner.iterator();
         }
 
         @Override
@@ -132,7 +151,8 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                     nextElm = elementConverter.getFullElement(
                             entry.getKey(),
                             entry.getValue(),
-                            includeMatchedVertex);
+                            includeMatchedVertex,
+                            propertyProjection);
                 } catch (final AccumuloElementConversionException e) {
                     LOGGER.error("Failed to re-create an element from a key value entry set returning next element as null",
                             e);
@@ -146,36 +166,32 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
                     nextElm = null;
                 }
             }
-            // If current scanner is spent then go back to the iterator
-            // through the provided entities, and see if there are more.
-            // If so create the next scanner, if there are no more entities
+            // If current scanner is spent then move on to the next batch
+            // of ranges, and see if there are more.
+            // If so create the next scanner, if there are no more ranges
             // then return false.
-            while (idsIterator.hasNext() && !scannerIterator.hasNext()) {
-                count = 0;
-                final Set<Range> ranges = new HashSet<>();
-                while (idsIterator.hasNext() && count < store.getProperties().getMaxEntriesForBatchScanner()) {
-                    count++;
-                    try {
-                        addToRanges(idsIterator.next(), ranges);
-                    } catch (final RangeFactoryException e) {
-                        LOGGER.error("Failed to create a range from given seed", e);
-                    }
+            while (!scannerIterator.hasNext()) {
+                closeScanner();
+                // Failures are rethrown, as returning false would silently truncate the results
+                final Set<Range> ranges;
+                try {
+                    ranges = getNextRanges();
+                } catch (final RetrieverException e) {
+                    close();
+                    throw new RuntimeException(e.getMessage(), e);
+                }
+                if (null == ranges) {
+                    return false;
                 }
-                scanner.close();
                 try {
                     scanner = getScanner(ranges);
                 } catch (final TableNotFoundException | StoreException e) {
-                    LOGGER.error("{} returning iterator doesn't have any more elements", e.getMessage(), e);
-                    return false;
+                    close();
+                    throw new RuntimeException(e.getMessage(), e);
                 }
                 scannerIterator = scanner.iterator();
             }
-            if (!scannerIterator.hasNext()) {
-                scanner.close();
-                return false;
-            } else {
-                return hasNext();
-            }
+            return hasNext();
         }
 
         @Override
@@ -197,9 +213,115 @@ public abstract class AccumuloItemRetriever<OP extends Output<CloseableIterable<
 
         @Override
         public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (null != nextBatches) {
+                nextBatches.cancel(true);
+                nextBatches = null;
+            }
+            // Wait for a prefetch that is already reading the seeds, so the seeds are not read after they are closed
+            synchronized (idsLock) {
+                CloseableUtil.close(idsIterator);
+            }
+            closeScanner();
+        }
+
+        private void closeScanner() {
             if (null != scanner) {
                 scanner.close();
+                scanner = null;
             }
         }
+
+        // Returns the ranges for the next batch scanner, or null if there are no more seeds
+        private Set<Range> getNextRanges() throws RetrieverException {
+            while (batches.isEmpty()) {
+                if (null != nextBatches) {
+                    final Future<RangeBatches> future = nextBatches;
+                    nextBatches = null;
+                    try {
+                        addBatches(future.get());
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RetrieverException("Interrupted whilst creating ranges from the seeds", e);
+                    } catch (final ExecutionException e) {
+                        throw new RetrieverException("Failed to create ranges from the seeds", e.getCause());
+                    }
+                } else if (hasMoreIds) {
+                    addBatches(createBatches());
+                } else {
+                    return null;
+                }
+            }
+            return batches.poll();
+        }
+
+        private void addBatches(final RangeBatches rangeBatches) {
+            batches.addAll(rangeBatches.batches);
+            hasMoreIds = rangeBatches.hasMoreIds;
+            // Create the ranges for the next seeds while these batches are scanned
+            if (hasMoreIds && prefetch && !closed) {
+                nextBatches = store.getRetrieverExecutor().submit(this::createBatches);
+            }
+        }
+
+        // Reads the next seeds and creates their ranges. If more seeds were read
+        // than fit in a batch scanner then the ranges are grouped by tablet so
+        // that each batch scanner only queries a few tablets. The seeds are read
+        // whilst holding a lock, so that close can wait for a prefetch that is
+        // reading them.
+        private RangeBatches createBatches() {
+            final SortedSet<Range> ranges = new TreeSet<>();
+            int count = 0;
+            final boolean hasMoreIds;
+            synchronized (idsLock) {
+                while (!closed && !Thread.currentThread().isInterrupted() && idsIterator.hasNext() && count < maxEntriesToSort) {
+                    count++;
+                    try {
+                        addToRanges(idsIterator.next(), ranges);
+                    } catch (final RangeFactoryException e) {
+                        LOGGER.error("Failed to create a range from given seed", e);
+                    }
+                }
+                hasMoreIds = !closed && idsIterator.hasNext();
+            }
+
+            final List<Set<Range>> rangeBatches;
+            if (ranges.isEmpty()) {
+                rangeBatches = Collections.emptyList();
+            } else if (count <= maxEntriesForBatchScanner) {
+                rangeBatches = Collections.singletonList(ranges);
+            } else {
+                final int maxRangesPerBatch = (int) Math.max(1L,
+                        ((long) ranges.size() * maxEntriesForBatchScanner + count - 1) / count);
+                rangeBatches = TabletRangeUtils.batchByTablet(ranges, getSplits(), maxRangesPerBatch);
+            }
+            return new RangeBatches(rangeBatches, hasMoreIds);
+        }
+
+        private List<Text> getSplits() {
+            if (null == splits) {
+                try {
+                    splits = new ArrayList<>(store.getConnection().tableOperations().listSplits(store.getTableName()));
+                    Collections.sort(splits);
+                } catch (final AccumuloException | AccumuloSecurityException | TableNotFoundException | StoreException e) {
+                    LOGGER.warn("Unable to get the split points for table {}, the ranges will not be grouped by tablet", store.getTableName(), e);
+                    splits = Collections.emptyList();
+                }
+            }
+            return splits;
+        }
+    }
+
+    private static final class RangeBatches {
+        private final List<Set<Range>> batches;
+        private final boolean hasMoreIds;
+
+        private RangeBatches(final List<Set<Range>> batches, final boolean hasMoreIds) {
+            this.batches = batches;
+            this.hasMoreIds = hasMoreIds;
+        }
     }
 }
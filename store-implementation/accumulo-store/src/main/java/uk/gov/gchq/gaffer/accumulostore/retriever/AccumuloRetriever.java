@@ -29,6 +29,7 @@ import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
 import uk.gov.gchq.gaffer.accumulostore.key.IteratorSettingFactory;
 import uk.gov.gchq.gaffer.accumulostore.key.RangeFactory;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -38,6 +39,7 @@ import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.util.Set;
@@ -54,6 +56,8 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
     protected final OP operation;
     protected final AccumuloElementConverter elementConverter;
     protected final IteratorSetting[] iteratorSettings;
+    protected final PropertyProjection propertyProjection;
+    private final IteratorSetting propertyProjectionIteratorSetting;
 
     protected AccumuloRetriever(final AccumuloStore store, final OP operation,
                                 final User user, final IteratorSetting... iteratorSettings)
@@ -64,6 +68,12 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
         this.elementConverter = store.getKeyPackage().getKeyConverter();
         this.operation = operation;
         this.iteratorSettings = iteratorSettings;
+        this.propertyProjection = new PropertyProjection(store.getSchema(), operation.getView());
+        try {
+            this.propertyProjectionIteratorSetting = iteratorSettingFactory.getPropertyProjectionIteratorSetting(operation.getView(), store);
+        } catch (final IteratorSettingException e) {
+            throw new StoreException(e.getMessage(), e);
+        }
         this.user = user;
         if (null != user && null != user.getDataAuths()) {
             this.authorisations = new Authorizations(
@@ -129,6 +139,10 @@ public abstract class AccumuloRetriever<OP extends Output & GraphFilters, O_ITEM
                 }
             }
         }
+        if (null != propertyProjectionIteratorSetting) {
+            scanner.addScanIterator(propertyProjectionIteratorSetting);
+            LOGGER.debug("Added iterator to BatchScanner: {}", propertyProjectionIteratorSetting);
+        }
         scanner.setRanges(ranges);
         LOGGER.debug("Added {} ranges to BatchScanner", ranges.size());
 
@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.RangeFactoryException;
 import uk.gov.gchq.gaffer.accumulostore.retriever.impl.AccumuloSingleIDRetriever;
 import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
+import uk.gov.gchq.gaffer.accumulostore.utils.SortedVertexSet;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
@@ -45,9 +46,12 @@ import uk.gov.gchq.gaffer.operation.io.InputOutput;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -162,6 +166,31 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         addToBloomFilter(seed.getVertex(), filter2);
     }
 
+    /**
+     * @param numVertices the number of vertices to filter on
+     * @return true if a set of this size should be passed to the iterators as an
+     * exact {@link SortedVertexSet} rather than as a {@link BloomFilter}
+     */
+    protected boolean useVertexSetFilter(final int numVertices) {
+        return numVertices <= store.getProperties().getMaxVertexSetToPassToAnIterator();
+    }
+
+    protected List<byte[]> serialiseVertices(final Collection<?> vertices) throws RetrieverException {
+        final List<byte[]> serialisedVertices = new ArrayList<>(vertices.size());
+        for (final Object vertex : vertices) {
+            serialisedVertices.add(serialiseVertex(vertex));
+        }
+        return serialisedVertices;
+    }
+
+    protected byte[] serialiseVertex(final Object vertex) throws RetrieverException {
+        try {
+            return elementConverter.serialiseVertex(vertex);
+        } catch (final AccumuloElementConversionException e) {
+            throw new RetrieverException("Failed to serialise identifier", e);
+        }
+    }
+
     private void addToBloomFilter(final Object vertex, final BloomFilter filter) throws RetrieverException {
         try {
             filter.add(new org.apache.hadoop.util.bloom.Key(elementConverter.serialiseVertex(vertex)));
@@ -175,9 +204,36 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         private Iterator<Element> iterator;
         private Element nextElm;
 
+        /**
+         * Initialises the iterator, filtering the edges on the server so that their
+         * non searched for vertex is in the given set. Small sets are passed to the
+         * server as an exact {@link SortedVertexSet}, larger sets as a {@link BloomFilter}.
+         *
+         * @param vertices the vertices to filter on
+         * @throws RetrieverException if the retriever could not be created
+         */
+        protected void initialise(final Set<Object> vertices) throws RetrieverException {
+            if (useVertexSetFilter(vertices.size())) {
+                IteratorSetting vertexSetFilter = null;
+                try {
+                    vertexSetFilter = iteratorSettingFactory.getVertexSetFilterIteratorSetting(
+                            SortedVertexSet.of(serialiseVertices(vertices)), store.getProperties().getFalsePositiveRate());
+                } catch (final IteratorSettingException e) {
+                    LOGGER.error(
+                            "Failed to apply the vertex set filter to the retriever, creating the gaffer.accumulostore.retriever without vertex set filter",
+                            e);
+                }
+                initialise(vertexSetFilter);
+            } else {
+                final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
+                        vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
+                addToBloomFilter(vertices, filter);
+                initialise(filter);
+            }
+        }
+
         protected void initialise(final BloomFilter filter) throws RetrieverException {
             IteratorSetting bloomFilter = null;
-            IteratorSetting[] iteratorSettings1 = Arrays.copyOf(iteratorSettings, iteratorSettings.length + 1);
             try {
                 bloomFilter = iteratorSettingFactory.getBloomFilterIteratorSetting(filter);
             } catch (final IteratorSettingException e) {
@@ -185,7 +241,12 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                         "Failed to apply the bloom filter to the retriever, creating the gaffer.accumulostore.retriever without bloom filter",
                         e);
             }
-            iteratorSettings1[iteratorSettings.length] = bloomFilter;
+            initialise(bloomFilter);
+        }
+
+        private void initialise(final IteratorSetting filterSetting) throws RetrieverException {
+            IteratorSetting[] iteratorSettings1 = Arrays.copyOf(iteratorSettings, iteratorSettings.length + 1);
+            iteratorSettings1[iteratorSettings.length] = filterSetting;
             try {
                 parentRetriever = new AccumuloSingleIDRetriever(store, operation, user, iteratorSettings1);
             } catch (final Exception e) {
@@ -272,9 +333,15 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
         protected Set<Object> currentSeeds;
         protected BatchScanner scanner;
         protected BloomFilter filter;
+        // The serialised vertices passed to the iterators as an exact set, or
+        // null if there are too many and the Bloom filter is used instead.
+        protected List<byte[]> vertexSetFilterVertices;
+        private SortedVertexSet vertexSet;
+        private int vertexSetSourceSize;
         private Iterator<Entry<Key, Value>> scannerIterator;
         private Element nextElm;
         private int count;
+        private long falsePositives;
 
         public AbstractElementIteratorFromBatches() {
             // Set up client side filter
@@ -295,7 +362,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 while (_hasNext()) {
                     final Entry<Key, Value> entry = scannerIterator.next();
                     try {
-                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), true);
+                        nextElm = elementConverter.getFullElement(entry.getKey(), entry.getValue(), true, propertyProjection);
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to create next element from key and value entry set", e);
                         continue;
@@ -305,6 +372,8 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                         if (doPostFilter(nextElm)) {
                             return true;
                         }
+                    } else {
+                        falsePositives++;
                     }
                 }
             } catch (final RetrieverException e) {
@@ -338,6 +407,7 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
             if (null != scanner) {
                 scanner.close();
             }
+            LOGGER.debug("Removed {} false positives on the client", falsePositives);
         }
 
         protected abstract void updateBloomFilterIfRequired(final EntityId seed) throws RetrieverException;
@@ -367,10 +437,22 @@ public abstract class AccumuloSetRetriever<OP extends InputOutput<Iterable<? ext
                 CloseableUtil.close(operation);
                 throw new RetrieverException(e);
             }
-            try {
-                scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
-            } catch (final IteratorSettingException e) {
-                LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
+            if (null != vertexSetFilterVertices) {
+                try {
+                    if (null == vertexSet || vertexSetSourceSize != vertexSetFilterVertices.size()) {
+                        vertexSet = SortedVertexSet.of(vertexSetFilterVertices);
+                        vertexSetSourceSize = vertexSetFilterVertices.size();
+                    }
+                    scanner.addScanIterator(iteratorSettingFactory.getVertexSetFilterIteratorSetting(vertexSet, store.getProperties().getFalsePositiveRate()));
+                } catch (final IteratorSettingException e) {
+                    LOGGER.error("Failed to apply the vertex set filter iterator setting continuing without vertex set filter", e);
+                }
+            } else {
+                try {
+                    scanner.addScanIterator(iteratorSettingFactory.getBloomFilterIteratorSetting(filter));
+                } catch (final IteratorSettingException e) {
+                    LOGGER.error("Failed to apply the bloom filter iterator setting continuing without bloom filter", e);
+                }
             }
             scannerIterator = scanner.iterator();
         }
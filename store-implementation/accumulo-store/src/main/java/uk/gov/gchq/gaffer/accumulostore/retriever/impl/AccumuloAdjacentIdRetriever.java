@@ -146,7 +146,8 @@ public class AccumuloAdjacentIdRetriever extends AccumuloRetriever<GetAdjacentId
                         element = elementConverter.getFullElement(
                                 entry.getKey(),
                                 entry.getValue(),
-                                true);
+                                true,
+                                propertyProjection);
                     } catch (final AccumuloElementConversionException e) {
                         LOGGER.error("Failed to re-create an element from a key value entry set returning next EntityId as null",
                                 e);
@@ -17,7 +17,6 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.hadoop.util.bloom.Key;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
@@ -25,7 +24,6 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsBetweenSets;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
-import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -34,6 +32,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -68,6 +67,13 @@ import java.util.Set;
  * out edges that are definitely not to set B. The second, larger,
  * {@link org.apache.hadoop.util.bloom.BloomFilter} is used client-side to
  * further reduce the chances of false positives making it to the user.
+ * <p>
+ * In both modes, if set B has no more than
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getMaxVertexSetToPassToAnIterator()}
+ * vertices it is passed to the iterators as an exact
+ * {@link uk.gov.gchq.gaffer.accumulostore.utils.SortedVertexSet} instead of a
+ * {@link org.apache.hadoop.util.bloom.BloomFilter}, so no false positives are
+ * sent to the client.
  */
 public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElementsBetweenSets> {
     private Iterable<? extends EntityId> seedSetA;
@@ -128,12 +134,8 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
             verticesA = extractVertices(seedSetAIter);
             verticesB = extractVertices(seedSetBIter);
 
-            // Create Bloom filter, read through set of entities B and add them
-            // to Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    verticesB.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(verticesB, filter);
-            initialise(filter);
+            // Filter the edges on the set of entities B
+            initialise(verticesB);
         }
 
         /**
@@ -149,9 +151,25 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
     }
 
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
+        // The vertices in set B, if there are few enough to pass to the iterators as an exact set
+        private Set<Object> verticesB;
+
         ElementIteratorFromBatches() throws RetrieverException {
             try {
-                addToBloomFilter(seedSetBIter, filter, clientSideFilter);
+                final int maxVertexSetSize = store.getProperties().getMaxVertexSetToPassToAnIterator();
+                final Set<Object> vertices = new HashSet<>();
+                while (seedSetBIter.hasNext() && vertices.size() <= maxVertexSetSize) {
+                    vertices.add(seedSetBIter.next().getVertex());
+                }
+                if (!seedSetBIter.hasNext() && useVertexSetFilter(vertices.size())) {
+                    CloseableUtil.close(seedSetBIter);
+                    verticesB = vertices;
+                    vertexSetFilterVertices = serialiseVertices(vertices);
+                } else {
+                    addToBloomFilter(vertices, filter);
+                    addToBloomFilter(vertices, clientSideFilter);
+                    addToBloomFilter(seedSetBIter, filter, clientSideFilter);
+                }
                 idsAIterator = seedSetAIter;
                 updateScanner();
             } catch (final Exception e) {
@@ -176,6 +194,10 @@ public class AccumuloIDBetweenSetsRetriever extends AccumuloSetRetriever<GetElem
             final Object source = edge.getSource();
             final Object destination = edge.getDestination();
             final boolean sourceIsInCurrent = currentSeeds.contains(source);
+            if (null != verticesB) {
+                return sourceIsInCurrent && verticesB.contains(destination)
+                        || currentSeeds.contains(destination) && verticesB.contains(source);
+            }
             boolean destMatchesClientFilter;
             try {
                 destMatchesClientFilter = clientSideFilter.membershipTest(
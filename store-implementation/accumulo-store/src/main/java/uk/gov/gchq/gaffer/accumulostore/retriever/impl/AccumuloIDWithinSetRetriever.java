@@ -17,7 +17,6 @@
 package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import org.apache.accumulo.core.client.IteratorSetting;
-import org.apache.hadoop.util.bloom.BloomFilter;
 import org.apache.hadoop.util.bloom.Key;
 
 import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
@@ -25,7 +24,6 @@ import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionE
 import uk.gov.gchq.gaffer.accumulostore.operation.impl.GetElementsWithinSet;
 import uk.gov.gchq.gaffer.accumulostore.retriever.AccumuloSetRetriever;
 import uk.gov.gchq.gaffer.accumulostore.retriever.RetrieverException;
-import uk.gov.gchq.gaffer.accumulostore.utils.BloomFilterUtils;
 import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
@@ -34,6 +32,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.user.User;
 
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.Set;
 
@@ -71,6 +70,13 @@ import java.util.Set;
  * load into memory, we use a client-side
  * {@link org.apache.hadoop.util.bloom.BloomFilter} to further reduce the
  * chances of false positives making it to the user.
+ * <p>
+ * In both modes, whilst there are no more than
+ * {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getMaxVertexSetToPassToAnIterator()}
+ * seeds to filter on they are passed to the iterators as an exact
+ * {@link uk.gov.gchq.gaffer.accumulostore.utils.SortedVertexSet} instead of a
+ * {@link org.apache.hadoop.util.bloom.BloomFilter}, so no false positives are
+ * sent to the client.
  */
 public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElementsWithinSet> {
     private Iterable<? extends EntityId> seeds;
@@ -120,13 +126,8 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
         ElementIteratorReadIntoMemory() throws RetrieverException {
             vertices = extractVertices(seedsIter);
 
-            // Create Bloom filter, read through set of entities and add them to
-            // Bloom filter
-            final BloomFilter filter = BloomFilterUtils.getBloomFilter(store.getProperties().getFalsePositiveRate(),
-                    vertices.size(), store.getProperties().getMaxBloomFilterToPassToAnIterator());
-            addToBloomFilter(vertices, filter);
-
-            initialise(filter);
+            // Filter the edges on the set of entities
+            initialise(vertices);
         }
 
         /**
@@ -143,6 +144,9 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
     private class ElementIteratorFromBatches extends AbstractElementIteratorFromBatches {
         ElementIteratorFromBatches() throws RetrieverException {
             idsAIterator = seedsIter;
+            if (useVertexSetFilter(1)) {
+                vertexSetFilterVertices = new ArrayList<>();
+            }
             updateScanner();
         }
 
@@ -155,6 +159,14 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
             // contain both the first batch and the second batch
             // (and so we find edges from the second batch to either the first or second batches).
             addToBloomFilter(seed, filter, clientSideFilter);
+            if (null != vertexSetFilterVertices) {
+                if (useVertexSetFilter(vertexSetFilterVertices.size() + 1)) {
+                    vertexSetFilterVertices.add(serialiseVertex(seed.getVertex()));
+                } else {
+                    // Too many seeds for an exact set, so just use the Bloom filters from now on
+                    vertexSetFilterVertices = null;
+                }
+            }
         }
 
         @Override
@@ -170,6 +182,10 @@ public class AccumuloIDWithinSetRetriever extends AccumuloSetRetriever<GetElemen
             if (sourceIsInCurrent && destIsInCurrent) {
                 return true;
             }
+            if (null != vertexSetFilterVertices) {
+                // The current seeds are exactly the seeds in the vertex set
+                return false;
+            }
             boolean destMatchesClientFilter;
             try {
                 destMatchesClientFilter = clientSideFilter.membershipTest(
@@ -0,0 +1,329 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.client.BatchWriter;
+import org.apache.accumulo.core.client.MutationsRejectedException;
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Mutation;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.security.ColumnVisibility;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloStore;
+import uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.AccumuloElementConversionException;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Converts {@link Element}s to {@link Mutation}s and writes them to the table of an
+ * {@link AccumuloStore}.
+ * <p>
+ * If {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getIngestBufferSize()} is
+ * positive the elements are buffered in batches of that size and each batch is aggregated
+ * using the schema's ingest aggregators before it is written, so repeated elements
+ * result in a single mutation rather than being left for the tablet servers to combine.
+ * <p>
+ * If {@link uk.gov.gchq.gaffer.accumulostore.AccumuloProperties#getIngestThreads()} is
+ * greater than 1 the batches are handed to that many workers, running on
+ * {@link AccumuloStore#getIngestExecutor()}, which each convert the elements and write
+ * the mutations to their own {@link BatchWriter}. Aggregation is always done on the
+ * calling thread as the schema's aggregators are not thread safe.
+ */
+public class ElementIngester {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ElementIngester.class);
+    private static final int DEFAULT_BATCH_SIZE = 1000;
+    private static final List<Element> END_OF_INPUT = Collections.emptyList();
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Integer.class, Long.class, Float.class, Double.class));
+
+    private final AccumuloStore store;
+    private final AccumuloElementConverter converter;
+    private final int bufferSize;
+    private final int threads;
+    private final Collection<String> aggregatedGroups;
+    private final AggregatorUtil.ToIngestElementKey toIngestKey;
+    private final AggregatorUtil.IngestElementBinaryOperator aggregator;
+
+    public ElementIngester(final AccumuloStore store) {
+        this.store = store;
+        this.converter = store.getKeyPackage().getKeyConverter();
+        this.bufferSize = store.getProperties().getIngestBufferSize();
+        this.threads = store.getProperties().getIngestThreads();
+        this.aggregatedGroups = store.getSchema().getAggregatedGroups();
+        this.toIngestKey = new AggregatorUtil.ToIngestElementKey(store.getSchema());
+        this.aggregator = new AggregatorUtil.IngestElementBinaryOperator(store.getSchema());
+    }
+
+    /**
+     * Adds the elements to the store's table.
+     *
+     * @param elements the elements to add
+     * @throws StoreException if a batch writer could not be created or the workers failed
+     */
+    public void ingest(final Iterable<? extends Element> elements) throws StoreException {
+        if (threads > 1) {
+            ingestInParallel(elements);
+        } else {
+            final BatchWriter writer = TableUtils.createBatchWriter(store);
+            try {
+                if (bufferSize > 0) {
+                    final List<Element> batch = new ArrayList<>(bufferSize);
+                    for (final Element element : elements) {
+                        if (null != element) {
+                            batch.add(element);
+                            if (batch.size() >= bufferSize) {
+                                write(aggregate(batch), writer);
+                                batch.clear();
+                            }
+                        }
+                    }
+                    write(aggregate(batch), writer);
+                } else {
+                    write(elements, writer);
+                }
+            } finally {
+                close(writer);
+            }
+        }
+    }
+
+    private void ingestInParallel(final Iterable<? extends Element> elements) throws StoreException {
+        final BlockingQueue<List<Element>> batches = new ArrayBlockingQueue<>(2 * threads);
+        final AtomicReference<Exception> failure = new AtomicReference<>();
+        final List<Future<?>> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            workers.add(store.getIngestExecutor().submit(() -> runWorker(batches, failure)));
+        }
+
+        final int batchSize = bufferSize > 0 ? bufferSize : DEFAULT_BATCH_SIZE;
+        try {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : elements) {
+                if (null != element) {
+                    batch.add(element);
+                    if (batch.size() >= batchSize) {
+                        batches.put(aggregate(batch));
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                batches.put(aggregate(batch));
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new StoreException("Interrupted whilst adding elements", e);
+        } finally {
+            // The workers always drain the queue so they are guaranteed to see the end markers
+            for (int i = 0; i < threads; i++) {
+                putUninterruptibly(batches, END_OF_INPUT);
+            }
+            for (final Future<?> worker : workers) {
+                waitFor(worker, failure);
+            }
+        }
+
+        if (null != failure.get()) {
+            throw new StoreException("Failed to add elements", failure.get());
+        }
+    }
+
+    private void runWorker(final BlockingQueue<List<Element>> batches, final AtomicReference<Exception> failure) {
+        BatchWriter writer = null;
+        try {
+            writer = TableUtils.createBatchWriter(store);
+            List<Element> batch = batches.take();
+            while (END_OF_INPUT != batch) {
+                if (null == failure.get()) {
+                    write(batch, writer);
+                }
+                batch = batches.take();
+            }
+        } catch (final Exception e) {
+            failure.compareAndSet(null, e);
+            drain(batches);
+        } finally {
+            if (null != writer) {
+                close(writer);
+            }
+        }
+    }
+
+    // The schema's aggregators update the first element of each key, and some
+    // of its property values, in place. So that element is copied before anything
+    // is aggregated into it, otherwise the caller's elements would be modified.
+    private List<Element> aggregate(final List<Element> batch) throws StoreException {
+        if (bufferSize < 1) {
+            return batch;
+        }
+        final List<Element> aggregated = new ArrayList<>(batch.size());
+        final Map<Element, Element> aggregatedByKey = new LinkedHashMap<>();
+        final Set<Element> copies = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Element element : batch) {
+            if (!aggregatedGroups.contains(element.getGroup())) {
+                aggregated.add(element);
+                continue;
+            }
+
+            final Element key = toIngestKey.apply(element);
+            Element state = aggregatedByKey.get(key);
+            if (null == state) {
+                aggregatedByKey.put(key, element);
+            } else {
+                if (!copies.contains(state)) {
+                    state = copy(state);
+                    copies.add(state);
+                    aggregatedByKey.put(key, state);
+                }
+                aggregator.apply(state, element);
+            }
+        }
+        aggregated.addAll(aggregatedByKey.values());
+        return aggregated;
+    }
+
+    // Copies the mutable property values by serialising and deserialising them.
+    @SuppressWarnings("unchecked")
+    private Element copy(final Element element) throws StoreException {
+        final Element copy = element.emptyClone();
+        final SchemaElementDefinition elementDef = store.getSchema().getElement(element.getGroup());
+        for (final Map.Entry<String, Object> entry : element.getProperties().entrySet()) {
+            Object value = entry.getValue();
+            if (null != value && !IMMUTABLE_TYPES.contains(value.getClass())) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(entry.getKey());
+                if (null != typeDef && null != typeDef.getSerialiser()) {
+                    final Serialiser serialiser = typeDef.getSerialiser();
+                    try {
+                        value = serialiser.deserialise(serialiser.serialise(value));
+                    } catch (final SerialisationException e) {
+                        throw new StoreException("Failed to copy property " + entry.getKey() + " for aggregation", e);
+                    }
+                }
+            }
+            copy.putProperty(entry.getKey(), value);
+        }
+        return copy;
+    }
+
+    private void write(final Iterable<? extends Element> elements, final BatchWriter writer) {
+        for (final Element element : elements) {
+            if (null == element) {
+                continue;
+            }
+            final Pair<Key, Key> keys;
+            try {
+                keys = converter.getKeysFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "key", element.getGroup());
+                continue;
+            }
+            final Value value;
+            try {
+                value = converter.getValueFromElement(element);
+            } catch (final AccumuloElementConversionException e) {
+                LOGGER.error(AccumuloStore.FAILED_TO_CREATE_AN_ACCUMULO_FROM_ELEMENT_OF_TYPE_WHEN_TRYING_TO_INSERT_ELEMENTS, "value", element.getGroup());
+                continue;
+            }
+            addMutation(keys.getFirst(), value, writer);
+            // If the element is an Entity there will only be 1 key and the second will be null.
+            // If the element is an Edge then there will be 2 keys.
+            if (null != keys.getSecond()) {
+                addMutation(keys.getSecond(), value, writer);
+            }
+        }
+    }
+
+    private static void addMutation(final Key key, final Value value, final BatchWriter writer) {
+        final Mutation mutation = new Mutation(key.getRow());
+        mutation.put(key.getColumnFamily(), key.getColumnQualifier(),
+                new ColumnVisibility(key.getColumnVisibility()), key.getTimestamp(), value);
+        try {
+            writer.addMutation(mutation);
+        } catch (final MutationsRejectedException e) {
+            LOGGER.error("Failed to create an accumulo key mutation");
+        }
+    }
+
+    private static void close(final BatchWriter writer) {
+        try {
+            writer.close();
+        } catch (final MutationsRejectedException e) {
+            LOGGER.warn("Accumulo batch writer failed to close", e);
+        }
+    }
+
+    private void drain(final BlockingQueue<List<Element>> batches) {
+        try {
+            while (END_OF_INPUT != batches.take()) {
+                // Keep taking batches so the thread adding them does not block
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void putUninterruptibly(final BlockingQueue<List<Element>> batches, final List<Element> batch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                batches.put(batch);
+                break;
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void waitFor(final Future<?> worker, final AtomicReference<Exception> failure) {
+        try {
+            worker.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failure.compareAndSet(null, e);
+        } catch (final ExecutionException e) {
+            failure.compareAndSet(null, e);
+        }
+    }
+}
@@ -92,6 +92,21 @@ public class IteratorSettingBuilder {
         return this;
     }
 
+    public IteratorSettingBuilder vertexSet(final SortedVertexSet vertices) throws IteratorSettingException {
+        try {
+            setting.addOption(AccumuloStoreConstants.VERTEX_SET, new String(vertices.serialise(), AccumuloStoreConstants.BLOOM_FILTER_CHARSET));
+        } catch (final UnsupportedEncodingException e) {
+            throw new IteratorSettingException("Failed to encode the vertex set to a string", e);
+        }
+
+        return this;
+    }
+
+    public IteratorSettingBuilder falsePositiveRate(final double falsePositiveRate) {
+        setting.addOption(AccumuloStoreConstants.FALSE_POSITIVE_RATE, Double.toString(falsePositiveRate));
+        return this;
+    }
+
     public IteratorSettingBuilder includeEdges(final boolean includeEdges) {
         if (includeEdges) {
             setting.addOption(AccumuloStoreConstants.INCLUDE_EDGES, "true");
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * A {@code SerialisedPropertyAggregator} aggregates the serialised values of a
+ * single property, giving the same result as deserialising each value, applying
+ * the aggregate function and serialising the result.
+ * <p>
+ * Aggregators are reusable: {@link #reset()} is called before each set of values
+ * is aggregated. Where the aggregate function and serialiser are known, for
+ * example {@link Sum}, {@link Max} or {@link Min} of compact raw longs, the values
+ * are combined without creating any objects. Other functions, such as unions of
+ * bitmaps or sketches, deserialise each value and apply the function.
+ * <p>
+ * Aggregators are not thread safe.
+ */
+public abstract class SerialisedPropertyAggregator {
+    /**
+     * Prepares the aggregator for a new set of values.
+     */
+    public abstract void reset();
+
+    /**
+     * Adds the next serialised value of the property.
+     *
+     * @param bytes  the array containing the serialised value, or null if the property is missing
+     * @param offset the offset of the serialised value
+     * @param length the length of the serialised value, which may be 0
+     * @throws SerialisationException if the value could not be deserialised
+     */
+    public abstract void add(final byte[] bytes, final int offset, final int length) throws SerialisationException;
+
+    /**
+     * Writes the aggregated value, prefixed by its length, to the buffer.
+     *
+     * @param buffer the buffer to write to
+     * @throws SerialisationException if the value could not be serialised
+     */
+    public abstract void write(final ByteArrayBuffer buffer) throws SerialisationException;
+
+    /**
+     * Creates an aggregator for a property.
+     *
+     * @param function   the aggregate function, or null if the first value should be kept
+     * @param serialiser the serialiser for the property
+     * @return the aggregator
+     */
+    public static SerialisedPropertyAggregator create(final BinaryOperator<?> function, final ToBytesSerialiser<?> serialiser) {
+        if (null != function) {
+            final Class<?> functionClass = function.getClass();
+            if (Sum.class == functionClass || Max.class == functionClass || Min.class == functionClass) {
+                if (CompactRawLongSerialiser.class == serialiser.getClass()) {
+                    return new CompactRawLongAggregator(functionClass, false);
+                }
+                if (CompactRawIntegerSerialiser.class == serialiser.getClass()) {
+                    return new CompactRawLongAggregator(functionClass, true);
+                }
+            }
+        }
+        return new DeserialisingAggregator(function, serialiser);
+    }
+
+    /**
+     * Applies the {@link Sum}, {@link Max} or {@link Min} functions to compact
+     * raw longs or integers straight from their serialised form.
+     */
+    private static final class CompactRawLongAggregator extends SerialisedPropertyAggregator {
+        private final boolean sum;
+        private final boolean max;
+        private final boolean isInteger;
+        private boolean hasValue;
+        private long value;
+
+        private CompactRawLongAggregator(final Class<?> functionClass, final boolean isInteger) {
+            this.sum = Sum.class == functionClass;
+            this.max = Max.class == functionClass;
+            this.isInteger = isInteger;
+        }
+
+        @Override
+        public void reset() {
+            hasValue = false;
+        }
+
+        @Override
+        public void add(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+            // Missing and empty values deserialise to null, which the functions ignore
+            if (null != bytes && 0 != length) {
+                final long next = read(bytes, offset);
+                if (!hasValue) {
+                    value = next;
+                    hasValue = true;
+                } else if (sum) {
+                    value = isInteger ? (int) (value + next) : value + next;
+                } else if (max) {
+                    value = Math.max(value, next);
+                } else {
+                    value = Math.min(value, next);
+                }
+            }
+        }
+
+        @Override
+        public void write(final ByteArrayBuffer buffer) throws SerialisationException {
+            if (hasValue) {
+                CompactRawSerialisationUtils.write(CompactRawSerialisationUtils.getVIntSize(value), buffer);
+                CompactRawSerialisationUtils.write(value, buffer);
+            } else {
+                // A null value is serialised as empty bytes
+                CompactRawSerialisationUtils.write(0, buffer);
+            }
+        }
+
+        private long read(final byte[] bytes, final int offset) throws SerialisationException {
+            final long result = CompactRawSerialisationUtils.readLong(bytes, offset);
+            if (isInteger && (result > Integer.MAX_VALUE || result < Integer.MIN_VALUE)) {
+                throw new SerialisationException("Value too long to fit in integer");
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Deserialises each value and applies the aggregate function.
+     */
+    @SuppressWarnings("unchecked")
+    private static final class DeserialisingAggregator extends SerialisedPropertyAggregator {
+        private final BinaryOperator<Object> function;
+        private final ToBytesSerialiser<Object> serialiser;
+        private boolean first;
+        private Object state;
+
+        private DeserialisingAggregator(final BinaryOperator<?> function, final ToBytesSerialiser<?> serialiser) {
+            this.function = (BinaryOperator<Object>) function;
+            this.serialiser = (ToBytesSerialiser<Object>) serialiser;
+        }
+
+        @Override
+        public void reset() {
+            first = true;
+            state = null;
+        }
+
+        @Override
+        public void add(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+            if (first) {
+                state = deserialise(bytes, offset, length);
+                first = false;
+            } else if (null != function) {
+                state = function.apply(state, deserialise(bytes, offset, length));
+            }
+        }
+
+        @Override
+        public void write(final ByteArrayBuffer buffer) throws SerialisationException {
+            LengthValueBytesSerialiserUtil.serialise(serialiser, state, buffer);
+            state = null;
+        }
+
+        private Object deserialise(final byte[] bytes, final int offset, final int length) throws SerialisationException {
+            if (null == bytes) {
+                return null;
+            }
+            return length > 0 ? serialiser.deserialise(bytes, offset, length) : serialiser.deserialiseEmpty();
+        }
+    }
+}
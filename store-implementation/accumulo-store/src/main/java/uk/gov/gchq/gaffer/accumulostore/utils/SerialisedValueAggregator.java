@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Value;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * A {@code SerialisedValueAggregator} aggregates Accumulo {@link Value}s
+ * containing length-value serialised properties, using a
+ * {@link SerialisedPropertyAggregator} for each property in the Value. The
+ * properties are read straight from the Value bytes, so no
+ * {@link uk.gov.gchq.gaffer.data.element.Properties} objects are created.
+ * <p>
+ * Instances are created by
+ * {@link uk.gov.gchq.gaffer.accumulostore.key.AccumuloElementConverter#getSerialisedValueAggregator(String)}
+ * and are not thread safe.
+ */
+public class SerialisedValueAggregator {
+    private final SerialisedPropertyAggregator[] aggregators;
+    private final ByteArrayBuffer buffer = new ByteArrayBuffer();
+
+    /**
+     * @param aggregators an aggregator for each property stored in the Value, in the order they are stored
+     */
+    public SerialisedValueAggregator(final List<SerialisedPropertyAggregator> aggregators) {
+        this.aggregators = aggregators.toArray(new SerialisedPropertyAggregator[aggregators.size()]);
+    }
+
+    /**
+     * Aggregates the provided values.
+     *
+     * @param first  the first value
+     * @param others the rest of the values
+     * @return the aggregated value
+     * @throws SerialisationException if a property could not be aggregated
+     */
+    public Value aggregate(final Value first, final Iterator<Value> others) throws SerialisationException {
+        for (final SerialisedPropertyAggregator aggregator : aggregators) {
+            aggregator.reset();
+        }
+
+        add(first);
+        while (others.hasNext()) {
+            add(others.next());
+        }
+
+        buffer.reset();
+        for (final SerialisedPropertyAggregator aggregator : aggregators) {
+            aggregator.write(buffer);
+        }
+        return new Value(buffer.toByteArray());
+    }
+
+    private void add(final Value value) throws SerialisationException {
+        final byte[] bytes = value.get();
+        int position = 0;
+        for (final SerialisedPropertyAggregator aggregator : aggregators) {
+            // Properties after the end of the value are missing
+            if (position < bytes.length) {
+                final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[position]);
+                final int length = (int) CompactRawSerialisationUtils.readLong(bytes, position);
+                position += numBytesForLength;
+                aggregator.add(bytes, position, length);
+                position += length;
+            } else {
+                aggregator.add(null, 0, 0);
+            }
+        }
+    }
+}
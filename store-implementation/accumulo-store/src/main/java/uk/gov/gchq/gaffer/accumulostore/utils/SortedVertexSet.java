@@ -0,0 +1,181 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.hadoop.io.WritableComparator;
+import org.apache.hadoop.io.WritableUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * A {@code SortedVertexSet} is an immutable, sorted set of serialised vertices. It is
+ * used to pass a set of seeds to a tablet server iterator so the iterator can test
+ * vertices for membership exactly, rather than using a Bloom filter.
+ * <p>
+ * The vertices are ordered in the same way as Accumulo orders row keys. The serialised
+ * form of the set front codes each vertex against the previous one and then compresses
+ * the result, so sets of similar vertices are small.
+ */
+public final class SortedVertexSet {
+    private final byte[][] vertices;
+
+    private SortedVertexSet(final byte[][] vertices) {
+        this.vertices = vertices;
+    }
+
+    /**
+     * Creates a set from the given serialised vertices. Duplicates are removed.
+     *
+     * @param vertices the serialised vertices
+     * @return the sorted set of vertices
+     */
+    public static SortedVertexSet of(final Collection<byte[]> vertices) {
+        final byte[][] sorted = vertices.toArray(new byte[vertices.size()][]);
+        Arrays.sort(sorted, (first, second) -> compare(first, second, 0, second.length));
+        int size = 0;
+        for (final byte[] vertex : sorted) {
+            if (0 == size || 0 != compare(sorted[size - 1], vertex, 0, vertex.length)) {
+                sorted[size++] = vertex;
+            }
+        }
+        return new SortedVertexSet(Arrays.copyOf(sorted, size));
+    }
+
+    /**
+     * Recreates a set from the output of {@link #serialise()}.
+     *
+     * @param bytes the serialised set
+     * @return the sorted set of vertices
+     * @throws IOException if the bytes are not a valid serialised set
+     */
+    public static SortedVertexSet deserialise(final byte[] bytes) throws IOException {
+        try (final DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(bytes)))) {
+            final int size = WritableUtils.readVInt(in);
+            final byte[][] vertices = new byte[size][];
+            byte[] previous = new byte[0];
+            for (int i = 0; i < size; i++) {
+                final int prefixLength = WritableUtils.readVInt(in);
+                final int suffixLength = WritableUtils.readVInt(in);
+                final byte[] vertex = new byte[prefixLength + suffixLength];
+                System.arraycopy(previous, 0, vertex, 0, prefixLength);
+                in.readFully(vertex, prefixLength, suffixLength);
+                vertices[i] = vertex;
+                previous = vertex;
+            }
+            return new SortedVertexSet(vertices);
+        }
+    }
+
+    /**
+     * @return the compressed, front coded form of this set
+     */
+    public byte[] serialise() {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (final DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes))) {
+            WritableUtils.writeVInt(out, vertices.length);
+            byte[] previous = new byte[0];
+            for (final byte[] vertex : vertices) {
+                final int prefixLength = getCommonPrefixLength(previous, vertex);
+                WritableUtils.writeVInt(out, prefixLength);
+                WritableUtils.writeVInt(out, vertex.length - prefixLength);
+                out.write(vertex, prefixLength, vertex.length - prefixLength);
+                previous = vertex;
+            }
+        } catch (final IOException e) {
+            // Writing to a byte array does not throw IOExceptions
+            throw new RuntimeException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public int size() {
+        return vertices.length;
+    }
+
+    public boolean contains(final byte[] vertex) {
+        return contains(vertex, 0, vertex.length);
+    }
+
+    public boolean contains(final byte[] bytes, final int offset, final int length) {
+        final int index = ceiling(bytes, offset, length, 0);
+        return index < vertices.length && 0 == compare(vertices[index], bytes, offset, length);
+    }
+
+    /**
+     * Finds the first vertex that is greater than or equal to the given vertex,
+     * searching forward from a starting index. When the vertices being looked up
+     * are in ascending order, passing the previous result as the starting index
+     * turns a series of lookups into a merge join with the set.
+     *
+     * @param bytes  the array containing the vertex to look up
+     * @param offset the offset of the vertex in the array
+     * @param length the length of the vertex
+     * @param from   the index to start searching from
+     * @return the index of the first vertex at or after {@code from} that is greater
+     * than or equal to the given vertex, or {@link #size()} if there is none
+     */
+    public int ceiling(final byte[] bytes, final int offset, final int length, final int from) {
+        // Gallop forwards to find an upper bound, then binary search within it
+        int low = from;
+        int step = 1;
+        int high = from;
+        while (high < vertices.length && compare(vertices[high], bytes, offset, length) < 0) {
+            low = high + 1;
+            high = from + step;
+            step <<= 1;
+        }
+        high = Math.min(high, vertices.length);
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            if (compare(vertices[mid], bytes, offset, length) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @param index the index of the vertex
+     * @return the serialised vertex at the given index
+     */
+    public byte[] get(final int index) {
+        return vertices[index];
+    }
+
+    private static int compare(final byte[] vertex, final byte[] bytes, final int offset, final int length) {
+        return WritableComparator.compareBytes(vertex, 0, vertex.length, bytes, offset, length);
+    }
+
+    private static int getCommonPrefixLength(final byte[] first, final byte[] second) {
+        final int maxLength = Math.min(first.length, second.length);
+        int length = 0;
+        while (length < maxLength && first[length] == second[length]) {
+            length++;
+        }
+        return length;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Utilities for grouping {@link Range}s by the tablets that hold them, so that
+ * each {@link org.apache.accumulo.core.client.BatchScanner} only has to query
+ * a few tablets.
+ */
+public final class TabletRangeUtils {
+    private TabletRangeUtils() {
+        // private to prevent this class being instantiated.
+        // All methods are static and should be called directly.
+    }
+
+    /**
+     * Gets the index of the tablet that holds the start of the range. Tablet
+     * {@code i} holds the rows after split point {@code i - 1} up to and
+     * including split point {@code i}.
+     *
+     * @param range  the range
+     * @param splits the sorted split points of the table
+     * @return the index of the tablet, between 0 and the number of split points
+     */
+    public static int getTabletIndex(final Range range, final List<Text> splits) {
+        if (range.isInfiniteStartKey() || splits.isEmpty()) {
+            return 0;
+        }
+        final int index = Collections.binarySearch(splits, range.getStartKey().getRow());
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    /**
+     * Splits the sorted ranges into batches of at most
+     * {@code maxRangesPerBatch} ranges. All the ranges for a tablet are put
+     * in the same batch, unless there are more than {@code maxRangesPerBatch}
+     * of them, so each batch only covers a few neighbouring tablets.
+     *
+     * @param ranges            the ranges, sorted
+     * @param splits            the sorted split points of the table
+     * @param maxRangesPerBatch the maximum number of ranges in a batch
+     * @return the batches of ranges, in order
+     */
+    public static List<Set<Range>> batchByTablet(final Collection<Range> ranges, final List<Text> splits, final int maxRangesPerBatch) {
+        if (maxRangesPerBatch < 1) {
+            throw new IllegalArgumentException("maxRangesPerBatch must be at least 1 but was " + maxRangesPerBatch);
+        }
+
+        final Range[] sortedRanges = ranges.toArray(new Range[ranges.size()]);
+        final List<Set<Range>> batches = new ArrayList<>();
+        Set<Range> batch = new TreeSet<>();
+        int tabletStart = 0;
+        while (tabletStart < sortedRanges.length) {
+            // The ranges are sorted so the ranges for each tablet are next to each other
+            final int tablet = getTabletIndex(sortedRanges[tabletStart], splits);
+            int tabletEnd = tabletStart + 1;
+            while (tabletEnd < sortedRanges.length && tablet == getTabletIndex(sortedRanges[tabletEnd], splits)) {
+                tabletEnd++;
+            }
+
+            // Start a new batch rather than split this tablet's ranges over two batches
+            if (!batch.isEmpty() && batch.size() + tabletEnd - tabletStart > maxRangesPerBatch) {
+                batches.add(batch);
+                batch = new TreeSet<>();
+            }
+            for (int i = tabletStart; i < tabletEnd; i++) {
+                if (batch.size() >= maxRangesPerBatch) {
+                    batches.add(batch);
+                    batch = new TreeSet<>();
+                }
+                batch.add(sortedRanges[i]);
+            }
+            tabletStart = tabletEnd;
+        }
+        if (!batch.isEmpty()) {
+            batches.add(batch);
+        }
+        return batches;
+    }
+}
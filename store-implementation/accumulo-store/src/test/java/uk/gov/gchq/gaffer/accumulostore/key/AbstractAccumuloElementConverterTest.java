@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.accumulostore.key;
 
+import com.google.common.collect.Sets;
 import org.apache.accumulo.core.data.Key;
 import org.apache.accumulo.core.data.Value;
 import org.junit.Before;
@@ -46,6 +47,7 @@ import uk.gov.gchq.gaffer.types.FreqMap;
 import uk.gov.gchq.gaffer.types.function.FreqMapAggregator;
 
 import java.io.IOException;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
@@ -308,6 +310,66 @@ public abstract class AbstractAccumuloElementConverterTest<T extends AccumuloEle
         assertEquals(8, deSerialisedProperties.get(AccumuloPropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldOnlyDeserialiseRequiredPropertiesFromValue() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_2, 166);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When
+        final Properties deSerialisedProperties = converter.getPropertiesFromValue(TestGroups.EDGE, value,
+                Sets.newHashSet(AccumuloPropertyNames.PROP_2, AccumuloPropertyNames.COUNT));
+
+        // Then
+        final Properties expectedProperties = new Properties();
+        expectedProperties.put(AccumuloPropertyNames.PROP_2, 166);
+        expectedProperties.put(AccumuloPropertyNames.COUNT, 8);
+        assertEquals(expectedProperties, deSerialisedProperties);
+    }
+
+    @Test
+    public void shouldRemoveUnrequiredPropertiesFromValue() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.PROP_2, 166);
+        properties.put(AccumuloPropertyNames.PROP_3, 299);
+        properties.put(AccumuloPropertyNames.PROP_4, 10);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+        final Set<String> requiredProperties = Sets.newHashSet(AccumuloPropertyNames.PROP_2, AccumuloPropertyNames.PROP_3);
+
+        // When
+        final Value projectedValue = converter.getProjectedValue(TestGroups.EDGE, value, requiredProperties);
+
+        // Then
+        assertTrue(projectedValue.getSize() < value.getSize());
+        final Properties expectedProperties = new Properties();
+        expectedProperties.put(AccumuloPropertyNames.PROP_2, 166);
+        expectedProperties.put(AccumuloPropertyNames.PROP_3, 299);
+        assertEquals(expectedProperties, converter.getPropertiesFromValue(TestGroups.EDGE, projectedValue, requiredProperties));
+    }
+
+    @Test
+    public void shouldNotChangeValueWhenAllPropertiesAreRequired() {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(AccumuloPropertyNames.PROP_1, 60);
+        properties.put(AccumuloPropertyNames.COUNT, 8);
+        final Value value = converter.getValueFromProperties(TestGroups.EDGE, properties);
+
+        // When
+        final Value projectedValue = converter.getProjectedValue(TestGroups.EDGE, value, null);
+
+        // Then
+        assertEquals(value, projectedValue);
+    }
+
     @Test
     public void shouldTruncatePropertyBytes() {
         // Given
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.CoreKeyVertexSetFilterIterator;
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.key.exception.BloomFilterIteratorException;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.accumulostore.utils.SortedVertexSet;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CoreKeyVertexSetFilterIteratorTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(CoreKeyVertexSetFilterIteratorTest.class));
+
+    @Test
+    public void shouldThrowExceptionWhenValidateOptionsWithoutVertexSet() {
+        // Given
+        final CoreKeyVertexSetFilterIterator filter = new CoreKeyVertexSetFilterIterator();
+        final Map<String, String> options = new HashMap<>();
+
+        // When / Then
+        try {
+            filter.validateOptions(options);
+            fail("Exception expected");
+        } catch (final BloomFilterIteratorException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.VERTEX_SET));
+        }
+    }
+
+    @Test
+    public void shouldOnlyAcceptEdgesWhoseOtherVertexIsInTheSet() throws Exception {
+        // Given
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        for (final String dest : Arrays.asList("B", "C", "D", "E")) {
+            final Edge edge = new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("A")
+                    .dest(dest)
+                    .directed(true)
+                    .build();
+            final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+            data.put(keys.getFirst(), converter.getValueFromElement(edge));
+            data.put(keys.getSecond(), converter.getValueFromElement(edge));
+        }
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        data.put(converter.getKeyFromEntity(entity), converter.getValueFromElement(entity));
+
+        final SortedVertexSet vertices = SortedVertexSet.of(Arrays.asList(
+                converter.serialiseVertex("E"), converter.serialiseVertex("B"), converter.serialiseVertex("D")));
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.VERTEX_SET, new String(vertices.serialise(), AccumuloStoreConstants.BLOOM_FILTER_CHARSET));
+
+        final CoreKeyVertexSetFilterIterator filter = new CoreKeyVertexSetFilterIterator();
+        filter.init(new SortedMapIterator(data), options, null);
+
+        // When
+        filter.seek(new Range(), Collections.emptyList(), false);
+        final Set<Element> results = new HashSet<>();
+        while (filter.hasTop()) {
+            results.add(converter.getFullElement(filter.getTopKey(), filter.getTopValue(), false));
+            filter.next();
+        }
+
+        // Then
+        final Set<Element> expected = new HashSet<>();
+        expected.add(entity);
+        for (final String dest : Arrays.asList("B", "D", "E")) {
+            expected.add(new Edge.Builder()
+                    .group(TestGroups.EDGE)
+                    .source("A")
+                    .dest(dest)
+                    .directed(true)
+                    .build());
+        }
+        assertEquals(expected, results);
+    }
+}
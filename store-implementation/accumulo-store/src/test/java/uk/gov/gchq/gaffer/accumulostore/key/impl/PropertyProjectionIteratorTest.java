@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.key.impl;
+
+import org.apache.accumulo.core.data.Key;
+import org.apache.accumulo.core.data.Range;
+import org.apache.accumulo.core.data.Value;
+import org.apache.accumulo.core.iterators.SortedMapIterator;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloPropertyNames;
+import uk.gov.gchq.gaffer.accumulostore.utils.AccumuloStoreConstants;
+import uk.gov.gchq.gaffer.commonutil.CommonConstants;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PropertyProjectionIteratorTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(PropertyProjectionIteratorTest.class));
+
+    @Test
+    public void shouldThrowIllegalArgumentExceptionWhenValidateOptionsWithNoView() throws Exception {
+        // Given
+        final PropertyProjectionIterator iterator = new PropertyProjectionIterator();
+
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, new String(SCHEMA.toCompactJson(), CommonConstants.UTF_8));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ByteEntityAccumuloElementConverter.class.getName());
+
+        // When / Then
+        try {
+            iterator.validateOptions(options);
+            fail("Expected IllegalArgumentException to be thrown on method invocation");
+        } catch (final IllegalArgumentException e) {
+            assertTrue(e.getMessage().contains(AccumuloStoreConstants.VIEW));
+        }
+    }
+
+    @Test
+    public void shouldOnlyReturnPropertiesRequiredByView() throws Exception {
+        // Given
+        final View view = new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(AccumuloPropertyNames.PROP_1, AccumuloPropertyNames.COUNT)
+                        .build())
+                .build();
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(SCHEMA);
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(AccumuloPropertyNames.COLUMN_QUALIFIER, 1)
+                .property(AccumuloPropertyNames.PROP_1, 2)
+                .property(AccumuloPropertyNames.PROP_2, 3)
+                .property(AccumuloPropertyNames.PROP_3, 4)
+                .property(AccumuloPropertyNames.PROP_4, 5)
+                .property(AccumuloPropertyNames.COUNT, 6)
+                .build();
+        final Pair<Key, Key> keys = converter.getKeysFromElement(edge);
+        final Value value = converter.getValueFromElement(edge);
+        final TreeMap<Key, Value> data = new TreeMap<>();
+        data.put(keys.getFirst(), value);
+
+        final PropertyProjectionIterator iterator = new PropertyProjectionIterator();
+        iterator.init(new SortedMapIterator(data), getOptions(view), null);
+
+        // When
+        iterator.seek(new Range(), Collections.emptyList(), false);
+        final Value projectedValue = iterator.getTopValue();
+        final Element result = converter.getFullElement(iterator.getTopKey(), projectedValue, false, new PropertyProjection(SCHEMA, view));
+
+        // Then
+        assertTrue(projectedValue.getSize() < value.getSize());
+        assertEquals(1, result.getProperty(AccumuloPropertyNames.COLUMN_QUALIFIER));
+        assertEquals(2, result.getProperty(AccumuloPropertyNames.PROP_1));
+        assertNull(result.getProperty(AccumuloPropertyNames.PROP_2));
+        assertNull(result.getProperty(AccumuloPropertyNames.PROP_3));
+        assertNull(result.getProperty(AccumuloPropertyNames.PROP_4));
+        assertEquals(6, result.getProperty(AccumuloPropertyNames.COUNT));
+        iterator.next();
+        assertFalse(iterator.hasTop());
+    }
+
+    private Map<String, String> getOptions(final View view) throws UnsupportedEncodingException {
+        final Map<String, String> options = new HashMap<>();
+        options.put(AccumuloStoreConstants.SCHEMA, new String(SCHEMA.toCompactJson(), CommonConstants.UTF_8));
+        options.put(AccumuloStoreConstants.VIEW, new String(view.toCompactJson(), CommonConstants.UTF_8));
+        options.put(AccumuloStoreConstants.ACCUMULO_ELEMENT_CONVERTER_CLASS,
+                ByteEntityAccumuloElementConverter.class.getName());
+        return options;
+    }
+}
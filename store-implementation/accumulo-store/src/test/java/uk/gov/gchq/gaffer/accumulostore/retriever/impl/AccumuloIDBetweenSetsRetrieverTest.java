@@ -282,6 +282,26 @@ public class AccumuloIDBetweenSetsRetrieverTest {
         shouldDealWithFalsePositives(false, gaffer1KeyStore);
     }
 
+    @Test
+    public void shouldDealWithFalsePositivesUsingBloomFiltersInMemoryByteEntityStore() throws StoreException {
+        shouldDealWithFalsePositivesUsingBloomFilters(true, byteEntityStore);
+    }
+
+    @Test
+    public void shouldDealWithFalsePositivesUsingBloomFiltersByteEntityStore() throws StoreException {
+        shouldDealWithFalsePositivesUsingBloomFilters(false, byteEntityStore);
+    }
+
+    private void shouldDealWithFalsePositivesUsingBloomFilters(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
+        final int maxVertexSetToPassToAnIterator = store.getProperties().getMaxVertexSetToPassToAnIterator();
+        store.getProperties().setMaxVertexSetToPassToAnIterator("0");
+        try {
+            shouldDealWithFalsePositives(loadIntoMemory, store);
+        } finally {
+            store.getProperties().setMaxVertexSetToPassToAnIterator(String.valueOf(maxVertexSetToPassToAnIterator));
+        }
+    }
+
     private void shouldDealWithFalsePositives(final boolean loadIntoMemory, final AccumuloStore store) throws StoreException {
         final Set<EntityId> seeds = new HashSet<>();
         seeds.add(AccumuloTestData.SEED_A0);
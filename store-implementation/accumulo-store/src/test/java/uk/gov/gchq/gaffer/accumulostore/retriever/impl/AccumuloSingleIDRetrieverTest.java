@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.accumulostore.retriever.impl;
 
 import com.google.common.collect.Iterables;
 import org.apache.accumulo.core.client.AccumuloException;
+import org.apache.hadoop.io.Text;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.BeforeClass;
@@ -29,6 +30,8 @@ import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
 import uk.gov.gchq.gaffer.accumulostore.key.exception.IteratorSettingException;
 import uk.gov.gchq.gaffer.commonutil.StreamUtil;
 import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
@@ -48,11 +51,17 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class AccumuloSingleIDRetrieverTest {
@@ -307,6 +316,134 @@ public class AccumuloSingleIDRetrieverTest {
         assertEquals(numEntries * 2, count);
     }
 
+    @Test
+    public void shouldReturnAllElementsWhenSeedsAreGroupedByTablet() throws Exception {
+        shouldReturnAllElementsWhenSeedsAreGroupedByTablet(true);
+        shouldReturnAllElementsWhenSeedsAreGroupedByTablet(false);
+    }
+
+    private void shouldReturnAllElementsWhenSeedsAreGroupedByTablet(final boolean prefetch) throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("50");
+        properties.setSeedBatchesToSortByTablet("4");
+        properties.setPrefetchSeedBatches(prefetch);
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("tabletGraph", schema, properties);
+        store.getConnection().tableOperations().addSplits(store.getTableName(), new TreeSet<>(Arrays.asList(new Text("3"), new Text("6"))));
+        setupGraph(store, numEntries);
+
+        final List<ElementId> ids = new ArrayList<>();
+        for (int i = 0; i < numEntries; i++) {
+            ids.add(new EntitySeed("" + i));
+        }
+        final View view = new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build();
+        final GetElements operation = new GetElements.Builder().view(view).input(ids).build();
+
+        // When
+        final AccumuloSingleIDRetriever<?> retriever = new AccumuloSingleIDRetriever<>(store, operation, new User());
+
+        // Then
+        assertEquals(numEntries * 3, Iterables.size(retriever));
+    }
+
+    @Test
+    public void shouldNotReadSeedsAfterIteratorIsClosed() throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("10");
+        properties.setPrefetchSeedBatches(true);
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("prefetchGraph", schema, properties);
+        setupGraph(store, numEntries);
+
+        final AtomicBoolean seedsClosed = new AtomicBoolean();
+        final AtomicBoolean readAfterClose = new AtomicBoolean();
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build())
+                .input(seeds(numEntries, seedsClosed, readAfterClose, -1))
+                .build();
+        final AccumuloSingleIDRetriever<?> retriever = new AccumuloSingleIDRetriever<>(store, operation, new User());
+
+        // When
+        final CloseableIterator<?> itr = retriever.iterator();
+        itr.next();
+        itr.close();
+        Thread.sleep(100);
+
+        // Then
+        assertTrue(seedsClosed.get());
+        assertFalse(readAfterClose.get());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenRangesCannotBeCreatedForPrefetchedSeeds() throws Exception {
+        // Given
+        final AccumuloProperties properties = PROPERTIES.clone();
+        properties.setMaxEntriesForBatchScanner("10");
+        properties.setPrefetchSeedBatches(true);
+        final AccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("failingSeedsGraph", schema, properties);
+        setupGraph(store, numEntries);
+
+        final GetElements operation = new GetElements.Builder()
+                .view(new View.Builder().edge(TestGroups.EDGE).entity(TestGroups.ENTITY).build())
+                .input(seeds(numEntries, new AtomicBoolean(), new AtomicBoolean(), 20))
+                .build();
+        final AccumuloSingleIDRetriever<?> retriever = new AccumuloSingleIDRetriever<>(store, operation, new User());
+
+        // When / Then
+        try {
+            Iterables.size(retriever);
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertEquals("Failed to create ranges from the seeds", e.getMessage());
+        }
+    }
+
+    // Creates seeds that record whether they are read after being closed, and that fail once failAfter seeds have been read
+    private static CloseableIterable<ElementId> seeds(final int numSeeds, final AtomicBoolean closed,
+                                                      final AtomicBoolean readAfterClose, final int failAfter) {
+        return new CloseableIterable<ElementId>() {
+            @Override
+            public void close() {
+                closed.set(true);
+            }
+
+            @Override
+            public CloseableIterator<ElementId> iterator() {
+                final AtomicInteger count = new AtomicInteger();
+                return new CloseableIterator<ElementId>() {
+                    @Override
+                    public void close() {
+                        closed.set(true);
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        if (count.get() == failAfter) {
+                            throw new RuntimeException("Test Exception");
+                        }
+                        return count.get() < numSeeds;
+                    }
+
+                    @Override
+                    public ElementId next() {
+                        if (closed.get()) {
+                            readAfterClose.set(true);
+                        }
+                        try {
+                            Thread.sleep(1);
+                        } catch (final InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return new EntitySeed("" + count.getAndIncrement());
+                    }
+                };
+            }
+        };
+    }
+
     private static void setupGraph(final AccumuloStore store, final int numEntries) {
         final List<Element> elements = new ArrayList<>();
         for (int i = 0; i < numEntries; i++) {
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import com.google.common.collect.Lists;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.AccumuloProperties;
+import uk.gov.gchq.gaffer.accumulostore.SingleUseMockAccumuloStore;
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class ElementIngesterTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(ElementIngesterTest.class));
+    private static final int NUM_VERTICES = 10;
+    private static final int NUM_REPEATS = 25;
+
+    @Test
+    public void shouldAddElementsWithoutBufferingOnASingleThread() throws Exception {
+        shouldAddAndAggregateElements(0, 1);
+    }
+
+    @Test
+    public void shouldAggregateElementsInBufferBeforeAddingThem() throws Exception {
+        shouldAddAndAggregateElements(7, 1);
+    }
+
+    @Test
+    public void shouldAddElementsOnMultipleThreads() throws Exception {
+        shouldAddAndAggregateElements(0, 4);
+    }
+
+    @Test
+    public void shouldAggregateElementsInBufferAndAddThemOnMultipleThreads() throws Exception {
+        shouldAddAndAggregateElements(7, 4);
+    }
+
+    @Test
+    public void shouldNotModifyTheElementsBeingAggregated() throws Exception {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ElementIngesterTest.class));
+        properties.setIngestBufferSize("7");
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("ingestGraphNotModified", SCHEMA, properties);
+        final Entity entity = createEntity(1, 1);
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(entity, entity, entity)
+                .build(), new Context(new User()));
+
+        // Then
+        assertEquals(createEntity(1, 1), entity);
+        try (final CloseableIterable<? extends Element> results = store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .build())
+                .build(), new Context(new User()))) {
+            assertEquals(Lists.newArrayList(createEntity(1, 3)), Lists.newArrayList(results));
+        }
+    }
+
+    private void shouldAddAndAggregateElements(final int bufferSize, final int threads) throws Exception {
+        // Given
+        final AccumuloProperties properties = AccumuloProperties.loadStoreProperties(StreamUtil.storeProps(ElementIngesterTest.class));
+        properties.setIngestBufferSize(String.valueOf(bufferSize));
+        properties.setIngestThreads(String.valueOf(threads));
+        final SingleUseMockAccumuloStore store = new SingleUseMockAccumuloStore();
+        store.initialise("ingestGraph" + bufferSize + "_" + threads, SCHEMA, properties);
+
+        final List<Element> elements = new ArrayList<>();
+        for (int repeat = 0; repeat < NUM_REPEATS; repeat++) {
+            for (int i = 0; i < NUM_VERTICES; i++) {
+                elements.add(createEntity(i, 1));
+                elements.add(createEdge(i, 1));
+            }
+        }
+
+        // When
+        store.execute(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()));
+
+        // Then
+        final Set<Element> expected = new HashSet<>();
+        for (int i = 0; i < NUM_VERTICES; i++) {
+            expected.add(createEntity(i, NUM_REPEATS));
+            expected.add(createEdge(i, NUM_REPEATS));
+        }
+        try (final CloseableIterable<? extends Element> results = store.execute(new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entity(TestGroups.ENTITY)
+                        .edge(TestGroups.EDGE)
+                        .build())
+                .build(), new Context(new User()))) {
+            final List<Element> resultList = Lists.newArrayList(results);
+            assertEquals(expected.size(), resultList.size());
+            assertEquals(expected, new HashSet<>(resultList));
+        }
+    }
+
+    private static Entity createEntity(final int vertex, final int count) {
+        final Entity entity = new Entity(TestGroups.ENTITY, "vertex" + vertex);
+        entity.putProperty(TestPropertyNames.PROP_1, count);
+        entity.putProperty(TestPropertyNames.COUNT, count);
+        return entity;
+    }
+
+    private static Edge createEdge(final int vertex, final int count) {
+        final Edge edge = new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("vertex" + vertex)
+                .dest("vertex" + (vertex + 1))
+                .directed(true)
+                .build();
+        edge.putProperty(TestPropertyNames.PROP_1, count);
+        edge.putProperty(TestPropertyNames.COUNT, count);
+        return edge;
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Value;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.accumulostore.key.core.impl.byteEntity.ByteEntityAccumuloElementConverter;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.TestPropertyNames;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.data.element.function.ElementAggregator;
+import uk.gov.gchq.gaffer.function.ExampleTuple2BinaryOperator;
+import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawIntegerSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawLongSerialiser;
+import uk.gov.gchq.gaffer.serialisation.implementation.raw.RawLongSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaEntityDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Max;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Min;
+import uk.gov.gchq.koryphe.impl.binaryoperator.StringConcat;
+import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SerialisedValueAggregatorTest {
+    private static final String COMPACT_LONG_SUM = "compact.long.sum";
+    private static final String COMPACT_INTEGER_MAX = "compact.integer.max";
+    private static final String COMPACT_LONG_MIN = "compact.long.min";
+    private static final String RAW_LONG_SUM = "raw.long.sum";
+    private static final String STRING_CONCAT = "string.concat";
+
+    @Test
+    public void shouldAggregateSerialisedValuesTheSameAsProperties() throws Exception {
+        // Given
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(createSchema(true));
+        final List<Properties> propertiesList = Arrays.asList(
+                createProperties(1L, 5, 10L, 100L, "a"),
+                createProperties(Long.MAX_VALUE, 1000, -10L, 200L, "b"),
+                createProperties(null, null, null, null, null),
+                createProperties(3L, -1, 20L, 300L, "c"));
+
+        // When
+        final Value result = aggregateSerialised(converter, propertiesList);
+
+        // Then
+        assertArrayEquals(aggregateProperties(converter, propertiesList).get(), result.get());
+        final Properties resultProperties = converter.getPropertiesFromValue(TestGroups.ENTITY, result);
+        assertEquals(Long.MIN_VALUE + 3, resultProperties.get(TestPropertyNames.COUNT));
+        assertEquals(1000, resultProperties.get(TestPropertyNames.PROP_1));
+        assertEquals(-10L, resultProperties.get(TestPropertyNames.PROP_2));
+        assertEquals(600L, resultProperties.get(TestPropertyNames.PROP_3));
+        // An empty string is deserialised for the missing string, as it is when aggregating properties
+        assertEquals("a,b,,c", resultProperties.get(TestPropertyNames.PROP_4));
+    }
+
+    @Test
+    public void shouldAggregateValuesWithMissingProperties() throws Exception {
+        // Given
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(createSchema(true));
+        final List<Properties> propertiesList = Arrays.asList(
+                createProperties(null, null, null, null, null),
+                createProperties(2L, null, null, null, null),
+                createProperties(null, 3, null, null, "a"));
+
+        // When
+        final Value result = aggregateSerialised(converter, propertiesList);
+
+        // Then
+        assertArrayEquals(aggregateProperties(converter, propertiesList).get(), result.get());
+    }
+
+    @Test
+    public void shouldAggregateTruncatedValues() throws Exception {
+        // Given
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(createSchema(true));
+        final Value full = converter.getValueFromProperties(TestGroups.ENTITY, createProperties(1L, 2, 3L, 4L, "a"));
+        final Value truncated = new Value(new byte[]{1, 5});
+        final SerialisedValueAggregator aggregator = converter.getSerialisedValueAggregator(TestGroups.ENTITY);
+
+        // When
+        final Value result = aggregator.aggregate(truncated, Arrays.asList(full, new Value(new byte[0])).iterator());
+
+        // Then
+        final Properties resultProperties = converter.getPropertiesFromValue(TestGroups.ENTITY, result);
+        assertEquals(6L, resultProperties.get(TestPropertyNames.COUNT));
+        assertEquals(2, resultProperties.get(TestPropertyNames.PROP_1));
+        assertEquals(3L, resultProperties.get(TestPropertyNames.PROP_2));
+        assertEquals(4L, resultProperties.get(TestPropertyNames.PROP_3));
+        assertEquals("a", resultProperties.get(TestPropertyNames.PROP_4));
+    }
+
+    @Test
+    public void shouldBeReusable() throws Exception {
+        // Given
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(createSchema(true));
+        final SerialisedValueAggregator aggregator = converter.getSerialisedValueAggregator(TestGroups.ENTITY);
+        final Value value1 = converter.getValueFromProperties(TestGroups.ENTITY, createProperties(1L, 2, 3L, 4L, "a"));
+        final Value value2 = converter.getValueFromProperties(TestGroups.ENTITY, createProperties(5L, 6, 7L, 8L, "b"));
+
+        // When
+        aggregator.aggregate(value1, Arrays.asList(value2, value2).iterator());
+        final Value result = aggregator.aggregate(value2, Arrays.asList(value1).iterator());
+
+        // Then
+        assertArrayEquals(aggregateProperties(converter, Arrays.asList(
+                createProperties(5L, 6, 7L, 8L, "b"),
+                createProperties(1L, 2, 3L, 4L, "a"))).get(), result.get());
+    }
+
+    @Test
+    public void shouldNotCreateAggregatorWhenAFunctionSelectsSeveralProperties() {
+        // Given
+        final ByteEntityAccumuloElementConverter converter = new ByteEntityAccumuloElementConverter(createSchema(false));
+
+        // When
+        final SerialisedValueAggregator aggregator = converter.getSerialisedValueAggregator(TestGroups.ENTITY);
+
+        // Then
+        assertNull(aggregator);
+        assertNotNull(new ByteEntityAccumuloElementConverter(createSchema(true)).getSerialisedValueAggregator(TestGroups.ENTITY));
+    }
+
+    private Value aggregateSerialised(final ByteEntityAccumuloElementConverter converter, final List<Properties> propertiesList) throws Exception {
+        final SerialisedValueAggregator aggregator = converter.getSerialisedValueAggregator(TestGroups.ENTITY);
+        final Iterator<Properties> itr = propertiesList.iterator();
+        final Value first = converter.getValueFromProperties(TestGroups.ENTITY, itr.next());
+        final List<Value> others = new ArrayList<>();
+        while (itr.hasNext()) {
+            others.add(converter.getValueFromProperties(TestGroups.ENTITY, itr.next()));
+        }
+        return aggregator.aggregate(first, others.iterator());
+    }
+
+    private Value aggregateProperties(final ByteEntityAccumuloElementConverter converter, final List<Properties> propertiesList) {
+        // Round trip each properties through a value, as the aggregator iterator does
+        final ElementAggregator aggregator = createSchema(true).getElement(TestGroups.ENTITY).getIngestAggregator();
+        Properties state = null;
+        for (final Properties properties : propertiesList) {
+            final Properties next = converter.getPropertiesFromValue(TestGroups.ENTITY, converter.getValueFromProperties(TestGroups.ENTITY, properties));
+            state = null == state ? next : aggregator.apply(state, next);
+        }
+        return converter.getValueFromProperties(TestGroups.ENTITY, state);
+    }
+
+    private Properties createProperties(final Long count, final Integer prop1, final Long prop2, final Long prop3, final String prop4) {
+        final Properties properties = new Properties();
+        properties.put(TestPropertyNames.COUNT, count);
+        properties.put(TestPropertyNames.PROP_1, prop1);
+        properties.put(TestPropertyNames.PROP_2, prop2);
+        properties.put(TestPropertyNames.PROP_3, prop3);
+        properties.put(TestPropertyNames.PROP_4, prop4);
+        return properties;
+    }
+
+    private Schema createSchema(final boolean singlePropertyFunctions) {
+        final SchemaEntityDefinition.Builder entityBuilder = new SchemaEntityDefinition.Builder()
+                .vertex(STRING_CONCAT)
+                .property(TestPropertyNames.COUNT, COMPACT_LONG_SUM)
+                .property(TestPropertyNames.PROP_1, COMPACT_INTEGER_MAX)
+                .property(TestPropertyNames.PROP_2, COMPACT_LONG_MIN)
+                .property(TestPropertyNames.PROP_3, RAW_LONG_SUM)
+                .property(TestPropertyNames.PROP_4, STRING_CONCAT);
+        if (!singlePropertyFunctions) {
+            entityBuilder.aggregator(new ElementAggregator.Builder()
+                    .select(TestPropertyNames.PROP_1, TestPropertyNames.PROP_2)
+                    .execute(new ExampleTuple2BinaryOperator())
+                    .build());
+        }
+
+        return new Schema.Builder()
+                .entity(TestGroups.ENTITY, entityBuilder.build())
+                .type(COMPACT_LONG_SUM, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .serialiser(new CompactRawLongSerialiser())
+                        .build())
+                .type(COMPACT_INTEGER_MAX, new TypeDefinition.Builder()
+                        .clazz(Integer.class)
+                        .aggregateFunction(new Max())
+                        .serialiser(new CompactRawIntegerSerialiser())
+                        .build())
+                .type(COMPACT_LONG_MIN, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Min())
+                        .serialiser(new CompactRawLongSerialiser())
+                        .build())
+                .type(RAW_LONG_SUM, new TypeDefinition.Builder()
+                        .clazz(Long.class)
+                        .aggregateFunction(new Sum())
+                        .serialiser(new RawLongSerialiser())
+                        .build())
+                .type(STRING_CONCAT, new TypeDefinition.Builder()
+                        .clazz(String.class)
+                        .aggregateFunction(new StringConcat())
+                        .serialiser(new StringSerialiser())
+                        .build())
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StringUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SortedVertexSetTest {
+    @Test
+    public void shouldSortAndDeduplicateVertices() {
+        // When
+        final SortedVertexSet set = SortedVertexSet.of(Arrays.asList(
+                StringUtil.toBytes("c"), StringUtil.toBytes("a"), StringUtil.toBytes("b"), StringUtil.toBytes("a")));
+
+        // Then
+        assertEquals(3, set.size());
+        assertArrayEquals(StringUtil.toBytes("a"), set.get(0));
+        assertArrayEquals(StringUtil.toBytes("b"), set.get(1));
+        assertArrayEquals(StringUtil.toBytes("c"), set.get(2));
+    }
+
+    @Test
+    public void shouldSortBytesAsUnsigned() {
+        // When
+        final SortedVertexSet set = SortedVertexSet.of(Arrays.asList(new byte[]{(byte) 0xFF}, new byte[]{0x01}));
+
+        // Then
+        assertArrayEquals(new byte[]{0x01}, set.get(0));
+        assertArrayEquals(new byte[]{(byte) 0xFF}, set.get(1));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialise() throws Exception {
+        // Given
+        final List<byte[]> vertices = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            vertices.add(StringUtil.toBytes("vertex" + i));
+        }
+        final SortedVertexSet set = SortedVertexSet.of(vertices);
+
+        // When
+        final SortedVertexSet deserialised = SortedVertexSet.deserialise(set.serialise());
+
+        // Then
+        assertEquals(set.size(), deserialised.size());
+        for (int i = 0; i < set.size(); i++) {
+            assertArrayEquals(set.get(i), deserialised.get(i));
+        }
+    }
+
+    @Test
+    public void shouldTestMembershipExactly() {
+        // Given
+        final SortedVertexSet set = SortedVertexSet.of(Arrays.asList(
+                StringUtil.toBytes("vertex1"), StringUtil.toBytes("vertex3")));
+
+        // Then
+        assertTrue(set.contains(StringUtil.toBytes("vertex1")));
+        assertTrue(set.contains(StringUtil.toBytes("vertex3")));
+        assertFalse(set.contains(StringUtil.toBytes("vertex2")));
+        assertFalse(set.contains(StringUtil.toBytes("vertex")));
+        assertFalse(set.contains(StringUtil.toBytes("vertex30")));
+        assertTrue(set.contains(StringUtil.toBytes("xvertex3x"), 1, 7));
+    }
+
+    @Test
+    public void shouldFindCeilingSearchingForwardsFromIndex() {
+        // Given
+        final List<byte[]> vertices = new ArrayList<>();
+        for (int i = 10; i < 100; i += 2) {
+            vertices.add(StringUtil.toBytes(Integer.toString(i)));
+        }
+        final SortedVertexSet set = SortedVertexSet.of(vertices);
+
+        // When / Then
+        int cursor = 0;
+        for (int i = 10; i < 100; i++) {
+            final byte[] vertex = StringUtil.toBytes(Integer.toString(i));
+            cursor = set.ceiling(vertex, 0, vertex.length, cursor);
+            assertEquals((i - 9) / 2, cursor);
+        }
+        final byte[] last = StringUtil.toBytes("99");
+        assertEquals(set.size(), set.ceiling(last, 0, last.length, 0));
+    }
+}
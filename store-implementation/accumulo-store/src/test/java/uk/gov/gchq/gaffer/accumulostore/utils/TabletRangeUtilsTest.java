@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.accumulostore.utils;
+
+import org.apache.accumulo.core.data.Range;
+import org.apache.hadoop.io.Text;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertEquals;
+
+public class TabletRangeUtilsTest {
+    private static final List<Text> SPLITS = Arrays.asList(new Text("b"), new Text("d"));
+
+    @Test
+    public void shouldGetTabletIndexFromStartRow() {
+        assertEquals(0, TabletRangeUtils.getTabletIndex(new Range(), SPLITS));
+        assertEquals(0, TabletRangeUtils.getTabletIndex(new Range("a"), SPLITS));
+        assertEquals(0, TabletRangeUtils.getTabletIndex(new Range("b"), SPLITS));
+        assertEquals(1, TabletRangeUtils.getTabletIndex(new Range("c", "z"), SPLITS));
+        assertEquals(2, TabletRangeUtils.getTabletIndex(new Range("e"), SPLITS));
+        assertEquals(0, TabletRangeUtils.getTabletIndex(new Range("e"), Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldNotSplitATabletsRangesOverBatchesWhenTheyFit() {
+        // Given
+        final SortedSet<Range> ranges = ranges("a1", "a2", "c1", "c2", "c3", "e1");
+
+        // When
+        final List<Set<Range>> batches = TabletRangeUtils.batchByTablet(ranges, SPLITS, 4);
+
+        // Then
+        assertEquals(Arrays.asList(ranges("a1", "a2"), ranges("c1", "c2", "c3", "e1")), batches);
+    }
+
+    @Test
+    public void shouldSplitATabletsRangesWhenThereAreTooManyForABatch() {
+        // Given
+        final SortedSet<Range> ranges = ranges("a1", "c1", "c2", "c3", "c4", "c5", "e1");
+
+        // When
+        final List<Set<Range>> batches = TabletRangeUtils.batchByTablet(ranges, SPLITS, 2);
+
+        // Then
+        assertEquals(Arrays.asList(ranges("a1"), ranges("c1", "c2"), ranges("c3", "c4"), ranges("c5", "e1")), batches);
+    }
+
+    @Test
+    public void shouldBatchInOrderWithoutSplits() {
+        // Given
+        final SortedSet<Range> ranges = ranges("a", "b", "c", "d", "e");
+
+        // When
+        final List<Set<Range>> batches = TabletRangeUtils.batchByTablet(ranges, new ArrayList<>(), 2);
+
+        // Then
+        assertEquals(Arrays.asList(ranges("a", "b"), ranges("c", "d"), ranges("e")), batches);
+    }
+
+    private SortedSet<Range> ranges(final String... rows) {
+        final SortedSet<Range> ranges = new TreeSet<>();
+        for (final String row : rows) {
+            ranges.add(new Range(row));
+        }
+        return ranges;
+    }
+}
@@ -79,6 +79,9 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreProperties.IS_PUBLIC_ACCESS_ALLOWED_DEFAULT;
 import static uk.gov.gchq.gaffer.federatedstore.util.FederatedStoreUtil.getCleanStrings;
@@ -100,6 +103,8 @@ public class FederatedStore extends Store {
     private FederatedGraphStorage graphStorage = new FederatedGraphStorage();
     private Set<String> customPropertiesAuths;
     private Boolean isPublicAccessAllowed = Boolean.valueOf(IS_PUBLIC_ACCESS_ALLOWED_DEFAULT);
+    private ExecutorService executor;
+    private ExecutorService mergeExecutor;
 
     /**
      * Initialise this FederatedStore with any sub-graphs defined within the
@@ -116,6 +121,34 @@ public class FederatedStore extends Store {
         super.initialise(graphId, new Schema(), properties);
         customPropertiesAuths = getCustomPropertiesAuths();
         isPublicAccessAllowed = Boolean.valueOf(getProperties().getIsPublicAccessAllowed());
+        initialiseExecutor();
+    }
+
+    /**
+     * @return the executor used to run operations on the sub-graphs
+     * concurrently, or null if the sub-graphs should be executed in turn.
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    /**
+     * @return the executor used to read the results of the sub-graphs
+     * concurrently, or null if the sub-graphs should be executed in turn. This
+     * is separate from {@link #getExecutor()}, so that reading the results
+     * does not take the threads needed to execute operations on the
+     * sub-graphs.
+     */
+    public ExecutorService getMergeExecutor() {
+        return mergeExecutor;
+    }
+
+    /**
+     * @return the maximum time in milliseconds to wait for each sub-graph, 0
+     * if there is no limit.
+     */
+    public long getGraphTimeoutMillis() {
+        return getProperties().getGraphTimeoutMillis();
     }
 
     @Override
@@ -396,6 +429,35 @@ public class FederatedStore extends Store {
         }
     }
 
+    private void initialiseExecutor() {
+        if (null != executor) {
+            executor.shutdown();
+            executor = null;
+        }
+        if (null != mergeExecutor) {
+            mergeExecutor.shutdown();
+            mergeExecutor = null;
+        }
+
+        final int threads = getProperties().getExecutorThreads();
+        if (threads > 0) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            executor = Executors.newFixedThreadPool(threads, runnable -> {
+                final Thread thread = new Thread(runnable, "FederatedStore-" + getGraphId() + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            // The merge producers give their thread back whenever their queue is full, so this pool only grows to
+            // the number of producers that have results ready to read
+            final AtomicInteger mergeThreadCount = new AtomicInteger();
+            mergeExecutor = Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable, "FederatedStore-" + getGraphId() + "-merge-" + mergeThreadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
     private Set<String> getCustomPropertiesAuths() {
         final String value = getProperties().getCustomPropsValue();
         return (Strings.isNullOrEmpty(value)) ? null : Sets.newHashSet(getCleanStrings(value));
@@ -47,6 +47,24 @@ public class FederatedStoreProperties extends StoreProperties {
     public static final String CACHE_SERVICE_CLASS = CacheProperties.CACHE_SERVICE_CLASS;
     public static final String CACHE_SERVICE_CLASS_DEFAULT = null;
 
+    /**
+     * The number of threads used to execute operations on the sub-graphs
+     * concurrently. If 0, the sub-graphs are executed one after another.
+     * e.g gaffer.federatedstore.executorThreads=10
+     */
+    public static final String EXECUTOR_THREADS = "gaffer.federatedstore.executorThreads";
+    public static final String EXECUTOR_THREADS_DEFAULT = String.valueOf(0);
+
+    /**
+     * The maximum time, in milliseconds, to wait for a sub-graph to execute an
+     * operation when the sub-graphs are executed concurrently. The same limit
+     * applies to reading the merged results of the sub-graphs, after which the
+     * sub-graphs stop being read. If 0, there is no timeout.
+     * e.g gaffer.federatedstore.graphTimeoutMillis=30000
+     */
+    public static final String GRAPH_TIMEOUT_MILLIS = "gaffer.federatedstore.graphTimeoutMillis";
+    public static final String GRAPH_TIMEOUT_MILLIS_DEFAULT = String.valueOf(0);
+
     public FederatedStoreProperties() {
         super(FederatedStore.class);
     }
@@ -94,4 +112,20 @@ public class FederatedStoreProperties extends StoreProperties {
     public void setGraphsCanHavePublicAccess(final boolean b) {
         set(IS_PUBLIC_ACCESS_ALLOWED, Boolean.toString(b));
     }
+
+    public int getExecutorThreads() {
+        return Integer.parseInt(get(EXECUTOR_THREADS, EXECUTOR_THREADS_DEFAULT));
+    }
+
+    public void setExecutorThreads(final int executorThreads) {
+        set(EXECUTOR_THREADS, String.valueOf(executorThreads));
+    }
+
+    public long getGraphTimeoutMillis() {
+        return Long.parseLong(get(GRAPH_TIMEOUT_MILLIS, GRAPH_TIMEOUT_MILLIS_DEFAULT));
+    }
+
+    public void setGraphTimeoutMillis(final long graphTimeoutMillis) {
+        set(GRAPH_TIMEOUT_MILLIS, String.valueOf(graphTimeoutMillis));
+    }
 }
@@ -19,17 +19,25 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler.impl;
 import uk.gov.gchq.gaffer.commonutil.CollectionUtil;
 import uk.gov.gchq.gaffer.commonutil.iterable.ChainedIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
 import uk.gov.gchq.gaffer.federatedstore.operation.handler.FederatedOperationOutputHandler;
+import uk.gov.gchq.gaffer.federatedstore.util.ConcurrentMergeIterable;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
 
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
 
 /**
  * A generic handler for Operations with CloseableIterable of elements for FederatedStore.
  * Simply executes the operation on each delegate graph then chains the results together
- * using a {@link ChainedIterable}.
+ * using a {@link ChainedIterable}. If the FederatedStore has an executor, the
+ * results of the delegate graphs are instead read concurrently and returned as
+ * they arrive using a {@link ConcurrentMergeIterable}, in which each graph
+ * must return its results within the graph timeout.
  *
  * @see FederatedOperationOutputHandler
  */
@@ -40,6 +48,14 @@ public class FederatedOperationIterableHandler<OP extends Output<O>, O extends I
             return (O) new EmptyClosableIterable<>();
         }
 
+        final FederatedStore federatedStore = (FederatedStore) store;
+        final ExecutorService executor = federatedStore.getMergeExecutor();
+        if (null != executor && results.size() > 1) {
+            // Merge the results in the order they are returned by the graphs
+            return (O) new ConcurrentMergeIterable<>((List<Iterable<?>>) results, executor,
+                    Boolean.valueOf(getSkipFailedFederatedStoreExecute(operation)), federatedStore.getGraphTimeoutMillis());
+        }
+
         // Concatenate all the results into 1 iterable
         return (O) new ChainedIterable<>(CollectionUtil.toIterableArray(results));
     }
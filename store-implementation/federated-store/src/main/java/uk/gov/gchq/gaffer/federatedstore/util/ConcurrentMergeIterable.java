@@ -0,0 +1,336 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A {@code ConcurrentMergeIterable} iterates over a number of iterables
+ * concurrently and returns their items in the order they are produced.
+ * <p>
+ * Each iterable is read on the provided {@link ExecutorService} into a
+ * bounded queue, so a slow consumer holds back the producers. A producer that
+ * finds the queue full gives its thread back to the executor and is
+ * resubmitted once the consumer has taken items from the queue, so an
+ * iterator that is no longer being read does not hold any threads. If an
+ * iterable fails, the failure is rethrown to the consumer unless failures are
+ * being skipped, in which case the remaining items of that iterable are
+ * dropped.
+ * </p>
+ * <p>
+ * If a timeout is set, each iterable must return all its items within that
+ * time. Only the time spent waiting for the iterable counts, not the time a
+ * producer is paused because the consumer has not read the queue, so a slow
+ * consumer does not cause a timeout. An iterable that takes longer is stopped
+ * and the consumer gets an exception, or, if failures are being skipped, no
+ * more items from that iterable.
+ * </p>
+ * <p>
+ * The iterator should be closed if it is not fully consumed, so that the
+ * underlying iterators are closed.
+ * </p>
+ *
+ * @param <T> the type of items in the iterables.
+ */
+public class ConcurrentMergeIterable<T> implements CloseableIterable<T> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConcurrentMergeIterable.class);
+    private static final int QUEUE_SIZE = 1000;
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final List<? extends Iterable<? extends T>> iterables;
+    private final ExecutorService executor;
+    private final boolean skipFailures;
+    private final long timeoutMillis;
+
+    public ConcurrentMergeIterable(final List<? extends Iterable<? extends T>> iterables,
+                                   final ExecutorService executor,
+                                   final boolean skipFailures) {
+        this(iterables, executor, skipFailures, 0);
+    }
+
+    /**
+     * @param iterables     the iterables to merge
+     * @param executor      the executor to read the iterables on
+     * @param skipFailures  true if the remaining items of a failed iterable should be skipped
+     * @param timeoutMillis the maximum time in milliseconds to wait for the items of each iterable, 0 if there is no limit
+     */
+    public ConcurrentMergeIterable(final List<? extends Iterable<? extends T>> iterables,
+                                   final ExecutorService executor,
+                                   final boolean skipFailures,
+                                   final long timeoutMillis) {
+        this.iterables = iterables;
+        this.executor = executor;
+        this.skipFailures = skipFailures;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    @Override
+    public void close() {
+        for (final Iterable<? extends T> iterable : iterables) {
+            CloseableUtil.close(iterable);
+        }
+    }
+
+    @Override
+    public CloseableIterator<T> iterator() {
+        return new MergeIterator();
+    }
+
+    private final class MergeIterator implements CloseableIterator<T> {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+        private final Queue<Producer> pausedProducers = new ConcurrentLinkedQueue<>();
+        private final Map<Producer, Future<?>> producerRuns = new ConcurrentHashMap<>();
+        private volatile boolean closed;
+        private int remainingProducers;
+        private Object next;
+
+        private MergeIterator() {
+            remainingProducers = iterables.size();
+            for (final Iterable<? extends T> iterable : iterables) {
+                submit(new Producer(iterable));
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (null == next) {
+                if (closed || 0 == remainingProducers) {
+                    return false;
+                }
+                stopOverdueProducers();
+                if (0 == remainingProducers) {
+                    return false;
+                }
+                resumeProducers();
+                final Object item;
+                try {
+                    item = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    close();
+                    throw new RuntimeException("Interrupted whilst waiting for results", e);
+                }
+                if (item instanceof End) {
+                    final End end = (End) item;
+                    // The producer may already have been stopped for taking too long
+                    if (null != producerRuns.remove(end.producer)) {
+                        remainingProducers--;
+                        if (null != end.failure) {
+                            close();
+                            throw end.failure;
+                        }
+                    }
+                } else if (null != item) {
+                    next = item;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T item = NullItem.INSTANCE == next ? null : (T) next;
+            next = null;
+            return item;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                for (final Future<?> producerRun : producerRuns.values()) {
+                    producerRun.cancel(true);
+                }
+                Producer producer;
+                while (null != (producer = pausedProducers.poll())) {
+                    producer.closeIterator();
+                }
+                queue.clear();
+            }
+        }
+
+        // Stops the producers that are still waiting for their iterable after the timeout, as a graph that does not
+        // respond may never return control to its producer
+        private void stopOverdueProducers() {
+            for (final Map.Entry<Producer, Future<?>> entry : producerRuns.entrySet()) {
+                final Producer producer = entry.getKey();
+                if (producer.isOverdue()) {
+                    producer.stopped = true;
+                    entry.getValue().cancel(true);
+                    producerRuns.remove(producer);
+                    remainingProducers--;
+                    final RuntimeException failure = timeoutFailure();
+                    if (null != failure) {
+                        close();
+                        throw failure;
+                    }
+                }
+            }
+        }
+
+        // Resubmits the producers that paused because the queue was full, now that there is space in it
+        private void resumeProducers() {
+            Producer producer;
+            while (queue.remainingCapacity() > 0 && null != (producer = pausedProducers.poll())) {
+                if (producer.stopped) {
+                    producer.closeIterator();
+                } else {
+                    submit(producer);
+                }
+            }
+        }
+
+        // Returns the failure for an iterable that has timed out, or null if failures are being skipped
+        private RuntimeException timeoutFailure() {
+            final String message = "A federated graph did not return all its results within " + timeoutMillis + "ms";
+            if (skipFailures) {
+                LOGGER.warn("Skipping the remaining results of a graph as {}", message);
+                return null;
+            }
+            return new RuntimeException(message, new TimeoutException(message));
+        }
+
+        private void submit(final Producer producer) {
+            producerRuns.put(producer, executor.submit(producer));
+        }
+
+        private final class Producer implements Runnable {
+            private final Iterable<? extends T> iterable;
+            private Iterator<? extends T> iterator;
+            private Object pending;
+            private volatile boolean stopped;
+            private volatile boolean waiting;
+            private volatile long waitStartNanos;
+            private volatile long waitedNanos;
+
+            private Producer(final Iterable<? extends T> iterable) {
+                this.iterable = iterable;
+            }
+
+            @Override
+            public void run() {
+                while (!closed && !stopped) {
+                    if (null == pending) {
+                        pending = nextItem();
+                    }
+                    if (queue.offer(pending)) {
+                        if (pending instanceof End) {
+                            return;
+                        }
+                        pending = null;
+                    } else if (pause()) {
+                        return;
+                    }
+                }
+                closeIterator();
+            }
+
+            // Reads the next item, or the end marker once the iterable has been read, has failed or has timed out
+            private Object nextItem() {
+                RuntimeException failure = null;
+                final long start = System.nanoTime();
+                waitStartNanos = start;
+                waiting = true;
+                try {
+                    if (null == iterator) {
+                        iterator = iterable.iterator();
+                    }
+                    if (iterator.hasNext()) {
+                        final T item = iterator.next();
+                        if (!isTimedOut(waitedNanos + System.nanoTime() - start)) {
+                            return null == item ? NullItem.INSTANCE : item;
+                        }
+                        failure = timeoutFailure();
+                    }
+                } catch (final RuntimeException e) {
+                    if (skipFailures) {
+                        LOGGER.warn("Skipping the remaining results of a graph as it failed: {}", e.getMessage(), e);
+                    } else {
+                        failure = e;
+                    }
+                } finally {
+                    final long waited = System.nanoTime() - start;
+                    waiting = false;
+                    waitedNanos += waited;
+                }
+                closeIterator();
+                return new End(this, failure);
+            }
+
+            // True if the producer is waiting for its iterable and the time it has waited in total is over the timeout
+            private boolean isOverdue() {
+                final long waited = waitedNanos;
+                return waiting && isTimedOut(waited + System.nanoTime() - waitStartNanos);
+            }
+
+            private boolean isTimedOut(final long nanos) {
+                return timeoutMillis > 0 && nanos >= TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            }
+
+            // Parks the producer until the consumer has made space in the queue, so that it does not hold a thread
+            // whilst it waits. Returns false if the producer should carry on as there is already space in the queue.
+            private boolean pause() {
+                pausedProducers.add(this);
+                if ((closed || stopped) && pausedProducers.remove(this)) {
+                    closeIterator();
+                    return true;
+                }
+                // If the producer cannot be removed the consumer has already resubmitted it
+                return !(queue.remainingCapacity() > 0 && pausedProducers.remove(this));
+            }
+
+            private void closeIterator() {
+                CloseableUtil.close(iterator);
+            }
+        }
+    }
+    private static final class End {
+        private final Object producer;
+        private final RuntimeException failure;
+
+        private End(final Object producer, final RuntimeException failure) {
+            this.producer = producer;
+            this.failure = failure;
+        }
+    }
+
+    private enum NullItem {
+        INSTANCE
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.federatedstore.FederatedStore;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.operation.Operation;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.store.Context;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.KEY_OPERATION_OPTIONS_GRAPH_IDS;
+import static uk.gov.gchq.gaffer.federatedstore.FederatedStoreConstants.getSkipFailedFederatedStoreExecute;
+
+/**
+ * Executes an {@link Operation} on each of the sub-graphs of a
+ * {@link FederatedStore}.
+ * <p>
+ * If the store has an executor the sub-graphs are executed concurrently and
+ * each is given up to the configured graph timeout to respond, otherwise they
+ * are executed one after another. A federated store that is a sub-graph of
+ * another is executed on the thread of its parent, so its sub-graphs are
+ * executed in turn. In both cases a failed sub-graph is skipped
+ * if the skip failed option is set on the operation, otherwise an
+ * {@link OperationException} is thrown.
+ * </p>
+ */
+public final class FederatedGraphExecutor {
+    // Set whilst a thread of an executor is executing an operation on a sub-graph. A nested federated store executed
+    // on that thread runs its sub-graphs in turn, rather than waiting on a pool that the outer store may have exhausted.
+    private static final ThreadLocal<Boolean> IS_EXECUTING_GRAPH = ThreadLocal.withInitial(() -> false);
+
+    private FederatedGraphExecutor() {
+    }
+
+    /**
+     * Executes the operation on a single sub-graph.
+     *
+     * @param <OP> the operation type
+     * @param <O>  the result type
+     */
+    @FunctionalInterface
+    public interface GraphExecution<OP extends Operation, O> {
+        O execute(Graph graph, OP operation, Context context) throws OperationException;
+    }
+
+    /**
+     * Executes the operation on all the sub-graphs selected by the operation
+     * options and returns the non null results in graph order.
+     *
+     * @param operation the operation to execute
+     * @param context   the context
+     * @param store     the federated store
+     * @param execution the execution to run on each graph
+     * @param <OP>      the operation type
+     * @param <O>       the result type
+     * @return the results from each graph
+     * @throws OperationException if a sub-graph fails and failures are not skipped
+     */
+    public static <OP extends Operation, O> List<O> execute(final OP operation,
+                                                            final Context context,
+                                                            final FederatedStore store,
+                                                            final GraphExecution<OP, O> execution) throws OperationException {
+        final Collection<Graph> graphs = store.getGraphs(context.getUser(), operation.getOption(KEY_OPERATION_OPTIONS_GRAPH_IDS));
+        if (null == store.getExecutor() || graphs.size() < 2 || IS_EXECUTING_GRAPH.get()) {
+            return executeSequentially(operation, context, graphs, execution);
+        }
+        return executeConcurrently(operation, context, store, graphs, execution);
+    }
+
+    private static <OP extends Operation, O> List<O> executeSequentially(final OP operation,
+                                                                         final Context context,
+                                                                         final Collection<Graph> graphs,
+                                                                         final GraphExecution<OP, O> execution) throws OperationException {
+        final List<O> results = new ArrayList<>(graphs.size());
+        for (final Graph graph : graphs) {
+            final OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+            if (null != updatedOp) {
+                O result = null;
+                try {
+                    result = execution.execute(graph, updatedOp, context);
+                } catch (final Exception e) {
+                    handleFailure(operation, updatedOp, graph, e);
+                }
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+        }
+        return results;
+    }
+
+    private static <OP extends Operation, O> List<O> executeConcurrently(final OP operation,
+                                                                         final Context context,
+                                                                         final FederatedStore store,
+                                                                         final Collection<Graph> graphs,
+                                                                         final GraphExecution<OP, O> execution) throws OperationException {
+        final Map<Graph, Future<O>> futures = new LinkedHashMap<>(graphs.size());
+        final Map<Graph, OP> updatedOps = new LinkedHashMap<>(graphs.size());
+        for (final Graph graph : graphs) {
+            OP updatedOp = FederatedStoreUtil.updateOperationForGraph(operation, graph);
+            if (null != updatedOp) {
+                if (updatedOp == operation) {
+                    // Each graph must have its own copy of the operation
+                    updatedOp = (OP) operation.shallowClone();
+                }
+                final OP graphOp = updatedOp;
+                // Each graph must also have its own context, as executing a graph updates the context it is given
+                final Context graphContext = context.shallowClone();
+                updatedOps.put(graph, graphOp);
+                futures.put(graph, store.getExecutor().submit(() -> {
+                    IS_EXECUTING_GRAPH.set(true);
+                    try {
+                        return execution.execute(graph, graphOp, graphContext);
+                    } finally {
+                        IS_EXECUTING_GRAPH.remove();
+                    }
+                }));
+            }
+        }
+
+        final long timeoutMillis = store.getGraphTimeoutMillis();
+        final long deadline = System.currentTimeMillis() + timeoutMillis;
+        final List<O> results = new ArrayList<>(futures.size());
+        try {
+            for (final Map.Entry<Graph, Future<O>> entry : futures.entrySet()) {
+                final Graph graph = entry.getKey();
+                final Future<O> future = entry.getValue();
+                O result = null;
+                try {
+                    if (timeoutMillis > 0) {
+                        result = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                    } else {
+                        result = future.get();
+                    }
+                } catch (final ExecutionException e) {
+                    handleFailure(operation, updatedOps.get(graph), graph, e.getCause() instanceof Exception ? (Exception) e.getCause() : e);
+                } catch (final TimeoutException e) {
+                    future.cancel(true);
+                    handleFailure(operation, updatedOps.get(graph), graph,
+                            new TimeoutException("Graph did not respond within " + timeoutMillis + "ms"));
+                }
+                if (null != result) {
+                    results.add(result);
+                }
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel(futures.values(), results);
+            throw new OperationException("Interrupted whilst waiting for the federated graphs", e);
+        } catch (final OperationException e) {
+            cancel(futures.values(), results);
+            throw e;
+        }
+        return results;
+    }
+
+    private static void handleFailure(final Operation operation, final Operation updatedOp, final Graph graph, final Exception e) throws OperationException {
+        if (!Boolean.valueOf(getSkipFailedFederatedStoreExecute(updatedOp))) {
+            throw new OperationException(FederatedStoreUtil.createOperationErrorMsg(operation, graph.getGraphId(), e), e);
+        }
+    }
+
+    private static void cancel(final Collection<? extends Future<?>> futures, final List<?> results) {
+        for (final Future<?> future : futures) {
+            future.cancel(true);
+        }
+        for (final Object result : results) {
+            CloseableUtil.close(result);
+        }
+    }
+}
@@ -18,6 +18,7 @@ package uk.gov.gchq.gaffer.federatedstore.operation.handler;
 
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Sets;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -38,9 +39,13 @@ import uk.gov.gchq.gaffer.user.User;
 
 import java.util.HashSet;
 import java.util.LinkedHashSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.any;
@@ -61,11 +66,18 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
     protected O o4;
     protected User user;
     protected Context context;
+    private ExecutorService executor;
 
     @Before
     public void setUp() throws Exception {
         user = testUser();
         context = new Context(user);
+        executor = Executors.newFixedThreadPool(4);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
     }
 
     @Test
@@ -143,6 +155,74 @@ public abstract class FederatedOperationOutputHandlerTest<OP extends Output<O>,
         verify(mockStore4, never()).execute(any(OperationChain.class), any(Context.class));
     }
 
+    @Test
+    public final void shouldMergeResultsFromFieldObjectsConcurrently() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store mockStore2 = getMockStore(unusedSchema, storeProperties, o2);
+        Store mockStore3 = getMockStore(unusedSchema, storeProperties, o3);
+        Store mockStore4 = getMockStore(unusedSchema, storeProperties, o4);
+
+        FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(mockStore2));
+        linkedGraphs.add(getGraphWithMockStore(mockStore3));
+        linkedGraphs.add(getGraphWithMockStore(mockStore4));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+        Mockito.when(mockStore.getExecutor()).thenReturn(executor);
+        Mockito.when(mockStore.getMergeExecutor()).thenReturn(executor);
+
+        // When
+        O theMergedResultsOfOperation = getFederatedHandler().doOperation(op, context, mockStore);
+
+        //Then
+        validateMergeResultsFromFieldObjects(theMergedResultsOfOperation, o1, o2, o3, o4);
+        verify(mockStore1).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore2).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore3).execute(any(OperationChain.class), any(Context.class));
+        verify(mockStore4).execute(any(OperationChain.class), any(Context.class));
+    }
+
+    @Test
+    public final void shouldThrowExceptionWhenGraphTimesOut() throws Exception {
+        // Given
+        final OP op = getExampleOperation();
+
+        Schema unusedSchema = new Schema.Builder().build();
+        StoreProperties storeProperties = new StoreProperties();
+
+        Store mockStore1 = getMockStore(unusedSchema, storeProperties, o1);
+        Store slowStore = Mockito.mock(Store.class);
+        given(slowStore.getSchema()).willReturn(unusedSchema);
+        given(slowStore.getProperties()).willReturn(storeProperties);
+        given(slowStore.execute(any(OperationChain.class), any(Context.class))).willAnswer(invocation -> {
+            Thread.sleep(10000);
+            return o2;
+        });
+
+        FederatedStore mockStore = Mockito.mock(FederatedStore.class);
+        LinkedHashSet<Graph> linkedGraphs = Sets.newLinkedHashSet();
+        linkedGraphs.add(getGraphWithMockStore(mockStore1));
+        linkedGraphs.add(getGraphWithMockStore(slowStore));
+        Mockito.when(mockStore.getGraphs(user, null)).thenReturn(linkedGraphs);
+        Mockito.when(mockStore.getExecutor()).thenReturn(executor);
+        Mockito.when(mockStore.getGraphTimeoutMillis()).thenReturn(100L);
+
+        // When
+        try {
+            getFederatedHandler().doOperation(op, context, mockStore);
+            fail("Exception not thrown");
+        } catch (final OperationException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
     @Test
     final public void shouldThrowException() throws Exception {
         // Given
@@ -0,0 +1,276 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.federatedstore.util;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ConcurrentMergeIterableTest {
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void shouldMergeAllItemsFromEachIterable() {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                Collections.emptyList(),
+                Arrays.asList(4, null, 5));
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new ConcurrentMergeIterable<>(iterables, executor, false));
+
+        // Then
+        assertEquals(6, results.size());
+        assertEquals(Sets.newHashSet(1, 2, 3, 4, null, 5), Sets.newHashSet(results));
+    }
+
+    @Test
+    public void shouldPropagateFailureFromIterable() {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                failingIterable("Test Exception"));
+
+        // When / Then
+        try {
+            Lists.newArrayList(new ConcurrentMergeIterable<>(iterables, executor, false));
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertEquals("Test Exception", e.getMessage());
+        }
+    }
+
+    @Test
+    public void shouldSkipFailedIterableWhenSkipFailuresIsSet() {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                failingIterable("Test Exception"));
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new ConcurrentMergeIterable<>(iterables, executor, true));
+
+        // Then
+        assertEquals(Sets.newHashSet(1, 2, 3), Sets.newHashSet(results));
+    }
+
+    @Test
+    public void shouldStopProducersWhenClosedEarly() {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                infiniteIterable(),
+                infiniteIterable());
+        final CloseableIterator<Integer> itr = new ConcurrentMergeIterable<>(iterables, executor, false).iterator();
+
+        // When
+        itr.next();
+        itr.close();
+
+        // Then
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldReleaseThreadsWhenIteratorIsNotRead() throws Exception {
+        // Given
+        final ExecutorService twoThreads = Executors.newFixedThreadPool(2);
+        try {
+            final List<Iterable<Integer>> iterables = Arrays.asList(
+                    infiniteIterable(),
+                    infiniteIterable());
+            final CloseableIterator<Integer> itr = new ConcurrentMergeIterable<>(iterables, twoThreads, false).iterator();
+            itr.next();
+
+            // When - the iterator is neither read nor closed
+            final boolean otherTaskRan = twoThreads.submit(() -> true).get(10, TimeUnit.SECONDS);
+
+            // Then
+            assertTrue(otherTaskRan);
+        } finally {
+            twoThreads.shutdownNow();
+        }
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenTimeoutPasses() {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                infiniteIterable(),
+                infiniteIterable());
+        final CloseableIterator<Integer> itr = new ConcurrentMergeIterable<>(iterables, executor, false, 200).iterator();
+
+        // When / Then
+        try {
+            while (itr.hasNext()) {
+                itr.next();
+            }
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldStopReturningItemsWhenTimeoutPassesAndSkipFailuresIsSet() {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                infiniteIterable(),
+                infiniteIterable());
+        final CloseableIterator<Integer> itr = new ConcurrentMergeIterable<>(iterables, executor, true, 200).iterator();
+
+        // When
+        while (itr.hasNext()) {
+            itr.next();
+        }
+
+        // Then
+        assertFalse(itr.hasNext());
+    }
+
+    @Test
+    public void shouldReturnAllItemsWhenConsumerIsSlowerThanTimeout() throws Exception {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                Arrays.asList(4, 5, 6));
+        final CloseableIterator<Integer> itr = new ConcurrentMergeIterable<>(iterables, executor, false, 100).iterator();
+        final List<Integer> results = new ArrayList<>();
+
+        // When - the consumer pauses for longer than the timeout
+        results.add(itr.next());
+        Thread.sleep(300);
+        while (itr.hasNext()) {
+            results.add(itr.next());
+        }
+
+        // Then
+        assertEquals(Sets.newHashSet(1, 2, 3, 4, 5, 6), Sets.newHashSet(results));
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenIterableDoesNotRespondWithinTimeout() {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                blockingIterable());
+        final CloseableIterator<Integer> itr = new ConcurrentMergeIterable<>(iterables, executor, false, 200).iterator();
+
+        // When / Then
+        try {
+            while (itr.hasNext()) {
+                itr.next();
+            }
+            fail("Exception expected");
+        } catch (final RuntimeException e) {
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void shouldSkipIterableThatDoesNotRespondWithinTimeoutWhenSkipFailuresIsSet() {
+        // Given
+        final List<Iterable<Integer>> iterables = Arrays.asList(
+                Arrays.asList(1, 2, 3),
+                blockingIterable());
+
+        // When
+        final List<Integer> results = Lists.newArrayList(new ConcurrentMergeIterable<>(iterables, executor, true, 200));
+
+        // Then
+        assertEquals(Sets.newHashSet(1, 2, 3), Sets.newHashSet(results));
+    }
+
+    private static Iterable<Integer> blockingIterable() {
+        return () -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                try {
+                    Thread.sleep(Long.MAX_VALUE);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return false;
+            }
+
+            @Override
+            public Integer next() {
+                throw new NoSuchElementException();
+            }
+        };
+    }
+
+    private static Iterable<Integer> failingIterable(final String message) {
+        return () -> new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                throw new RuntimeException(message);
+            }
+
+            @Override
+            public Integer next() {
+                throw new RuntimeException(message);
+            }
+        };
+    }
+
+    private static Iterable<Integer> infiniteIterable() {
+        return () -> new Iterator<Integer>() {
+            private int i;
+
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                return i++;
+            }
+        };
+    }
+}
@@ -42,9 +42,21 @@ public class HBaseProperties extends StoreProperties {
     public static final String WRITE_BUFFER_SIZE = "hbase.writeBufferSize";
     public static final String DEPENDENCY_JARS_HDFS_DIR_PATH = "hbase.hdfs.jars.path";
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER = "hbase.entriesForBatchScanner";
+    public static final String QUERY_CACHE_SIZE = "hbase.coprocessor.queryCacheSize";
+    public static final String MAX_CONCURRENT_SCANS = "hbase.retriever.maxConcurrentScans";
+    public static final String TARGET_SCAN_LATENCY_MILLIS = "hbase.retriever.targetScanLatencyMillis";
+    public static final String RESULT_QUEUE_SIZE = "hbase.retriever.resultQueueSize";
+    public static final String ASYNC_INGEST = "hbase.ingest.async";
+    public static final String INGEST_THREADS = "hbase.ingest.threads";
 
     public static final int WRITE_BUFFER_SIZE_DEFAULT = 1000000;
     public static final String MAX_ENTRIES_FOR_BATCH_SCANNER_DEFAULT = "50000";
+    public static final String QUERY_CACHE_SIZE_DEFAULT = "100";
+    public static final String MAX_CONCURRENT_SCANS_DEFAULT = "1";
+    public static final String TARGET_SCAN_LATENCY_MILLIS_DEFAULT = "1000";
+    public static final String RESULT_QUEUE_SIZE_DEFAULT = "10000";
+    public static final String ASYNC_INGEST_DEFAULT = "false";
+    public static final String INGEST_THREADS_DEFAULT = "1";
 
     public HBaseProperties() {
         super(HBaseStore.class);
@@ -164,6 +176,128 @@ public class HBaseProperties extends StoreProperties {
         set(MAX_ENTRIES_FOR_BATCH_SCANNER, maxEntriesForBatchScanner);
     }
 
+    /**
+     * Get the maximum number of distinct queries, identified by their view,
+     * that each region should keep the parsed query pipelines for.
+     *
+     * @return the query cache size, where 0 disables the cache
+     */
+    public int getQueryCacheSize() {
+        return Integer.parseInt(get(QUERY_CACHE_SIZE, QUERY_CACHE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of distinct queries, identified by their view,
+     * that each region should keep the parsed query pipelines for. This is
+     * only applied when the table is created.
+     *
+     * @param queryCacheSize the query cache size, where 0 disables the cache
+     */
+    public void setQueryCacheSize(final String queryCacheSize) {
+        set(QUERY_CACHE_SIZE, queryCacheSize);
+    }
+
+    /**
+     * Get the maximum number of scans that a seeded query can run at the same
+     * time. If this is 1 the batches of seeds are scanned one after another.
+     *
+     * @return the maximum number of concurrent scans per query
+     */
+    public int getMaxConcurrentScans() {
+        return Integer.parseInt(get(MAX_CONCURRENT_SCANS, MAX_CONCURRENT_SCANS_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of scans that a seeded query can run at the same
+     * time. If this is more than 1, each batch of seeds is split by region and
+     * the regions are scanned in parallel.
+     *
+     * @param maxConcurrentScans the maximum number of concurrent scans per query
+     */
+    public void setMaxConcurrentScans(final String maxConcurrentScans) {
+        set(MAX_CONCURRENT_SCANS, maxConcurrentScans);
+    }
+
+    /**
+     * Get the scan latency that the parallel scans adapt their batch sizes
+     * towards.
+     *
+     * @return the target scan latency in milliseconds
+     */
+    public long getTargetScanLatencyMillis() {
+        return Long.parseLong(get(TARGET_SCAN_LATENCY_MILLIS, TARGET_SCAN_LATENCY_MILLIS_DEFAULT));
+    }
+
+    /**
+     * Set the scan latency that the parallel scans adapt their batch sizes
+     * towards.
+     *
+     * @param targetScanLatencyMillis the target scan latency in milliseconds
+     */
+    public void setTargetScanLatencyMillis(final String targetScanLatencyMillis) {
+        set(TARGET_SCAN_LATENCY_MILLIS, targetScanLatencyMillis);
+    }
+
+    /**
+     * Get the maximum number of rows that the parallel scans can buffer
+     * before they are consumed.
+     *
+     * @return the size of the result queue
+     */
+    public int getResultQueueSize() {
+        return Integer.parseInt(get(RESULT_QUEUE_SIZE, RESULT_QUEUE_SIZE_DEFAULT));
+    }
+
+    /**
+     * Set the maximum number of rows that the parallel scans can buffer
+     * before they are consumed.
+     *
+     * @param resultQueueSize the size of the result queue
+     */
+    public void setResultQueueSize(final String resultQueueSize) {
+        set(RESULT_QUEUE_SIZE, resultQueueSize);
+    }
+
+    /**
+     * Get whether elements should be added using a buffered mutator, which
+     * writes to HBase in the background, instead of a put per batch.
+     *
+     * @return true if elements are added asynchronously
+     */
+    public boolean isAsyncIngest() {
+        return Boolean.parseBoolean(get(ASYNC_INGEST, ASYNC_INGEST_DEFAULT));
+    }
+
+    /**
+     * Set whether elements should be added using a buffered mutator, which
+     * writes to HBase in the background, instead of a put per batch.
+     *
+     * @param asyncIngest true if elements should be added asynchronously
+     */
+    public void setAsyncIngest(final String asyncIngest) {
+        set(ASYNC_INGEST, asyncIngest);
+    }
+
+    /**
+     * Get the number of threads that convert each batch of elements into
+     * puts when elements are added asynchronously.
+     *
+     * @return the number of ingest threads
+     */
+    public int getIngestThreads() {
+        return Integer.parseInt(get(INGEST_THREADS, INGEST_THREADS_DEFAULT));
+    }
+
+    /**
+     * Set the number of threads that convert each batch of elements into
+     * puts when elements are added asynchronously.
+     *
+     * @param ingestThreads the number of ingest threads
+     */
+    public void setIngestThreads(final String ingestThreads) {
+        set(INGEST_THREADS, ingestThreads);
+    }
+
     @Override
     public String getJsonSerialiserModules() {
         return new StringDeduplicateConcat().apply(
@@ -38,6 +38,7 @@ import uk.gov.gchq.gaffer.hbasestore.operation.handler.SampleElementsForSplitPoi
 import uk.gov.gchq.gaffer.hbasestore.operation.handler.SplitStoreFromIterableHandler;
 import uk.gov.gchq.gaffer.hbasestore.operation.hdfs.handler.AddElementsFromHdfsHandler;
 import uk.gov.gchq.gaffer.hbasestore.retriever.HBaseRetriever;
+import uk.gov.gchq.gaffer.hbasestore.utils.IngestMetrics;
 import uk.gov.gchq.gaffer.hbasestore.utils.TableUtils;
 import uk.gov.gchq.gaffer.hdfs.operation.AddElementsFromHdfs;
 import uk.gov.gchq.gaffer.hdfs.operation.handler.HdfsSplitStoreFromFileHandler;
@@ -67,6 +68,9 @@ import java.io.IOException;
 import java.util.Collections;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
 import static uk.gov.gchq.gaffer.store.StoreTrait.MATCHED_VERTEX;
@@ -106,6 +110,9 @@ public class HBaseStore extends Store {
                     MATCHED_VERTEX
             ));
     private Connection connection;
+    private ExecutorService scanExecutor;
+    private ExecutorService ingestExecutor;
+    private final IngestMetrics ingestMetrics = new IngestMetrics();
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties)
@@ -125,6 +132,8 @@ public class HBaseStore extends Store {
     public void preInitialise(final String graphId, final Schema schema, final StoreProperties properties)
             throws StoreException {
         setProperties(properties);
+        shutdownScanExecutor();
+        shutdownIngestExecutor();
         final String deprecatedTableName = getProperties().getTableName();
         if (null == graphId && null != deprecatedTableName) {
             // Deprecated
@@ -178,6 +187,68 @@ public class HBaseStore extends Store {
         }
     }
 
+    /**
+     * Gets the thread pool that seeded queries run their parallel scans on.
+     * Threads are created as they are needed, the number of scans run by each
+     * query is limited by {@link HBaseProperties#getMaxConcurrentScans()}.
+     *
+     * @return the scan thread pool.
+     */
+    public synchronized ExecutorService getScanExecutor() {
+        if (null == scanExecutor) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            scanExecutor = Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable, "HBaseStore-" + getGraphId() + "-scan-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return scanExecutor;
+    }
+
+    private synchronized void shutdownScanExecutor() {
+        if (null != scanExecutor) {
+            scanExecutor.shutdown();
+            scanExecutor = null;
+        }
+    }
+
+    /**
+     * Gets the thread pool that asynchronous ingest converts elements into puts on.
+     * Threads are created as they are needed, the number of threads used by each
+     * operation is limited by {@link HBaseProperties#getIngestThreads()}.
+     *
+     * @return the ingest thread pool.
+     */
+    public synchronized ExecutorService getIngestExecutor() {
+        if (null == ingestExecutor) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            ingestExecutor = Executors.newCachedThreadPool(runnable -> {
+                final Thread thread = new Thread(runnable, "HBaseStore-" + getGraphId() + "-ingest-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return ingestExecutor;
+    }
+
+    private synchronized void shutdownIngestExecutor() {
+        if (null != ingestExecutor) {
+            ingestExecutor.shutdown();
+            ingestExecutor = null;
+        }
+    }
+
+    /**
+     * Gets the statistics for the batches of elements that have been added to
+     * this store asynchronously.
+     *
+     * @return the ingest metrics.
+     */
+    public IngestMetrics getIngestMetrics() {
+        return ingestMetrics;
+    }
+
     public <OP extends Output<CloseableIterable<? extends Element>> & GraphFilters> HBaseRetriever<OP>
     createRetriever(final OP operation,
                     final User user,
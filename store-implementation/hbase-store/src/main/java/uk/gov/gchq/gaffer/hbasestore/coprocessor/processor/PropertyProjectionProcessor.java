@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.CellUtil;
+
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Removes the serialised properties that are not required by the query from
+ * each cell value, so they are not sent back to the client. This should be the
+ * last processor to be applied.
+ */
+public class PropertyProjectionProcessor implements GafferScannerProcessor {
+    private final ElementSerialisation serialisation;
+    private final PropertyProjection projection;
+
+    public PropertyProjectionProcessor(final ElementSerialisation serialisation,
+                                       final PropertyProjection projection) {
+        this.serialisation = serialisation;
+        this.projection = projection;
+    }
+
+    @Override
+    public List<LazyElementCell> process(final List<LazyElementCell> elementCells) {
+        for (final LazyElementCell elementCell : elementCells) {
+            if (!elementCell.isDeleted()) {
+                final Set<String> properties = projection.getProperties(elementCell.getGroup());
+                if (null != properties) {
+                    project(elementCell, properties);
+                }
+            }
+        }
+
+        return elementCells;
+    }
+
+    private void project(final LazyElementCell elementCell, final Set<String> properties) {
+        final Cell cell = elementCell.getCell();
+        final String group = elementCell.getGroup();
+        try {
+            final Cell projectedCell = CellUtil.createCell(
+                    CellUtil.cloneRow(cell),
+                    CellUtil.cloneFamily(cell),
+                    CellUtil.cloneQualifier(cell),
+                    cell.getTimestamp(),
+                    cell.getTypeByte(),
+                    serialisation.getProjectedValue(group, CellUtil.cloneValue(cell), properties),
+                    CellUtil.getTagArray(cell),
+                    0);
+            elementCell.setCell(projectedCell);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException("Unable to project the properties of group " + group, e);
+        }
+    }
+}
@@ -22,6 +22,7 @@ import org.apache.hadoop.hbase.regionserver.ScannerContext;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -33,11 +34,20 @@ public abstract class GafferScanner implements InternalScanner {
     private final ElementSerialisation serialisation;
     private final List<GafferScannerProcessor> processors;
     private final boolean includeMatchedVertex;
+    private final PropertyProjection projection;
 
     public GafferScanner(final InternalScanner scanner,
                          final ElementSerialisation serialisation,
                          final List<GafferScannerProcessor> processors,
                          final boolean includeMatchedVertex) {
+        this(scanner, serialisation, processors, includeMatchedVertex, null);
+    }
+
+    public GafferScanner(final InternalScanner scanner,
+                         final ElementSerialisation serialisation,
+                         final List<GafferScannerProcessor> processors,
+                         final boolean includeMatchedVertex,
+                         final PropertyProjection projection) {
         this.scanner = scanner;
         this.serialisation = serialisation;
         if (null == processors) {
@@ -46,6 +56,7 @@ public abstract class GafferScanner implements InternalScanner {
             this.processors = processors;
         }
         this.includeMatchedVertex = includeMatchedVertex;
+        this.projection = projection;
     }
 
     @Override
@@ -69,7 +80,7 @@ public abstract class GafferScanner implements InternalScanner {
     protected void _next(final List<Cell> input, final List<Cell> output) throws IOException {
         List<LazyElementCell> elementCells = new ArrayList<>(input.size());
         for (final Cell cell : input) {
-            elementCells.add(new LazyElementCell(cell, serialisation, includeMatchedVertex));
+            elementCells.add(new LazyElementCell(cell, serialisation, includeMatchedVertex, projection));
         }
 
         for (final GafferScannerProcessor processor : processors) {
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
+
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcessor;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
+
+import java.util.List;
+
+/**
+ * The processors and {@link PropertyProjection} that a {@link QueryScanner}
+ * applies to the cells it scans. Building a pipeline requires the scan's view
+ * to be parsed, so pipelines are reused between scans using a
+ * {@link QueryPipelineCache}. A pipeline must only be used by one scanner at a
+ * time, as the view's functions are not thread safe.
+ */
+public class QueryPipeline {
+    private final String key;
+    private final List<GafferScannerProcessor> processors;
+    private final PropertyProjection projection;
+
+    public QueryPipeline(final String key,
+                         final List<GafferScannerProcessor> processors,
+                         final PropertyProjection projection) {
+        this.key = key;
+        this.processors = processors;
+        this.projection = projection;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public List<GafferScannerProcessor> getProcessors() {
+        return processors;
+    }
+
+    public PropertyProjection getProjection() {
+        return projection;
+    }
+}
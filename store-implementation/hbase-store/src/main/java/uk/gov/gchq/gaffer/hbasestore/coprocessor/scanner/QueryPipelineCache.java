@@ -0,0 +1,98 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of idle {@link QueryPipeline}s, keyed by a hash of the scan
+ * attributes they were built from. A scanner borrows a pipeline when it is
+ * opened and releases it when it is closed, so a pipeline is never shared by
+ * concurrent scans. The least recently used keys are evicted once there are
+ * more than the maximum number of keys.
+ */
+public class QueryPipelineCache {
+    public static final int DEFAULT_MAX_SIZE = 100;
+    private static final int MAX_IDLE_PIPELINES_PER_KEY = 16;
+
+    private final int maxSize;
+    private final Map<String, Deque<QueryPipeline>> idlePipelines;
+
+    /**
+     * @param maxSize the maximum number of keys to cache pipelines for, or less than 1 to disable the cache
+     */
+    public QueryPipelineCache(final int maxSize) {
+        this.maxSize = maxSize;
+        this.idlePipelines = new LinkedHashMap<String, Deque<QueryPipeline>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 3816208543178425064L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Deque<QueryPipeline>> eldest) {
+                return size() > QueryPipelineCache.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * Borrows an idle pipeline for the given key, or creates a new one if there
+     * are none.
+     *
+     * @param key     the pipeline key
+     * @param factory creates a new pipeline for the key
+     * @return the pipeline
+     */
+    public QueryPipeline borrow(final String key, final Supplier<QueryPipeline> factory) {
+        if (maxSize > 0) {
+            synchronized (idlePipelines) {
+                final Deque<QueryPipeline> pipelines = idlePipelines.get(key);
+                if (null != pipelines && !pipelines.isEmpty()) {
+                    return pipelines.pop();
+                }
+            }
+        }
+        return factory.get();
+    }
+
+    /**
+     * Returns a pipeline to the cache so it can be reused by a later scan.
+     *
+     * @param pipeline the pipeline that is no longer in use
+     */
+    public void release(final QueryPipeline pipeline) {
+        if (maxSize > 0 && null != pipeline.getKey()) {
+            synchronized (idlePipelines) {
+                final Deque<QueryPipeline> pipelines = idlePipelines.computeIfAbsent(pipeline.getKey(), k -> new ArrayDeque<>());
+                if (pipelines.size() < MAX_IDLE_PIPELINES_PER_KEY) {
+                    pipelines.push(pipeline);
+                }
+            }
+        }
+    }
+
+    /**
+     * @return the number of keys that idle pipelines are cached for
+     */
+    public int size() {
+        synchronized (idlePipelines) {
+            return idlePipelines.size();
+        }
+    }
+}
@@ -30,36 +30,125 @@ import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GafferScannerProcesso
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.GroupFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PostAggregationFilterProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PreAggregationFilterProcessor;
+import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.PropertyProjectionProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.QueryAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.StoreAggregationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.coprocessor.processor.ValidationProcessor;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
 
 import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 
 public class QueryScanner extends GafferScanner implements RegionScanner {
+    private static final String[] PIPELINE_ATTRIBUTES = {
+            HBaseStoreConstants.VIEW,
+            HBaseStoreConstants.DIRECTED_TYPE,
+            HBaseStoreConstants.EXTRA_PROCESSORS
+    };
+
+    private final QueryPipelineCache pipelineCache;
+    private QueryPipeline pipeline;
+
     public QueryScanner(final RegionScanner scanner,
                         final Scan scan,
                         final Schema schema,
                         final ElementSerialisation serialisation) {
-        super(scanner, serialisation, createProcessors(scan, schema, serialisation), isIncludeMatchedVertex(scan));
+        this(scanner, scan, schema, serialisation, null);
+    }
+
+    public QueryScanner(final RegionScanner scanner,
+                        final Scan scan,
+                        final Schema schema,
+                        final ElementSerialisation serialisation,
+                        final QueryPipelineCache pipelineCache) {
+        this(scanner, scan, serialisation, getPipeline(scan, schema, serialisation, pipelineCache), pipelineCache);
+    }
+
+    private QueryScanner(final RegionScanner scanner,
+                         final Scan scan,
+                         final ElementSerialisation serialisation,
+                         final QueryPipeline pipeline,
+                         final QueryPipelineCache pipelineCache) {
+        super(scanner, serialisation, pipeline.getProcessors(), isIncludeMatchedVertex(scan), pipeline.getProjection());
+        this.pipeline = pipeline;
+        this.pipelineCache = pipelineCache;
     }
 
     protected static List<GafferScannerProcessor> createProcessors(
             final Scan scan,
             final Schema schema,
             final ElementSerialisation serialisation) {
+        return createProcessors(scan, getView(scan), schema, serialisation, null);
+    }
+
+    private static QueryPipeline getPipeline(final Scan scan,
+                                             final Schema schema,
+                                             final ElementSerialisation serialisation,
+                                             final QueryPipelineCache pipelineCache) {
+        if (null == pipelineCache) {
+            return createPipeline(null, scan, schema, serialisation);
+        }
+
+        final String key = getPipelineKey(scan);
+        return pipelineCache.borrow(key, () -> createPipeline(key, scan, schema, serialisation));
+    }
+
+    private static QueryPipeline createPipeline(final String key,
+                                                final Scan scan,
+                                                final Schema schema,
+                                                final ElementSerialisation serialisation) {
+        final View view = getView(scan);
+        final PropertyProjection projection = getPropertyProjection(schema, view);
+        return new QueryPipeline(key, createProcessors(scan, view, schema, serialisation, projection), projection);
+    }
+
+    /**
+     * The processors only depend on the view, directed type and extra processors
+     * scan attributes, so a hash of these identifies the pipeline. Hashing the
+     * attributes is much cheaper than parsing the view.
+     *
+     * @param scan the scan
+     * @return the pipeline key
+     */
+    private static String getPipelineKey(final Scan scan) {
+        final MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (final NoSuchAlgorithmException e) {
+            throw new RuntimeException("Unable to create a message digest to hash the scan attributes", e);
+        }
+        for (final String attribute : PIPELINE_ATTRIBUTES) {
+            final byte[] value = scan.getAttribute(attribute);
+            if (null == value) {
+                digest.update((byte) 0);
+            } else {
+                digest.update((byte) 1);
+                digest.update(Bytes.toBytes(value.length));
+                digest.update(value);
+            }
+        }
+        return Base64.getEncoder().encodeToString(digest.digest());
+    }
+
+    private static List<GafferScannerProcessor> createProcessors(
+            final Scan scan,
+            final View view,
+            final Schema schema,
+            final ElementSerialisation serialisation,
+            final PropertyProjection projection) {
         final List<GafferScannerProcessor> processors = new ArrayList<>();
         final Set<Class<? extends GafferScannerProcessor>> extraProcessors = getExtraProcessors(scan);
 
         // The view will be null if a scan of the table is done in the hbase shell
-        final View view = getView(scan);
         if (null != view) {
             processors.add(new GroupFilterProcessor(view));
             if (extraProcessors.remove(ElementDedupeFilterProcessor.class)) {
@@ -81,6 +170,10 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
             processors.add(new PostAggregationFilterProcessor(view));
         }
 
+        if (null != projection) {
+            processors.add(new PropertyProjectionProcessor(serialisation, projection));
+        }
+
         if (!extraProcessors.isEmpty()) {
             throw new RuntimeException("Unrecognised extra processors: " + extraProcessors);
         }
@@ -88,6 +181,14 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
         return processors;
     }
 
+    private static PropertyProjection getPropertyProjection(final Schema schema, final View view) {
+        if (null == view) {
+            return null;
+        }
+        final PropertyProjection projection = new PropertyProjection(schema, view);
+        return projection.hasProjection() ? projection : null;
+    }
+
     private static View getView(final Scan scan) {
         final byte[] viewJson = scan.getAttribute(HBaseStoreConstants.VIEW);
         final View view;
@@ -121,6 +222,22 @@ public class QueryScanner extends GafferScanner implements RegionScanner {
         return null != attr && Boolean.parseBoolean(Bytes.toString(attr));
     }
 
+    protected QueryPipeline getPipeline() {
+        return pipeline;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            if (null != pipelineCache && null != pipeline) {
+                pipelineCache.release(pipeline);
+            }
+            pipeline = null;
+        }
+    }
+
     @Override
     protected RegionScanner getScanner() {
         return (RegionScanner) super.getScanner();
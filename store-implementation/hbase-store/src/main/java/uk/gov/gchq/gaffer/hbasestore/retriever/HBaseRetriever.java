@@ -45,6 +45,7 @@ import uk.gov.gchq.gaffer.operation.graph.GraphFilters;
 import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.store.ElementValidator;
 import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
@@ -64,6 +65,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
     private final OP operation;
     private final byte[] extraProcessors;
     private final boolean includeMatchedVertex;
+    private final PropertyProjection propertyProjection;
+    private final byte[] viewJson;
 
     private CloseableIterator<Element> iterator;
     private Iterator<? extends ElementId> idsIterator;
@@ -88,6 +91,8 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
 
         this.includeMatchedVertex = includeMatchedVertex;
+        this.propertyProjection = new PropertyProjection(store.getSchema(), operation.getView());
+        this.viewJson = operation.getView().toCompactJson();
 
         if (null != extraProcessors && extraProcessors.length > 0) {
             this.extraProcessors = StringUtil.toCsv(extraProcessors);
@@ -103,7 +108,11 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         if (null != ids) {
             idsIterator = ids.iterator();
-            iterator = new HBaseRetrieverIterable(new BatchedResultScanner()).iterator();
+            if (store.getProperties().getMaxConcurrentScans() > 1) {
+                iterator = new HBaseRetrieverIterable(new ParallelResultScanner(store, idsIterator, this::getRowRanges, this::createScan)).iterator();
+            } else {
+                iterator = new HBaseRetrieverIterable(new BatchedResultScanner()).iterator();
+            }
         } else {
             iterator = new HBaseRetrieverIterable(createScanner()).iterator();
         }
@@ -126,7 +135,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
     private Element deserialiseAndTransform(final Cell cell) {
         try {
-            Element element = serialisation.getElement(cell, includeMatchedVertex);
+            Element element = serialisation.getElement(cell, includeMatchedVertex, propertyProjection);
             final ViewElementDefinition viewDef = operation.getView().getElement(element.getGroup());
             if (null != viewDef) {
                 final ElementTransformer transformer = viewDef.getTransformer();
@@ -152,7 +161,7 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
 
         Table table = null;
         try {
-            final Scan scan = new Scan();
+            final Scan scan = createScan();
 
             if (null != idsIterator) {
                 final List<MultiRowRangeFilter.RowRange> rowRanges = new ArrayList<>();
@@ -170,17 +179,6 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
                 scan.setFilter(new MultiRowRangeFilter(rowRanges));
             }
 
-            scan.setAuthorizations(authorisations);
-            scan.setAttribute(HBaseStoreConstants.SCHEMA, store.getSchema().toCompactJson());
-            scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
-            scan.setAttribute(HBaseStoreConstants.VIEW, operation.getView().toCompactJson());
-            if (null != operation.getDirectedType()) {
-                scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
-            }
-            if (null != extraProcessors) {
-                scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
-            }
-            scan.setMaxVersions();
             table = store.getTable();
             return new WrappedCloseableIterable<>(table.getScanner(scan));
         } catch (final IOException | StoreException e) {
@@ -191,6 +189,29 @@ public class HBaseRetriever<OP extends Output<CloseableIterable<? extends Elemen
         }
     }
 
+    private Scan createScan() {
+        final Scan scan = new Scan();
+        scan.setAuthorizations(authorisations);
+        scan.setAttribute(HBaseStoreConstants.INCLUDE_MATCHED_VERTEX, Bytes.toBytes(Boolean.toString(includeMatchedVertex)));
+        scan.setAttribute(HBaseStoreConstants.VIEW, viewJson);
+        if (null != operation.getDirectedType()) {
+            scan.setAttribute(HBaseStoreConstants.DIRECTED_TYPE, Bytes.toBytes(operation.getDirectedType().name()));
+        }
+        if (null != extraProcessors) {
+            scan.setAttribute(HBaseStoreConstants.EXTRA_PROCESSORS, extraProcessors);
+        }
+        scan.setMaxVersions();
+        return scan;
+    }
+
+    private List<MultiRowRangeFilter.RowRange> getRowRanges(final ElementId id) {
+        try {
+            return rowRangeFactory.getRowRange(id, operation);
+        } catch (final SerialisationException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public class BatchedResultScanner extends BatchedIterable<Result> {
         @Override
         protected Iterable<Result> createBatch() {
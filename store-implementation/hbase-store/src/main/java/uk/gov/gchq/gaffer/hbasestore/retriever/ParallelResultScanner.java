@@ -0,0 +1,333 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.filter.MultiRowRangeFilter;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.apache.hadoop.hbase.util.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.store.StoreException;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import static org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+
+/**
+ * A {@code ParallelResultScanner} scans the rows for a set of seeds using several
+ * concurrent HBase scans. The seeds are read in batches and the row ranges of each
+ * batch are grouped by the region that contains them. Each group is then scanned
+ * separately on the {@link HBaseStore#getScanExecutor()}, with at most
+ * {@link uk.gov.gchq.gaffer.hbasestore.HBaseProperties#getMaxConcurrentScans()}
+ * scans in flight. The scans put their results onto a bounded queue, waiting whilst
+ * it is full, so the rows are only read as fast as they are consumed.
+ * <p>
+ * The batch size adapts to the observed scan latency. It is doubled, up to
+ * {@link uk.gov.gchq.gaffer.hbasestore.HBaseProperties#getMaxEntriesForBatchScanner()},
+ * whilst the scans complete in less than half of
+ * {@link uk.gov.gchq.gaffer.hbasestore.HBaseProperties#getTargetScanLatencyMillis()}
+ * and it is halved whenever they take longer.
+ * <p>
+ * The rows are not returned in any particular order.
+ */
+public class ParallelResultScanner implements CloseableIterable<Result> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParallelResultScanner.class);
+    private static final long POLL_TIMEOUT_MILLIS = 100L;
+    protected static final int MIN_BATCH_SIZE = 10;
+    protected static final int INITIAL_BATCH_SIZE = 100;
+
+    private final HBaseStore store;
+    private final Iterator<? extends ElementId> ids;
+    private final Function<ElementId, List<RowRange>> rowRangeFunction;
+    private final Supplier<Scan> scanFactory;
+    private final int maxConcurrentScans;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetLatencyMillis;
+    private final BlockingQueue<Result> queue;
+    private final Deque<Scan> pendingScans = new ArrayDeque<>();
+    private final List<Future<?>> scans = new ArrayList<>();
+    private final AtomicInteger runningScans = new AtomicInteger();
+    private final AtomicReference<Exception> failure = new AtomicReference<>();
+    private final ParallelResultIterator iterator = new ParallelResultIterator();
+    private volatile int batchSize;
+    private byte[][] regionStartKeys;
+    private byte[][] regionEndKeys;
+    private boolean closed;
+
+    /**
+     * @param store            the store to scan
+     * @param ids              the seeds to scan for
+     * @param rowRangeFunction converts a seed into the row ranges to scan
+     * @param scanFactory      creates a scan with the query's attributes
+     */
+    public ParallelResultScanner(final HBaseStore store,
+                                 final Iterator<? extends ElementId> ids,
+                                 final Function<ElementId, List<RowRange>> rowRangeFunction,
+                                 final Supplier<Scan> scanFactory) {
+        this.store = store;
+        this.ids = ids;
+        this.rowRangeFunction = rowRangeFunction;
+        this.scanFactory = scanFactory;
+        this.maxConcurrentScans = store.getProperties().getMaxConcurrentScans();
+        this.maxBatchSize = store.getProperties().getMaxEntriesForBatchScanner();
+        this.minBatchSize = Math.min(MIN_BATCH_SIZE, maxBatchSize);
+        this.batchSize = Math.min(INITIAL_BATCH_SIZE, maxBatchSize);
+        this.targetLatencyMillis = store.getProperties().getTargetScanLatencyMillis();
+        this.queue = new ArrayBlockingQueue<>(store.getProperties().getResultQueueSize());
+    }
+
+    @Override
+    public CloseableIterator<Result> iterator() {
+        return iterator;
+    }
+
+    @Override
+    public void close() {
+        iterator.close();
+    }
+
+    /**
+     * Groups the row ranges by the regions they overlap. A range that spans
+     * several regions is added to each of them.
+     *
+     * @param ranges    the row ranges
+     * @param startKeys the start keys of the regions, in order
+     * @param endKeys   the end keys of the regions, in order
+     * @return the row ranges for each region index, in region order
+     */
+    protected static Map<Integer, List<RowRange>> groupByRegion(final List<RowRange> ranges,
+                                                                final byte[][] startKeys,
+                                                                final byte[][] endKeys) {
+        final Map<Integer, List<RowRange>> regionToRanges = new TreeMap<>();
+        for (final RowRange range : ranges) {
+            final byte[] stopRow = range.getStopRow();
+            int region = getRegion(range.getStartRow(), startKeys);
+            while (region < startKeys.length) {
+                regionToRanges.computeIfAbsent(region, k -> new ArrayList<>()).add(range);
+                final byte[] endKey = endKeys[region];
+                // An empty end key is the end of the table and an empty stop row is unbounded
+                if (0 == endKey.length || (0 != stopRow.length && Bytes.compareTo(endKey, stopRow) > 0)
+                        || (0 != stopRow.length && !range.isStopRowInclusive() && Bytes.compareTo(endKey, stopRow) == 0)) {
+                    break;
+                }
+                region++;
+            }
+        }
+        return regionToRanges;
+    }
+
+    private static int getRegion(final byte[] row, final byte[][] startKeys) {
+        int low = 0;
+        int high = startKeys.length - 1;
+        while (low < high) {
+            final int mid = (low + high + 1) >>> 1;
+            if (Bytes.compareTo(startKeys[mid], row) <= 0) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private void startScans() {
+        while (runningScans.get() < maxConcurrentScans) {
+            if (pendingScans.isEmpty()) {
+                if (!ids.hasNext()) {
+                    return;
+                }
+                createScans(getNextBatch());
+            } else {
+                startScan(pendingScans.poll());
+            }
+        }
+    }
+
+    private List<RowRange> getNextBatch() {
+        final List<RowRange> ranges = new ArrayList<>();
+        final int size = batchSize;
+        int count = 0;
+        while (ids.hasNext() && count < size) {
+            count++;
+            ranges.addAll(rowRangeFunction.apply(ids.next()));
+        }
+        return ranges;
+    }
+
+    private void createScans(final List<RowRange> ranges) {
+        if (ranges.isEmpty()) {
+            return;
+        }
+        if (null == regionStartKeys) {
+            loadRegionKeys();
+        }
+        Collections.sort(ranges);
+        for (final Map.Entry<Integer, List<RowRange>> entry : groupByRegion(ranges, regionStartKeys, regionEndKeys).entrySet()) {
+            final Scan scan = scanFactory.get();
+            scan.setStartRow(regionStartKeys[entry.getKey()]);
+            scan.setStopRow(regionEndKeys[entry.getKey()]);
+            try {
+                scan.setFilter(new MultiRowRangeFilter(entry.getValue()));
+            } catch (final IOException e) {
+                throw new RuntimeException("Unable to create the row range filter", e);
+            }
+            pendingScans.add(scan);
+        }
+    }
+
+    private void loadRegionKeys() {
+        try (final RegionLocator locator = store.getConnection().getRegionLocator(store.getTableName())) {
+            final Pair<byte[][], byte[][]> keys = locator.getStartEndKeys();
+            regionStartKeys = keys.getFirst();
+            regionEndKeys = keys.getSecond();
+            LOGGER.debug("Scanning table {} with {} regions", store.getTableName(), regionStartKeys.length);
+        } catch (final IOException | StoreException e) {
+            throw new RuntimeException("Unable to look up the regions of table " + store.getTableName(), e);
+        }
+    }
+
+    private void startScan(final Scan scan) {
+        final Table table;
+        try {
+            table = store.getTable();
+        } catch (final StoreException e) {
+            throw new RuntimeException(e);
+        }
+        scans.removeIf(Future::isDone);
+        runningScans.incrementAndGet();
+        scans.add(store.getScanExecutor().submit(() -> runScan(table, scan)));
+    }
+
+    private void runScan(final Table table, final Scan scan) {
+        final long startTime = System.currentTimeMillis();
+        try (final ResultScanner scanner = table.getScanner(scan)) {
+            for (final Result result : scanner) {
+                queue.put(result);
+            }
+            updateBatchSize(System.currentTimeMillis() - startTime);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (final Exception e) {
+            failure.compareAndSet(null, e);
+        } finally {
+            CloseableUtil.close(table);
+            runningScans.decrementAndGet();
+        }
+    }
+
+    private synchronized void updateBatchSize(final long latencyMillis) {
+        if (latencyMillis > targetLatencyMillis) {
+            batchSize = Math.max(minBatchSize, batchSize / 2);
+        } else if (latencyMillis < targetLatencyMillis / 2) {
+            batchSize = Math.min(maxBatchSize, batchSize * 2);
+        }
+    }
+
+    private final class ParallelResultIterator implements CloseableIterator<Result> {
+        private Result next;
+
+        @Override
+        public boolean hasNext() {
+            if (null != next) {
+                return true;
+            }
+            if (closed) {
+                return false;
+            }
+            try {
+                while (null == next) {
+                    startScans();
+                    // Read before polling - once all the scans have finished every result is already on the queue
+                    final boolean finishedAllScans = 0 == runningScans.get() && pendingScans.isEmpty() && !ids.hasNext();
+                    next = finishedAllScans ? queue.poll() : queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (null == next) {
+                        checkForFailure();
+                        if (finishedAllScans) {
+                            close();
+                            return false;
+                        }
+                    }
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("Interrupted whilst waiting for results from HBase", e);
+            }
+            return true;
+        }
+
+        private void checkForFailure() {
+            final Exception e = failure.get();
+            if (null != e) {
+                close();
+                throw new RuntimeException("Exception scanning HBase", e);
+            }
+        }
+
+        @Override
+        public Result next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("Reached the end of the iterator");
+            }
+            final Result result = next;
+            next = null;
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (!closed) {
+                closed = true;
+                for (final Future<?> scan : scans) {
+                    scan.cancel(true);
+                }
+                scans.clear();
+                pendingScans.clear();
+                queue.clear();
+            }
+        }
+    }
+}
@@ -41,15 +41,18 @@ import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.hbasestore.utils.HBaseStoreConstants;
 import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.raw.CompactRawSerialisationUtils;
+import uk.gov.gchq.gaffer.serialisation.util.ByteArrayBuffer;
+import uk.gov.gchq.gaffer.serialisation.util.LengthValueBytesSerialiserUtil;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
 
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Set;
 
 public class ElementSerialisation {
     private static final Logger LOGGER = LoggerFactory.getLogger(ElementSerialisation.class);
@@ -68,7 +71,7 @@ public class ElementSerialisation {
 
     public byte[] getValue(final String group, final Properties properties)
             throws SerialisationException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayBuffer out = new ByteArrayBuffer();
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
@@ -77,25 +80,8 @@ public class ElementSerialisation {
         String propertyName;
         while (propertyNames.hasNext()) {
             propertyName = propertyNames.next();
-            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
             if (isStoredInValue(propertyName, elementDefinition)) {
-                final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
-                try {
-                    if (null != serialiser) {
-                        Object value = properties.get(propertyName);
-                        if (null != value) {
-                            final byte[] bytes = serialiser.serialise(value);
-                            writeBytes(bytes, out);
-                        } else {
-                            final byte[] bytes = serialiser.serialiseNull();
-                            writeBytes(bytes, out);
-                        }
-                    } else {
-                        writeBytes(HBaseStoreConstants.EMPTY_BYTES, out);
-                    }
-                } catch (final IOException e) {
-                    throw new SerialisationException("Failed to write serialise property to ByteArrayOutputStream" + propertyName, e);
-                }
+                writeProperty(propertyName, elementDefinition, properties, out);
             }
         }
 
@@ -104,12 +90,47 @@ public class ElementSerialisation {
 
     public Properties getPropertiesFromValue(final String group, final byte[] value)
             throws SerialisationException {
+        return getPropertiesFromValue(group, value, null);
+    }
+
+    /**
+     * Deserialises the properties stored in the value. The bytes of any property
+     * not in propertiesToLoad are skipped over without being deserialised.
+     *
+     * @param group            the element group
+     * @param value            the serialised value
+     * @param propertiesToLoad the properties to deserialise, or null to deserialise all properties
+     * @return the deserialised properties
+     * @throws SerialisationException if the value could not be deserialised
+     */
+    public Properties getPropertiesFromValue(final String group, final byte[] value, final Set<String> propertiesToLoad)
+            throws SerialisationException {
+        if (null == value) {
+            return new Properties();
+        }
+        return getPropertiesFromValue(group, value, 0, value.length, propertiesToLoad);
+    }
+
+    /**
+     * Deserialises the properties stored in a slice of an array, such as the
+     * backing array of a {@link Cell}, without copying the bytes.
+     *
+     * @param group            the element group
+     * @param value            the array containing the serialised value
+     * @param offset           the position of the value in the array
+     * @param length           the length of the value
+     * @param propertiesToLoad the properties to deserialise, or null to deserialise all properties
+     * @return the deserialised properties
+     * @throws SerialisationException if the value could not be deserialised
+     */
+    public Properties getPropertiesFromValue(final String group, final byte[] value, final int offset, final int length, final Set<String> propertiesToLoad)
+            throws SerialisationException {
         final Properties properties = new Properties();
-        if (null == value || value.length == 0) {
+        if (null == value || length == 0) {
             return properties;
         }
-        int lastDelimiter = 0;
-        final int arrayLength = value.length;
+        int lastDelimiter = offset;
+        final int arrayLength = offset + length;
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
@@ -130,7 +151,9 @@ public class ElementSerialisation {
                         throw new SerialisationException("Exception reading length of property");
                     }
                     lastDelimiter += numBytesForLength;
-                    if (currentPropLength > 0) {
+                    if (null != propertiesToLoad && !propertiesToLoad.contains(propertyName)) {
+                        lastDelimiter += currentPropLength;
+                    } else if (currentPropLength > 0) {
                         try {
                             properties.put(propertyName, serialiser.deserialise(value, lastDelimiter, currentPropLength));
                             lastDelimiter += currentPropLength;
@@ -159,11 +182,74 @@ public class ElementSerialisation {
 
     public Element getElement(final Cell cell, final boolean includeMatchedVertex)
             throws SerialisationException {
+        return getElement(cell, includeMatchedVertex, null);
+    }
+
+    /**
+     * Deserialises the element in the cell, only loading the properties from the
+     * value that are required by the provided {@link PropertyProjection}.
+     *
+     * @param cell                 the cell
+     * @param includeMatchedVertex whether to include the matched vertex in an edge
+     * @param projection           the property projection, or null to load all properties
+     * @return the deserialised element
+     * @throws SerialisationException if the cell could not be deserialised
+     */
+    public Element getElement(final Cell cell, final boolean includeMatchedVertex, final PropertyProjection projection)
+            throws SerialisationException {
+        final Set<String> propertiesToLoad = null != projection ? projection.getProperties(getGroup(cell)) : null;
         final boolean keyRepresentsEntity = isEntity(cell);
         if (keyRepresentsEntity) {
-            return getEntity(cell);
+            return getEntity(cell, propertiesToLoad);
         }
-        return getEdge(cell, includeMatchedVertex);
+        return getEdge(cell, includeMatchedVertex, propertiesToLoad);
+    }
+
+    /**
+     * Creates a copy of the value that only contains the serialised properties
+     * in propertiesToKeep. Each of the other properties is replaced with an empty
+     * property and any trailing properties are removed, so the projected value
+     * can still be read by {@link #getPropertiesFromValue(String, byte[])}.
+     *
+     * @param group            the element group
+     * @param value            the serialised value
+     * @param propertiesToKeep the properties to keep, or null to keep all properties
+     * @return the projected value
+     * @throws SerialisationException if the value could not be read
+     */
+    public byte[] getProjectedValue(final String group, final byte[] value, final Set<String> propertiesToKeep)
+            throws SerialisationException {
+        if (null == propertiesToKeep || null == value || value.length == 0) {
+            return value;
+        }
+        final SchemaElementDefinition elementDefinition = schema.getElement(group);
+        if (null == elementDefinition) {
+            throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
+        }
+
+        final ByteArrayBuffer out = new ByteArrayBuffer(value.length);
+        int projectedLength = 0;
+        int lastDelimiter = 0;
+        final Iterator<String> propertyNames = elementDefinition.getProperties().iterator();
+        while (propertyNames.hasNext() && lastDelimiter < value.length) {
+            final String propertyName = propertyNames.next();
+            if (isStoredInValue(propertyName, elementDefinition)) {
+                final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+                if (null != typeDefinition && null != typeDefinition.getSerialiser()) {
+                    final int start = lastDelimiter;
+                    lastDelimiter += CompactRawSerialisationUtils.decodeVIntSize(value[lastDelimiter])
+                            + (int) CompactRawSerialisationUtils.readLong(value, lastDelimiter);
+                    if (propertiesToKeep.contains(propertyName)) {
+                        out.write(value, start, lastDelimiter - start);
+                        projectedLength = out.size();
+                    } else {
+                        out.write(0);
+                    }
+                }
+            }
+        }
+
+        return Arrays.copyOf(out.getBuffer(), projectedLength);
     }
 
     public Properties getProperties(final String group, final Cell cell) throws SerialisationException {
@@ -209,38 +295,18 @@ public class ElementSerialisation {
 
     public byte[] getColumnQualifier(final String group, final Properties properties)
             throws SerialisationException {
-        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ByteArrayBuffer out = new ByteArrayBuffer();
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
         }
 
-        try {
-            final byte[] groupBytes = Bytes.toBytes(group);
-            writeBytes(groupBytes, out);
-        } catch (final IOException e) {
-            throw new SerialisationException("Failed to serialise group to ByteArrayOutputStream", e);
-        }
+        final byte[] groupBytes = Bytes.toBytes(group);
+        CompactRawSerialisationUtils.write(groupBytes.length, out);
+        out.write(groupBytes);
 
         for (final String propertyName : elementDefinition.getGroupBy()) {
-            final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
-            final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
-            try {
-                if (null != serialiser) {
-                    Object value = properties.get(propertyName);
-                    if (null != value) {
-                        final byte[] bytes = serialiser.serialise(value);
-                        writeBytes(bytes, out);
-                    } else {
-                        final byte[] bytes = serialiser.serialiseNull();
-                        writeBytes(bytes, out);
-                    }
-                } else {
-                    writeBytes(HBaseStoreConstants.EMPTY_BYTES, out);
-                }
-            } catch (final IOException e) {
-                throw new SerialisationException("Failed to write serialise property to ByteArrayOutputStream" + propertyName, e);
-            }
+            writeProperty(propertyName, elementDefinition, properties, out);
         }
 
         return out.toByteArray();
@@ -248,18 +314,23 @@ public class ElementSerialisation {
 
     public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes)
             throws SerialisationException {
+        return getPropertiesFromColumnQualifier(group, bytes, 0, null != bytes ? bytes.length : 0);
+    }
+
+    public Properties getPropertiesFromColumnQualifier(final String group, final byte[] bytes, final int offset, final int length)
+            throws SerialisationException {
         final SchemaElementDefinition elementDefinition = schema.getElement(group);
         if (null == elementDefinition) {
             throw new SerialisationException("No SchemaElementDefinition found for group " + group + ", is this group in your schema or do your table iterators need updating?");
         }
 
         final Properties properties = new Properties();
-        if (null == bytes || bytes.length == 0) {
+        if (null == bytes || length == 0) {
             return properties;
         }
 
-        int carriage = CompactRawSerialisationUtils.decodeVIntSize(bytes[0]) + Bytes.toBytes(group).length;
-        final int arrayLength = bytes.length;
+        int carriage = offset + CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]) + (int) CompactRawSerialisationUtils.readLong(bytes, offset);
+        final int arrayLength = offset + length;
 
         final Iterator<String> propertyNames = elementDefinition.getGroupBy().iterator();
         while (propertyNames.hasNext() && carriage < arrayLength) {
@@ -393,20 +464,23 @@ public class ElementSerialisation {
     }
 
     public boolean isEntity(final Cell cell) throws SerialisationException {
-        final byte[] row = CellUtil.cloneRow(cell);
-        return row[row.length - 1] == HBaseStoreConstants.ENTITY;
+        return cell.getRowArray()[cell.getRowOffset() + cell.getRowLength() - 1] == HBaseStoreConstants.ENTITY;
     }
 
 
     public String getGroup(final Cell cell) throws SerialisationException {
-        return getGroup(CellUtil.cloneQualifier(cell));
+        return getGroup(cell.getQualifierArray(), cell.getQualifierOffset());
     }
 
     public String getGroup(final byte[] columnQualifier) throws SerialisationException {
+        return getGroup(columnQualifier, 0);
+    }
+
+    private String getGroup(final byte[] bytes, final int offset) throws SerialisationException {
         try {
-            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(columnQualifier[0]);
-            int currentPropLength = (int) CompactRawSerialisationUtils.readLong(columnQualifier, 0);
-            return new String(columnQualifier, numBytesForLength, currentPropLength, Charset.forName("UTF-8"));
+            final int numBytesForLength = CompactRawSerialisationUtils.decodeVIntSize(bytes[offset]);
+            int currentPropLength = (int) CompactRawSerialisationUtils.readLong(bytes, offset);
+            return new String(bytes, offset + numBytesForLength, currentPropLength, StandardCharsets.UTF_8);
         } catch (final SerialisationException e) {
             throw new SerialisationException("Exception reading length of property");
         }
@@ -588,28 +662,29 @@ public class ElementSerialisation {
                 && (null == timestampProperty || !propertyName.equals(timestampProperty));
     }
 
-    private void writeBytes(final byte[] bytes, final ByteArrayOutputStream out)
-            throws IOException {
-        CompactRawSerialisationUtils.write(bytes.length, out);
-        out.write(bytes);
+    private void writeProperty(final String propertyName, final SchemaElementDefinition elementDefinition, final Properties properties, final ByteArrayBuffer out)
+            throws SerialisationException {
+        final TypeDefinition typeDefinition = elementDefinition.getPropertyTypeDef(propertyName);
+        final ToBytesSerialiser serialiser = (null != typeDefinition) ? (ToBytesSerialiser) typeDefinition.getSerialiser() : null;
+        try {
+            LengthValueBytesSerialiserUtil.serialise(serialiser, properties.get(propertyName), out);
+        } catch (final SerialisationException e) {
+            throw new SerialisationException("Failed to write serialise property to ByteArrayOutputStream" + propertyName, e);
+        }
     }
 
-    private void addPropertiesToElement(final Element element, final Cell cell)
+    private void addPropertiesToElement(final Element element, final Cell cell, final Set<String> propertiesToLoad)
             throws SerialisationException {
+        // The properties are read straight from the cell's backing arrays rather than copies of them
         element.copyProperties(
-                getPropertiesFromColumnQualifier(element.getGroup(), CellUtil.cloneQualifier(cell)));
+                getPropertiesFromColumnQualifier(element.getGroup(), cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength()));
         element.copyProperties(
-                getPropertiesFromValue(element.getGroup(), CellUtil.cloneValue(cell)));
+                getPropertiesFromValue(element.getGroup(), cell.getValueArray(), cell.getValueOffset(), cell.getValueLength(), propertiesToLoad));
         element.copyProperties(
                 getPropertiesFromTimestamp(element.getGroup(), cell.getTimestamp()));
     }
 
-    private Edge getEdge(final Cell cell)
-            throws SerialisationException {
-        return getEdge(cell, false);
-    }
-
-    private Edge getEdge(final Cell cell, final boolean includeMatchedVertex)
+    private Edge getEdge(final Cell cell, final boolean includeMatchedVertex, final Set<String> propertiesToLoad)
             throws SerialisationException {
         final byte[][] result = new byte[3][];
         final EdgeDirection direction = getSourceAndDestination(CellUtil.cloneRow(cell), result);
@@ -625,20 +700,19 @@ public class ElementSerialisation {
         try {
             final Edge edge = new Edge(group, ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[0]),
                     ((ToBytesSerialiser) schema.getVertexSerialiser()).deserialise(result[1]), direction.isDirected(), matchedVertex, null);
-            addPropertiesToElement(edge, cell);
+            addPropertiesToElement(edge, cell, propertiesToLoad);
             return edge;
         } catch (final SerialisationException e) {
             throw new SerialisationException("Failed to re-create Edge from cell", e);
         }
     }
 
-    private Entity getEntity(final Cell cell) throws SerialisationException {
+    private Entity getEntity(final Cell cell, final Set<String> propertiesToLoad) throws SerialisationException {
 
         try {
-            final byte[] row = CellUtil.cloneRow(cell);
             final Entity entity = new Entity(getGroup(cell), ((ToBytesSerialiser) schema.getVertexSerialiser())
-                    .deserialise(ByteArrayEscapeUtils.unEscape(row, 0, row.length - 2)));
-            addPropertiesToElement(entity, cell);
+                    .deserialise(ByteArrayEscapeUtils.unEscapeByLength(cell.getRowArray(), cell.getRowOffset(), cell.getRowLength() - 2)));
+            addPropertiesToElement(entity, cell, propertiesToLoad);
             return entity;
         } catch (final SerialisationException e) {
             throw new SerialisationException("Failed to re-create Entity from cell", e);
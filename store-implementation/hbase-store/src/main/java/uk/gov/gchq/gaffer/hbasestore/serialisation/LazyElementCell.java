@@ -23,6 +23,7 @@ import org.apache.hadoop.hbase.CellUtil;
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
 
 public class LazyElementCell {
     private final ElementSerialisation serialisation;
@@ -30,13 +31,22 @@ public class LazyElementCell {
     private Element element;
     private String group;
     private boolean includeMatchedVertex;
+    private final PropertyProjection projection;
 
     public LazyElementCell(final Cell cell,
                            final ElementSerialisation serialisation,
                            final boolean includeMatchedVertex) {
+        this(cell, serialisation, includeMatchedVertex, null);
+    }
+
+    public LazyElementCell(final Cell cell,
+                           final ElementSerialisation serialisation,
+                           final boolean includeMatchedVertex,
+                           final PropertyProjection projection) {
         this.cell = cell;
         this.serialisation = serialisation;
         this.includeMatchedVertex = includeMatchedVertex;
+        this.projection = projection;
     }
 
     public Cell getCell() {
@@ -58,7 +68,11 @@ public class LazyElementCell {
                 throw new IllegalStateException("Element has been marked for deletion it should not be used");
             }
             try {
-                setElement(serialisation.getElement(cell, includeMatchedVertex));
+                if (null == projection) {
+                    setElement(serialisation.getElement(cell, includeMatchedVertex));
+                } else {
+                    setElement(serialisation.getElement(cell, includeMatchedVertex, projection));
+                }
             } catch (final SerialisationException e) {
                 throw new RuntimeException(e);
             }
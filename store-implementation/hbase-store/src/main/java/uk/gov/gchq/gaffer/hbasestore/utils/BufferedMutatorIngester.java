@@ -0,0 +1,273 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.utils;
+
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Put;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Adds {@link Element}s to the table of an {@link HBaseStore} using a {@link BufferedMutator}.
+ * <p>
+ * The elements are read in batches of {@link uk.gov.gchq.gaffer.hbasestore.HBaseProperties#getWriteBufferSize()}.
+ * Each batch is aggregated using the schema's ingest aggregators, as HBase will skip puts with the
+ * same row key, column and timestamp that are sent in the same request. The aggregated batch is then
+ * split between {@link uk.gov.gchq.gaffer.hbasestore.HBaseProperties#getIngestThreads()} tasks on
+ * {@link HBaseStore#getIngestExecutor()} which convert the elements to puts. Whilst one batch is
+ * being converted the next batch is read and aggregated, and whilst a batch is being written the
+ * next batch is being converted, so reading the input, converting the elements and writing the puts
+ * all overlap. For the same reason as the aggregation, each batch is flushed before the next batch
+ * is written. Aggregation is always done on the calling thread as the schema's aggregators are not
+ * thread safe.
+ * <p>
+ * The statistics for each batch are recorded in {@link HBaseStore#getIngestMetrics()}.
+ */
+public class BufferedMutatorIngester {
+    private static final Logger LOGGER = LoggerFactory.getLogger(BufferedMutatorIngester.class);
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+            String.class, Boolean.class, Integer.class, Long.class, Float.class, Double.class));
+
+    private final HBaseStore store;
+    private final ElementSerialisation serialisation;
+    private final int batchSize;
+    private final int threads;
+    private final IngestMetrics metrics;
+    private final Collection<String> aggregatedGroups;
+    private final AggregatorUtil.ToIngestElementKey toIngestKey;
+    private final AggregatorUtil.IngestElementBinaryOperator aggregator;
+
+    public BufferedMutatorIngester(final HBaseStore store) {
+        this.store = store;
+        this.serialisation = new ElementSerialisation(store.getSchema());
+        this.batchSize = store.getProperties().getWriteBufferSize();
+        this.threads = Math.max(1, store.getProperties().getIngestThreads());
+        this.metrics = store.getIngestMetrics();
+        this.aggregatedGroups = store.getSchema().getAggregatedGroups();
+        this.toIngestKey = new AggregatorUtil.ToIngestElementKey(store.getSchema());
+        this.aggregator = new AggregatorUtil.IngestElementBinaryOperator(store.getSchema());
+    }
+
+    /**
+     * Adds the input elements of the operation to the store's table.
+     *
+     * @param operation the operation containing the elements to add
+     * @throws StoreException if the elements could not be converted or written
+     */
+    public void ingest(final AddElements operation) throws StoreException {
+        final boolean skipInvalid = !operation.isValidate() || operation.isSkipInvalidElements();
+        final long startTime = System.nanoTime();
+        PendingBatch pending = null;
+        try (final BufferedMutator mutator = store.getConnection().getBufferedMutator(store.getTableName())) {
+            List<Element> batch = new ArrayList<>(batchSize);
+            for (final Element element : operation.getInput()) {
+                if (null != element) {
+                    batch.add(element);
+                    if (batch.size() >= batchSize) {
+                        pending = submit(batch, pending, mutator, skipInvalid);
+                        batch = new ArrayList<>(batchSize);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                pending = submit(batch, pending, mutator, skipInvalid);
+            }
+            write(pending, mutator);
+            pending = null;
+        } catch (final IOException e) {
+            throw new StoreException("Failed to add elements", e);
+        } finally {
+            if (null != pending) {
+                pending.cancel();
+            }
+            metrics.recordIngest(System.nanoTime() - startTime);
+            LOGGER.debug("Ingest metrics for graph {}: {}", store.getGraphId(), metrics);
+        }
+    }
+
+    // Aggregates the batch and starts converting it to puts, then writes the
+    // previous batch, which was converted whilst this batch was being read.
+    private PendingBatch submit(final List<Element> batch, final PendingBatch previous,
+                                final BufferedMutator mutator, final boolean skipInvalid) throws IOException, StoreException {
+        final List<Element> aggregated = aggregate(batch);
+        final PendingBatch next = new PendingBatch(batch.size(), batch.size() - aggregated.size());
+        final int chunkSize = (aggregated.size() + threads - 1) / threads;
+        for (int start = 0; start < aggregated.size(); start += chunkSize) {
+            final List<Element> chunk = aggregated.subList(start, Math.min(start + chunkSize, aggregated.size()));
+            next.conversions.add(store.getIngestExecutor().submit(() -> convert(chunk, skipInvalid)));
+        }
+
+        try {
+            write(previous, mutator);
+        } catch (final IOException | StoreException | RuntimeException e) {
+            next.cancel();
+            throw e;
+        }
+        return next;
+    }
+
+    // The schema's aggregators update the first element of each key, and some
+    // of its property values, in place. So that element is copied before anything
+    // is aggregated into it, otherwise the caller's elements would be modified.
+    private List<Element> aggregate(final List<Element> batch) throws StoreException {
+        final List<Element> aggregated = new ArrayList<>(batch.size());
+        final Map<Element, Element> aggregatedByKey = new LinkedHashMap<>();
+        final Set<Element> copies = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (final Element element : batch) {
+            if (!aggregatedGroups.contains(element.getGroup())) {
+                aggregated.add(element);
+                continue;
+            }
+
+            final Element key = toIngestKey.apply(element);
+            Element state = aggregatedByKey.get(key);
+            if (null == state) {
+                aggregatedByKey.put(key, element);
+            } else {
+                if (!copies.contains(state)) {
+                    state = copy(state);
+                    copies.add(state);
+                    aggregatedByKey.put(key, state);
+                }
+                aggregator.apply(state, element);
+            }
+        }
+        aggregated.addAll(aggregatedByKey.values());
+        return aggregated;
+    }
+
+    // Copies the mutable property values by serialising and deserialising them.
+    @SuppressWarnings("unchecked")
+    private Element copy(final Element element) throws StoreException {
+        final Element copy = element.emptyClone();
+        final SchemaElementDefinition elementDef = store.getSchema().getElement(element.getGroup());
+        for (final Map.Entry<String, Object> entry : element.getProperties().entrySet()) {
+            Object value = entry.getValue();
+            if (null != value && !IMMUTABLE_TYPES.contains(value.getClass())) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(entry.getKey());
+                if (null != typeDef && null != typeDef.getSerialiser()) {
+                    final Serialiser serialiser = typeDef.getSerialiser();
+                    try {
+                        value = serialiser.deserialise(serialiser.serialise(value));
+                    } catch (final SerialisationException e) {
+                        throw new StoreException("Failed to copy property " + entry.getKey() + " for aggregation", e);
+                    }
+                }
+            }
+            copy.putProperty(entry.getKey(), value);
+        }
+        return copy;
+    }
+
+    private List<Put> convert(final List<Element> elements, final boolean skipInvalid) throws SerialisationException {
+        final List<Put> puts = new ArrayList<>(2 * elements.size());
+        for (final Element element : elements) {
+            try {
+                final Pair<Put, Put> putPair = serialisation.getPuts(element);
+                puts.add(putPair.getFirst());
+                if (null != putPair.getSecond()) {
+                    puts.add(putPair.getSecond());
+                }
+            } catch (final Exception e) {
+                if (!skipInvalid) {
+                    throw e;
+                }
+                // otherwise just ignore the error
+            }
+        }
+        return puts;
+    }
+
+    private void write(final PendingBatch batch, final BufferedMutator mutator) throws IOException, StoreException {
+        if (null == batch) {
+            return;
+        }
+
+        final List<List<Put>> converted = batch.get();
+        final long startTime = System.nanoTime();
+        int numPuts = 0;
+        for (final List<Put> puts : converted) {
+            mutator.mutate(puts);
+            numPuts += puts.size();
+        }
+        mutator.flush();
+        final long flushNanos = System.nanoTime() - startTime;
+        metrics.recordBatch(batch.elements, batch.collapsed, numPuts, flushNanos);
+        LOGGER.debug("Wrote batch of {} puts in {} ms, {} of {} elements were collapsed by aggregation",
+                numPuts, flushNanos / 1000000, batch.collapsed, batch.elements);
+    }
+
+    private static final class PendingBatch {
+        private final int elements;
+        private final int collapsed;
+        private final List<Future<List<Put>>> conversions = new ArrayList<>();
+
+        private PendingBatch(final int elements, final int collapsed) {
+            this.elements = elements;
+            this.collapsed = collapsed;
+        }
+
+        private List<List<Put>> get() throws StoreException {
+            final List<List<Put>> puts = new ArrayList<>(conversions.size());
+            try {
+                for (final Future<List<Put>> conversion : conversions) {
+                    puts.add(conversion.get());
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancel();
+                throw new StoreException("Interrupted whilst converting elements", e);
+            } catch (final ExecutionException e) {
+                cancel();
+                throw new StoreException(e.getCause().getMessage(), e.getCause());
+            }
+            return puts;
+        }
+
+        private void cancel() {
+            for (final Future<List<Put>> conversion : conversions) {
+                conversion.cancel(true);
+            }
+        }
+    }
+}
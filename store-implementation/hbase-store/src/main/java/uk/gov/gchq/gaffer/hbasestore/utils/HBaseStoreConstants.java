@@ -41,6 +41,7 @@ public final class HBaseStoreConstants {
     public static final String EXTRA_PROCESSORS = "ExtraProcessors";
     public static final String DIRECTED_TYPE = "DirectedType";
     public static final String INCLUDE_MATCHED_VERTEX = "IncludeMatchedVertex";
+    public static final String QUERY_CACHE_SIZE = "QueryCacheSize";
 
     // Operations options
     public static final String OPERATION_HDFS_STAGING_PATH = "hbasestore.operation.hdfs.staging.path";
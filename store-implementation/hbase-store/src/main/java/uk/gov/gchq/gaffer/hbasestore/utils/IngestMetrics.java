@@ -0,0 +1,111 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@code IngestMetrics} accumulates statistics about the batches of elements
+ * added to an {@link uk.gov.gchq.gaffer.hbasestore.HBaseStore}. It is thread safe,
+ * so several ingest operations can record their batches into the same instance.
+ * <p>
+ * The flush latency of a batch is the time spent handing its puts to HBase and
+ * waiting for them to be flushed to the region servers.
+ */
+public class IngestMetrics {
+    private final AtomicLong batches = new AtomicLong();
+    private final AtomicLong elements = new AtomicLong();
+    private final AtomicLong collapsedElements = new AtomicLong();
+    private final AtomicLong puts = new AtomicLong();
+    private final AtomicLong flushNanos = new AtomicLong();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+    private final AtomicLong ingestNanos = new AtomicLong();
+
+    /**
+     * Records a batch that has been written to HBase.
+     *
+     * @param batchElements   the number of elements in the batch before aggregation
+     * @param collapsed       the number of elements removed by pre-aggregation
+     * @param batchPuts       the number of puts written
+     * @param batchFlushNanos the time spent writing the puts, in nanoseconds
+     */
+    public void recordBatch(final long batchElements, final long collapsed, final long batchPuts, final long batchFlushNanos) {
+        batches.incrementAndGet();
+        elements.addAndGet(batchElements);
+        collapsedElements.addAndGet(collapsed);
+        puts.addAndGet(batchPuts);
+        flushNanos.addAndGet(batchFlushNanos);
+        maxFlushNanos.accumulateAndGet(batchFlushNanos, Math::max);
+    }
+
+    /**
+     * Records the total time taken by an ingest operation.
+     *
+     * @param nanos the duration of the operation, in nanoseconds
+     */
+    public void recordIngest(final long nanos) {
+        ingestNanos.addAndGet(nanos);
+    }
+
+    public long getBatches() {
+        return batches.get();
+    }
+
+    public long getElements() {
+        return elements.get();
+    }
+
+    public long getCollapsedElements() {
+        return collapsedElements.get();
+    }
+
+    public long getPuts() {
+        return puts.get();
+    }
+
+    public long getTotalFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(flushNanos.get());
+    }
+
+    public long getMaxFlushMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxFlushNanos.get());
+    }
+
+    public double getMeanFlushMillis() {
+        final long batchCount = batches.get();
+        return 0 == batchCount ? 0 : flushNanos.get() / (batchCount * 1e6);
+    }
+
+    public long getTotalIngestMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(ingestNanos.get());
+    }
+
+    /**
+     * @return the number of puts written per second of ingest time
+     */
+    public double getPutsPerSecond() {
+        final long nanos = ingestNanos.get();
+        return 0 == nanos ? 0 : puts.get() * 1e9 / nanos;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("batches=%d, elements=%d, collapsedElements=%d, puts=%d, putsPerSecond=%.1f, meanFlushMillis=%.1f, maxFlushMillis=%d",
+                getBatches(), getElements(), getCollapsedElements(), getPuts(), getPutsPerSecond(), getMeanFlushMillis(), getMaxFlushMillis());
+    }
+}
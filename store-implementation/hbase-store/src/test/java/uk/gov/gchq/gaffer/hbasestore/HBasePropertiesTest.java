@@ -39,11 +39,17 @@ public class HBasePropertiesTest {
         properties.setDependencyJarsHdfsDirPath("pathTo/jars");
         properties.setWriteBufferSize(10);
         properties.setZookeepers("zookeeper1,zookeeper2");
+        properties.setMaxConcurrentScans("4");
+        properties.setTargetScanLatencyMillis("500");
+        properties.setResultQueueSize("100");
 
         // Then
         assertEquals(new Path("pathTo/jars"), properties.getDependencyJarsHdfsDirPath());
         assertEquals(10, properties.getWriteBufferSize());
         assertEquals("zookeeper1,zookeeper2", properties.getZookeepers());
+        assertEquals(4, properties.getMaxConcurrentScans());
+        assertEquals(500L, properties.getTargetScanLatencyMillis());
+        assertEquals(100, properties.getResultQueueSize());
     }
 
     @Test
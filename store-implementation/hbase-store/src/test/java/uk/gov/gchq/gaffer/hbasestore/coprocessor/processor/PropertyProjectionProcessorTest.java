@@ -0,0 +1,102 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.processor;
+
+import org.apache.hadoop.hbase.Cell;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.StreamUtil;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
+import uk.gov.gchq.gaffer.hbasestore.serialisation.LazyElementCell;
+import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.hbasestore.util.HBasePropertyNames;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.PropertyProjection;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PropertyProjectionProcessorTest {
+    private static final Schema SCHEMA = Schema.fromJson(StreamUtil.schemas(PropertyProjectionProcessorTest.class));
+
+    private final ElementSerialisation serialisation = new ElementSerialisation(SCHEMA);
+
+    @Test
+    public void shouldRemoveUnrequiredPropertiesFromCellValues() throws Exception {
+        // Given
+        final PropertyProjection projection = new PropertyProjection(SCHEMA, new View.Builder()
+                .edge(TestGroups.EDGE, new ViewElementDefinition.Builder()
+                        .properties(HBasePropertyNames.PROP_1)
+                        .build())
+                .build());
+        final PropertyProjectionProcessor processor = new PropertyProjectionProcessor(serialisation, projection);
+        final LazyElementCell elementCell = CellUtil.getLazyCell(createEdge(), serialisation);
+        final int originalValueLength = elementCell.getCell().getValueLength();
+
+        // When
+        final List<LazyElementCell> result = processor.process(Collections.singletonList(elementCell));
+
+        // Then
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).getCell().getValueLength() < originalValueLength);
+        final Element element = new LazyElementCell(result.get(0).getCell(), serialisation, false, projection).getElement();
+        assertEquals(1, element.getProperty(HBasePropertyNames.COLUMN_QUALIFIER));
+        assertEquals(2, element.getProperty(HBasePropertyNames.PROP_1));
+        assertNull(element.getProperty(HBasePropertyNames.PROP_2));
+        assertNull(element.getProperty(HBasePropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldNotChangeCellsWhenAllPropertiesAreRequired() throws Exception {
+        // Given
+        final PropertyProjection projection = new PropertyProjection(SCHEMA, new View.Builder()
+                .edge(TestGroups.EDGE)
+                .build());
+        final PropertyProjectionProcessor processor = new PropertyProjectionProcessor(serialisation, projection);
+        final LazyElementCell elementCell = CellUtil.getLazyCell(createEdge(), serialisation);
+        final Cell cell = elementCell.getCell();
+
+        // When
+        final List<LazyElementCell> result = processor.process(Collections.singletonList(elementCell));
+
+        // Then
+        assertSame(cell, result.get(0).getCell());
+    }
+
+    private Edge createEdge() {
+        return new Edge.Builder()
+                .group(TestGroups.EDGE)
+                .source("source")
+                .dest("dest")
+                .directed(true)
+                .property(HBasePropertyNames.COLUMN_QUALIFIER, 1)
+                .property(HBasePropertyNames.PROP_1, 2)
+                .property(HBasePropertyNames.PROP_2, 3)
+                .property(HBasePropertyNames.COUNT, 4)
+                .build();
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.coprocessor.scanner;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class QueryPipelineCacheTest {
+    @Test
+    public void shouldCreatePipelineWhenNoneAreIdle() {
+        // Given
+        final QueryPipelineCache cache = new QueryPipelineCache(10);
+        final QueryPipeline pipeline = createPipeline("key");
+
+        // When
+        final QueryPipeline result = cache.borrow("key", () -> pipeline);
+
+        // Then
+        assertSame(pipeline, result);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void shouldReuseReleasedPipeline() {
+        // Given
+        final QueryPipelineCache cache = new QueryPipelineCache(10);
+        final QueryPipeline pipeline = createPipeline("key");
+        cache.release(pipeline);
+
+        // When
+        final QueryPipeline result1 = cache.borrow("key", () -> createPipeline("key"));
+        final QueryPipeline result2 = cache.borrow("key", () -> createPipeline("key"));
+
+        // Then
+        assertSame(pipeline, result1);
+        assertNotSame(pipeline, result2);
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsedKeys() {
+        // Given
+        final QueryPipelineCache cache = new QueryPipelineCache(2);
+        final QueryPipeline pipeline1 = createPipeline("key1");
+        final QueryPipeline pipeline2 = createPipeline("key2");
+        cache.release(pipeline1);
+        cache.release(pipeline2);
+
+        // When
+        cache.release(createPipeline("key3"));
+
+        // Then
+        assertEquals(2, cache.size());
+        assertNotSame(pipeline1, cache.borrow("key1", () -> createPipeline("key1")));
+        assertSame(pipeline2, cache.borrow("key2", () -> createPipeline("key2")));
+    }
+
+    @Test
+    public void shouldNotCachePipelinesWhenDisabled() {
+        // Given
+        final QueryPipelineCache cache = new QueryPipelineCache(0);
+        final QueryPipeline pipeline = createPipeline("key");
+
+        // When
+        cache.release(pipeline);
+
+        // Then
+        assertEquals(0, cache.size());
+        assertNotSame(pipeline, cache.borrow("key", () -> createPipeline("key")));
+    }
+
+    private QueryPipeline createPipeline(final String key) {
+        return new QueryPipeline(key, Collections.emptyList(), null);
+    }
+}
@@ -49,7 +49,9 @@ import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -145,6 +147,34 @@ public class QueryScannerTest {
         assertEquals(VIEW, ((PostAggregationFilterProcessor) processors.get(i)).getView());
     }
 
+    @Test
+    public void shouldReuseCachedPipelineOnceScannerIsClosed() throws OperationException, IOException {
+        // Given
+        final Scan scan = mock(Scan.class);
+        given(scan.getAttribute(HBaseStoreConstants.VIEW)).willReturn(VIEW.toCompactJson());
+        final Scan otherScan = mock(Scan.class);
+        given(otherScan.getAttribute(HBaseStoreConstants.VIEW)).willReturn(new View.Builder()
+                .entity(TestGroups.ENTITY_2)
+                .build()
+                .toCompactJson());
+        final QueryPipelineCache cache = new QueryPipelineCache(10);
+
+        // When
+        final QueryScanner scanner1 = new QueryScanner(mock(RegionScanner.class), scan, SCHEMA, serialisation, cache);
+        final QueryScanner scanner2 = new QueryScanner(mock(RegionScanner.class), scan, SCHEMA, serialisation, cache);
+        final QueryPipeline pipeline1 = scanner1.getPipeline();
+        scanner1.close();
+        final QueryScanner scanner3 = new QueryScanner(mock(RegionScanner.class), scan, SCHEMA, serialisation, cache);
+        final QueryScanner scanner4 = new QueryScanner(mock(RegionScanner.class), otherScan, SCHEMA, serialisation, cache);
+
+        // Then
+        assertNotSame(pipeline1, scanner2.getPipeline());
+        assertSame(pipeline1, scanner3.getPipeline());
+        assertNotSame(pipeline1, scanner4.getPipeline());
+        assertNotEquals(pipeline1.getKey(), scanner4.getPipeline().getKey());
+        assertEquals(pipeline1.getKey(), scanner2.getPipeline().getKey());
+    }
+
     @Test
     public void shouldConstructProcessorsWithNoAggregation() throws OperationException, IOException {
         // Given
@@ -20,12 +20,16 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.atLeastOnce;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import com.google.common.collect.Lists;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.BufferedMutator;
+import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.HTable;
 import org.apache.hadoop.hbase.client.Put;
 import org.apache.hadoop.hbase.client.Table;
@@ -41,6 +45,7 @@ import uk.gov.gchq.gaffer.hbasestore.HBaseProperties;
 import uk.gov.gchq.gaffer.hbasestore.HBaseStore;
 import uk.gov.gchq.gaffer.hbasestore.serialisation.ElementSerialisation;
 import uk.gov.gchq.gaffer.hbasestore.util.CellUtil;
+import uk.gov.gchq.gaffer.hbasestore.utils.IngestMetrics;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.serialisation.implementation.StringSerialiser;
@@ -56,6 +61,8 @@ import uk.gov.gchq.koryphe.impl.binaryoperator.Sum;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class AddElementsHandlerTest {
     private static final Schema SCHEMA = new Schema.Builder()
@@ -142,6 +149,7 @@ public class AddElementsHandlerTest {
         final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
         final int writeBufferSize = 5;
         properties.setWriteBufferSize(writeBufferSize);
+        properties.setAsyncIngest("false");
         given(store.getProperties()).willReturn(properties);
 
         given(store.getSchema()).willReturn(SCHEMA);
@@ -172,6 +180,114 @@ public class AddElementsHandlerTest {
         assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
     }
 
+    @Test
+    public void shouldAddElementsUsingBufferedMutator() throws OperationException, StoreException, IOException {
+        // Given
+        final List<Element> elements = createElements();
+        final List<Element> elementsWithNull = new ArrayList<>(elements);
+        elementsWithNull.add(null); // null should be skipped
+
+        final AddElements addElements = new AddElements.Builder()
+                .input(elementsWithNull)
+                .build();
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final IngestMetrics metrics = new IngestMetrics();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final HBaseStore store = createAsyncStore(SCHEMA, mutator, metrics, executor);
+
+        // When
+        try {
+            new AddElementsHandler().doOperation(addElements, mock(Context.class), store);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        final ArgumentCaptor<List<Put>> putsCaptor = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+        verify(mutator, times(3)).mutate(putsCaptor.capture());
+        verify(mutator, times(2)).flush();
+        verify(mutator).close();
+        final List<Put> combinedPuts = new ArrayList<>();
+        for (final List<Put> puts : putsCaptor.getAllValues()) {
+            combinedPuts.addAll(puts);
+        }
+
+        final List<Element> expectedElements = new ArrayList<>();
+        for (final Element element : elements) {
+            expectedElements.add(element);
+            if (element instanceof Edge && !((Edge) element).getSource().equals(((Edge) element).getDestination())) {
+                expectedElements.add(element);
+            }
+        }
+        final Element[] expectedElementsArr = expectedElements.toArray(new Element[expectedElements.size()]);
+        final List<Element> elementsAdded = CellUtil.getElements(combinedPuts, new ElementSerialisation(SCHEMA), false);
+        assertEquals(expectedElements.size(), elementsAdded.size());
+        assertThat(elementsAdded, IsCollectionContaining.hasItems(expectedElementsArr));
+        assertEquals(2, metrics.getBatches());
+        assertEquals(elements.size(), metrics.getElements());
+        assertEquals(0, metrics.getCollapsedElements());
+        assertEquals(expectedElements.size(), metrics.getPuts());
+    }
+
+    @Test
+    public void shouldAggregateEachBatchBeforeAddingElementsUsingBufferedMutator() throws OperationException, StoreException, IOException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertexI")
+                .property("prop1", "a")
+                .property("visibility", "public")
+                .property("count", 1)
+                .build();
+        final AddElements addElements = new AddElements.Builder()
+                .input(entity, entity, entity)
+                .build();
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final IngestMetrics metrics = new IngestMetrics();
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final HBaseStore store = createAsyncStore(SCHEMA_WITH_AGGREGATION, mutator, metrics, executor);
+
+        // When
+        try {
+            new AddElementsHandler().doOperation(addElements, mock(Context.class), store);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then
+        final ArgumentCaptor<List<Put>> putsCaptor = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+        verify(mutator).mutate(putsCaptor.capture());
+        final List<Element> elementsAdded = CellUtil.getElements(putsCaptor.getValue(), new ElementSerialisation(SCHEMA_WITH_AGGREGATION), false);
+        final Entity expected = entity.shallowClone();
+        expected.putProperty("count", 3);
+        assertEquals(Lists.newArrayList(expected), elementsAdded);
+        assertEquals(3, metrics.getElements());
+        assertEquals(2, metrics.getCollapsedElements());
+        assertEquals(1, metrics.getPuts());
+        assertEquals(1, entity.getProperty("count"));
+    }
+
+    private HBaseStore createAsyncStore(final Schema schema, final BufferedMutator mutator,
+                                        final IngestMetrics metrics, final ExecutorService executor) throws StoreException, IOException {
+        final HBaseStore store = mock(HBaseStore.class);
+        final Connection connection = mock(Connection.class);
+        final TableName tableName = TableName.valueOf("table");
+        given(store.getConnection()).willReturn(connection);
+        given(store.getTableName()).willReturn(tableName);
+        given(connection.getBufferedMutator(tableName)).willReturn(mutator);
+        given(store.getIngestExecutor()).willReturn(executor);
+        given(store.getIngestMetrics()).willReturn(metrics);
+
+        final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setWriteBufferSize(5);
+        properties.setAsyncIngest("true");
+        properties.setIngestThreads("2");
+        given(store.getProperties()).willReturn(properties);
+
+        given(store.getSchema()).willReturn(schema);
+        return store;
+    }
+
     @Test
     public void shouldDoNothingIfNoElementsProvided() throws OperationException, StoreException, IOException {
         // Given
@@ -184,6 +300,7 @@ public class AddElementsHandlerTest {
         given(store.getTable()).willReturn(table);
 
         final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setAsyncIngest("false");
         given(store.getProperties()).willReturn(properties);
 
         given(store.getSchema()).willReturn(SCHEMA);
@@ -267,6 +384,7 @@ public class AddElementsHandlerTest {
         given(store.getTable()).willReturn(table);
 
         final HBaseProperties properties = HBaseProperties.loadStoreProperties(StreamUtil.storeProps(getClass()));
+        properties.setAsyncIngest("false");
         given(store.getProperties()).willReturn(properties);
 
         given(store.getSchema()).willReturn(SCHEMA);
@@ -274,4 +392,46 @@ public class AddElementsHandlerTest {
         // When / Then - no exceptions
         handler.doOperation(addElements,context, store);
     }
+
+    @Test
+    public void shouldThrowNoExceptionsWhenValidateFlagSetToFalseUsingBufferedMutator() throws OperationException, StoreException, IOException {
+        // Given
+        final Entity entity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertexI")
+                .property("prop1", "a")
+                .property("visibility", "public")
+                .property("count", 1)
+                .build();
+        final Entity invalidEntity = new Entity.Builder()
+                .group(TestGroups.ENTITY)
+                .vertex("vertexJ")
+                .property("prop1", "a")
+                .property("visibility", "public")
+                .property("count", "not an integer")
+                .build();
+        final AddElements addElements = new AddElements.Builder()
+                .input(invalidEntity, entity)
+                .validate(false)
+                .build();
+        final BufferedMutator mutator = mock(BufferedMutator.class);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final HBaseStore store = createAsyncStore(SCHEMA, mutator, new IngestMetrics(), executor);
+
+        // When - no exceptions
+        try {
+            new AddElementsHandler().doOperation(addElements, mock(Context.class), store);
+        } finally {
+            executor.shutdown();
+        }
+
+        // Then - the invalid element is skipped, as it is when adding elements synchronously
+        final ArgumentCaptor<List<Put>> putsCaptor = (ArgumentCaptor) ArgumentCaptor.forClass(List.class);
+        verify(mutator, atLeastOnce()).mutate(putsCaptor.capture());
+        final List<Put> combinedPuts = new ArrayList<>();
+        for (final List<Put> puts : putsCaptor.getAllValues()) {
+            combinedPuts.addAll(puts);
+        }
+        assertEquals(Lists.newArrayList(entity), CellUtil.getElements(combinedPuts, new ElementSerialisation(SCHEMA), false));
+    }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.hbasestore.retriever;
+
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.apache.hadoop.hbase.filter.MultiRowRangeFilter.RowRange;
+import static org.junit.Assert.assertEquals;
+
+public class ParallelResultScannerTest {
+    private static final byte[][] START_KEYS = {new byte[0], Bytes.toBytes("d"), Bytes.toBytes("m")};
+    private static final byte[][] END_KEYS = {Bytes.toBytes("d"), Bytes.toBytes("m"), new byte[0]};
+
+    @Test
+    public void shouldGroupRowRangesByRegion() {
+        // Given
+        final RowRange rangeA = new RowRange("a", true, "b", false);
+        final RowRange rangeE = new RowRange("e", true, "f", false);
+        final RowRange rangeX = new RowRange("x", true, "y", false);
+        final RowRange rangeD = new RowRange("d", true, "da", false);
+
+        // When
+        final Map<Integer, List<RowRange>> groups = ParallelResultScanner.groupByRegion(
+                Arrays.asList(rangeA, rangeD, rangeE, rangeX), START_KEYS, END_KEYS);
+
+        // Then
+        assertEquals(3, groups.size());
+        assertEquals(Collections.singletonList(rangeA), groups.get(0));
+        assertEquals(Arrays.asList(rangeD, rangeE), groups.get(1));
+        assertEquals(Collections.singletonList(rangeX), groups.get(2));
+    }
+
+    @Test
+    public void shouldAddRowRangeToEveryRegionItSpans() {
+        // Given
+        final RowRange range = new RowRange("c", true, "n", false);
+
+        // When
+        final Map<Integer, List<RowRange>> groups = ParallelResultScanner.groupByRegion(
+                Collections.singletonList(range), START_KEYS, END_KEYS);
+
+        // Then
+        assertEquals(3, groups.size());
+        for (int region = 0; region < 3; region++) {
+            assertEquals(Collections.singletonList(range), groups.get(region));
+        }
+    }
+
+    @Test
+    public void shouldNotAddRowRangeToNextRegionWhenItStopsExclusivelyAtTheRegionBoundary() {
+        // Given
+        final RowRange range = new RowRange("a", true, "d", false);
+
+        // When
+        final Map<Integer, List<RowRange>> groups = ParallelResultScanner.groupByRegion(
+                Collections.singletonList(range), START_KEYS, END_KEYS);
+
+        // Then
+        assertEquals(1, groups.size());
+        assertEquals(Collections.singletonList(range), groups.get(0));
+    }
+
+    @Test
+    public void shouldGroupAllRowRangesIntoASingleRegionTable() {
+        // Given
+        final RowRange rangeA = new RowRange("a", true, "b", false);
+        final RowRange rangeX = new RowRange("x", true, "y", true);
+
+        // When
+        final Map<Integer, List<RowRange>> groups = ParallelResultScanner.groupByRegion(
+                Arrays.asList(rangeA, rangeX), new byte[][]{new byte[0]}, new byte[][]{new byte[0]});
+
+        // Then
+        assertEquals(1, groups.size());
+        assertEquals(Arrays.asList(rangeA, rangeX), groups.get(0));
+    }
+}
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.hbasestore.serialisation;
 
+import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -49,6 +50,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 /**
@@ -223,6 +225,66 @@ public class ElementSerialisationTest {
         assertEquals(8, deSerialisedProperties.get(HBasePropertyNames.COUNT));
     }
 
+    @Test
+    public void shouldOnlyDeserialiseRequiredPropertiesFromValue() throws Exception {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(HBasePropertyNames.PROP_1, 60);
+        properties.put(HBasePropertyNames.PROP_2, 166);
+        properties.put(HBasePropertyNames.PROP_3, 299);
+        properties.put(HBasePropertyNames.PROP_4, 10);
+        properties.put(HBasePropertyNames.COUNT, 8);
+        final byte[] value = serialisation.getValue(TestGroups.EDGE, properties);
+
+        // When
+        final Properties deSerialisedProperties = serialisation.getPropertiesFromValue(TestGroups.EDGE, value,
+                Sets.newHashSet(HBasePropertyNames.PROP_2, HBasePropertyNames.COUNT));
+
+        // Then
+        assertEquals(2, deSerialisedProperties.size());
+        assertEquals(166, deSerialisedProperties.get(HBasePropertyNames.PROP_2));
+        assertEquals(8, deSerialisedProperties.get(HBasePropertyNames.COUNT));
+    }
+
+    @Test
+    public void shouldRemoveUnrequiredPropertiesFromValue() throws Exception {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(HBasePropertyNames.PROP_1, 60);
+        properties.put(HBasePropertyNames.PROP_2, 166);
+        properties.put(HBasePropertyNames.PROP_3, 299);
+        properties.put(HBasePropertyNames.PROP_4, 10);
+        properties.put(HBasePropertyNames.COUNT, 8);
+        final byte[] value = serialisation.getValue(TestGroups.EDGE, properties);
+
+        // When
+        final byte[] projectedValue = serialisation.getProjectedValue(TestGroups.EDGE, value,
+                Sets.newHashSet(HBasePropertyNames.PROP_2, HBasePropertyNames.PROP_3));
+        final Properties deSerialisedProperties = serialisation.getPropertiesFromValue(TestGroups.EDGE, projectedValue,
+                Sets.newHashSet(HBasePropertyNames.PROP_2, HBasePropertyNames.PROP_3));
+
+        // Then
+        assertTrue(projectedValue.length < value.length);
+        assertEquals(2, deSerialisedProperties.size());
+        assertEquals(166, deSerialisedProperties.get(HBasePropertyNames.PROP_2));
+        assertEquals(299, deSerialisedProperties.get(HBasePropertyNames.PROP_3));
+    }
+
+    @Test
+    public void shouldNotChangeValueWhenAllPropertiesAreRequired() throws Exception {
+        // Given
+        final Properties properties = new Properties();
+        properties.put(HBasePropertyNames.PROP_1, 60);
+        properties.put(HBasePropertyNames.COUNT, 8);
+        final byte[] value = serialisation.getValue(TestGroups.EDGE, properties);
+
+        // When
+        final byte[] projectedValue = serialisation.getProjectedValue(TestGroups.EDGE, value, null);
+
+        // Then
+        assertArrayEquals(value, projectedValue);
+    }
+
     @Test
     public void shouldSerialiseAndDeSerialiseBetweenPropertyAndValueMissingMiddleProperty() throws Exception {
         Properties properties = new Properties();
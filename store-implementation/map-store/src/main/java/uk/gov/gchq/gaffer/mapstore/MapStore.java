@@ -22,12 +22,14 @@ import org.slf4j.LoggerFactory;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
 import uk.gov.gchq.gaffer.mapstore.impl.AddElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.CountAllElementsDefaultViewHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.GetElementsHandler;
 import uk.gov.gchq.gaffer.mapstore.impl.MapImpl;
+import uk.gov.gchq.gaffer.mapstore.impl.MapSnapshot;
 import uk.gov.gchq.gaffer.mapstore.operation.CountAllElementsDefaultView;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
@@ -44,9 +46,16 @@ import uk.gov.gchq.gaffer.store.operation.handler.OutputOperationHandler;
 import uk.gov.gchq.gaffer.store.operation.handler.job.GetAllJobDetailsHandler;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
+import java.io.IOException;
+import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * An implementation of {@link Store} that uses any class that implements Java's {@link java.util.Map} interface to
@@ -60,6 +69,14 @@ import java.util.Set;
  * Indices can optionally be maintained to allow quick look-up of {@link Element}s based on {@link EntityId}s
  * or {@link uk.gov.gchq.gaffer.data.element.id.EdgeId}s.
  * </p>
+ * <p>
+ * If a snapshot directory is configured, the maps can be written to disk with {@link #snapshot()}, or
+ * periodically, and are restored from the latest snapshot when the store is initialised.
+ * </p>
+ * <p>
+ * If lookup threads are configured, the seeds of {@link GetElements} and {@link GetAdjacentIds} operations are
+ * looked up in parallel batches.
+ * </p>
  */
 public class MapStore extends Store {
     public static final Set<StoreTrait> TRAITS = new HashSet<>(Arrays.asList(
@@ -70,8 +87,13 @@ public class MapStore extends Store {
             StoreTrait.POST_TRANSFORMATION_FILTERING,
             StoreTrait.MATCHED_VERTEX));
     private static final Logger LOGGER = LoggerFactory.getLogger(MapStore.class);
+    private static final long SNAPSHOT_SHUTDOWN_TIMEOUT_SECONDS = 60L;
     private static MapImpl staticMapImpl;
     private MapImpl mapImpl;
+    private MapSnapshot mapSnapshot;
+    private ScheduledExecutorService snapshotScheduler;
+    private Thread snapshotShutdownHook;
+    private ExecutorService lookupExecutor;
 
     public static void resetStaticMap() {
         staticMapImpl = null;
@@ -84,12 +106,40 @@ public class MapStore extends Store {
 
         // Initialise maps
         mapImpl = createMapImpl();
+
+        initialiseSnapshots();
+        initialiseLookupExecutor();
     }
 
     public MapImpl getMapImpl() {
         return mapImpl;
     }
 
+    /**
+     * @return the executor used to look up seeds in parallel, or null if
+     * lookup threads have not been configured.
+     */
+    public ExecutorService getLookupExecutor() {
+        return lookupExecutor;
+    }
+
+    /**
+     * Writes a snapshot of the maps to the configured snapshot directory.
+     *
+     * @throws StoreException if no snapshot directory is configured or the snapshot could not be written
+     */
+    public void snapshot() throws StoreException {
+        if (null == mapSnapshot) {
+            throw new StoreException("A snapshot directory has not been configured, set " + MapStoreProperties.SNAPSHOT_DIRECTORY);
+        }
+
+        try {
+            mapSnapshot.write(mapImpl);
+        } catch (final IOException | RuntimeException e) {
+            throw new StoreException("Unable to write snapshot: " + e.getMessage(), e);
+        }
+    }
+
     @Override
     public Set<StoreTrait> getTraits() {
         return TRAITS;
@@ -119,6 +169,90 @@ public class MapStore extends Store {
         return new MapImpl(getSchema(), getProperties());
     }
 
+    private void initialiseSnapshots() throws StoreException {
+        shutdownSnapshotScheduler();
+
+        final String snapshotDirectory = getProperties().getSnapshotDirectory();
+        if (null == snapshotDirectory) {
+            mapSnapshot = null;
+            return;
+        }
+
+        mapSnapshot = new MapSnapshot(getSchema(), Paths.get(snapshotDirectory));
+        if (mapImpl.isEmpty() && mapSnapshot.exists()) {
+            try {
+                mapSnapshot.read(mapImpl);
+            } catch (final IOException | RuntimeException e) {
+                throw new StoreException("Unable to restore snapshot from " + snapshotDirectory + ": " + e.getMessage(), e);
+            }
+        }
+
+        final long interval = getProperties().getSnapshotIntervalSeconds();
+        if (interval > 0) {
+            // A snapshot iterates over the maps, so elements can only be added whilst it runs if the maps are concurrent
+            if (!mapImpl.isConcurrent()) {
+                throw new StoreException("Periodic snapshots (" + MapStoreProperties.SNAPSHOT_INTERVAL_SECONDS
+                        + ") require a concurrent map factory, such as " + ConcurrentMapFactory.class.getName());
+            }
+            snapshotScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                final Thread thread = new Thread(r, "MapStore-snapshot-" + getGraphId());
+                thread.setDaemon(true);
+                return thread;
+            });
+            snapshotScheduler.scheduleWithFixedDelay(() -> {
+                try {
+                    snapshot();
+                } catch (final Exception e) {
+                    LOGGER.warn("Scheduled snapshot failed, it will be retried in {} seconds", interval, e);
+                }
+            }, interval, interval, TimeUnit.SECONDS);
+            snapshotShutdownHook = new Thread(this::shutdownSnapshotScheduler, "MapStore-snapshot-shutdown-" + getGraphId());
+            Runtime.getRuntime().addShutdownHook(snapshotShutdownHook);
+        }
+    }
+
+    // Stops the periodic snapshots, waiting for a snapshot that is being written to finish so that it is not left
+    // incomplete
+    private synchronized void shutdownSnapshotScheduler() {
+        if (null == snapshotScheduler) {
+            return;
+        }
+        snapshotScheduler.shutdown();
+        try {
+            if (!snapshotScheduler.awaitTermination(SNAPSHOT_SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                LOGGER.warn("Timed out waiting for the snapshot of graph {} to finish", getGraphId());
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        snapshotScheduler = null;
+        if (null != snapshotShutdownHook && Thread.currentThread() != snapshotShutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(snapshotShutdownHook);
+            } catch (final IllegalStateException e) {
+                // The JVM is already shutting down, so the hook will run anyway
+            }
+        }
+        snapshotShutdownHook = null;
+    }
+
+    private void initialiseLookupExecutor() {
+        if (null != lookupExecutor) {
+            lookupExecutor.shutdown();
+            lookupExecutor = null;
+        }
+
+        final int threads = getProperties().getLookupThreads();
+        if (threads > 0) {
+            final AtomicInteger threadCount = new AtomicInteger();
+            lookupExecutor = Executors.newFixedThreadPool(threads, r -> {
+                final Thread thread = new Thread(r, "MapStore-lookup-" + getGraphId() + "-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
     @Override
     protected void addAdditionalOperationHandlers() {
         addOperationHandler(CountAllElementsDefaultView.class, new CountAllElementsDefaultViewHandler());
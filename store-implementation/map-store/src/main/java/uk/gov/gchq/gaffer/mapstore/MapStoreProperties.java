@@ -17,6 +17,8 @@ package uk.gov.gchq.gaffer.mapstore;
 
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
+import uk.gov.gchq.gaffer.mapstore.index.ElementIndex;
+import uk.gov.gchq.gaffer.mapstore.index.MultiMapElementIndex;
 import uk.gov.gchq.gaffer.store.StoreProperties;
 
 import java.io.InputStream;
@@ -29,6 +31,15 @@ public class MapStoreProperties extends StoreProperties {
     public static final String CREATE_INDEX = "gaffer.store.mapstore.createIndex";
     public static final String CREATE_INDEX_DEFAULT = "true";
 
+    /**
+     * Property name for the {@link ElementIndex} implementation used when
+     * {@link #CREATE_INDEX} is true. Use
+     * {@link uk.gov.gchq.gaffer.mapstore.index.CompactElementIndex} to reduce
+     * the memory used by the index on large graphs.
+     */
+    public static final String INDEX_CLASS = "gaffer.store.mapstore.index.class";
+    public static final Class<? extends ElementIndex> INDEX_CLASS_DEFAULT = MultiMapElementIndex.class;
+
     public static final String MAP_FACTORY = "gaffer.store.mapstore.map.factory";
     public static final Class<? extends MapFactory> MAP_FACTORY_DEFAULT = SimpleMapFactory.class;
 
@@ -47,6 +58,44 @@ public class MapStoreProperties extends StoreProperties {
     public static final String INGEST_BUFFER_SIZE = "gaffer.store.mapstore.map.ingest.buffer.size";
     public static final int INGEST_BUFFER_SIZE_DEFAULT = 0;
 
+    /**
+     * Property name for the number of lock stripes used to guard aggregation
+     * when the configured {@link MapFactory} creates concurrent maps.
+     */
+    public static final String CONCURRENT_LOCK_STRIPES = "gaffer.store.mapstore.map.concurrent.lock.stripes";
+    public static final int CONCURRENT_LOCK_STRIPES_DEFAULT = 64;
+
+    /**
+     * Property name for the directory that snapshots of the maps are written
+     * to. If set, the maps are restored from the latest snapshot in this
+     * directory when the store is initialised.
+     */
+    public static final String SNAPSHOT_DIRECTORY = "gaffer.store.mapstore.snapshot.directory";
+
+    /**
+     * Property name for the interval, in seconds, between snapshots of the
+     * maps. If the value is less than 1 then snapshots are only written when
+     * {@link MapStore#snapshot()} is called. Periodic snapshots require a
+     * concurrent {@link uk.gov.gchq.gaffer.mapstore.factory.MapFactory}.
+     */
+    public static final String SNAPSHOT_INTERVAL_SECONDS = "gaffer.store.mapstore.snapshot.interval.seconds";
+    public static final long SNAPSHOT_INTERVAL_SECONDS_DEFAULT = 0;
+
+    /**
+     * Property name for the number of threads used to look up seeds for
+     * {@link uk.gov.gchq.gaffer.operation.impl.get.GetElements} and
+     * {@link uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds}. If the
+     * value is less than 1 then seeds are looked up on the calling thread.
+     */
+    public static final String LOOKUP_THREADS = "gaffer.store.mapstore.lookup.threads";
+    public static final int LOOKUP_THREADS_DEFAULT = 0;
+
+    /**
+     * Property name for the number of seeds looked up in each parallel batch.
+     */
+    public static final String LOOKUP_BATCH_SIZE = "gaffer.store.mapstore.lookup.batch.size";
+    public static final int LOOKUP_BATCH_SIZE_DEFAULT = 1000;
+
     public MapStoreProperties() {
         super(MapStore.class);
     }
@@ -80,6 +129,18 @@ public class MapStoreProperties extends StoreProperties {
         return Boolean.parseBoolean(get(CREATE_INDEX, CREATE_INDEX_DEFAULT));
     }
 
+    public String getIndexClass() {
+        return get(INDEX_CLASS, INDEX_CLASS_DEFAULT.getName());
+    }
+
+    public void setIndexClass(final String indexClass) {
+        set(INDEX_CLASS, indexClass);
+    }
+
+    public void setIndexClass(final Class<? extends ElementIndex> indexClass) {
+        setIndexClass(indexClass.getName());
+    }
+
     public String getMapFactory() {
         return get(MAP_FACTORY, MAP_FACTORY_DEFAULT.getName());
     }
@@ -120,4 +181,64 @@ public class MapStoreProperties extends StoreProperties {
     public void setStaticMap(final boolean staticMap) {
         set(STATIC_MAP, Boolean.toString(staticMap));
     }
+
+    public int getConcurrentLockStripes() {
+        final String stripes = get(CONCURRENT_LOCK_STRIPES, null);
+        if (null == stripes) {
+            return CONCURRENT_LOCK_STRIPES_DEFAULT;
+        }
+
+        return Integer.parseInt(stripes);
+    }
+
+    public void setConcurrentLockStripes(final int concurrentLockStripes) {
+        set(CONCURRENT_LOCK_STRIPES, String.valueOf(concurrentLockStripes));
+    }
+
+    public String getSnapshotDirectory() {
+        return get(SNAPSHOT_DIRECTORY);
+    }
+
+    public void setSnapshotDirectory(final String snapshotDirectory) {
+        set(SNAPSHOT_DIRECTORY, snapshotDirectory);
+    }
+
+    public long getSnapshotIntervalSeconds() {
+        final String interval = get(SNAPSHOT_INTERVAL_SECONDS, null);
+        if (null == interval) {
+            return SNAPSHOT_INTERVAL_SECONDS_DEFAULT;
+        }
+
+        return Long.parseLong(interval);
+    }
+
+    public void setSnapshotIntervalSeconds(final long snapshotIntervalSeconds) {
+        set(SNAPSHOT_INTERVAL_SECONDS, String.valueOf(snapshotIntervalSeconds));
+    }
+
+    public int getLookupThreads() {
+        final String threads = get(LOOKUP_THREADS, null);
+        if (null == threads) {
+            return LOOKUP_THREADS_DEFAULT;
+        }
+
+        return Integer.parseInt(threads);
+    }
+
+    public void setLookupThreads(final int lookupThreads) {
+        set(LOOKUP_THREADS, String.valueOf(lookupThreads));
+    }
+
+    public int getLookupBatchSize() {
+        final String batchSize = get(LOOKUP_BATCH_SIZE, null);
+        if (null == batchSize) {
+            return LOOKUP_BATCH_SIZE_DEFAULT;
+        }
+
+        return Integer.parseInt(batchSize);
+    }
+
+    public void setLookupBatchSize(final int lookupBatchSize) {
+        set(LOOKUP_BATCH_SIZE, String.valueOf(lookupBatchSize));
+    }
 }
@@ -77,6 +77,18 @@ public interface MapFactory {
         // no action required.
     }
 
+    /**
+     * Whether the maps created by this factory are safe to be updated and
+     * queried from multiple threads at once. If true, the
+     * {@link uk.gov.gchq.gaffer.mapstore.impl.MapImpl} will use striped locks
+     * to ensure aggregation of each element key is atomic.
+     *
+     * @return true if the maps created by this factory are thread safe
+     */
+    default boolean isConcurrent() {
+        return false;
+    }
+
     /**
      * Clear any currently configured Maps.
      */
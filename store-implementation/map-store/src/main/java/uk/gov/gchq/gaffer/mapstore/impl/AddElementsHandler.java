@@ -18,16 +18,10 @@ package uk.gov.gchq.gaffer.mapstore.impl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
-import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
-import uk.gov.gchq.gaffer.data.element.id.EdgeId;
-import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
-import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.Store;
@@ -91,27 +85,20 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
     private void addBatch(final MapImpl mapImpl, final Schema schema, final Iterable<? extends Element> elements) {
         for (final Element element : elements) {
             if (null != element) {
-                final Element elementForIndexing = addElement(element, schema, mapImpl);
-
-                // Update entityIdToElements and edgeIdToElements if index required
-                if (mapImpl.isMaintainIndex()) {
-                    updateElementIndex(elementForIndexing, mapImpl);
-                }
+                addElement(element, schema, mapImpl);
             }
         }
     }
 
-    private Element addElement(final Element element, final Schema schema, final MapImpl mapImpl) {
-        final Element elementForIndexing;
+    private void addElement(final Element element, final Schema schema, final MapImpl mapImpl) {
         if (!mapImpl.isAggregationEnabled(element)) {
-            elementForIndexing = addNonAggElement(element, schema, mapImpl);
+            addNonAggElement(element, schema, mapImpl);
         } else {
-            elementForIndexing = addAggElement(element, mapImpl);
+            addAggElement(element, mapImpl);
         }
-        return elementForIndexing;
     }
 
-    private Element addAggElement(final Element element, final MapImpl mapImpl) {
+    private void addAggElement(final Element element, final MapImpl mapImpl) {
         final String group = element.getGroup();
         final Element elementWithGroupByProperties = element.emptyClone();
         final GroupedProperties properties = new GroupedProperties(element.getGroup());
@@ -126,11 +113,13 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             }
         }
 
-        mapImpl.addAggElement(elementWithGroupByProperties, properties);
-        return elementWithGroupByProperties;
+        // Only new element keys need adding to the index
+        if (mapImpl.addAggElement(elementWithGroupByProperties, properties) && mapImpl.isMaintainIndex()) {
+            mapImpl.addIndex(elementWithGroupByProperties);
+        }
     }
 
-    private Element addNonAggElement(final Element element, final Schema schema, final MapImpl mapImpl) {
+    private void addNonAggElement(final Element element, final Schema schema, final MapImpl mapImpl) {
         final Element elementClone = element.emptyClone();
 
         // Copy properties that exist in the schema
@@ -139,27 +128,8 @@ public class AddElementsHandler implements OperationHandler<AddElements> {
             elementClone.putProperty(property, element.getProperty(property));
         }
 
-        mapImpl.addNonAggElement(elementClone);
-        return elementClone;
-    }
-
-    private void updateElementIndex(final Element element, final MapImpl mapImpl) {
-        if (element instanceof Entity) {
-            final Entity entity = (Entity) element;
-            final EntityId entityId = new EntitySeed(entity.getVertex());
-            mapImpl.addIndex(entityId, element);
-        } else {
-            final Edge edge = (Edge) element;
-            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
-            final EntityId sourceEntityId = new EntitySeed(edge.getSource());
-            mapImpl.addIndex(sourceEntityId, edge);
-
-            final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
-            final EntityId destinationEntityId = new EntitySeed(edge.getDestination());
-            mapImpl.addIndex(destinationEntityId, destMatchedEdge);
-
-            final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
-            mapImpl.addIndex(edgeId, edge);
+        if (mapImpl.addNonAggElement(elementClone) && mapImpl.isMaintainIndex()) {
+            mapImpl.addIndex(elementClone);
         }
     }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
+import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Looks up the {@link Element}s in the index of a {@link MapImpl} that are
+ * relevant to an {@link ElementId}.
+ * <p>
+ * The filters for the groups, directed type, incoming/outgoing type and seed
+ * matching options are built once when this is created, so a single instance
+ * should be reused for all the seeds of an operation. Instances are immutable
+ * and can be shared between threads.
+ * </p>
+ */
+public class ElementIdLookup {
+    private final MapImpl mapImpl;
+    private final Predicate<Element> entityIdFilter;
+    private final Predicate<Element> edgeIdFilter;
+
+    public ElementIdLookup(final MapImpl mapImpl,
+                           final Set<String> groups,
+                           final DirectedType directedType,
+                           final IncludeIncomingOutgoingType inOutType,
+                           final SeedMatchingType seedMatchingType) {
+        this.mapImpl = mapImpl;
+
+        Predicate<Element> isFiltered = e -> !groups.contains(e.getGroup());
+
+        // Apply directedType flag
+        if (directedType == DirectedType.DIRECTED) {
+            isFiltered = isFiltered.or(e -> e instanceof Edge && !((Edge) e).isDirected());
+        } else if (directedType == DirectedType.UNDIRECTED) {
+            isFiltered = isFiltered.or(e -> e instanceof Edge && ((Edge) e).isDirected());
+        }
+
+        Predicate<Element> isEntityIdFiltered = isFiltered;
+        // Apply inOutType options - if option is EITHER then nothing to do
+        if (inOutType == IncludeIncomingOutgoingType.INCOMING) {
+            isEntityIdFiltered = isEntityIdFiltered.or(e -> e instanceof Edge
+                    && ((Edge) e).isDirected()
+                    && (EdgeId.MatchedVertex.SOURCE == ((Edge) e).getMatchedVertex()));
+        } else if (inOutType == IncludeIncomingOutgoingType.OUTGOING) {
+            isEntityIdFiltered = isEntityIdFiltered.or(e -> e instanceof Edge
+                    && ((Edge) e).isDirected()
+                    && (EdgeId.MatchedVertex.DESTINATION == ((Edge) e).getMatchedVertex()));
+        }
+
+        Predicate<Element> isEdgeIdFiltered = isFiltered;
+        // Apply seedMatching option - if option is RELATED then nothing to do
+        if (seedMatchingType == SeedMatchingType.EQUAL) {
+            isEntityIdFiltered = isEntityIdFiltered.or(e -> e instanceof Edge);
+            isEdgeIdFiltered = isEdgeIdFiltered.or(e -> e instanceof Entity);
+        }
+
+        this.entityIdFilter = isEntityIdFiltered.negate();
+        this.edgeIdFilter = isEdgeIdFiltered.negate();
+    }
+
+    /**
+     * Looks up the elements relevant to the provided {@link ElementId}.
+     *
+     * @param elementId the seed to look up
+     * @return the relevant elements, without their non group-by properties
+     */
+    public Collection<Element> lookup(final ElementId elementId) {
+        if (elementId instanceof EntityId) {
+            return lookupEntityId((EntityId) elementId);
+        }
+
+        return lookupEdgeId((EdgeId) elementId);
+    }
+
+    private Collection<Element> lookupEntityId(final EntityId entityId) {
+        final Collection<Element> elements = mapImpl.lookupVertex(entityId.getVertex());
+        if (elements.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        final List<Element> relevantElements = new ArrayList<>(elements.size());
+        for (final Element element : elements) {
+            if (entityIdFilter.test(element)) {
+                relevantElements.add(element);
+            }
+        }
+        return relevantElements;
+    }
+
+    private Collection<Element> lookupEdgeId(final EdgeId edgeId) {
+        final Set<Element> relevantElements = new HashSet<>();
+        if (DirectedType.isEither(edgeId.getDirectedType())) {
+            relevantElements.addAll(mapImpl.lookupEdge(edgeId.getSource(), edgeId.getDestination(), false));
+            relevantElements.addAll(mapImpl.lookupEdge(edgeId.getSource(), edgeId.getDestination(), true));
+        } else {
+            relevantElements.addAll(mapImpl.lookupEdge(edgeId.getSource(), edgeId.getDestination(), edgeId.isDirected()));
+        }
+
+        for (final Element element : mapImpl.lookupVertex(edgeId.getSource())) {
+            if (element instanceof Entity) {
+                relevantElements.add(element);
+            }
+        }
+        for (final Element element : mapImpl.lookupVertex(edgeId.getDestination())) {
+            if (element instanceof Entity) {
+                relevantElements.add(element);
+            }
+        }
+
+        relevantElements.removeIf(edgeIdFilter.negate());
+        return relevantElements;
+    }
+}
@@ -22,11 +22,10 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
-import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching;
@@ -59,36 +58,42 @@ public class GetAdjacentIdsHandler implements
         if (null == operation.getInput() || !operation.getInput().iterator().hasNext()) {
             return new EmptyClosableIterable<>();
         }
-        return new EntityIdIterable(mapStore.getMapImpl(), operation, mapStore.getSchema());
+        return new EntityIdIterable(mapStore, operation);
     }
 
     private static class EntityIdIterable extends WrappedCloseableIterable<EntityId> {
         private final MapImpl mapImpl;
         private final GetAdjacentIds getAdjacentIds;
         private final Schema schema;
+        private final SeedLookup<EntityId, EntityId> seedLookup;
 
-        EntityIdIterable(final MapImpl mapImpl, final GetAdjacentIds getAdjacentIds, final Schema schema) {
-            this.mapImpl = mapImpl;
+        EntityIdIterable(final MapStore mapStore, final GetAdjacentIds getAdjacentIds) {
+            this.mapImpl = mapStore.getMapImpl();
             this.getAdjacentIds = getAdjacentIds;
-            this.schema = schema;
+            this.schema = mapStore.getSchema();
+            this.seedLookup = new SeedLookup<>(mapStore, getAdjacentIds, getAdjacentIds.getView(), this::getAdjacentIds);
         }
 
         @Override
         public CloseableIterator<EntityId> iterator() {
+            return seedLookup.iterator(getAdjacentIds.getInput());
+        }
+
+        private Stream<EntityId> getAdjacentIds(final Stream<EntityId> seeds, final View view) {
             // For each EntityId, get relevant edges with group-by properties
             // Create full Element
             // Apply view
             // Extract adjacent vertices
-            Stream<Element> elementStream = Streams.toStream(getAdjacentIds.getInput())
-                    .flatMap(entityId ->
-                            GetElementsUtil.getRelevantElements(mapImpl, entityId, getAdjacentIds.getView(), getAdjacentIds.getDirectedType(), getAdjacentIds.getIncludeIncomingOutGoing(), SeedMatching.SeedMatchingType.RELATED)
-                                    .stream()
-                                    .map(mapImpl::getAggElement));
+            final ElementIdLookup lookup = new ElementIdLookup(mapImpl, view.getGroups(), getAdjacentIds.getDirectedType(), getAdjacentIds.getIncludeIncomingOutGoing(), SeedMatching.SeedMatchingType.RELATED);
+            Stream<Element> elementStream = seeds
+                    .flatMap(entityId -> lookup.lookup(entityId)
+                            .stream()
+                            .map(mapImpl::getAggElement));
 
             // Apply the view
-            elementStream = GetElementsUtil.applyView(elementStream, schema, getAdjacentIds.getView());
+            elementStream = GetElementsUtil.applyView(elementStream, schema, view);
 
-            final Stream<EntityId> adjacentIdsStream = elementStream
+            return elementStream
                     .filter(Objects::nonNull)
                     .map(element -> {
                         final Object nextVertex;
@@ -100,8 +105,6 @@ public class GetAdjacentIdsHandler implements
 
                         return new EntitySeed(nextVertex);
                     });
-
-            return new WrappedCloseableIterator<>(adjacentIdsStream.iterator());
         }
     }
 }
@@ -19,10 +19,10 @@ import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.iterable.EmptyClosableIterable;
 import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterable;
-import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.operation.OperationException;
@@ -57,32 +57,38 @@ public class GetElementsHandler
         if (null == seeds) {
             return new EmptyClosableIterable<>();
         }
-        return new ElementsIterable(mapImpl, operation, mapStore.getSchema());
+        return new ElementsIterable(mapStore, operation);
     }
 
     private static class ElementsIterable extends WrappedCloseableIterable<Element> {
         private final MapImpl mapImpl;
         private final GetElements getElements;
         private final Schema schema;
+        private final SeedLookup<ElementId, Element> seedLookup;
 
-        ElementsIterable(final MapImpl mapImpl, final GetElements getElements, final Schema schema) {
-            this.mapImpl = mapImpl;
+        ElementsIterable(final MapStore mapStore, final GetElements getElements) {
+            this.mapImpl = mapStore.getMapImpl();
             this.getElements = getElements;
-            this.schema = schema;
+            this.schema = mapStore.getSchema();
+            this.seedLookup = new SeedLookup<>(mapStore, getElements, getElements.getView(), this::getElements);
         }
 
         @Override
         public CloseableIterator<Element> iterator() {
-            Stream<Element> elements = Streams.toStream(getElements.getInput())
-                    .flatMap(elementId -> GetElementsUtil.getRelevantElements(mapImpl, elementId, getElements.getView(), getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching()).stream());
+            return seedLookup.iterator(getElements.getInput());
+        }
+
+        private Stream<Element> getElements(final Stream<ElementId> seeds, final View view) {
+            final ElementIdLookup lookup = new ElementIdLookup(mapImpl, view.getGroups(), getElements.getDirectedType(), getElements.getIncludeIncomingOutGoing(), getElements.getSeedMatching());
+            Stream<Element> elements = seeds.flatMap(elementId -> lookup.lookup(elementId).stream());
             elements = elements.flatMap(e -> Streams.toStream(mapImpl.getElements(e)));
-            elements = GetElementsUtil.applyView(elements, schema, getElements.getView());
+            elements = GetElementsUtil.applyView(elements, schema, view);
             elements = elements.map(element -> mapImpl.cloneElement(element, schema));
             elements = elements.map(element -> {
-                ViewUtil.removeProperties(getElements.getView(), element);
+                ViewUtil.removeProperties(view, element);
                 return element;
             });
-            return new WrappedCloseableIterator<>(elements.iterator());
+            return elements;
         }
     }
 }
@@ -21,22 +21,15 @@ import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
-import uk.gov.gchq.gaffer.data.element.id.EdgeId;
 import uk.gov.gchq.gaffer.data.element.id.ElementId;
-import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
-import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
-import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters.IncludeIncomingOutgoingType;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 
-import java.util.Collection;
-import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
-import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 /**
@@ -49,75 +42,26 @@ public final class GetElementsUtil {
         // Private constructor to prevent instantiation.
     }
 
+    /**
+     * Looks up the elements relevant to a single seed. When looking up many
+     * seeds, an {@link ElementIdLookup} should be created once and reused.
+     *
+     * @param mapImpl          the map to look the seed up in
+     * @param elementId        the seed
+     * @param view             the view, used to select the groups
+     * @param directedType     the directed type option
+     * @param inOutType        the incoming/outgoing type option
+     * @param seedMatchingType the seed matching option
+     * @return the relevant elements
+     */
     public static Set<Element> getRelevantElements(final MapImpl mapImpl,
                                                    final ElementId elementId,
                                                    final View view,
                                                    final DirectedType directedType,
                                                    final IncludeIncomingOutgoingType inOutType,
                                                    final SeedMatchingType seedMatchingType) {
-        final Set<Element> relevantElements;
-
-        final Set<String> groups = view.getGroups();
-        Predicate<Element> isFiltered = e -> !groups.contains(e.getGroup());
-
-        if (elementId instanceof EntityId) {
-            final Collection<Element> elements = mapImpl.lookup(new EntitySeed(((EntityId) elementId).getVertex()));
-            if (elements.isEmpty()) {
-                return Collections.emptySet();
-            }
-
-            relevantElements = new HashSet<>(elements);
-
-            // Apply inOutType options - if option is EITHER then nothing to do
-            if (inOutType == IncludeIncomingOutgoingType.INCOMING) {
-                isFiltered = isFiltered.or(e -> e instanceof Edge
-                        && ((Edge) e).isDirected()
-                        && (EdgeId.MatchedVertex.SOURCE == ((Edge) e).getMatchedVertex()));
-            } else if (inOutType == IncludeIncomingOutgoingType.OUTGOING) {
-                isFiltered = isFiltered.or(e -> e instanceof Edge
-                        && ((Edge) e).isDirected()
-                        && (EdgeId.MatchedVertex.DESTINATION == ((Edge) e).getMatchedVertex()));
-            }
-            // Apply seedMatching option - if option is RELATED then nothing to do
-            if (seedMatchingType == SeedMatchingType.EQUAL) {
-                isFiltered = isFiltered.or(e -> e instanceof Edge);
-            }
-        } else {
-            relevantElements = new HashSet<>();
-
-            final EdgeId edgeId = (EdgeSeed) elementId;
-            if (DirectedType.isEither(edgeId.getDirectedType())) {
-                relevantElements.addAll(mapImpl.lookup(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), false)));
-                relevantElements.addAll(mapImpl.lookup(new EdgeSeed(edgeId.getSource(), edgeId.getDestination(), true)));
-            } else {
-                relevantElements.addAll(mapImpl.lookup(edgeId));
-            }
-
-            mapImpl.lookup(new EntitySeed(edgeId.getSource()))
-                    .stream()
-                    .filter(e -> e instanceof Entity)
-                    .forEach(relevantElements::add);
-            mapImpl.lookup(new EntitySeed(edgeId.getDestination()))
-                    .stream()
-                    .filter(e -> e instanceof Entity)
-                    .forEach(relevantElements::add);
-
-            // Apply seedMatching option
-            // If option is RELATED then nothing to do
-            if (seedMatchingType == SeedMatchingType.EQUAL) {
-                isFiltered = isFiltered.or(e -> e instanceof Entity);
-            }
-        }
-
-        // Apply directedType flag
-        if (directedType == DirectedType.DIRECTED) {
-            isFiltered = isFiltered.or(e -> e instanceof Edge && !((Edge) e).isDirected());
-        } else if (directedType == DirectedType.UNDIRECTED) {
-            isFiltered = isFiltered.or(e -> e instanceof Edge && ((Edge) e).isDirected());
-        }
-
-        relevantElements.removeIf(isFiltered);
-        return relevantElements;
+        return new HashSet<>(new ElementIdLookup(mapImpl, view.getGroups(), directedType, inOutType, seedMatchingType)
+                .lookup(elementId));
     }
 
     public static Stream<Element> applyDirectedTypeFilter(final Stream<Element> elements,
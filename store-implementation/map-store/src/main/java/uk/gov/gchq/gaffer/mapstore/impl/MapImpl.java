@@ -19,12 +19,13 @@ import uk.gov.gchq.gaffer.commonutil.iterable.RepeatItemIterable;
 import uk.gov.gchq.gaffer.commonutil.stream.Streams;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.GroupedProperties;
-import uk.gov.gchq.gaffer.data.element.id.EdgeId;
-import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.data.element.Properties;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
 import uk.gov.gchq.gaffer.mapstore.factory.SimpleMapFactory;
-import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.index.ElementIndex;
+import uk.gov.gchq.gaffer.mapstore.index.MultiMapElementIndex;
+import uk.gov.gchq.gaffer.mapstore.utils.LockStripes;
 import uk.gov.gchq.gaffer.store.schema.Schema;
 import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
 import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
@@ -36,6 +37,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Stream;
 
 /**
@@ -43,7 +45,7 @@ import java.util.stream.Stream;
  * class.
  * <p>
  * This class can be thought of as an analogue to a conventional database. Internally,
- * different {@link Map} and {@link MultiMap} instances are used to keep track of
+ * different {@link Map} and {@link uk.gov.gchq.gaffer.mapstore.multimap.MultiMap} instances are used to keep track of
  * the stored elements and the relationships between those elements. This data store
  * is then abstracted again as a Gaffer {@link uk.gov.gchq.gaffer.store.Store} (by
  * the {@link uk.gov.gchq.gaffer.mapstore.MapStore} class) to give Gaffer-specific
@@ -57,8 +59,8 @@ import java.util.stream.Stream;
 public class MapImpl {
     public static final String AGG_ELEMENTS = "aggElements";
     public static final String NON_AGG_ELEMENTS = "nonAggElements";
-    public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
-    public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
+    public static final String ENTITY_ID_TO_ELEMENTS = MultiMapElementIndex.ENTITY_ID_TO_ELEMENTS;
+    public static final String EDGE_ID_TO_ELEMENTS = MultiMapElementIndex.EDGE_ID_TO_ELEMENTS;
 
     /**
      * aggElements maps from an Element group to a map of Elements containing the group-by properties
@@ -73,14 +75,10 @@ public class MapImpl {
     private final Map<String, Map<Element, Long>> nonAggElements = new HashMap<>();
 
     /**
-     * entityIdToElements is a map from an EntityId to the element key from aggElements or nonAggElements
+     * index maps from vertices and edge ids to the element keys from aggElements or nonAggElements.
+     * It is null if the properties request that an index is not created.
      */
-    private final MultiMap<EntityId, Element> entityIdToElements;
-
-    /**
-     * edgeIdToElements is a map from an EdgeId to the element key from aggElements or nonAggElements
-     */
-    private final MultiMap<EdgeId, Element> edgeIdToElements;
+    private final ElementIndex index;
 
     private final MapFactory mapFactory;
     private final Map<String, Set<String>> groupToGroupByProperties = new HashMap<>();
@@ -91,11 +89,30 @@ public class MapImpl {
     private final boolean maintainIndex;
     private final AggregatorUtil.IngestPropertiesBinaryOperator propertyAggregator;
 
+    /**
+     * lockStripes guards the aggregated properties of each element key when the
+     * maps are concurrent. It is null if the maps are not thread safe.
+     */
+    private final LockStripes lockStripes;
+
+    /**
+     * The schema aggregators hold state whilst aggregating, so when the maps are
+     * concurrent each thread aggregates using its own copy of the schema.
+     */
+    private final ThreadLocal<AggregatorUtil.IngestPropertiesBinaryOperator> threadPropertyAggregator;
+
     public MapImpl(final Schema schema, final MapStoreProperties mapStoreProperties) {
         this.schema = schema;
         propertyAggregator = new AggregatorUtil.IngestPropertiesBinaryOperator(schema);
         mapFactory = createMapFactory(schema, mapStoreProperties);
         maintainIndex = mapStoreProperties.getCreateIndex();
+        if (mapFactory.isConcurrent()) {
+            lockStripes = new LockStripes(mapStoreProperties.getConcurrentLockStripes());
+            threadPropertyAggregator = ThreadLocal.withInitial(() -> new AggregatorUtil.IngestPropertiesBinaryOperator(schema.clone()));
+        } else {
+            lockStripes = null;
+            threadPropertyAggregator = null;
+        }
 
         for (final String group : schema.getGroups()) {
             aggElements.put(group, mapFactory.getMap(group + "|" + AGG_ELEMENTS, Element.class, GroupedProperties.class));
@@ -103,11 +120,9 @@ public class MapImpl {
         }
 
         if (maintainIndex) {
-            entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
-            edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
+            index = createIndex(schema, mapStoreProperties);
         } else {
-            entityIdToElements = null;
-            edgeIdToElements = null;
+            index = null;
         }
 
         this.aggregatedGroups = schema.getAggregatedGroups();
@@ -115,42 +130,133 @@ public class MapImpl {
         schema.getEdgeGroups().forEach(this::addToGroupByMap);
     }
 
+    /**
+     * @return true if elements can safely be added to the maps whilst they are being read, e.g. by a snapshot
+     */
+    public boolean isConcurrent() {
+        return null != lockStripes;
+    }
+
     public void clear() {
         aggElements.clear();
         nonAggElements.clear();
         if (maintainIndex) {
-            entityIdToElements.clear();
-            edgeIdToElements.clear();
+            index.clear();
         }
     }
 
-    void addNonAggElement(final Element element) {
-        nonAggElements.get(element.getGroup()).merge(element, 1L, (a, b) -> a + b);
+    public boolean isEmpty() {
+        return 0 == countAggElements() && 0 == countNonAggElements();
     }
 
-    void addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
-        if (null != aggElements.get(elementWithGroupByProperties.getGroup())) {
-            aggElements.get(elementWithGroupByProperties.getGroup())
-                    .merge(elementWithGroupByProperties, properties, propertyAggregator);
+    /**
+     * Adds a non aggregated element.
+     *
+     * @param element the element to add
+     * @return true if the element had not been seen before
+     */
+    boolean addNonAggElement(final Element element) {
+        return 1L == nonAggElements.get(element.getGroup()).merge(element, 1L, (a, b) -> a + b);
+    }
+
+    /**
+     * Adds an aggregated element, aggregating the properties with any existing
+     * properties for the element.
+     *
+     * @param elementWithGroupByProperties the element key, with the group-by properties
+     * @param properties                   the properties to aggregate
+     * @return true if the element key had not been seen before
+     */
+    boolean addAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
+        final Map<Element, GroupedProperties> map = aggElements.get(elementWithGroupByProperties.getGroup());
+        if (null == map) {
+            return false;
+        }
+
+        if (null == lockStripes) {
+            return aggregate(map, elementWithGroupByProperties, properties, propertyAggregator);
+        }
+
+        // The aggregator updates the existing properties in place, so
+        // readers of this key must be excluded until it has finished.
+        final Lock lock = lockStripes.get(elementWithGroupByProperties.getGroup(), elementWithGroupByProperties).writeLock();
+        lock.lock();
+        try {
+            return aggregate(map, elementWithGroupByProperties, properties, threadPropertyAggregator.get());
+        } finally {
+            lock.unlock();
         }
     }
 
-    Collection<Element> lookup(final EntityId entitId) {
-        Collection<Element> results = entityIdToElements.get(entitId);
-        if (null == results) {
-            results = Collections.emptySet();
+    /**
+     * Adds an aggregated element restored from a {@link MapSnapshot}, without
+     * any aggregation.
+     *
+     * @param elementWithGroupByProperties the element key, with the group-by properties
+     * @param properties                   the aggregated properties
+     */
+    void restoreAggElement(final Element elementWithGroupByProperties, final GroupedProperties properties) {
+        final Map<Element, GroupedProperties> map = aggElements.get(elementWithGroupByProperties.getGroup());
+        if (null != map && null == map.put(elementWithGroupByProperties, properties) && maintainIndex) {
+            index.add(elementWithGroupByProperties);
+        }
+    }
+
+    /**
+     * Adds a non aggregated element restored from a {@link MapSnapshot}.
+     *
+     * @param element the element
+     * @param count   the number of times the element has been seen
+     */
+    void restoreNonAggElement(final Element element, final long count) {
+        final Map<Element, Long> map = nonAggElements.get(element.getGroup());
+        if (null != map && null == map.put(element, count) && maintainIndex) {
+            index.add(element);
         }
+    }
 
-        return results;
+    Set<String> getGroups() {
+        return aggElements.keySet();
     }
 
-    Collection<Element> lookup(final EdgeId edgeId) {
-        Collection<Element> results = edgeIdToElements.get(edgeId);
-        if (null == results) {
-            results = Collections.emptySet();
+    Map<Element, GroupedProperties> getAggElementMap(final String group) {
+        return aggElements.get(group);
+    }
+
+    Map<Element, Long> getNonAggElementMap(final String group) {
+        return nonAggElements.get(group);
+    }
+
+    /**
+     * Takes a copy of the aggregated properties for an element key, ensuring
+     * the properties are not being aggregated whilst they are copied.
+     *
+     * @param key        the element key
+     * @param properties the aggregated properties held for the key
+     * @return a copy of the properties
+     */
+    Properties readAggProperties(final Element key, final GroupedProperties properties) {
+        final Properties copy = new Properties();
+        if (null == lockStripes) {
+            copy.putAll(properties);
+        } else {
+            final Lock lock = lockStripes.get(key.getGroup(), key).readLock();
+            lock.lock();
+            try {
+                copy.putAll(properties);
+            } finally {
+                lock.unlock();
+            }
         }
+        return copy;
+    }
+
+    Collection<Element> lookupVertex(final Object vertex) {
+        return index.lookupVertex(vertex);
+    }
 
-        return results;
+    Collection<Element> lookupEdge(final Object source, final Object destination, final boolean directed) {
+        return index.lookupEdge(source, destination, directed);
     }
 
     Iterable<Element> getNonAggElements(final Element element) {
@@ -164,7 +270,7 @@ public class MapImpl {
     Element getAggElement(final Element element) {
         final Element clone = element.emptyClone();
         clone.copyProperties(element.getProperties());
-        clone.copyProperties(aggElements.get(element.getGroup()).get(element));
+        copyAggProperties(clone, element, aggElements.get(element.getGroup()).get(element));
         return clone;
     }
 
@@ -184,7 +290,7 @@ public class MapImpl {
                 .map(x -> {
                     final Element element = x.getKey().emptyClone();
                     element.copyProperties(x.getKey().getProperties());
-                    element.copyProperties(x.getValue());
+                    copyAggProperties(element, x.getKey(), x.getValue());
                     return cloneElement(element, schema);
                 });
     }
@@ -202,12 +308,8 @@ public class MapImpl {
         return Stream.concat(getAllAggElements(groups), getAllNonAggElements(groups));
     }
 
-    void addIndex(final EntityId entityId, final Element element) {
-        entityIdToElements.put(entityId, element);
-    }
-
-    void addIndex(final EdgeId edgeId, final Element element) {
-        edgeIdToElements.put(edgeId, element);
+    void addIndex(final Element element) {
+        index.add(element);
     }
 
     boolean isMaintainIndex() {
@@ -227,7 +329,11 @@ public class MapImpl {
     }
 
     boolean isAggregationEnabled(final Element element) {
-        return !groupsWithNoAggregation.contains(element.getGroup());
+        return isAggregationEnabled(element.getGroup());
+    }
+
+    boolean isAggregationEnabled(final String group) {
+        return !groupsWithNoAggregation.contains(group);
     }
 
     long countAggElements() {
@@ -252,6 +358,35 @@ public class MapImpl {
         return totalCount;
     }
 
+    private static boolean aggregate(final Map<Element, GroupedProperties> map,
+                                     final Element key,
+                                     final GroupedProperties properties,
+                                     final AggregatorUtil.IngestPropertiesBinaryOperator aggregator) {
+        final boolean[] isNew = {false};
+        map.compute(key, (k, existing) -> {
+            if (null == existing) {
+                isNew[0] = true;
+                return properties;
+            }
+            return aggregator.apply(existing, properties);
+        });
+        return isNew[0];
+    }
+
+    private void copyAggProperties(final Element target, final Element key, final GroupedProperties properties) {
+        if (null == lockStripes) {
+            target.copyProperties(properties);
+        } else {
+            final Lock lock = lockStripes.get(key.getGroup(), key).readLock();
+            lock.lock();
+            try {
+                target.copyProperties(properties);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     private MapFactory createMapFactory(final Schema schema,
                                         final MapStoreProperties mapStoreProperties) {
         final MapFactory mapFactory;
@@ -270,6 +405,24 @@ public class MapImpl {
         return mapFactory;
     }
 
+    private ElementIndex createIndex(final Schema schema,
+                                     final MapStoreProperties mapStoreProperties) {
+        final ElementIndex elementIndex;
+        final String indexClass = mapStoreProperties.getIndexClass();
+        if (null == indexClass) {
+            elementIndex = new MultiMapElementIndex();
+        } else {
+            try {
+                elementIndex = Class.forName(indexClass).asSubclass(ElementIndex.class).newInstance();
+            } catch (final InstantiationException | IllegalAccessException | ClassNotFoundException e) {
+                throw new IllegalArgumentException("ElementIndex is invalid: " + indexClass, e);
+            }
+        }
+
+        elementIndex.initialise(mapFactory, schema, mapStoreProperties);
+        return elementIndex;
+    }
+
     private void addToGroupByMap(final String group) {
         final SchemaElementDefinition sed = schema.getElement(group);
         groupToGroupByProperties.put(group, sed.getGroupBy());
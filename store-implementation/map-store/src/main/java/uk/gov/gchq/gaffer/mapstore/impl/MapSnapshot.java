@@ -0,0 +1,507 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.commonutil.pair.Pair;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.GroupedProperties;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.data.element.Properties;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.serialisation.Serialiser;
+import uk.gov.gchq.gaffer.serialisation.ToBytesSerialiser;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.schema.SchemaElementDefinition;
+import uk.gov.gchq.gaffer.store.schema.TypeDefinition;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A snapshot of the maps held in a {@link MapImpl}, written to segment files
+ * in a directory so a {@link uk.gov.gchq.gaffer.mapstore.MapStore} can be
+ * restarted without re-ingesting and re-aggregating its elements.
+ * <p>
+ * Each snapshot is written to a new sub directory. Within it, the aggregated
+ * and non aggregated elements of each group are written to segment files
+ * using the {@link ToBytesSerialiser}s from the schema. A segment is rolled
+ * over once it reaches {@link #MAX_SEGMENT_SIZE} bytes so that each one can
+ * be memory-mapped when it is read back in. Once a snapshot is complete and
+ * its files have been synced to disk, the {@link #CURRENT} file is atomically
+ * replaced to point at it and older snapshots are deleted.
+ * </p>
+ * <p>
+ * The index is not written to disk, it is rebuilt from the element keys as
+ * they are restored. This requires no aggregation, so is cheap compared to
+ * adding the elements again.
+ * </p>
+ */
+public class MapSnapshot {
+    public static final String CURRENT = "CURRENT";
+    public static final long MAX_SEGMENT_SIZE = 256L * 1024L * 1024L;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MapSnapshot.class);
+    private static final int MAGIC = 0x47414646;
+    private static final int VERSION = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final byte AGG_SEGMENT = 0;
+    private static final byte NON_AGG_SEGMENT = 1;
+    private static final int NULL_LENGTH = -1;
+
+    private final Schema schema;
+    private final Path directory;
+
+    public MapSnapshot(final Schema schema, final Path directory) {
+        this.schema = schema;
+        this.directory = directory;
+    }
+
+    /**
+     * @return true if a complete snapshot exists in the directory
+     */
+    public boolean exists() {
+        return Files.exists(directory.resolve(CURRENT));
+    }
+
+    /**
+     * Writes all the elements held in the {@link MapImpl} to a new snapshot.
+     *
+     * @param mapImpl the maps to write
+     * @throws IOException if the snapshot could not be written
+     */
+    public synchronized void write(final MapImpl mapImpl) throws IOException {
+        Files.createDirectories(directory);
+        final Path snapshotDir = createSnapshotDirectory();
+        final String snapshotName = snapshotDir.getFileName().toString();
+
+        long numElements = 0;
+        try {
+            int groupNumber = 0;
+            for (final String group : mapImpl.getGroups()) {
+                final ElementCodec codec = new ElementCodec(group, mapImpl);
+                try (final SegmentWriter writer = new SegmentWriter(snapshotDir, "agg-" + groupNumber, AGG_SEGMENT, codec)) {
+                    for (final Map.Entry<Element, GroupedProperties> entry : mapImpl.getAggElementMap(group).entrySet()) {
+                        writer.write(entry.getKey(), mapImpl.readAggProperties(entry.getKey(), entry.getValue()), 1L);
+                        numElements++;
+                    }
+                }
+                try (final SegmentWriter writer = new SegmentWriter(snapshotDir, "nonAgg-" + groupNumber, NON_AGG_SEGMENT, codec)) {
+                    for (final Map.Entry<Element, Long> entry : mapImpl.getNonAggElementMap(group).entrySet()) {
+                        writer.write(entry.getKey(), null, entry.getValue());
+                        numElements++;
+                    }
+                }
+                groupNumber++;
+            }
+            syncDirectory(snapshotDir);
+            syncDirectory(directory);
+        } catch (final IOException | RuntimeException e) {
+            deleteRecursively(snapshotDir);
+            throw e;
+        }
+
+        final Path tmpCurrent = directory.resolve(CURRENT + ".tmp");
+        try (final FileChannel channel = FileChannel.open(tmpCurrent,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            final ByteBuffer buffer = ByteBuffer.wrap(snapshotName.getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(tmpCurrent, directory.resolve(CURRENT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        syncDirectory(directory);
+        LOGGER.info("Written snapshot {} containing {} element keys", snapshotDir, numElements);
+
+        // Only delete the old snapshots once the new one is durable, so there is always a complete snapshot on disk
+        deleteOldSnapshots(snapshotName);
+    }
+
+    /**
+     * Memory-maps the segment files of the current snapshot and adds their
+     * contents directly to the {@link MapImpl}.
+     *
+     * @param mapImpl the maps to restore the elements into
+     * @throws IOException if the snapshot could not be read
+     */
+    public synchronized void read(final MapImpl mapImpl) throws IOException {
+        final String snapshotName = new String(Files.readAllBytes(directory.resolve(CURRENT)), StandardCharsets.UTF_8).trim();
+        final Path snapshotDir = directory.resolve(snapshotName);
+        final List<Path> segments;
+        try (final Stream<Path> files = Files.list(snapshotDir)) {
+            segments = files.filter(f -> f.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+
+        long numElements = 0;
+        for (final Path segment : segments) {
+            numElements += readSegment(segment, mapImpl);
+        }
+        LOGGER.info("Restored {} element keys from snapshot {}", numElements, snapshotDir);
+    }
+
+    private long readSegment(final Path segment, final MapImpl mapImpl) throws IOException {
+        try (final FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (MAGIC != buffer.getInt() || VERSION != buffer.getInt()) {
+                throw new IOException("Invalid snapshot segment: " + segment);
+            }
+            final byte segmentType = buffer.get();
+            final String group = readString(buffer);
+            if (!mapImpl.getGroups().contains(group)) {
+                LOGGER.warn("Skipping snapshot segment {} as group {} is not in the schema", segment, group);
+                return 0;
+            }
+            final ElementCodec codec = new ElementCodec(group, mapImpl);
+            codec.checkPropertyNames(readStrings(buffer), readStrings(buffer), segment);
+
+            long numElements = 0;
+            while (buffer.hasRemaining()) {
+                final Pair<Element, Properties> keyAndValue = codec.read(buffer);
+                final long count = buffer.getLong();
+                if (AGG_SEGMENT == segmentType) {
+                    final GroupedProperties properties = new GroupedProperties(group);
+                    properties.putAll(keyAndValue.getSecond());
+                    mapImpl.restoreAggElement(keyAndValue.getFirst(), properties);
+                } else {
+                    mapImpl.restoreNonAggElement(keyAndValue.getFirst(), count);
+                }
+                numElements++;
+            }
+            return numElements;
+        }
+    }
+
+    // Creates a new, empty directory for a snapshot. The name is based on the current time, but is moved on if a
+    // snapshot already has that name, e.g. if two snapshots are written within the same millisecond.
+    private Path createSnapshotDirectory() throws IOException {
+        long snapshotId = System.currentTimeMillis();
+        while (true) {
+            try {
+                return Files.createDirectory(directory.resolve(SNAPSHOT_PREFIX + snapshotId));
+            } catch (final FileAlreadyExistsException e) {
+                snapshotId++;
+            }
+        }
+    }
+
+    // Syncs the entries of a directory to disk, so the files created, renamed or deleted in it survive a crash. Not all
+    // platforms allow a directory to be opened, in which case its entries are left to be synced by the OS.
+    private static void syncDirectory(final Path dir) throws IOException {
+        final FileChannel channel;
+        try {
+            channel = FileChannel.open(dir, StandardOpenOption.READ);
+        } catch (final IOException e) {
+            LOGGER.debug("Unable to open directory {} to sync it", dir, e);
+            return;
+        }
+        try {
+            channel.force(true);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void deleteOldSnapshots(final String currentSnapshotName) {
+        try (final DirectoryStream<Path> snapshots = Files.newDirectoryStream(directory, SNAPSHOT_PREFIX + "*")) {
+            for (final Path snapshot : snapshots) {
+                if (!snapshot.getFileName().toString().equals(currentSnapshotName)) {
+                    deleteRecursively(snapshot);
+                }
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("Unable to delete old snapshots from {}", directory, e);
+        }
+    }
+
+    private static void deleteRecursively(final Path path) throws IOException {
+        if (Files.exists(path)) {
+            try (final Stream<Path> files = Files.walk(path)) {
+                final Iterator<Path> itr = files.sorted(Comparator.reverseOrder()).iterator();
+                while (itr.hasNext()) {
+                    Files.delete(itr.next());
+                }
+            }
+        }
+    }
+
+    private static String readString(final ByteBuffer buffer) {
+        final byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static List<String> readStrings(final ByteBuffer buffer) {
+        final int size = buffer.getInt();
+        final List<String> strings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            strings.add(readString(buffer));
+        }
+        return strings;
+    }
+
+    private static void writeString(final DataOutputStream out, final String string) throws IOException {
+        final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static void writeStrings(final DataOutputStream out, final Collection<String> strings) throws IOException {
+        out.writeInt(strings.size());
+        for (final String string : strings) {
+            writeString(out, string);
+        }
+    }
+
+    /**
+     * Writes the records for a single group to one or more segment files.
+     */
+    private static final class SegmentWriter implements AutoCloseable {
+        private final Path snapshotDir;
+        private final String name;
+        private final byte segmentType;
+        private final ElementCodec codec;
+        private int segmentNumber;
+        private FileChannel channel;
+        private CountingOutputStream counter;
+        private DataOutputStream out;
+
+        private SegmentWriter(final Path snapshotDir, final String name, final byte segmentType, final ElementCodec codec) {
+            this.snapshotDir = snapshotDir;
+            this.name = name;
+            this.segmentType = segmentType;
+            this.codec = codec;
+        }
+
+        private void write(final Element key, final Properties value, final long count) throws IOException {
+            if (null == out || counter.count >= MAX_SEGMENT_SIZE) {
+                close();
+                open();
+            }
+            codec.write(out, key, value);
+            out.writeLong(count);
+        }
+
+        private void open() throws IOException {
+            final Path file = snapshotDir.resolve(String.format("%s-%05d%s", name, segmentNumber++, SEGMENT_SUFFIX));
+            channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            counter = new CountingOutputStream(Channels.newOutputStream(channel));
+            out = new DataOutputStream(new BufferedOutputStream(counter));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeByte(segmentType);
+            writeString(out, codec.group);
+            writeStrings(out, codec.keyPropertyNames);
+            writeStrings(out, codec.valuePropertyNames);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (null != out) {
+                try {
+                    out.flush();
+                    channel.force(true);
+                } finally {
+                    out.close();
+                    out = null;
+                    channel = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Counts the bytes written, so segments can be rolled over.
+     */
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        private CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+
+    /**
+     * Serialises the identifiers and properties of the elements in a group,
+     * each as a length followed by the bytes from its {@link ToBytesSerialiser}.
+     */
+    private final class ElementCodec {
+        private final String group;
+        private final boolean isEntity;
+        private final ToBytesSerialiser vertexSerialiser;
+        private final ToBytesSerialiser sourceSerialiser;
+        private final ToBytesSerialiser destinationSerialiser;
+        private final List<String> keyPropertyNames;
+        private final List<String> valuePropertyNames;
+        private final ToBytesSerialiser[] keySerialisers;
+        private final ToBytesSerialiser[] valueSerialisers;
+
+        private ElementCodec(final String group, final MapImpl mapImpl) {
+            this.group = group;
+            final SchemaElementDefinition elementDef = schema.getElement(group);
+            isEntity = schema.getEntityGroups().contains(group);
+            if (isEntity) {
+                vertexSerialiser = getIdentifierSerialiser(elementDef, IdentifierType.VERTEX);
+                sourceSerialiser = null;
+                destinationSerialiser = null;
+            } else {
+                vertexSerialiser = null;
+                sourceSerialiser = getIdentifierSerialiser(elementDef, IdentifierType.SOURCE);
+                destinationSerialiser = getIdentifierSerialiser(elementDef, IdentifierType.DESTINATION);
+            }
+
+            if (mapImpl.isAggregationEnabled(group)) {
+                keyPropertyNames = new ArrayList<>(mapImpl.getGroupByProperties(group));
+                valuePropertyNames = new ArrayList<>(mapImpl.getNonGroupByProperties(group));
+            } else {
+                keyPropertyNames = new ArrayList<>(elementDef.getProperties());
+                valuePropertyNames = new ArrayList<>();
+            }
+            keySerialisers = getPropertySerialisers(elementDef, keyPropertyNames);
+            valueSerialisers = getPropertySerialisers(elementDef, valuePropertyNames);
+        }
+
+        private void checkPropertyNames(final List<String> keyNames, final List<String> valueNames, final Path segment) throws IOException {
+            if (!keyPropertyNames.equals(keyNames) || !valuePropertyNames.equals(valueNames)) {
+                throw new IOException("The properties in snapshot segment " + segment + " do not match the schema for group " + group);
+            }
+        }
+
+        private void write(final DataOutputStream out, final Element key, final Properties value) throws IOException {
+            if (isEntity) {
+                writeBytes(out, vertexSerialiser, ((Entity) key).getVertex());
+            } else {
+                final Edge edge = (Edge) key;
+                writeBytes(out, sourceSerialiser, edge.getSource());
+                writeBytes(out, destinationSerialiser, edge.getDestination());
+                out.writeBoolean(edge.isDirected());
+            }
+            for (int i = 0; i < keySerialisers.length; i++) {
+                writeBytes(out, keySerialisers[i], key.getProperty(keyPropertyNames.get(i)));
+            }
+            for (int i = 0; i < valueSerialisers.length; i++) {
+                writeBytes(out, valueSerialisers[i], null == value ? null : value.get(valuePropertyNames.get(i)));
+            }
+        }
+
+        private Pair<Element, Properties> read(final ByteBuffer buffer) throws SerialisationException {
+            final Element key;
+            if (isEntity) {
+                key = new Entity(group, readObject(buffer, vertexSerialiser));
+            } else {
+                final Object source = readObject(buffer, sourceSerialiser);
+                final Object destination = readObject(buffer, destinationSerialiser);
+                key = new Edge(group, source, destination, 0 != buffer.get());
+            }
+            for (int i = 0; i < keySerialisers.length; i++) {
+                key.putProperty(keyPropertyNames.get(i), readObject(buffer, keySerialisers[i]));
+            }
+            final Properties value = new Properties();
+            for (int i = 0; i < valueSerialisers.length; i++) {
+                value.put(valuePropertyNames.get(i), readObject(buffer, valueSerialisers[i]));
+            }
+            return new Pair<>(key, value);
+        }
+
+        private void writeBytes(final DataOutputStream out, final ToBytesSerialiser serialiser, final Object object) throws IOException {
+            if (null == object) {
+                out.writeInt(NULL_LENGTH);
+            } else {
+                final byte[] bytes = serialiser.serialise(object);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+        }
+
+        private Object readObject(final ByteBuffer buffer, final ToBytesSerialiser serialiser) throws SerialisationException {
+            final int length = buffer.getInt();
+            if (NULL_LENGTH == length) {
+                return null;
+            }
+            final byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return serialiser.deserialise(bytes);
+        }
+
+        private ToBytesSerialiser getIdentifierSerialiser(final SchemaElementDefinition elementDef,
+                                                          final IdentifierType idType) {
+            Serialiser serialiser = schema.getVertexSerialiser();
+            if (null == serialiser) {
+                final TypeDefinition typeDef = schema.getType(elementDef.getIdentifierTypeName(idType));
+                serialiser = null == typeDef ? null : typeDef.getSerialiser();
+            }
+            return toBytesSerialiser(serialiser, idType.name());
+        }
+
+        private ToBytesSerialiser[] getPropertySerialisers(final SchemaElementDefinition elementDef, final List<String> propertyNames) {
+            final ToBytesSerialiser[] serialisers = new ToBytesSerialiser[propertyNames.size()];
+            for (int i = 0; i < serialisers.length; i++) {
+                final TypeDefinition typeDef = elementDef.getPropertyTypeDef(propertyNames.get(i));
+                serialisers[i] = toBytesSerialiser(null == typeDef ? null : typeDef.getSerialiser(), propertyNames.get(i));
+            }
+            return serialisers;
+        }
+
+        private ToBytesSerialiser toBytesSerialiser(final Serialiser serialiser, final String name) {
+            if (!(serialiser instanceof ToBytesSerialiser)) {
+                throw new IllegalArgumentException("Snapshots require a " + ToBytesSerialiser.class.getSimpleName()
+                        + " for " + name + " in group " + group + ", found: " + (null == serialiser ? null : serialiser.getClass().getName()));
+            }
+            return (ToBytesSerialiser) serialiser;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.ParallelBatchIterator;
+import uk.gov.gchq.gaffer.commonutil.iterable.WrappedCloseableIterator;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.utils.MapStoreConstants;
+import uk.gov.gchq.gaffer.operation.Operation;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs a look up function over the seeds of an operation, either on the
+ * calling thread or in batches on the lookup executor of the
+ * {@link MapStore}.
+ * <p>
+ * The {@link View} filters and transformers hold state whilst they are
+ * applied, so when running in parallel each batch is given its own clone of
+ * the view. Clones are pooled and reused across batches.
+ * </p>
+ *
+ * @param <I> the type of the seeds
+ * @param <O> the type of the results
+ */
+class SeedLookup<I, O> {
+    private final ExecutorService executor;
+    private final int batchSize;
+    private final int maxBatchesInFlight;
+    private final boolean preserveOrder;
+    private final View view;
+    private final BiFunction<Stream<I>, View, Stream<O>> lookup;
+
+    SeedLookup(final MapStore mapStore,
+               final Operation operation,
+               final View view,
+               final BiFunction<Stream<I>, View, Stream<O>> lookup) {
+        final ExecutorService lookupExecutor = mapStore.getLookupExecutor();
+        final boolean parallel = Boolean.parseBoolean(operation.getOption(
+                MapStoreConstants.PARALLEL_LOOKUP, String.valueOf(null != lookupExecutor)));
+        this.executor = parallel ? lookupExecutor : null;
+        this.batchSize = Math.max(1, mapStore.getProperties().getLookupBatchSize());
+        this.maxBatchesInFlight = 2 * Math.max(1, mapStore.getProperties().getLookupThreads());
+        this.preserveOrder = Boolean.parseBoolean(operation.getOption(MapStoreConstants.PRESERVE_SEED_ORDER, "true"));
+        this.view = view;
+        this.lookup = lookup;
+    }
+
+    @SuppressWarnings("unchecked")
+    CloseableIterator<O> iterator(final Iterable<? extends I> seeds) {
+        if (null == executor) {
+            return new WrappedCloseableIterator<>(lookup.apply(Streams.<I>toStream((Iterable<I>) seeds), view).iterator());
+        }
+
+        final Queue<View> views = new ConcurrentLinkedQueue<>();
+        return new ParallelBatchIterator<I, O>(seeds.iterator(), batchSize, maxBatchesInFlight, preserveOrder, executor, batch -> {
+            View batchView = views.poll();
+            if (null == batchView) {
+                batchView = view.clone();
+            }
+            try {
+                return lookup.apply(batch.stream(), batchView).collect(Collectors.toList());
+            } finally {
+                views.offer(batchView);
+            }
+        });
+    }
+}
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.AbstractCollection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A memory efficient {@link ElementIndex}.
+ * <p>
+ * Each vertex is interned to an int id and each element key is given an int
+ * id. For each vertex the ids of its entities, outgoing edges and incoming
+ * edges are held in growable primitive int arrays, so no seeds or edge copies
+ * are created at ingest time. Edges matched on their destination vertex are
+ * only created lazily when the index is queried.
+ * </p>
+ * <p>
+ * Adjacency for undirected edges is held against the source and destination
+ * of the edge as it is stored, i.e. after the vertices have been ordered.
+ * </p>
+ */
+public class CompactElementIndex implements ElementIndex {
+    private static final int INITIAL_VERTEX_CAPACITY = 16;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Object, Integer> vertexToId = new HashMap<>();
+    private final List<Element> elements = new ArrayList<>();
+
+    /**
+     * Adjacency arrays indexed by vertex id. The first int of each array is
+     * the number of element ids it holds.
+     */
+    private int[][] entities = new int[INITIAL_VERTEX_CAPACITY][];
+    private int[][] outgoingEdges = new int[INITIAL_VERTEX_CAPACITY][];
+    private int[][] incomingEdges = new int[INITIAL_VERTEX_CAPACITY][];
+
+    @Override
+    public void initialise(final MapFactory mapFactory, final Schema schema, final MapStoreProperties properties) {
+        // no action required.
+    }
+
+    @Override
+    public void add(final Element element) {
+        lock.writeLock().lock();
+        try {
+            final int elementId = elements.size();
+            elements.add(element);
+            if (element instanceof Entity) {
+                final int vertexId = internVertex(((Entity) element).getVertex());
+                entities[vertexId] = append(entities[vertexId], elementId);
+            } else {
+                final Edge edge = (Edge) element;
+                edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
+                final int sourceId = internVertex(edge.getSource());
+                final int destinationId = internVertex(edge.getDestination());
+                outgoingEdges[sourceId] = append(outgoingEdges[sourceId], elementId);
+                // A self loop is only returned once, matched on its source
+                if (destinationId != sourceId) {
+                    incomingEdges[destinationId] = append(incomingEdges[destinationId], elementId);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Collection<Element> lookupVertex(final Object vertex) {
+        final Element[] entityKeys;
+        final Element[] outgoingKeys;
+        final Element[] incomingKeys;
+        lock.readLock().lock();
+        try {
+            final Integer vertexId = vertexToId.get(vertex);
+            if (null == vertexId) {
+                return Collections.emptySet();
+            }
+            entityKeys = getElements(entities[vertexId]);
+            outgoingKeys = getElements(outgoingEdges[vertexId]);
+            incomingKeys = getElements(incomingEdges[vertexId]);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return new AdjacentElements(entityKeys, outgoingKeys, incomingKeys);
+    }
+
+    @Override
+    public Collection<Element> lookupEdge(final Object source, final Object destination, final boolean directed) {
+        final List<Element> results = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            addMatchingEdges(source, destination, directed, results);
+            if (!directed && !Objects.equals(source, destination)) {
+                // Undirected edges may have had their vertices swapped
+                addMatchingEdges(destination, source, false, results);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        return results;
+    }
+
+    @Override
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            vertexToId.clear();
+            elements.clear();
+            entities = new int[INITIAL_VERTEX_CAPACITY][];
+            outgoingEdges = new int[INITIAL_VERTEX_CAPACITY][];
+            incomingEdges = new int[INITIAL_VERTEX_CAPACITY][];
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addMatchingEdges(final Object source, final Object destination, final boolean directed, final List<Element> results) {
+        final Integer sourceId = vertexToId.get(source);
+        if (null == sourceId) {
+            return;
+        }
+
+        final int[] edgeIds = outgoingEdges[sourceId];
+        if (null != edgeIds) {
+            for (int i = 1; i <= edgeIds[0]; i++) {
+                final Edge edge = (Edge) elements.get(edgeIds[i]);
+                if (directed == edge.isDirected() && Objects.equals(destination, edge.getDestination())) {
+                    results.add(edge);
+                }
+            }
+        }
+    }
+
+    private int internVertex(final Object vertex) {
+        final Integer existingId = vertexToId.get(vertex);
+        if (null != existingId) {
+            return existingId;
+        }
+
+        final int vertexId = vertexToId.size();
+        vertexToId.put(vertex, vertexId);
+        if (vertexId >= entities.length) {
+            final int newCapacity = entities.length << 1;
+            entities = Arrays.copyOf(entities, newCapacity);
+            outgoingEdges = Arrays.copyOf(outgoingEdges, newCapacity);
+            incomingEdges = Arrays.copyOf(incomingEdges, newCapacity);
+        }
+        return vertexId;
+    }
+
+    private Element[] getElements(final int[] elementIds) {
+        if (null == elementIds) {
+            return new Element[0];
+        }
+
+        final Element[] keys = new Element[elementIds[0]];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = elements.get(elementIds[i + 1]);
+        }
+        return keys;
+    }
+
+    private static int[] append(final int[] elementIds, final int elementId) {
+        final int[] result;
+        if (null == elementIds) {
+            result = new int[2];
+        } else if (elementIds[0] + 1 == elementIds.length) {
+            result = Arrays.copyOf(elementIds, elementIds.length + (elementIds.length >> 1) + 1);
+        } else {
+            result = elementIds;
+        }
+
+        result[0]++;
+        result[result[0]] = elementId;
+        return result;
+    }
+
+    /**
+     * The elements adjacent to a vertex. Incoming edges are only converted to
+     * edges matched on their destination vertex as they are iterated over.
+     */
+    private static final class AdjacentElements extends AbstractCollection<Element> {
+        private final Element[] entityKeys;
+        private final Element[] outgoingKeys;
+        private final Element[] incomingKeys;
+
+        private AdjacentElements(final Element[] entityKeys, final Element[] outgoingKeys, final Element[] incomingKeys) {
+            this.entityKeys = entityKeys;
+            this.outgoingKeys = outgoingKeys;
+            this.incomingKeys = incomingKeys;
+        }
+
+        @Override
+        public Iterator<Element> iterator() {
+            return new Iterator<Element>() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return index < size();
+                }
+
+                @Override
+                public Element next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+
+                    final int i = index++;
+                    if (i < entityKeys.length) {
+                        return entityKeys[i];
+                    }
+                    if (i < entityKeys.length + outgoingKeys.length) {
+                        return outgoingKeys[i - entityKeys.length];
+                    }
+
+                    final Edge edge = (Edge) incomingKeys[i - entityKeys.length - outgoingKeys.length];
+                    return new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return entityKeys.length + outgoingKeys.length + incomingKeys.length;
+        }
+    }
+}
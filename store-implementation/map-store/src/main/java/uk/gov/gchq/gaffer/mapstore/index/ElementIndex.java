@@ -0,0 +1,76 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Collection;
+
+/**
+ * Interface describing an index from vertices and edge ids to the element keys
+ * held in a {@link uk.gov.gchq.gaffer.mapstore.impl.MapImpl}.
+ * <p>
+ * The implementation to use is configured with the
+ * {@link MapStoreProperties#INDEX_CLASS} store property.
+ * </p>
+ */
+public interface ElementIndex {
+
+    /**
+     * Initialise the index with the specified map factory, schema and properties.
+     *
+     * @param mapFactory the map factory used by the map store
+     * @param schema     the schema to apply
+     * @param properties the store properties to apply
+     */
+    void initialise(final MapFactory mapFactory, final Schema schema, final MapStoreProperties properties);
+
+    /**
+     * Add an element key to the index. This should only be called once for
+     * each distinct element key.
+     *
+     * @param element the element key to index
+     */
+    void add(final Element element);
+
+    /**
+     * Get all of the element keys related to the vertex. Edges are returned
+     * with their matched vertex set to indicate whether the vertex was the
+     * source or the destination.
+     *
+     * @param vertex the vertex to lookup
+     * @return the entities and edges containing the vertex
+     */
+    Collection<Element> lookupVertex(final Object vertex);
+
+    /**
+     * Get all of the edge keys with the given identifiers.
+     *
+     * @param source      the source vertex
+     * @param destination the destination vertex
+     * @param directed    true if the edges should be directed
+     * @return the edges with the given identifiers
+     */
+    Collection<Element> lookupEdge(final Object source, final Object destination, final boolean directed);
+
+    /**
+     * Clear the index of all entries.
+     */
+    void clear();
+}
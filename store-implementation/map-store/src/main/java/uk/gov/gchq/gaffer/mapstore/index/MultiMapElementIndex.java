@@ -0,0 +1,105 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.EntityId;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.MapFactory;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Default {@link ElementIndex}, holding {@link EntityId}s and {@link EdgeId}s
+ * in {@link MultiMap}s created by the {@link MapFactory}.
+ * <p>
+ * An edge is indexed against both its source and destination, with a copy
+ * of the edge created to mark the destination as the matched vertex.
+ * </p>
+ */
+public class MultiMapElementIndex implements ElementIndex {
+    public static final String ENTITY_ID_TO_ELEMENTS = "entityIdToElements";
+    public static final String EDGE_ID_TO_ELEMENTS = "edgeIdToElements";
+
+    /**
+     * entityIdToElements is a map from an EntityId to the element key from aggElements or nonAggElements
+     */
+    private MultiMap<EntityId, Element> entityIdToElements;
+
+    /**
+     * edgeIdToElements is a map from an EdgeId to the element key from aggElements or nonAggElements
+     */
+    private MultiMap<EdgeId, Element> edgeIdToElements;
+
+    @Override
+    public void initialise(final MapFactory mapFactory, final Schema schema, final MapStoreProperties properties) {
+        entityIdToElements = mapFactory.getMultiMap(ENTITY_ID_TO_ELEMENTS, EntityId.class, Element.class);
+        edgeIdToElements = mapFactory.getMultiMap(EDGE_ID_TO_ELEMENTS, EdgeId.class, Element.class);
+    }
+
+    @Override
+    public void add(final Element element) {
+        if (element instanceof Entity) {
+            final Entity entity = (Entity) element;
+            final EntityId entityId = new EntitySeed(entity.getVertex());
+            entityIdToElements.put(entityId, element);
+        } else {
+            final Edge edge = (Edge) element;
+            edge.setIdentifiers(edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.SOURCE);
+            final EntityId sourceEntityId = new EntitySeed(edge.getSource());
+            entityIdToElements.put(sourceEntityId, edge);
+
+            final Edge destMatchedEdge = new Edge(edge.getGroup(), edge.getSource(), edge.getDestination(), edge.isDirected(), EdgeId.MatchedVertex.DESTINATION, edge.getProperties());
+            final EntityId destinationEntityId = new EntitySeed(edge.getDestination());
+            entityIdToElements.put(destinationEntityId, destMatchedEdge);
+
+            final EdgeId edgeId = new EdgeSeed(edge.getSource(), edge.getDestination(), edge.isDirected());
+            edgeIdToElements.put(edgeId, edge);
+        }
+    }
+
+    @Override
+    public Collection<Element> lookupVertex(final Object vertex) {
+        return nullToEmpty(entityIdToElements.get(new EntitySeed(vertex)));
+    }
+
+    @Override
+    public Collection<Element> lookupEdge(final Object source, final Object destination, final boolean directed) {
+        return nullToEmpty(edgeIdToElements.get(new EdgeSeed(source, destination, directed)));
+    }
+
+    @Override
+    public void clear() {
+        entityIdToElements.clear();
+        edgeIdToElements.clear();
+    }
+
+    private static Collection<Element> nullToEmpty(final Collection<Element> results) {
+        if (null == results) {
+            return Collections.emptySet();
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * A fixed set of {@link ReadWriteLock}s, striped by element group and key hash.
+ * <p>
+ * This allows updates to different keys to proceed in parallel whilst
+ * guaranteeing that a read of a key will never observe a partially
+ * aggregated value for that key.
+ * </p>
+ */
+public class LockStripes {
+    private final ReadWriteLock[] locks;
+    private final int mask;
+
+    /**
+     * Creates a new set of lock stripes. The number of stripes is rounded up
+     * to the next power of two.
+     *
+     * @param numStripes the minimum number of stripes
+     */
+    public LockStripes(final int numStripes) {
+        if (numStripes < 1) {
+            throw new IllegalArgumentException("The number of lock stripes must be at least 1");
+        }
+
+        final int size = numStripes > 1 ? Integer.highestOneBit(numStripes - 1) << 1 : 1;
+        locks = new ReadWriteLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Get the lock guarding the given key within the given group.
+     *
+     * @param group the element group
+     * @param key   the element key
+     * @return the lock for the stripe containing the key
+     */
+    public ReadWriteLock get(final String group, final Object key) {
+        int hash = 31 * (null == group ? 0 : group.hashCode()) + (null == key ? 0 : key.hashCode());
+        // Spread the higher bits, as in HashMap
+        hash ^= hash >>> 16;
+        return locks[hash & mask];
+    }
+
+    public int size() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.mapstore.utils;
+
+/**
+ * Constants used by the {@link uk.gov.gchq.gaffer.mapstore.MapStore}.
+ */
+public final class MapStoreConstants {
+    private MapStoreConstants() {
+    }
+
+    // Operations options
+    /**
+     * Operation option to enable or disable parallel seed look ups for a single
+     * operation. If not set, seeds are looked up in parallel if lookup threads
+     * have been configured in the store properties.
+     */
+    public static final String PARALLEL_LOOKUP = "mapstore.operation.parallel_lookup";
+
+    /**
+     * Operation option to control whether results of a parallel seed look up
+     * are returned in the order of the seeds. Defaults to true; setting it to
+     * false allows results to be returned as soon as each batch completes.
+     */
+    public static final String PRESERVE_SEED_ORDER = "mapstore.operation.preserve_seed_order";
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.factory;
+
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.multimap.ConcurrentMapOfSets;
+import uk.gov.gchq.gaffer.mapstore.multimap.MultiMap;
+import uk.gov.gchq.gaffer.mapstore.utils.ElementCloner;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class ConcurrentMapFactoryTest {
+
+    @Test
+    public void shouldCreateNewConcurrentMaps() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), mock(MapStoreProperties.class));
+
+        // When
+        final Map<Object, Object> map1 = factory.getMap("mapName1", Object.class, Object.class);
+        final Map<Object, Object> map2 = factory.getMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertTrue(map1.isEmpty());
+        assertTrue(map1 instanceof ConcurrentHashMap);
+        assertTrue(map2 instanceof ConcurrentHashMap);
+        assertNotSame(map1, map2);
+        assertSame(map1, factory.getMap("mapName1", Object.class, Object.class));
+    }
+
+    @Test
+    public void shouldCreateNewConcurrentMultiMaps() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+        factory.initialise(mock(Schema.class), mock(MapStoreProperties.class));
+
+        // When
+        final MultiMap<Object, Object> map1 = factory.getMultiMap("mapName1", Object.class, Object.class);
+        final MultiMap<Object, Object> map2 = factory.getMultiMap("mapName2", Object.class, Object.class);
+
+        // Then
+        assertTrue(map1 instanceof ConcurrentMapOfSets);
+        assertTrue(((ConcurrentMapOfSets) map1).getWrappedMap() instanceof ConcurrentHashMap);
+        assertNotSame(map1, map2);
+        assertSame(map1, factory.getMultiMap("mapName1", Object.class, Object.class));
+    }
+
+    @Test
+    public void shouldBeConcurrent() {
+        // Given
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory();
+
+        // When / Then
+        assertTrue(factory.isConcurrent());
+    }
+
+    @Test
+    public void shouldCloneElementUsingCloner() {
+        // Given
+        final ElementCloner elementCloner = mock(ElementCloner.class);
+        final Element element = mock(Element.class);
+        final Element expectedClonedElement = mock(Element.class);
+        final Schema schema = mock(Schema.class);
+        final ConcurrentMapFactory factory = new ConcurrentMapFactory(elementCloner);
+
+        given(elementCloner.cloneElement(element, schema)).willReturn(expectedClonedElement);
+
+        // When
+        final Element clonedElement = factory.cloneElement(element, schema);
+
+        // Then
+        verify(elementCloner).cloneElement(element, schema);
+        assertSame(expectedClonedElement, clonedElement);
+    }
+}
@@ -15,20 +15,35 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import static org.junit.Assert.assertEquals;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 
 import org.junit.Test;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
 import uk.gov.gchq.gaffer.mapstore.MapStore;
 import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
 import uk.gov.gchq.gaffer.mapstore.SingleUseMapStore;
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.store.Context;
 import uk.gov.gchq.gaffer.store.StoreException;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class AddElementsHandlerTest {
 
@@ -45,4 +60,64 @@ public class AddElementsHandlerTest {
         // When / Then - should not throw NPE
         handler.doOperation(addElements, context, store);
     }
+
+    @Test
+    public void shouldAggregateElementsAddedConcurrentlyWithConcurrentMapFactory() throws Exception {
+        // Given
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setMapFactory(ConcurrentMapFactory.class);
+        storeProperties.setConcurrentLockStripes(4);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphConcurrent")
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        final int numThreads = 8;
+        final int numElementsPerThread = 500;
+        final ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+
+        // When
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < numThreads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < numElementsPerThread; j++) {
+                        graph.execute(new AddElements.Builder()
+                                .input(new Entity.Builder()
+                                        .group(GetAllElementsHandlerTest.BASIC_ENTITY)
+                                        .vertex("vertex" + (j % 5))
+                                        .property(GetAllElementsHandlerTest.PROPERTY1, "p")
+                                        .property(GetAllElementsHandlerTest.COUNT, 1)
+                                        .build())
+                                .build(), new User());
+                        graph.execute(new GetElements.Builder()
+                                .input(new EntitySeed("vertex" + (j % 5)))
+                                .build(), new User());
+                    }
+                    return null;
+                }));
+            }
+            for (final Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        final CloseableIterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                .input(new EntitySeed("vertex0"), new EntitySeed("vertex1"), new EntitySeed("vertex2"),
+                        new EntitySeed("vertex3"), new EntitySeed("vertex4"))
+                .build(), new User());
+        int total = 0;
+        int numResults = 0;
+        for (final Element result : results) {
+            total += (Integer) result.getProperty(GetAllElementsHandlerTest.COUNT);
+            numResults++;
+        }
+        assertEquals(5, numResults);
+        assertEquals(numThreads * numElementsPerThread, total);
+    }
 }
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import com.google.common.collect.Lists;
 import org.junit.Test;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
@@ -25,6 +26,7 @@ import uk.gov.gchq.gaffer.data.element.id.EntityId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.mapstore.utils.MapStoreConstants;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
@@ -33,9 +35,12 @@ import uk.gov.gchq.gaffer.user.User;
 import uk.gov.gchq.koryphe.impl.predicate.IsEqual;
 import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.stream.IntStream;
 
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
@@ -370,4 +375,33 @@ public class GetAdjacentIdsTest {
         expectedResults.remove(new EntitySeed("Y2"));
         assertEquals(expectedResults, resultsSet);
     }
+
+    @Test
+    public void shouldGetAdjacentEntityIdsInParallelInSameOrderAsSequential() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphWithLookupThreads();
+        final AddElements addElements = new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build();
+        graph.execute(addElements, new User());
+        final List<EntitySeed> seeds = new ArrayList<>();
+        IntStream.range(0, 10).forEach(i -> {
+            seeds.add(new EntitySeed("B" + i));
+            seeds.add(new EntitySeed("Y" + i));
+        });
+        seeds.add(new EntitySeed("X"));
+
+        // When
+        final List<EntityId> parallelResults = Lists.newArrayList(graph.execute(new GetAdjacentIds.Builder()
+                .input(seeds)
+                .build(), new User()));
+        final List<EntityId> sequentialResults = Lists.newArrayList(graph.execute(new GetAdjacentIds.Builder()
+                .input(seeds)
+                .option(MapStoreConstants.PARALLEL_LOOKUP, "false")
+                .build(), new User()));
+
+        // Then
+        assertEquals(30, sequentialResults.size());
+        assertEquals(sequentialResults, parallelResults);
+    }
 }
@@ -391,10 +391,23 @@ public class GetAllElementsHandlerTest {
                 .build();
     }
 
-    static Schema getSchemaNoAggregation() {
+    public static Schema getSchemaNoAggregation() {
         return Schema.fromJson(StreamUtil.openStreams(GetAllElementsHandlerTest.class, "schema-no-aggregation"));
     }
 
+    static Graph getGraphWithLookupThreads() {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setLookupThreads(4);
+        storeProperties.setLookupBatchSize(3);
+        return new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graphWithLookupThreads")
+                        .build())
+                .addSchema(getSchema())
+                .storeProperties(storeProperties)
+                .build();
+    }
+
     static Graph getGraphNoIndices() {
         final MapStoreProperties storeProperties = new MapStoreProperties();
         storeProperties.setCreateIndex(false);
@@ -15,6 +15,7 @@
  */
 package uk.gov.gchq.gaffer.mapstore.impl;
 
+import com.google.common.collect.Lists;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
@@ -29,9 +30,11 @@ import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.element.function.ElementTransformer;
 import uk.gov.gchq.gaffer.data.element.id.DirectedType;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.mapstore.utils.MapStoreConstants;
 import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.SeedMatching.SeedMatchingType;
 import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
@@ -580,6 +583,77 @@ public class GetElementsHandlerTest {
         assertEquals(expectedResults, resultsSet);
     }
 
+    @Test
+    public void testGetElementsInParallelReturnsSameResultsInSameOrderAsSequential() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphWithLookupThreads();
+        final AddElements addElements = new AddElements.Builder()
+                .input(getElements())
+                .build();
+        graph.execute(addElements, new User());
+        final List<ElementId> seeds = new ArrayList<>();
+        IntStream.range(0, NUM_LOOPS).forEach(i -> {
+            seeds.add(new EntitySeed("" + i));
+            seeds.add(new EntitySeed("B" + i));
+            seeds.add(new EdgeSeed("X", "Y" + i, false));
+        });
+        seeds.add(new EntitySeed("A"));
+        final View view = new View.Builder()
+                .entity(GetAllElementsHandlerTest.BASIC_ENTITY)
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE1, new ViewElementDefinition.Builder()
+                        .transformer(new ElementTransformer.Builder()
+                                .select(GetAllElementsHandlerTest.COUNT)
+                                .execute(new ExampleTransform())
+                                .project(GetAllElementsHandlerTest.COUNT)
+                                .build())
+                        .build())
+                .edge(GetAllElementsHandlerTest.BASIC_EDGE2)
+                .build();
+
+        // When
+        final List<Element> parallelResults = Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .view(view)
+                .build(), new User()));
+        final List<Element> sequentialResults = Lists.newArrayList(graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .view(view)
+                .option(MapStoreConstants.PARALLEL_LOOKUP, "false")
+                .build(), new User()));
+
+        // Then
+        assertEquals(NUM_LOOPS * 3 + 1, sequentialResults.size());
+        assertEquals(sequentialResults, parallelResults);
+    }
+
+    @Test
+    public void testGetElementsInParallelWithoutPreservingSeedOrder() throws OperationException {
+        // Given
+        final Graph graph = GetAllElementsHandlerTest.getGraphWithLookupThreads();
+        final AddElements addElements = new AddElements.Builder()
+                .input(getElements())
+                .build();
+        graph.execute(addElements, new User());
+        final List<ElementId> seeds = new ArrayList<>();
+        seeds.add(new EntitySeed("A"));
+        IntStream.range(0, NUM_LOOPS).forEach(i -> seeds.add(new EntitySeed("B" + i)));
+
+        // When
+        final CloseableIterable<? extends Element> results = graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .option(MapStoreConstants.PRESERVE_SEED_ORDER, "false")
+                .build(), new User());
+
+        // Then
+        final Set<Element> resultsSet = new HashSet<>();
+        Streams.toStream(results).forEach(resultsSet::add);
+        final Set<Element> expectedResults = new HashSet<>();
+        getElements().stream()
+                .filter(element -> !element.getGroup().equals(GetAllElementsHandlerTest.BASIC_EDGE2))
+                .forEach(expectedResults::add);
+        assertEquals(expectedResults, resultsSet);
+    }
+
     private static class ExampleTransform extends KorypheFunction<Integer, Integer> {
         static final int INCREMENT_BY = 100;
 
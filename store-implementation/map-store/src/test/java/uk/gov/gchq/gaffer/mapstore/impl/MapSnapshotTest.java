@@ -0,0 +1,258 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.impl;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.mapstore.MapStore;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.factory.ConcurrentMapFactory;
+import uk.gov.gchq.gaffer.mapstore.index.CompactElementIndex;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class MapSnapshotTest {
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test
+    public void shouldRestoreAggregatedElementsFromSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        final MapStore store = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        final List<Element> expected = getAllElements(store);
+
+        // When
+        store.snapshot();
+        final MapStore restoredStore = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+
+        // Then
+        assertEquals(expected.size(), getAllElements(restoredStore).size());
+        assertTrue(getAllElements(restoredStore).containsAll(expected));
+        assertEquals(getElements(store, "A"), getElements(restoredStore, "A"));
+    }
+
+    @Test
+    public void shouldRestoreNonAggregatedElementsFromSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        final MapStore store = createStore(GetAllElementsHandlerTest.getSchemaNoAggregation(), properties);
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        final List<Element> expected = getAllElements(store);
+
+        // When
+        store.snapshot();
+        final MapStore restoredStore = createStore(GetAllElementsHandlerTest.getSchemaNoAggregation(), properties);
+
+        // Then
+        final List<Element> restored = getAllElements(restoredStore);
+        assertEquals(expected.size(), restored.size());
+        assertTrue(restored.containsAll(expected));
+    }
+
+    @Test
+    public void shouldRebuildCompactIndexFromSnapshot() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        properties.setIndexClass(CompactElementIndex.class);
+        final MapStore store = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+        addElements(store, GetAllElementsHandlerTest.getElements());
+
+        // When
+        store.snapshot();
+        final MapStore restoredStore = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+
+        // Then
+        assertEquals(getElements(store, "A"), getElements(restoredStore, "A"));
+        assertEquals(getElements(store, "X"), getElements(restoredStore, "X"));
+    }
+
+    @Test
+    public void shouldKeepOnlyLatestSnapshotAndAggregateAfterRestore() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        final MapStore store = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        store.snapshot();
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        store.snapshot();
+
+        // When
+        final MapStore restoredStore = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+        addElements(restoredStore, GetAllElementsHandlerTest.getElements());
+        addElements(store, GetAllElementsHandlerTest.getElements());
+
+        // Then
+        final List<Element> expected = getAllElements(store);
+        final List<Element> restored = getAllElements(restoredStore);
+        assertEquals(expected.size(), restored.size());
+        assertTrue(restored.containsAll(expected));
+        assertEquals(1, testFolder.getRoot().toPath().resolve("snapshots").toFile().list((dir, name) -> name.startsWith("snapshot-")).length);
+    }
+
+    @Test
+    public void shouldNotRestoreWhenNoSnapshotExists() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties();
+
+        // When
+        final MapStore store = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+
+        // Then
+        assertTrue(getAllElements(store).isEmpty());
+        assertFalse(new MapSnapshot(store.getSchema(), testFolder.getRoot().toPath().resolve("snapshots")).exists());
+    }
+
+    @Test
+    public void shouldThrowExceptionWhenSnapshotDirectoryIsNotSet() throws Exception {
+        // Given
+        final MapStore store = createStore(GetAllElementsHandlerTest.getSchema(), new MapStoreProperties());
+
+        // When / Then
+        try {
+            store.snapshot();
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getMessage().contains(MapStoreProperties.SNAPSHOT_DIRECTORY));
+        }
+    }
+
+    @Test
+    public void shouldWriteEachSnapshotToNewDirectory() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        final MapStore store = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        final Path current = testFolder.getRoot().toPath().resolve("snapshots").resolve(MapSnapshot.CURRENT);
+        final Set<String> snapshotNames = new HashSet<>();
+
+        // When - several snapshots are likely to be written within the same millisecond
+        for (int i = 0; i < 10; i++) {
+            store.snapshot();
+            snapshotNames.add(new String(Files.readAllBytes(current), StandardCharsets.UTF_8));
+        }
+
+        // Then
+        assertEquals(10, snapshotNames.size());
+        final MapStore restoredStore = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+        assertEquals(getAllElements(store).size(), getAllElements(restoredStore).size());
+    }
+
+    @Test
+    public void shouldRejectPeriodicSnapshotsWithoutConcurrentMaps() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        properties.setSnapshotIntervalSeconds(60L);
+
+        // When / Then
+        try {
+            createStore(GetAllElementsHandlerTest.getSchema(), properties);
+            fail("Exception expected");
+        } catch (final StoreException e) {
+            assertTrue(e.getMessage().contains(MapStoreProperties.SNAPSHOT_INTERVAL_SECONDS));
+        }
+    }
+
+    @Test
+    public void shouldAllowPeriodicSnapshotsWithConcurrentMaps() throws Exception {
+        // Given
+        final MapStoreProperties properties = createProperties();
+        properties.setSnapshotIntervalSeconds(60L);
+        properties.setMapFactory(ConcurrentMapFactory.class);
+
+        // When
+        final MapStore store = createStore(GetAllElementsHandlerTest.getSchema(), properties);
+
+        // Then
+        addElements(store, GetAllElementsHandlerTest.getElements());
+        assertFalse(getAllElements(store).isEmpty());
+    }
+
+    private View createView(final MapStore store) {
+        return new View.Builder()
+                .entities(store.getSchema().getEntityGroups())
+                .edges(store.getSchema().getEdgeGroups())
+                .build();
+    }
+
+    private MapStoreProperties createProperties() throws IOException {
+        final MapStoreProperties properties = new MapStoreProperties();
+        properties.setSnapshotDirectory(testFolder.getRoot().toPath().resolve("snapshots").toString());
+        return properties;
+    }
+
+    private MapStore createStore(final Schema schema, final MapStoreProperties properties) throws StoreException {
+        final MapStore store = new MapStore();
+        store.initialise("graph1", schema, properties);
+        return store;
+    }
+
+    private void addElements(final MapStore store, final List<Element> elements) throws OperationException {
+        new AddElementsHandler().doOperation(new AddElements.Builder()
+                .input(elements)
+                .build(), new Context(new User()), store);
+    }
+
+    private List<Element> getAllElements(final MapStore store) throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        Streams.toStream(new GetAllElementsHandler().doOperation(new GetAllElements.Builder()
+                .view(createView(store))
+                .build(), new Context(new User()), store))
+                .forEach(results::add);
+        return results;
+    }
+
+    private List<Element> getElements(final MapStore store, final String vertex) throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        Streams.toStream(new GetElementsHandler().doOperation(new GetElements.Builder()
+                .input(new EntitySeed(vertex))
+                .view(createView(store))
+                .build(), new Context(new User()), store))
+                .forEach(results::add);
+        results.sort((a, b) -> a.toString().compareTo(b.toString()));
+        return results;
+    }
+}
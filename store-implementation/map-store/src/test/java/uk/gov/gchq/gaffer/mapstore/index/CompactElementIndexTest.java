@@ -0,0 +1,201 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package uk.gov.gchq.gaffer.mapstore.index;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.stream.Streams;
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.id.EdgeId;
+import uk.gov.gchq.gaffer.data.element.id.ElementId;
+import uk.gov.gchq.gaffer.graph.Graph;
+import uk.gov.gchq.gaffer.graph.GraphConfig;
+import uk.gov.gchq.gaffer.mapstore.MapStoreProperties;
+import uk.gov.gchq.gaffer.mapstore.impl.GetAllElementsHandlerTest;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EdgeSeed;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAdjacentIds;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.user.User;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CompactElementIndexTest {
+
+    @Test
+    public void shouldLookupEntitiesAndEdgesByVertex() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        final Entity entity = new Entity(TestGroups.ENTITY, "A");
+        final Edge outgoing = new Edge(TestGroups.EDGE, "A", "B", true);
+        final Edge incoming = new Edge(TestGroups.EDGE, "C", "A", true);
+        index.add(entity);
+        index.add(outgoing);
+        index.add(incoming);
+
+        // When
+        final List<Element> results = Lists.newArrayList(index.lookupVertex("A"));
+
+        // Then
+        assertEquals(Lists.newArrayList(entity, outgoing, incoming), results);
+        assertEquals(EdgeId.MatchedVertex.SOURCE, ((Edge) results.get(1)).getMatchedVertex());
+        assertEquals(EdgeId.MatchedVertex.DESTINATION, ((Edge) results.get(2)).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldReturnSelfLoopOnce() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        final Edge selfLoop = new Edge(TestGroups.EDGE, "A", "A", true);
+        index.add(selfLoop);
+
+        // When
+        final Collection<Element> results = index.lookupVertex("A");
+
+        // Then
+        assertEquals(1, results.size());
+        assertEquals(EdgeId.MatchedVertex.SOURCE, ((Edge) results.iterator().next()).getMatchedVertex());
+    }
+
+    @Test
+    public void shouldReturnEmptyCollectionForUnknownVertex() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        index.add(new Entity(TestGroups.ENTITY, "A"));
+
+        // When / Then
+        assertTrue(index.lookupVertex("unknown").isEmpty());
+        assertTrue(index.lookupEdge("A", "unknown", true).isEmpty());
+    }
+
+    @Test
+    public void shouldLookupEdgesByIdentifiers() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        final Edge directed = new Edge(TestGroups.EDGE, "A", "B", true);
+        final Edge undirected = new Edge(TestGroups.EDGE, "B", "A", false);
+        final Edge other = new Edge(TestGroups.EDGE, "A", "C", true);
+        index.add(directed);
+        index.add(undirected);
+        index.add(other);
+
+        // When / Then
+        assertEquals(Lists.newArrayList(directed), index.lookupEdge("A", "B", true));
+        assertEquals(Lists.newArrayList(undirected), index.lookupEdge("A", "B", false));
+        assertEquals(Lists.newArrayList(undirected), index.lookupEdge("B", "A", false));
+        assertTrue(index.lookupEdge("B", "A", true).isEmpty());
+    }
+
+    @Test
+    public void shouldGrowForManyVerticesAndEdges() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        final int numVertices = 1000;
+
+        // When
+        for (int i = 0; i < numVertices; i++) {
+            index.add(new Edge(TestGroups.EDGE, "hub", "v" + i, true));
+            index.add(new Entity(TestGroups.ENTITY, "v" + i));
+        }
+
+        // Then
+        assertEquals(numVertices, index.lookupVertex("hub").size());
+        assertEquals(2, index.lookupVertex("v" + (numVertices - 1)).size());
+    }
+
+    @Test
+    public void shouldClearIndex() {
+        // Given
+        final CompactElementIndex index = new CompactElementIndex();
+        index.add(new Edge(TestGroups.EDGE, "A", "B", true));
+
+        // When
+        index.clear();
+
+        // Then
+        assertTrue(index.lookupVertex("A").isEmpty());
+    }
+
+    @Test
+    public void shouldReturnSameResultsAsMultiMapElementIndex() throws OperationException {
+        // Given
+        final Graph defaultIndexGraph = createGraph(MultiMapElementIndex.class);
+        final Graph compactIndexGraph = createGraph(CompactElementIndex.class);
+        final List<ElementId> seeds = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            seeds.add(new EntitySeed("" + i));
+            seeds.add(new EntitySeed("B" + i));
+            seeds.add(new EntitySeed("Y" + i));
+            seeds.add(new EdgeSeed("A", "B" + i, true));
+            seeds.add(new EdgeSeed("Y" + i, "X", false));
+        }
+        seeds.add(new EntitySeed("A"));
+        seeds.add(new EntitySeed("X"));
+
+        // When / Then
+        assertEquals(getElements(defaultIndexGraph, seeds), getElements(compactIndexGraph, seeds));
+        assertEquals(getAdjacentIds(defaultIndexGraph), getAdjacentIds(compactIndexGraph));
+    }
+
+    private Graph createGraph(final Class<? extends ElementIndex> indexClass) throws OperationException {
+        final MapStoreProperties storeProperties = new MapStoreProperties();
+        storeProperties.setIndexClass(indexClass);
+        final Graph graph = new Graph.Builder()
+                .config(new GraphConfig.Builder()
+                        .graphId("graph_" + indexClass.getSimpleName())
+                        .build())
+                .addSchema(GetAllElementsHandlerTest.getSchema())
+                .storeProperties(storeProperties)
+                .build();
+        graph.execute(new AddElements.Builder()
+                .input(GetAllElementsHandlerTest.getElements())
+                .build(), new User());
+        return graph;
+    }
+
+    private Set<Element> getElements(final Graph graph, final List<ElementId> seeds) throws OperationException {
+        final Set<Element> results = new HashSet<>();
+        Streams.toStream(graph.execute(new GetElements.Builder()
+                .input(seeds)
+                .build(), new User()))
+                .forEach(results::add);
+        return results;
+    }
+
+    private Set<Object> getAdjacentIds(final Graph graph) throws OperationException {
+        final Set<Object> results = new HashSet<>();
+        Streams.toStream(graph.execute(new GetAdjacentIds.Builder()
+                .input(new EntitySeed("A"), new EntitySeed("X"), new EntitySeed("Y1"))
+                .build(), new User()))
+                .forEach(entityId -> results.add(entityId.getVertex()));
+        assertTrue(results.containsAll(Sets.newHashSet("B0", "X")));
+        return results;
+    }
+}
@@ -24,14 +24,18 @@ import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.SparkSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.parquetstore.index.FileIndex;
+import uk.gov.gchq.gaffer.parquetstore.index.serialisation.FileIndexSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAdjacentIdsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetAllElementsHandler;
@@ -39,6 +43,7 @@ import uk.gov.gchq.gaffer.parquetstore.operation.handler.GetElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportJavaRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.ImportRDDOfElementsHandler;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.WriteSnapshot;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GroupPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
@@ -59,7 +64,11 @@ import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.StringParquetSerialise
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TreeSetStringParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TypeSubTypeValueParquetSerialiser;
 import uk.gov.gchq.gaffer.parquetstore.serialisation.impl.TypeValueParquetSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.utils.DeltaFiles;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetTaskScheduler;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SparkParquetUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.StoreState;
 import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import uk.gov.gchq.gaffer.serialisation.implementation.JavaSerialiser;
 import uk.gov.gchq.gaffer.spark.operation.javardd.ImportJavaRDDOfElements;
@@ -81,8 +90,16 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import static uk.gov.gchq.gaffer.store.StoreTrait.INGEST_AGGREGATION;
@@ -105,6 +122,7 @@ public class ParquetStore extends Store {
     public static final String SNAPSHOT = "snapshot";
     public static final String REVERSED_GROUP = "reversed-" + GROUP;
     public static final String PARTITION = "partition";
+    public static final String DELTA = "delta";
     public static final int LENGTH_OF_PARTITION_NUMBER_IN_FILENAME = 7;
 
     @SuppressFBWarnings("MS_MUTABLE_ARRAY")
@@ -138,10 +156,14 @@ public class ParquetStore extends Store {
 //                    STORE_VALIDATION
             ));
 
-    private GraphPartitioner graphPartitioner;
-    private long currentSnapshot;
     private SchemaUtils schemaUtils;
     private FileSystem fs;
+    private ParquetTaskScheduler taskScheduler;
+    private ExecutorService compactionExecutor;
+    private final AtomicBoolean compactionScheduled = new AtomicBoolean();
+    private final Lock writeLock = new ReentrantLock();
+    private volatile StoreState state;
+    private final Map<Path, Optional<FileIndex>> fileIndices = new ConcurrentHashMap<>();
 
     @Override
     public void initialise(final String graphId, final Schema schema, final StoreProperties properties) throws StoreException {
@@ -159,11 +181,13 @@ public class ParquetStore extends Store {
         }
         LOGGER.info("Initialising ParquetStore for graph id {}", graphId);
         super.initialise(graphId, schema, parquetStoreProperties);
+        shutdownTaskScheduler();
+        shutdownCompactionExecutor();
         try {
             fs = FileSystem.get(new Configuration());
             schemaUtils = new SchemaUtils(getSchema());
             initialise();
-            loadGraphPartitioner();
+            loadState();
         } catch (final IOException e) {
             throw new StoreException("Could not connect to the file system", e);
         }
@@ -173,14 +197,22 @@ public class ParquetStore extends Store {
         return SNAPSHOT + "=" + snapshot;
     }
 
+    public static String getDeltaPath(final long timestamp) {
+        return DELTA + "=" + timestamp;
+    }
+
+    public static long getDeltaTimestamp(final String deltaPath) {
+        return Long.parseLong(deltaPath.substring(DELTA.length() + 1));
+    }
+
     private void initialise() throws IOException, StoreException {
         // If data directory is empty or does not exist then this is the first time the store has been created.
         final Path dataDirPath = new Path(getDataDir());
         if (!fs.exists(dataDirPath) || 0 == fs.listStatus(dataDirPath).length) {
             LOGGER.info("Data directory {} doesn't exist or is empty so initialising directory structure", dataDirPath);
-            currentSnapshot = System.currentTimeMillis();
-            LOGGER.info("Initialising snapshot id to {}", currentSnapshot);
-            final Path snapshotPath = new Path(dataDirPath, getSnapshotPath(currentSnapshot));
+            final long snapshot = System.currentTimeMillis();
+            LOGGER.info("Initialising snapshot id to {}", snapshot);
+            final Path snapshotPath = new Path(dataDirPath, getSnapshotPath(snapshot));
             LOGGER.info("Creating snapshot directory {}", snapshotPath);
             fs.mkdirs(snapshotPath);
             LOGGER.info("Creating group directories under {}", snapshotPath);
@@ -196,7 +228,7 @@ public class ParquetStore extends Store {
                 LOGGER.info("Created directory {}", groupDir);
             }
             LOGGER.info("Creating GraphPartitioner with 0 split points for each group");
-            graphPartitioner = new GraphPartitioner();
+            final GraphPartitioner graphPartitioner = new GraphPartitioner();
             for (final String group : getSchema().getGroups()) {
                 graphPartitioner.addGroupPartitioner(group, new GroupPartitioner(group, new ArrayList<>()));
             }
@@ -204,10 +236,11 @@ public class ParquetStore extends Store {
                 graphPartitioner.addGroupPartitionerForReversedEdges(group, new GroupPartitioner(group, new ArrayList<>()));
             }
             LOGGER.info("Writing GraphPartitioner to snapshot directory");
-            final FSDataOutputStream dataOutputStream = fs.create(getGraphPartitionerPath());
+            final Path graphPartitionerPath = getGraphPartitionerPath(snapshot);
+            final FSDataOutputStream dataOutputStream = fs.create(graphPartitionerPath);
             new GraphPartitionerSerialiser().write(graphPartitioner, dataOutputStream);
             dataOutputStream.close();
-            LOGGER.info("Wrote GraphPartitioner to file {}", getGraphPartitionerPath().toString());
+            LOGGER.info("Wrote GraphPartitioner to file {}", graphPartitionerPath);
         } else {
             LOGGER.info("Data directory {} exists and is non-empty, validating a snapshot directory exists", dataDirPath);
             final FileStatus[] fileStatuses = fs.listStatus(dataDirPath, f -> f.getName().startsWith(SNAPSHOT + "="));
@@ -238,27 +271,36 @@ public class ParquetStore extends Store {
     }
 
     public Path getGraphPartitionerPath() {
-        return new Path(getProperties().getDataDir() + "/" + SNAPSHOT + "=" + currentSnapshot, "graphPartitioner");
+        return getGraphPartitionerPath(state.getSnapshot());
     }
 
-    private void loadGraphPartitioner() throws StoreException {
+    private Path getGraphPartitionerPath(final long snapshot) {
+        return new Path(getDataDir() + "/" + getSnapshotPath(snapshot), "graphPartitioner");
+    }
+
+    // Loads the partitioner and the delta files of the latest snapshot and then publishes them, together with the
+    // snapshot id, as a single StoreState so that a query never sees a partitioner from one snapshot with the
+    // deltas from another
+    private synchronized void loadState() throws StoreException {
         final String dataDir = getDataDir();
         try {
             if (fs.exists(new Path(dataDir))) {
-                this.currentSnapshot = getLatestSnapshot(dataDir);
-                LOGGER.info("Setting currentSnapshot to {}", this.currentSnapshot);
-                final Path path = getGraphPartitionerPath();
+                final long snapshot = getLatestSnapshot(dataDir);
+                LOGGER.info("Setting currentSnapshot to {}", snapshot);
+                final Path path = getGraphPartitionerPath(snapshot);
                 if (!fs.exists(path)) {
                     LOGGER.info("Graph partitioner does not exist in {} so creating it", path);
                     final GraphPartitioner partitioner =
-                            new CalculatePartitioner(new Path(dataDir + "/" + getSnapshotPath(this.currentSnapshot)), getSchema(), fs).call();
+                            new CalculatePartitioner(new Path(dataDir + "/" + getSnapshotPath(snapshot)), getSchema(), fs).call();
                     LOGGER.info("Writing graph partitioner to {}", path);
                     final FSDataOutputStream stream = fs.create(path);
                     new GraphPartitionerSerialiser().write(partitioner, stream);
                     stream.close();
                 }
                 LOGGER.info("Loading graph partitioner from path {}", path);
-                loadGraphPartitioner(path);
+                final GraphPartitioner graphPartitioner = loadGraphPartitioner(path);
+                final DeltaFiles deltaFiles = loadDeltaFiles(snapshot);
+                setState(new StoreState(dataDir, snapshot, graphPartitioner, deltaFiles));
             } else {
                 throw new StoreException("Data directory " + dataDir + " does not exist - store is in an inconsistent state");
             }
@@ -267,10 +309,50 @@ public class ParquetStore extends Store {
         }
     }
 
-    private void loadGraphPartitioner(final Path graphPartitionerPath) throws IOException {
-        final FSDataInputStream stream = fs.open(graphPartitionerPath);
-        this.graphPartitioner = new GraphPartitionerSerialiser().read(stream);
-        stream.close();
+    private GraphPartitioner loadGraphPartitioner(final Path graphPartitionerPath) throws IOException {
+        try (final FSDataInputStream stream = fs.open(graphPartitionerPath)) {
+            return new GraphPartitionerSerialiser().read(stream);
+        }
+    }
+
+    private DeltaFiles loadDeltaFiles(final long snapshot) throws IOException {
+        final DeltaFiles deltaFiles = DeltaFiles.load(fs, new Path(getDataDir(), getSnapshotPath(snapshot)));
+        LOGGER.info("Loaded {} deltas ({} bytes) in snapshot {}",
+                deltaFiles.getNumberOfDeltas(), deltaFiles.getSizeInBytes(), snapshot);
+        return deltaFiles;
+    }
+
+    private void setState(final StoreState state) {
+        this.state = state;
+        // The indices are cached by path, and the paths of files are never reused, but clear them so that the
+        // indices of files that are no longer in the store are not held on to
+        fileIndices.clear();
+    }
+
+    /**
+     * Reloads the delta files in the current snapshot directory. This should be called after a new delta
+     * directory has been written.
+     *
+     * @throws StoreException if the snapshot directory could not be read
+     */
+    public synchronized void reloadDeltaFiles() throws StoreException {
+        final StoreState currentState = state;
+        try {
+            setState(currentState.withDeltaFiles(loadDeltaFiles(currentState.getSnapshot())));
+        } catch (final IOException e) {
+            throw new StoreException("IOException loading the delta files for snapshot " + currentState.getSnapshot(), e);
+        }
+    }
+
+    /**
+     * Returns the current state of the store, i.e. the snapshot, its graph partitioner and its delta files.
+     * The state is replaced as a whole when the data in the store changes, so an operation should get it
+     * once and use it for everything that it reads.
+     *
+     * @return the current state
+     */
+    public StoreState getState() {
+        return state;
     }
 
     public FileSystem getFS() {
@@ -281,6 +363,163 @@ public class ParquetStore extends Store {
         return schemaUtils;
     }
 
+    /**
+     * Returns the scheduler, shared by all the operations against this store, that runs the tasks which read
+     * and write the Parquet files. At most {@link ParquetStoreProperties#getThreadsAvailable()} tasks run at
+     * once, and each operation runs its tasks in its own session with its own parallelism budget. The
+     * scheduler is created the first time it is requested.
+     *
+     * @return the shared task scheduler
+     */
+    public synchronized ParquetTaskScheduler getTaskScheduler() {
+        if (null == taskScheduler) {
+            taskScheduler = new ParquetTaskScheduler("ParquetStore-" + getGraphId() + "-task",
+                    getProperties().getThreadsAvailable());
+        }
+        return taskScheduler;
+    }
+
+    private synchronized void shutdownTaskScheduler() {
+        if (null != taskScheduler) {
+            taskScheduler.shutdown();
+            taskScheduler = null;
+        }
+    }
+
+    /**
+     * Returns the lock that must be held whilst the data in the store is being changed, i.e. whilst elements
+     * are added or deltas are compacted. Queries do not need the lock.
+     *
+     * @return the write lock
+     */
+    public Lock getWriteLock() {
+        return writeLock;
+    }
+
+    public DeltaFiles getDeltaFiles() {
+        return state.getDeltaFiles();
+    }
+
+    /**
+     * Gets the delta files containing elements for the same partition as the given snapshot file.
+     *
+     * @param file a file in the current snapshot, for a group or for reversed edges
+     * @return the delta files for the same partition, oldest first
+     */
+    public List<Path> getDeltaFiles(final Path file) {
+        return state.getDeltaFiles(file);
+    }
+
+    /**
+     * Gets the {@link FileIndex} for a file in the store. The index is read from the file's sidecar the first time it
+     * is requested and is then cached.
+     *
+     * @param file a file in the current snapshot or a delta file
+     * @return the index, or null if the file does not exist or does not have an index
+     */
+    public FileIndex getFileIndex(final Path file) {
+        return fileIndices.computeIfAbsent(file, this::readFileIndex).orElse(null);
+    }
+
+    private Optional<FileIndex> readFileIndex(final Path file) {
+        final Path indexPath = FileIndex.getIndexPath(file);
+        try {
+            if (!fs.exists(indexPath)) {
+                LOGGER.debug("There is no index {} for file {}", indexPath, file);
+                return Optional.empty();
+            }
+            try (final FSDataInputStream stream = fs.open(indexPath)) {
+                return Optional.of(new FileIndexSerialiser().read(stream));
+            }
+        } catch (final IOException e) {
+            LOGGER.warn("IOException reading index {}, the file {} will be read without it", indexPath, file, e);
+            return Optional.empty();
+        }
+    }
+
+    public List<Path> getDeltaFilesForGroup(final String group) {
+        return state.getDeltaFilesForGroup(group);
+    }
+
+    public Set<Integer> getPartitionIdsWithDeltaFiles(final String group) {
+        return state.getPartitionIdsWithDeltaFiles(group);
+    }
+
+    public boolean shouldCompactDeltas() {
+        final DeltaFiles currentDeltaFiles = state.getDeltaFiles();
+        return 0 < currentDeltaFiles.getNumberOfDeltas()
+                && (currentDeltaFiles.getNumberOfDeltas() >= getProperties().getCompactionMaxDeltas()
+                || currentDeltaFiles.getSizeInBytes() >= getProperties().getCompactionMaxDeltaSize());
+    }
+
+    /**
+     * Compacts the deltas into a new snapshot on a background thread, unless a compaction is already waiting
+     * to run.
+     *
+     * @param spark the Spark session to aggregate and sort the data with
+     */
+    public void compactDeltasInBackground(final SparkSession spark) {
+        if (compactionScheduled.compareAndSet(false, true)) {
+            getCompactionExecutor().submit(() -> {
+                try {
+                    compactDeltas(spark);
+                } catch (final OperationException e) {
+                    LOGGER.error("Exception compacting the deltas in snapshot {}", state.getSnapshot(), e);
+                } finally {
+                    compactionScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    /**
+     * Aggregates and sorts the snapshot files and the delta files for each partition into a new snapshot
+     * that has no deltas.
+     *
+     * @param spark the Spark session to aggregate and sort the data with
+     * @throws OperationException if the new snapshot could not be written
+     */
+    public void compactDeltas(final SparkSession spark) throws OperationException {
+        writeLock.lock();
+        try {
+            final StoreState currentState = state;
+            final DeltaFiles deltaFiles = currentState.getDeltaFiles();
+            if (0 == deltaFiles.getNumberOfDeltas()) {
+                LOGGER.info("Not compacting snapshot {} as it has no deltas", currentState.getSnapshot());
+                return;
+            }
+            LOGGER.info("Compacting {} deltas ({} bytes) in snapshot {}",
+                    deltaFiles.getNumberOfDeltas(), deltaFiles.getSizeInBytes(), currentState.getSnapshot());
+            SparkParquetUtils.configureSparkForAddElements(spark, getProperties());
+            final ExecutorService session = getTaskScheduler().createSession("compaction", getProperties().getThreadsAvailable());
+            try {
+                new WriteSnapshot(this, spark, session, null, null, getTempFilesDir() + "/compaction").call();
+            } finally {
+                session.shutdown();
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private synchronized ExecutorService getCompactionExecutor() {
+        if (null == compactionExecutor) {
+            compactionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+                final Thread thread = new Thread(runnable, "ParquetStore-" + getGraphId() + "-compaction");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return compactionExecutor;
+    }
+
+    private synchronized void shutdownCompactionExecutor() {
+        if (null != compactionExecutor) {
+            compactionExecutor.shutdown();
+            compactionExecutor = null;
+        }
+    }
+
     @Override
     public Set<StoreTrait> getTraits() {
         return TRAITS;
@@ -294,21 +533,39 @@ public class ParquetStore extends Store {
         return getProperties().getTempFilesDir();
     }
 
+    public String getSnapshotDir() {
+        return state.getSnapshotDir();
+    }
+
     public String getFile(final String group, final Partition partition) {
         return getFile(group, partition.getPartitionId());
     }
 
     public String getFile(final String group, final Integer partitionId) {
-        return getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GROUP + "=" + group
-                + "/" + getFile(partitionId);
+        return state.getFile(group, partitionId);
     }
 
     public static String getFile(final Integer partitionId) {
         return PARTITION + "-" + zeroPad("" + partitionId) + ".parquet";
     }
 
+    /**
+     * Gets the partition id from the name of a partition file, see {@link #getFile(Integer)}.
+     *
+     * @param fileName the name of the file
+     * @return the partition id, or null if the file is not a partition file
+     */
+    public static Integer getPartitionId(final String fileName) {
+        if (!fileName.startsWith(PARTITION + "-") || !fileName.endsWith(".parquet")) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(fileName.substring(PARTITION.length() + 1, fileName.length() - ".parquet".length()));
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
     private static String zeroPad(final String input) {
         final StringBuilder temp = new StringBuilder(input);
         while (temp.length() < LENGTH_OF_PARTITION_NUMBER_IN_FILENAME) {
@@ -322,21 +579,11 @@ public class ParquetStore extends Store {
     }
 
     public String getFileForReversedEdges(final String group, final Integer partitionId) {
-        return getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + REVERSED_GROUP + "=" + group
-                + "/" + getFile(partitionId);
+        return state.getFileForReversedEdges(group, partitionId);
     }
 
     public List<Path> getFilesForGroup(final String group) throws IOException {
-        final Path dir = new Path(getDataDir()
-                + "/" + getSnapshotPath(currentSnapshot)
-                + "/" + GROUP + "=" + group);
-        final FileStatus[] files = fs.listStatus(dir, path -> path.getName().endsWith(".parquet"));
-        return Arrays
-                .stream(files)
-                .map(FileStatus::getPath)
-                .collect(Collectors.toList());
+        return state.getFilesForGroup(fs, group);
     }
 
     @SuppressFBWarnings(value = "BC_UNCONFIRMED_CAST_OF_RETURN_VALUE", justification = "The properties should always be ParquetStoreProperties")
@@ -415,8 +662,7 @@ public class ParquetStore extends Store {
         }
 
         LOGGER.info("Setting currentSnapshot to {} and reloading graph partitioner", snapshot);
-        this.currentSnapshot = snapshot;
-        loadGraphPartitioner();
+        loadState();
     }
 
     private long getLatestSnapshot(final String rootDir) throws StoreException {
@@ -435,6 +681,6 @@ public class ParquetStore extends Store {
     }
 
     public GraphPartitioner getGraphPartitioner() {
-        return graphPartitioner;
+        return state.getGraphPartitioner();
     }
 }
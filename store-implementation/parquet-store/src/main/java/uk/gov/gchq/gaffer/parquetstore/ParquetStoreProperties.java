@@ -45,7 +45,15 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_SORT_BY_SPLITS_ON_INGEST = "parquet.add_elements.sort_by_splits";
     public static final String PARQUET_SPLIT_POINTS_SAMPLE_RATE = "parquet.add_elements.split_points.sample_rate";
     public static final String PARQUET_THREADS_AVAILABLE = "parquet.threadsAvailable";
+    public static final String PARQUET_QUERY_QUEUE_SIZE = "parquet.query.queue_size";
+    public static final String PARQUET_QUERY_MAX_PARALLELISM = "parquet.query.max_parallelism";
+    public static final String PARQUET_QUERY_SORTED_SEEDS_THRESHOLD = "parquet.query.sorted_seeds_threshold";
+    public static final String PARQUET_QUERY_READ_COLUMN_BATCHES = "parquet.query.read_column_batches";
     public static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP = "parquet.add_elements.output_files_per_group";
+    public static final String PARQUET_WRITE_INDEX_ON_INGEST = "parquet.add_elements.write_index";
+    public static final String PARQUET_INCREMENTAL_INGEST = "parquet.add_elements.incremental";
+    public static final String PARQUET_COMPACTION_MAX_DELTAS = "parquet.compaction.max_deltas";
+    public static final String PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES = "parquet.compaction.max_delta_size";
     public static final String SPARK_MASTER = "spark.master";
     public static final String PARQUET_SKIP_VALIDATION = "parquet.skip_validation";
     public static final String COMPRESSION_CODEC = "parquet.compression.codec";
@@ -58,7 +66,14 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
     public static final String PARQUET_SORT_BY_SPLITS_ON_INGEST_DEFAULT = "false";
     private static final String PARQUET_SPLIT_POINTS_SAMPLE_RATE_DEFAULT = "10";
     private static final String PARQUET_THREADS_AVAILABLE_DEFAULT = "3";
+    private static final String PARQUET_QUERY_QUEUE_SIZE_DEFAULT = "10000";
+    private static final String PARQUET_QUERY_SORTED_SEEDS_THRESHOLD_DEFAULT = "16";
+    private static final String PARQUET_QUERY_READ_COLUMN_BATCHES_DEFAULT = "false";
     private static final String PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP_DEFAULT = "10";
+    private static final String PARQUET_WRITE_INDEX_ON_INGEST_DEFAULT = "true";
+    private static final String PARQUET_INCREMENTAL_INGEST_DEFAULT = "false";
+    private static final String PARQUET_COMPACTION_MAX_DELTAS_DEFAULT = "10";
+    private static final String PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES_DEFAULT = "1073741824"; //1GB
     private static final String SPARK_MASTER_DEFAULT = "local[*]";
     private static final String PARQUET_SKIP_VALIDATION_DEFAULT = "false";
     private static final String COMPRESSION_CODEC_DEFAULT = "GZIP";
@@ -108,6 +123,68 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_THREADS_AVAILABLE, threadsAvailable.toString());
     }
 
+    /**
+     * The maximum number of retrieved elements that are buffered for a query before the threads reading the
+     * Parquet files wait for the consumer to catch up.
+     *
+     * @return The size of the queue between the file readers and the consumer of a query.
+     */
+    public Integer getQueryQueueSize() {
+        return Integer.parseInt(get(PARQUET_QUERY_QUEUE_SIZE, PARQUET_QUERY_QUEUE_SIZE_DEFAULT));
+    }
+
+    public void setQueryQueueSize(final Integer queryQueueSize) {
+        set(PARQUET_QUERY_QUEUE_SIZE, queryQueueSize.toString());
+    }
+
+    /**
+     * The maximum number of tasks that a single query runs at once to read the Parquet files. The tasks of all
+     * the queries and add elements operations share {@link #getThreadsAvailable()} threads, so a lower value
+     * leaves threads free for other queries. By default one thread is left free, so that a single query cannot
+     * use all the threads.
+     *
+     * @return The maximum number of files that a query reads at once, by default one less than
+     * {@link #getThreadsAvailable()}, and at least 1.
+     */
+    public Integer getQueryMaxParallelism() {
+        final String maxParallelism = get(PARQUET_QUERY_MAX_PARALLELISM);
+        return null == maxParallelism ? Math.max(1, getThreadsAvailable() - 1) : Integer.parseInt(maxParallelism);
+    }
+
+    public void setQueryMaxParallelism(final Integer queryMaxParallelism) {
+        set(PARQUET_QUERY_MAX_PARALLELISM, queryMaxParallelism.toString());
+    }
+
+    /**
+     * The number of seeds for a file at or above which a query looks up the values in the file in a sorted
+     * array of the seeds, rather than checking them against a predicate made by ORing an equality predicate
+     * for each seed.
+     *
+     * @return the number of seeds at or above which they are sorted.
+     */
+    public Integer getSortedSeedsThreshold() {
+        return Integer.parseInt(get(PARQUET_QUERY_SORTED_SEEDS_THRESHOLD, PARQUET_QUERY_SORTED_SEEDS_THRESHOLD_DEFAULT));
+    }
+
+    public void setSortedSeedsThreshold(final Integer sortedSeedsThreshold) {
+        set(PARQUET_QUERY_SORTED_SEEDS_THRESHOLD, sortedSeedsThreshold.toString());
+    }
+
+    /**
+     * Whether queries read each row group of a file into column vectors, rather than building an element for each
+     * row. The Parquet filter and the pre-aggregation filters are then applied before the rest of each element is
+     * built. This does not apply to files that have deltas, as they are aggregated before they are filtered.
+     *
+     * @return true if queries read column batches.
+     */
+    public boolean getReadColumnBatches() {
+        return Boolean.parseBoolean(get(PARQUET_QUERY_READ_COLUMN_BATCHES, PARQUET_QUERY_READ_COLUMN_BATCHES_DEFAULT));
+    }
+
+    public void setReadColumnBatches(final boolean readColumnBatches) {
+        set(PARQUET_QUERY_READ_COLUMN_BATCHES, String.valueOf(readColumnBatches));
+    }
+
     public Integer getSampleRate() {
         return Integer.parseInt(get(PARQUET_SPLIT_POINTS_SAMPLE_RATE, PARQUET_SPLIT_POINTS_SAMPLE_RATE_DEFAULT));
     }
@@ -140,6 +217,39 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_ADD_ELEMENTS_OUTPUT_FILES_PER_GROUP, String.valueOf(outputFilesPerGroup));
     }
 
+    /**
+     * If incremental ingest is enabled then {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements} only
+     * writes sorted and aggregated delta files for the partitions that the new elements belong to, rather than
+     * rewriting every partition into a new snapshot. Queries merge the delta files with the snapshot files, and
+     * the deltas are compacted into a new snapshot in the background once there are
+     * {@link #getCompactionMaxDeltas()} of them or they reach {@link #getCompactionMaxDeltaSize()} bytes.
+     *
+     * @return true if elements should be added incrementally.
+     */
+    public boolean getIncrementalIngest() {
+        return Boolean.parseBoolean(get(PARQUET_INCREMENTAL_INGEST, PARQUET_INCREMENTAL_INGEST_DEFAULT));
+    }
+
+    public void setIncrementalIngest(final boolean incrementalIngest) {
+        set(PARQUET_INCREMENTAL_INGEST, String.valueOf(incrementalIngest));
+    }
+
+    public int getCompactionMaxDeltas() {
+        return Integer.parseInt(get(PARQUET_COMPACTION_MAX_DELTAS, PARQUET_COMPACTION_MAX_DELTAS_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltas(final int maxDeltas) {
+        set(PARQUET_COMPACTION_MAX_DELTAS, String.valueOf(maxDeltas));
+    }
+
+    public long getCompactionMaxDeltaSize() {
+        return Long.parseLong(get(PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES, PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES_DEFAULT));
+    }
+
+    public void setCompactionMaxDeltaSize(final long maxDeltaSizeInBytes) {
+        set(PARQUET_COMPACTION_MAX_DELTA_SIZE_IN_BYTES, String.valueOf(maxDeltaSizeInBytes));
+    }
+
     /**
      * If the Spark master is set in this class then that will be used. Otherwise the Spark default config set on the
      * local machine will be used, if you run your code as a spark-submit command or from the spark-shell.
@@ -191,6 +301,21 @@ public class ParquetStoreProperties extends StoreProperties implements Serializa
         set(PARQUET_SORT_BY_SPLITS_ON_INGEST, String.valueOf(sortBySplits));
     }
 
+    /**
+     * Whether to write a {@link uk.gov.gchq.gaffer.parquetstore.index.FileIndex} alongside each sorted Parquet
+     * file when adding elements. The indices are used by queries to skip files and row groups that do not contain
+     * the seeds.
+     *
+     * @return true if the indices should be written
+     */
+    public boolean getWriteIndex() {
+        return Boolean.parseBoolean(get(PARQUET_WRITE_INDEX_ON_INGEST, PARQUET_WRITE_INDEX_ON_INGEST_DEFAULT));
+    }
+
+    public void setWriteIndex(final boolean writeIndex) {
+        set(PARQUET_WRITE_INDEX_ON_INGEST, String.valueOf(writeIndex));
+    }
+
     public CompressionCodecName getCompressionCodecName() throws IllegalArgumentException {
         final String codec = get(COMPRESSION_CODEC, COMPRESSION_CODEC_DEFAULT);
         if (!EnumUtils.isValidEnum(CompressionCodecName.class, codec)) {
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.hadoop.util.bloom.Key;
+import org.apache.hadoop.util.hash.Hash;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.PartitionKey;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.PartitionKeySerialiser;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+
+/**
+ * A <code>FileIndex</code> is a small index of the vertices in a single Parquet file, written to a sidecar file
+ * next to the Parquet file when the file is created. For entity groups the vertices are the vertex column, for edge
+ * groups they are the source column and for reversed edges they are the destination column, i.e. the column that the
+ * file is sorted by. The vertices are stored as the Parquet objects that the vertex is converted to.
+ * <p>
+ * The index contains a Bloom filter over the vertices, so that a seed that is not in the file can be skipped without
+ * opening the file, and a sparse index containing the first vertex in each row group, so that only the row groups
+ * that can contain a seed need to be read. If the vertices could not be ordered then there is no sparse index and all
+ * the row groups need to be read.
+ */
+public class FileIndex {
+    public static final double FALSE_POSITIVE_RATE = 0.01D;
+    private static final String INDEX_FILE_PREFIX = "_";
+    private static final String INDEX_FILE_SUFFIX = ".index";
+
+    private final BloomFilter bloomFilter;
+    private final List<PartitionKey> rowGroupFirstKeys;
+
+    /**
+     * @param bloomFilter       the Bloom filter containing the keys of all the vertices in the file, see
+     *                          {@link #getBloomFilterKey(Object[])}
+     * @param rowGroupFirstKeys the first vertex in each row group, or null if the vertices could not be ordered
+     */
+    public FileIndex(final BloomFilter bloomFilter, final List<PartitionKey> rowGroupFirstKeys) {
+        this.bloomFilter = bloomFilter;
+        this.rowGroupFirstKeys = rowGroupFirstKeys;
+    }
+
+    /**
+     * Creates an empty Bloom filter, with the number of bits and hash functions chosen so that the false positive
+     * rate is {@link #FALSE_POSITIVE_RATE} when the given number of vertices are added to it.
+     *
+     * @param numberOfVertices the maximum number of vertices that will be added to the Bloom filter
+     * @return the Bloom filter
+     */
+    public static BloomFilter createBloomFilter(final long numberOfVertices) {
+        final long n = Math.max(1L, numberOfVertices);
+        final double bits = -n * Math.log(FALSE_POSITIVE_RATE) / (Math.log(2) * Math.log(2));
+        final int vectorSize = (int) Math.min(Integer.MAX_VALUE - 64, Math.max(64L, (long) Math.ceil(bits)));
+        final int numberOfHashes = Math.max(1, (int) Math.round(vectorSize * Math.log(2) / n));
+        return new BloomFilter(vectorSize, numberOfHashes, Hash.MURMUR_HASH);
+    }
+
+    /**
+     * Gets the key used to add a vertex to, and test for a vertex in, the Bloom filter.
+     *
+     * @param vertex the Parquet objects for the vertex
+     * @return the Bloom filter key
+     * @throws IOException if the vertex contains objects that cannot be serialised
+     */
+    public static Key getBloomFilterKey(final Object[] vertex) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        final DataOutputStream stream = new DataOutputStream(bytes);
+        new PartitionKeySerialiser().write(new PartitionKey(vertex), stream);
+        stream.flush();
+        return new Key(bytes.toByteArray());
+    }
+
+    /**
+     * Gets the path of the sidecar file that the index for a Parquet file is stored in. The name starts with an
+     * underscore so that Spark ignores it when it reads a directory of Parquet files.
+     *
+     * @param file the Parquet file
+     * @return the path of the index for the file
+     */
+    public static Path getIndexPath(final Path file) {
+        return new Path(file.getParent(), INDEX_FILE_PREFIX + file.getName() + INDEX_FILE_SUFFIX);
+    }
+
+    public BloomFilter getBloomFilter() {
+        return bloomFilter;
+    }
+
+    public List<PartitionKey> getRowGroupFirstKeys() {
+        return rowGroupFirstKeys;
+    }
+
+    /**
+     * Tests whether the file might contain the vertex. If this returns false then the file definitely does not
+     * contain the vertex.
+     *
+     * @param vertex the Parquet objects for the vertex
+     * @return false if the vertex is not in the file
+     */
+    public boolean mightContain(final Object[] vertex) {
+        try {
+            return bloomFilter.membershipTest(getBloomFilterKey(vertex));
+        } catch (final IOException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Gets the row groups that might contain any of the vertices. Vertices that the Bloom filter shows are not in
+     * the file are ignored.
+     *
+     * @param vertices the Parquet objects for the vertices
+     * @return the sorted indices of the row groups that need to be read, or null if all the row groups need to be
+     * read as there is no sparse index
+     */
+    public List<Integer> getRowGroups(final Collection<Object[]> vertices) {
+        final SortedSet<Integer> rowGroups = new TreeSet<>();
+        for (final Object[] vertex : vertices) {
+            if (mightContain(vertex)) {
+                if (null == rowGroupFirstKeys) {
+                    return null;
+                }
+                try {
+                    addRowGroups(new PartitionKey(vertex), rowGroups);
+                } catch (final RuntimeException e) {
+                    // The vertex cannot be compared to the keys in the index
+                    return null;
+                }
+            }
+        }
+        return new ArrayList<>(rowGroups);
+    }
+
+    // Row group i can contain the key if its first key <= key and the first key of row group i + 1 is >= key (as the
+    // key can span the end of row group i and the start of row group i + 1).
+    private void addRowGroups(final PartitionKey key, final SortedSet<Integer> rowGroups) {
+        final int lessThan = countKeys(key, false);
+        final int lessThanOrEqual = countKeys(key, true);
+        for (int i = Math.max(0, lessThan - 1); i < lessThanOrEqual; i++) {
+            rowGroups.add(i);
+        }
+    }
+
+    // Counts the first keys that are less than (or equal to) the key, using a binary search as the keys are sorted
+    private int countKeys(final PartitionKey key, final boolean includeEqual) {
+        int low = 0;
+        int high = rowGroupFirstKeys.size();
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+            final int comparison = rowGroupFirstKeys.get(mid).compareTo(key);
+            if (comparison < 0 || (includeEqual && 0 == comparison)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("bloomFilter", bloomFilter.getVectorSize() + " bits")
+                .append("rowGroupFirstKeys", rowGroupFirstKeys)
+                .toString();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.index.serialisation;
+
+import org.apache.hadoop.util.bloom.BloomFilter;
+
+import uk.gov.gchq.gaffer.parquetstore.index.FileIndex;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.PartitionKey;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.PartitionKeySerialiser;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class FileIndexSerialiser {
+    private static final int VERSION = 1;
+    private static final int NO_ROW_GROUP_KEYS = -1;
+
+    private final PartitionKeySerialiser partitionKeySerialiser = new PartitionKeySerialiser();
+
+    public void write(final FileIndex fileIndex, final DataOutputStream stream) throws IOException {
+        stream.writeInt(VERSION);
+        fileIndex.getBloomFilter().write(stream);
+        final List<PartitionKey> rowGroupFirstKeys = fileIndex.getRowGroupFirstKeys();
+        if (null == rowGroupFirstKeys) {
+            stream.writeInt(NO_ROW_GROUP_KEYS);
+        } else {
+            stream.writeInt(rowGroupFirstKeys.size());
+            for (final PartitionKey key : rowGroupFirstKeys) {
+                partitionKeySerialiser.write(key, stream);
+            }
+        }
+    }
+
+    public FileIndex read(final DataInputStream stream) throws IOException {
+        final int version = stream.readInt();
+        if (VERSION != version) {
+            throw new IOException("Unexpected version of " + version);
+        }
+        final BloomFilter bloomFilter = new BloomFilter();
+        bloomFilter.readFields(stream);
+        final int numberOfRowGroups = stream.readInt();
+        List<PartitionKey> rowGroupFirstKeys = null;
+        if (NO_ROW_GROUP_KEYS != numberOfRowGroups) {
+            rowGroupFirstKeys = new ArrayList<>(numberOfRowGroups);
+            for (int i = 0; i < numberOfRowGroups; i++) {
+                rowGroupFirstKeys.add(partitionKeySerialiser.read(stream));
+            }
+        }
+        return new FileIndex(bloomFilter, rowGroupFirstKeys);
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.schema.MessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.converter.GafferElementConverter;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.vector.ColumnBatch;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.vector.ColumnVector;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the Elements from a Parquet file a row group at a time, decoding each row group into a {@link ColumnBatch}
+ * rather than building an Element for every row as the {@link ParquetElementReader} does. The Parquet filter is
+ * evaluated over the column vectors, and an Element is only built for the rows that match the filter.
+ * <p>
+ * The Elements can be built in two steps, so that filters can be applied to them before the rest of the columns are
+ * decoded. If some columns to filter on are given then {@link #read()} returns an Element containing only the
+ * identifiers and those columns, and {@link #materialise(Element)} adds the other columns to it. Otherwise
+ * {@link #read()} returns the whole Element.
+ */
+public class ColumnBatchElementReader implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ColumnBatchElementReader.class);
+
+    private final ParquetFileReader fileReader;
+    private final ColumnBatch batch;
+    private final FilterPredicate filter;
+    private final boolean isEntity;
+    private final String group;
+    private final GafferGroupObjectConverter converter;
+    private final Map<String, String[]> columnToPaths;
+    private final List<String> columnsToRead;
+    private final List<String> columnsToMaterialise;
+    private final Map<String, Object[]> parquetColumnToObject;
+    private BitSet rows;
+    private int row;
+
+    /**
+     * @param configuration   the Hadoop configuration
+     * @param path            the file to read
+     * @param rowGroups       the sorted indices of the row groups to read, or null to read all the row groups
+     * @param isEntity        whether the file contains entities
+     * @param group           the group of the elements in the file
+     * @param converter       the converter for the group
+     * @param filter          the Parquet filter to apply, or null
+     * @param filterColumns   the Gaffer columns that are needed before the Element is materialised, or null if the
+     *                        whole Element should be read
+     * @throws IOException if the file could not be read
+     */
+    public ColumnBatchElementReader(final Configuration configuration,
+                                    final Path path,
+                                    final List<Integer> rowGroups,
+                                    final boolean isEntity,
+                                    final String group,
+                                    final GafferGroupObjectConverter converter,
+                                    final FilterPredicate filter,
+                                    final Collection<String> filterColumns) throws IOException {
+        final ParquetMetadata footer = ParquetFileReader.readFooter(configuration, path, ParquetMetadataConverter.NO_FILTER);
+        final FileMetaData fileMetaData = footer.getFileMetaData();
+        final MessageType schema = fileMetaData.getSchema();
+        this.filter = filter;
+        this.isEntity = isEntity;
+        this.group = group;
+        this.converter = converter;
+        this.columnToPaths = converter.getColumnToPaths();
+        this.parquetColumnToObject = new HashMap<>(schema.getColumns().size());
+
+        // The identifiers are always read first, so that the Element can be created
+        this.columnsToRead = new ArrayList<>();
+        this.columnsToMaterialise = new ArrayList<>();
+        for (final String column : columnToPaths.keySet()) {
+            if (null == filterColumns || filterColumns.contains(column) || converter.getCoreProperties().contains(column)) {
+                columnsToRead.add(column);
+            } else {
+                columnsToMaterialise.add(column);
+            }
+        }
+
+        List<BlockMetaData> blocks = footer.getBlocks();
+        if (null != rowGroups) {
+            blocks = new ArrayList<>(rowGroups.size());
+            for (final Integer rowGroup : rowGroups) {
+                if (rowGroup < footer.getBlocks().size()) {
+                    blocks.add(footer.getBlocks().get(rowGroup));
+                }
+            }
+        }
+        // Skip the row groups that the filter shows cannot match using their statistics
+        if (null != filter) {
+            blocks = RowGroupFilter.filterRowGroups(FilterCompat.get(filter), blocks, schema);
+        }
+        LOGGER.debug("Reading {} of the {} row groups in file {} into column batches", blocks.size(),
+                footer.getBlocks().size(), path);
+
+        // The reader only reads the row groups in the footer it is given
+        this.fileReader = ParquetFileReader.open(configuration, path, new ParquetMetadata(fileMetaData, blocks));
+        this.batch = new ColumnBatch(schema, fileMetaData.getCreatedBy(),
+                new GafferElementConverter(isEntity, schema, converter));
+    }
+
+    /**
+     * Reads the next Element that matches the filter. If there are columns to filter on then the Element only
+     * contains the identifiers and those columns until {@link #materialise(Element)} is called.
+     *
+     * @return the next Element, or null if there are no more Elements
+     * @throws IOException if the file could not be read
+     */
+    public Element read() throws IOException {
+        while (true) {
+            if (null == rows) {
+                final PageReadStore pages = fileReader.readNextRowGroup();
+                if (null == pages) {
+                    return null;
+                }
+                batch.read(pages);
+                rows = batch.evaluate(filter);
+                row = -1;
+            }
+            row = rows.nextSetBit(row + 1);
+            if (row < 0) {
+                rows = null;
+                continue;
+            }
+            final Element element = isEntity ? new Entity(group) : new Edge(group);
+            if (addColumns(element, columnsToRead)) {
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Adds the columns that were not needed by the filters to the last Element returned by {@link #read()}.
+     *
+     * @param element the last Element returned by {@link #read()}
+     * @return the complete Element, or null if it could not be built
+     */
+    public Element materialise(final Element element) {
+        if (columnsToMaterialise.isEmpty() || addColumns(element, columnsToMaterialise)) {
+            return element;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileReader.close();
+    }
+
+    private boolean addColumns(final Element element, final List<String> columns) {
+        parquetColumnToObject.clear();
+        for (final String column : columns) {
+            for (final String path : columnToPaths.get(column)) {
+                final ColumnVector vector = batch.getColumn(path);
+                if (null != vector) {
+                    final Object[] objects = vector.getObjects(row);
+                    if (null != objects) {
+                        parquetColumnToObject.put(path, objects);
+                    }
+                }
+            }
+        }
+        try {
+            converter.addParquetObjectsToElement(element, columns, parquetColumnToObject);
+            return true;
+        } catch (final SerialisationException e) {
+            LOGGER.warn("Failed to build the Element, skipping this Element {}", parquetColumnToObject);
+            return false;
+        }
+    }
+}
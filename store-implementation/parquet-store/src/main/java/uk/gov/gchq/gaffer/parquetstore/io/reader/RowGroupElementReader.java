@@ -0,0 +1,129 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.compat.RowGroupFilter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.apache.parquet.hadoop.metadata.FileMetaData;
+import org.apache.parquet.hadoop.metadata.ParquetMetadata;
+import org.apache.parquet.io.ColumnIOFactory;
+import org.apache.parquet.io.MessageColumnIO;
+import org.apache.parquet.io.RecordReader;
+import org.apache.parquet.schema.MessageType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the Elements from some of the row groups of a Parquet file, skipping straight to each of the row groups, see
+ * {@link uk.gov.gchq.gaffer.parquetstore.index.FileIndex}. The Elements are materialised in the same way as by the
+ * {@link ParquetElementReader}.
+ */
+public class RowGroupElementReader implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RowGroupElementReader.class);
+
+    private final ParquetFileReader fileReader;
+    private final MessageColumnIO columnIO;
+    private final ElementRecordMaterialiser materialiser;
+    private final FilterCompat.Filter filter;
+    private RecordReader<Element> recordReader;
+    private long rowsInRowGroup;
+    private long rowsRead;
+
+    /**
+     * @param configuration the Hadoop configuration
+     * @param path          the file to read
+     * @param rowGroups     the sorted indices of the row groups to read
+     * @param isEntity      whether the file contains entities
+     * @param converter     the converter for the group
+     * @param filter        the filter to apply, or null
+     * @throws IOException if the file could not be read
+     */
+    public RowGroupElementReader(final Configuration configuration,
+                                 final Path path,
+                                 final List<Integer> rowGroups,
+                                 final boolean isEntity,
+                                 final GafferGroupObjectConverter converter,
+                                 final FilterCompat.Filter filter) throws IOException {
+        final ParquetMetadata footer = ParquetFileReader.readFooter(configuration, path, ParquetMetadataConverter.NO_FILTER);
+        final FileMetaData fileMetaData = footer.getFileMetaData();
+        final MessageType schema = fileMetaData.getSchema();
+        this.filter = null != filter ? filter : FilterCompat.NOOP;
+
+        final List<BlockMetaData> blocks = new ArrayList<>(rowGroups.size());
+        for (final Integer rowGroup : rowGroups) {
+            if (rowGroup < footer.getBlocks().size()) {
+                blocks.add(footer.getBlocks().get(rowGroup));
+            }
+        }
+        // Also skip the selected row groups that the filter shows cannot match using their statistics
+        final List<BlockMetaData> filteredBlocks = RowGroupFilter.filterRowGroups(this.filter, blocks, schema);
+        LOGGER.debug("Reading {} of the {} row groups in file {}", filteredBlocks.size(), footer.getBlocks().size(), path);
+
+        // The reader only reads the row groups in the footer it is given
+        this.fileReader = ParquetFileReader.open(configuration, path, new ParquetMetadata(fileMetaData, filteredBlocks));
+        this.columnIO = new ColumnIOFactory(fileMetaData.getCreatedBy()).getColumnIO(schema, schema, true);
+        this.materialiser = new ElementRecordMaterialiser(schema, isEntity, converter);
+    }
+
+    /**
+     * @return the next Element that matches the filter, or null if there are no more Elements
+     * @throws IOException if the file could not be read
+     */
+    public Element read() throws IOException {
+        while (true) {
+            if (null == recordReader || rowsRead >= rowsInRowGroup) {
+                final PageReadStore pages = fileReader.readNextRowGroup();
+                if (null == pages) {
+                    return null;
+                }
+                recordReader = columnIO.getRecordReader(pages, materialiser, filter);
+                rowsInRowGroup = pages.getRowCount();
+                rowsRead = 0L;
+            }
+            final Element element = recordReader.read();
+            rowsRead++;
+            if (recordReader.shouldSkipCurrentRecord()) {
+                continue;
+            }
+            if (null == element) {
+                // The filtered record reader has reached the end of the row group
+                rowsRead = rowsInRowGroup;
+                continue;
+            }
+            return element;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileReader.close();
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.vector;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReadStore;
+import org.apache.parquet.column.impl.ColumnReadStoreImpl;
+import org.apache.parquet.column.page.PageReadStore;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.LogicalInverseRewriter;
+import org.apache.parquet.filter2.predicate.Operators;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.io.api.GroupConverter;
+import org.apache.parquet.schema.MessageType;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.IntPredicate;
+
+/**
+ * A <code>ColumnBatch</code> holds a {@link ColumnVector} for each column of a Parquet file, containing the values
+ * for all the rows of the current row group. A column is only decoded when it is first used for the row group, so
+ * the columns that are only needed to build the elements are not decoded if no rows in the row group match the
+ * filter.
+ * <p>
+ * A Parquet {@link FilterPredicate} is evaluated a column at a time over all the rows in the row group, giving the
+ * rows that match the predicate.
+ */
+public class ColumnBatch {
+    private final MessageType schema;
+    private final String createdBy;
+    private final GroupConverter converter;
+    private final Map<String, ColumnVector> columns = new HashMap<>();
+    private final Set<String> decodedColumns = new HashSet<>();
+    private ColumnReadStore columnReadStore;
+    private int numberOfRows;
+
+    /**
+     * @param schema    the schema of the file
+     * @param createdBy the application that wrote the file, from the file metadata
+     * @param converter a converter for the schema, which is only used by Parquet to find the columns as the values
+     *                  are read directly from the columns
+     */
+    public ColumnBatch(final MessageType schema, final String createdBy, final GroupConverter converter) {
+        this.schema = schema;
+        this.createdBy = createdBy;
+        this.converter = converter;
+        for (final ColumnDescriptor descriptor : schema.getColumns()) {
+            final String column = String.join(".", descriptor.getPath());
+            columns.put(column, new ColumnVector(descriptor,
+                    schema.getType(descriptor.getPath()).getOriginalType()));
+        }
+    }
+
+    /**
+     * Starts reading a new row group. None of the columns are decoded until they are used.
+     *
+     * @param pages the pages of the row group
+     */
+    public void read(final PageReadStore pages) {
+        this.columnReadStore = new ColumnReadStoreImpl(pages, converter, schema, createdBy);
+        this.numberOfRows = (int) pages.getRowCount();
+        decodedColumns.clear();
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * Gets the vector for a column, decoding the column for the current row group if it has not been used yet.
+     *
+     * @param column the path of the column, with the parts of the path separated by '.'
+     * @return the vector for the column, or null if there is no such column in the file
+     */
+    public ColumnVector getColumn(final String column) {
+        final ColumnVector vector = columns.get(column);
+        if (null != vector && decodedColumns.add(column)) {
+            vector.read(columnReadStore.getColumnReader(vector.getDescriptor()), numberOfRows);
+        }
+        return vector;
+    }
+
+    /**
+     * Finds the rows of the current row group that match a predicate, using the same rules for null values as the
+     * Parquet record filter.
+     *
+     * @param predicate the predicate, or null to select all the rows
+     * @return the rows that match the predicate
+     */
+    public BitSet evaluate(final FilterPredicate predicate) {
+        if (null == predicate) {
+            final BitSet rows = new BitSet(numberOfRows);
+            rows.set(0, numberOfRows);
+            return rows;
+        }
+        // Pushes the nots down to the column predicates, as inverting the rows that match a predicate would also
+        // select the null values that the Parquet record filter never matches
+        return LogicalInverseRewriter.rewrite(predicate).accept(new Evaluator());
+    }
+
+    // Evaluates a predicate over all the rows, with a loop over the rows for each column predicate
+    private final class Evaluator implements FilterPredicate.Visitor<BitSet> {
+
+        private BitSet select(final IntPredicate test) {
+            final BitSet rows = new BitSet(numberOfRows);
+            for (int row = 0; row < numberOfRows; row++) {
+                if (test.test(row)) {
+                    rows.set(row);
+                }
+            }
+            return rows;
+        }
+
+        private ColumnVector getVector(final Operators.Column<?> column) {
+            return getColumn(column.getColumnPath().toDotString());
+        }
+
+        @Override
+        public <T extends Comparable<T>> BitSet visit(final Operators.Eq<T> eq) {
+            final ColumnVector vector = getVector(eq.getColumn());
+            final T value = eq.getValue();
+            if (null == value) {
+                return select(row -> null == vector || vector.isNull(row));
+            }
+            return select(row -> null != vector && !vector.isNull(row) && 0 == vector.compareTo(row, value));
+        }
+
+        @Override
+        public <T extends Comparable<T>> BitSet visit(final Operators.NotEq<T> notEq) {
+            final ColumnVector vector = getVector(notEq.getColumn());
+            final T value = notEq.getValue();
+            if (null == value) {
+                return select(row -> null != vector && !vector.isNull(row));
+            }
+            return select(row -> null == vector || vector.isNull(row) || 0 != vector.compareTo(row, value));
+        }
+
+        @Override
+        public <T extends Comparable<T>> BitSet visit(final Operators.Lt<T> lt) {
+            final ColumnVector vector = getVector(lt.getColumn());
+            final T value = lt.getValue();
+            return select(row -> null != vector && !vector.isNull(row) && vector.compareTo(row, value) < 0);
+        }
+
+        @Override
+        public <T extends Comparable<T>> BitSet visit(final Operators.LtEq<T> ltEq) {
+            final ColumnVector vector = getVector(ltEq.getColumn());
+            final T value = ltEq.getValue();
+            return select(row -> null != vector && !vector.isNull(row) && vector.compareTo(row, value) <= 0);
+        }
+
+        @Override
+        public <T extends Comparable<T>> BitSet visit(final Operators.Gt<T> gt) {
+            final ColumnVector vector = getVector(gt.getColumn());
+            final T value = gt.getValue();
+            return select(row -> null != vector && !vector.isNull(row) && vector.compareTo(row, value) > 0);
+        }
+
+        @Override
+        public <T extends Comparable<T>> BitSet visit(final Operators.GtEq<T> gtEq) {
+            final ColumnVector vector = getVector(gtEq.getColumn());
+            final T value = gtEq.getValue();
+            return select(row -> null != vector && !vector.isNull(row) && vector.compareTo(row, value) >= 0);
+        }
+
+        @Override
+        public BitSet visit(final Operators.And and) {
+            final BitSet rows = and.getLeft().accept(this);
+            if (!rows.isEmpty()) {
+                rows.and(and.getRight().accept(this));
+            }
+            return rows;
+        }
+
+        @Override
+        public BitSet visit(final Operators.Or or) {
+            final BitSet rows = or.getLeft().accept(this);
+            if (rows.cardinality() < numberOfRows) {
+                rows.or(or.getRight().accept(this));
+            }
+            return rows;
+        }
+
+        @Override
+        public BitSet visit(final Operators.Not not) {
+            throw new IllegalArgumentException("Not predicates should have been removed by the LogicalInverseRewriter: " + not);
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> BitSet visit(final Operators.UserDefined<T, U> udp) {
+            return select(keep(udp, true));
+        }
+
+        @Override
+        public <T extends Comparable<T>, U extends UserDefinedPredicate<T>> BitSet visit(final Operators.LogicalNotUserDefined<T, U> udp) {
+            return select(keep(udp.getUserDefined(), false));
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T extends Comparable<T>, U extends UserDefinedPredicate<T>> IntPredicate keep(final Operators.UserDefined<T, U> udp,
+                                                                                          final boolean expected) {
+            final ColumnVector vector = getVector(udp.getColumn());
+            final U predicate = udp.getUserDefinedPredicate();
+            return row -> expected == predicate.keep(null == vector ? null : (T) vector.getComparable(row));
+        }
+    }
+}
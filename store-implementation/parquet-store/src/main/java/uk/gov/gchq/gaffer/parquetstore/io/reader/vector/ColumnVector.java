@@ -0,0 +1,246 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader.vector;
+
+import org.apache.parquet.column.ColumnDescriptor;
+import org.apache.parquet.column.ColumnReader;
+import org.apache.parquet.io.api.Binary;
+import org.apache.parquet.schema.OriginalType;
+
+import java.lang.reflect.Array;
+import java.util.Arrays;
+
+/**
+ * A <code>ColumnVector</code> holds the values of a single Parquet column for all the rows in a row group, decoded into
+ * an array of the primitive type of the column. Null values are not stored, so a row has no values if it is null and
+ * has several values if the column is repeated, i.e. it is part of a list or map.
+ * <p>
+ * The arrays are reused when the next row group is read into the vector, so the vector only allocates when a row
+ * group has more values than any previous row group.
+ */
+public class ColumnVector {
+    private static final int INITIAL_SIZE = 1024;
+
+    private final ColumnDescriptor descriptor;
+    private final boolean isUtf8;
+    private int[] rowOffsets = new int[INITIAL_SIZE + 1];
+    private int numberOfRows;
+    private int numberOfValues;
+    private boolean[] booleans;
+    private int[] ints;
+    private long[] longs;
+    private float[] floats;
+    private double[] doubles;
+    private Binary[] binaries;
+
+    public ColumnVector(final ColumnDescriptor descriptor, final OriginalType originalType) {
+        this.descriptor = descriptor;
+        this.isUtf8 = OriginalType.UTF8 == originalType;
+    }
+
+    public ColumnDescriptor getDescriptor() {
+        return descriptor;
+    }
+
+    /**
+     * Reads all the values of the column in a row group, replacing the values from the previous row group.
+     *
+     * @param reader       the reader for the column in the row group
+     * @param numberOfRows the number of rows in the row group
+     */
+    public void read(final ColumnReader reader, final int numberOfRows) {
+        if (rowOffsets.length <= numberOfRows) {
+            rowOffsets = new int[numberOfRows + 1];
+        }
+        this.numberOfRows = 0;
+        this.numberOfValues = 0;
+        final int maxDefinitionLevel = descriptor.getMaxDefinitionLevel();
+        final long totalValueCount = reader.getTotalValueCount();
+        for (long i = 0; i < totalValueCount; i++) {
+            // A repetition level of 0 marks the start of a new row
+            if (0 == reader.getCurrentRepetitionLevel()) {
+                rowOffsets[this.numberOfRows++] = numberOfValues;
+            }
+            // A lower definition level means the value, or one of the groups containing it, is null
+            if (maxDefinitionLevel == reader.getCurrentDefinitionLevel()) {
+                addValue(reader);
+            }
+            reader.consume();
+        }
+        rowOffsets[this.numberOfRows] = numberOfValues;
+    }
+
+    public int getNumberOfRows() {
+        return numberOfRows;
+    }
+
+    /**
+     * @param row the row
+     * @return true if the row has no values
+     */
+    public boolean isNull(final int row) {
+        return rowOffsets[row] == rowOffsets[row + 1];
+    }
+
+    /**
+     * Gets the values of a row as the objects that the {@link uk.gov.gchq.gaffer.parquetstore.io.reader.converter.PrimitiveConverter}
+     * produces, i.e. a String for a UTF8 binary, a byte[] for any other binary and the boxed primitive otherwise. The
+     * array has the type of the objects.
+     *
+     * @param row the row
+     * @return the values of the row, or null if the row has no values
+     */
+    public Object[] getObjects(final int row) {
+        final int start = rowOffsets[row];
+        final int end = rowOffsets[row + 1];
+        if (start == end) {
+            return null;
+        }
+        final Object first = getObject(start);
+        final Object[] objects = (Object[]) Array.newInstance(first.getClass(), end - start);
+        objects[0] = first;
+        for (int i = start + 1; i < end; i++) {
+            objects[i - start] = getObject(i);
+        }
+        return objects;
+    }
+
+    /**
+     * Gets the first value of a row in the form used by Parquet filter predicates, i.e. a {@link Binary} for a binary
+     * and the boxed primitive otherwise.
+     *
+     * @param row the row
+     * @return the first value of the row, or null if the row has no values
+     */
+    public Comparable<?> getComparable(final int row) {
+        if (isNull(row)) {
+            return null;
+        }
+        final int index = rowOffsets[row];
+        switch (descriptor.getType()) {
+            case BOOLEAN:
+                return booleans[index];
+            case INT32:
+                return ints[index];
+            case INT64:
+                return longs[index];
+            case FLOAT:
+                return floats[index];
+            case DOUBLE:
+                return doubles[index];
+            default:
+                return binaries[index];
+        }
+    }
+
+    /**
+     * Compares the first value of a row to a value from a Parquet filter predicate, without boxing the value in the
+     * row.
+     *
+     * @param row   the row, which must not be null
+     * @param value the value from the predicate
+     * @return the result of comparing the value in the row to the value from the predicate
+     */
+    public int compareTo(final int row, final Comparable<?> value) {
+        final int index = rowOffsets[row];
+        switch (descriptor.getType()) {
+            case BOOLEAN:
+                return Boolean.compare(booleans[index], (Boolean) value);
+            case INT32:
+                return Integer.compare(ints[index], (Integer) value);
+            case INT64:
+                return Long.compare(longs[index], (Long) value);
+            case FLOAT:
+                return Float.compare(floats[index], (Float) value);
+            case DOUBLE:
+                return Double.compare(doubles[index], (Double) value);
+            default:
+                return binaries[index].compareTo((Binary) value);
+        }
+    }
+
+    private Object getObject(final int index) {
+        switch (descriptor.getType()) {
+            case BOOLEAN:
+                return booleans[index];
+            case INT32:
+                return ints[index];
+            case INT64:
+                return longs[index];
+            case FLOAT:
+                return floats[index];
+            case DOUBLE:
+                return doubles[index];
+            default:
+                return isUtf8 ? binaries[index].toStringUsingUTF8() : binaries[index].getBytes();
+        }
+    }
+
+    private void addValue(final ColumnReader reader) {
+        final int index = numberOfValues++;
+        switch (descriptor.getType()) {
+            case BOOLEAN:
+                booleans = null == booleans ? new boolean[INITIAL_SIZE] : grow(booleans, index);
+                booleans[index] = reader.getBoolean();
+                break;
+            case INT32:
+                ints = null == ints ? new int[INITIAL_SIZE] : grow(ints, index);
+                ints[index] = reader.getInteger();
+                break;
+            case INT64:
+                longs = null == longs ? new long[INITIAL_SIZE] : grow(longs, index);
+                longs[index] = reader.getLong();
+                break;
+            case FLOAT:
+                floats = null == floats ? new float[INITIAL_SIZE] : grow(floats, index);
+                floats[index] = reader.getFloat();
+                break;
+            case DOUBLE:
+                doubles = null == doubles ? new double[INITIAL_SIZE] : grow(doubles, index);
+                doubles[index] = reader.getDouble();
+                break;
+            default:
+                binaries = null == binaries ? new Binary[INITIAL_SIZE] : grow(binaries, index);
+                binaries[index] = reader.getBinary();
+                break;
+        }
+    }
+
+    private static boolean[] grow(final boolean[] array, final int index) {
+        return index < array.length ? array : Arrays.copyOf(array, 2 * array.length);
+    }
+
+    private static int[] grow(final int[] array, final int index) {
+        return index < array.length ? array : Arrays.copyOf(array, 2 * array.length);
+    }
+
+    private static long[] grow(final long[] array, final int index) {
+        return index < array.length ? array : Arrays.copyOf(array, 2 * array.length);
+    }
+
+    private static float[] grow(final float[] array, final int index) {
+        return index < array.length ? array : Arrays.copyOf(array, 2 * array.length);
+    }
+
+    private static double[] grow(final double[] array, final int index) {
+        return index < array.length ? array : Arrays.copyOf(array, 2 * array.length);
+    }
+
+    private static Binary[] grow(final Binary[] array, final int index) {
+        return index < array.length ? array : Arrays.copyOf(array, 2 * array.length);
+    }
+}
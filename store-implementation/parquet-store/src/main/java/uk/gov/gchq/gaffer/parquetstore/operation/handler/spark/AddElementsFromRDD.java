@@ -32,6 +32,7 @@ import uk.gov.gchq.gaffer.operation.OperationException;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.spark.utilities.WriteData;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.AggregateDataForGroup;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculateFileIndex;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitioner;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.SortFullGroup;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
@@ -73,13 +74,18 @@ public class AddElementsFromRDD {
     }
 
     void addElementsFromRDD(final JavaRDD<Element> input) throws OperationException {
-        writeInputData(input);
-        aggregateNewAndOldData();
-        sort();
-        sortEdgeGroupsByDestination();
-        calculateAndWritePartitioner();
-        createNewSnapshotDirectory();
-        deleteTempDirectory();
+        store.getWriteLock().lock();
+        try {
+            writeInputData(input);
+            aggregateNewAndOldData();
+            sort();
+            sortEdgeGroupsByDestination();
+            calculateAndWritePartitioner();
+            createNewSnapshotDirectory();
+            deleteTempDirectory();
+        } finally {
+            store.getWriteLock().unlock();
+        }
     }
 
     void addElementsFromRDD(final RDD<Element> input) throws OperationException {
@@ -113,7 +119,7 @@ public class AddElementsFromRDD {
 
     /**
      * For each group that requires aggregation, this method aggregates the new data that has been written out to file
-     * with the existing data for that group.
+     * with the existing data for that group, including any delta files.
      *
      * @throws OperationException if an {@link IOException} or a {@link SerialisationException} is thrown
      */
@@ -137,6 +143,7 @@ public class AddElementsFromRDD {
                 throw new OperationException("IOException finding files for group " + group, e);
             }
             existingData.stream().map(Path::toString).forEach(inputFiles::add);
+            store.getDeltaFilesForGroup(group).stream().map(Path::toString).forEach(inputFiles::add);
             final String outputDir = getDirectory(group, false, true, false);
             final AggregateDataForGroup aggregateDataForGroup;
             try {
@@ -175,6 +182,7 @@ public class AddElementsFromRDD {
                     Arrays.stream(newData).map(f -> f.getPath().toString()).forEach(inputFiles::add);
                     final List<Path> existingData = store.getFilesForGroup(group);
                     existingData.stream().map(p -> p.toString()).forEach(inputFiles::add);
+                    store.getDeltaFilesForGroup(group).stream().map(p -> p.toString()).forEach(inputFiles::add);
                 }
                 sort(group, false, inputFiles, outputDir);
             }
@@ -206,7 +214,7 @@ public class AddElementsFromRDD {
     }
 
     /**
-     * Sorts the provided data.
+     * Sorts the provided data, then writes the index for each sorted file if required.
      *
      * @param group the group
      * @param reversed whether these are edges that need to be sorted by destination then source
@@ -231,6 +239,11 @@ public class AddElementsFromRDD {
                     store.getProperties().getCompressionCodecName(),
                     spark,
                     fs).call();
+            if (store.getProperties().getWriteIndex() && fs.exists(new Path(outputDir))) {
+                for (final FileStatus file : fs.listStatus(new Path(outputDir), path -> path.getName().endsWith(".parquet"))) {
+                    new CalculateFileIndex(file.getPath(), schemaUtils, group, reversed, fs).call();
+                }
+            }
         } catch (final IOException e) {
             throw new OperationException("TODO");
         }
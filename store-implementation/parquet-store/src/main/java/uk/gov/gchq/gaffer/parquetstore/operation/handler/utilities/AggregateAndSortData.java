@@ -33,7 +33,7 @@ import java.util.concurrent.Callable;
 
 /**
  * Aggregates and sorts the data in a list of files into one sorted file. All the input data should be from the same
- * file.
+ * file. If requested, a {@link uk.gov.gchq.gaffer.parquetstore.index.FileIndex} is written for the sorted file.
  */
 public class AggregateAndSortData implements Callable<CallableResult> {
     private static final Logger LOGGER = LoggerFactory.getLogger(AggregateAndSortData.class);
@@ -50,6 +50,7 @@ public class AggregateAndSortData implements Callable<CallableResult> {
     private final CompressionCodecName compressionCodecName;
     private final SparkSession sparkSession;
     private final Set<String> groupsWithAggregation;
+    private final boolean writeIndex;
 
     public AggregateAndSortData(final SchemaUtils schemaUtils,
                                 final FileSystem fs,
@@ -59,7 +60,8 @@ public class AggregateAndSortData implements Callable<CallableResult> {
                                 final String id,
                                 final boolean reversed,
                                 final CompressionCodecName compressionCodecName,
-                                final SparkSession sparkSession) {
+                                final SparkSession sparkSession,
+                                final boolean writeIndex) {
         this.schemaUtils = schemaUtils;
         this.fs = fs;
         this.files = files;
@@ -70,6 +72,7 @@ public class AggregateAndSortData implements Callable<CallableResult> {
         this.sparkSession = sparkSession;
         this.compressionCodecName = compressionCodecName;
         this.groupsWithAggregation = new HashSet<>(this.schemaUtils.getGafferSchema().getAggregatedGroups());
+        this.writeIndex = writeIndex;
     }
 
     @Override
@@ -97,6 +100,13 @@ public class AggregateAndSortData implements Callable<CallableResult> {
             }
         }
 
+        if (writeIndex && fs.exists(new Path(sortedFiles))) {
+            for (final FileStatus file : fs.listStatus(new Path(sortedFiles), path -> path.getName().endsWith(".parquet"))) {
+                LOGGER.info("Writing index for sorted file {} (group {}, id {})", file.getPath(), group, id);
+                new CalculateFileIndex(file.getPath(), schemaUtils, group, reversed, fs).call();
+            }
+        }
+
         if (fs.exists(new Path(sortedFiles))) {
             LOGGER.info("Moving files of sorted data from {} to {} (group {}, id {})", sortedFiles, outputDir, group, id);
             final FileStatus[] files = fs.listStatus(new Path(sortedFiles));
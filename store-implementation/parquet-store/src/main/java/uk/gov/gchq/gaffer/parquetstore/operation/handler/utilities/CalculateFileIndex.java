@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.apache.parquet.format.converter.ParquetMetadataConverter;
+import org.apache.parquet.hadoop.ParquetFileReader;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.metadata.BlockMetaData;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.data.element.Edge;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.FileIndex;
+import uk.gov.gchq.gaffer.parquetstore.index.serialisation.FileIndexSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.PartitionKey;
+import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Calculates the {@link FileIndex} for a sorted Parquet file and writes it to the sidecar file given by
+ * {@link FileIndex#getIndexPath(Path)}. The vertices are converted to Parquet objects in the same way as the seeds
+ * of a query, so that the seeds can be looked up in the index.
+ */
+public class CalculateFileIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CalculateFileIndex.class);
+
+    private final Path path;
+    private final SchemaUtils schemaUtils;
+    private final String group;
+    private final boolean reversed;
+    private final FileSystem fs;
+
+    public CalculateFileIndex(final Path path,
+                              final SchemaUtils schemaUtils,
+                              final String group,
+                              final boolean reversed,
+                              final FileSystem fs) {
+        this.path = path;
+        this.schemaUtils = schemaUtils;
+        this.group = group;
+        this.reversed = reversed;
+        this.fs = fs;
+    }
+
+    public FileIndex call() throws IOException {
+        final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        final List<BlockMetaData> rowGroups = ParquetFileReader
+                .readFooter(fs.getConf(), path, ParquetMetadataConverter.NO_FILTER)
+                .getBlocks();
+        long numberOfRows = 0L;
+        for (final BlockMetaData rowGroup : rowGroups) {
+            numberOfRows += rowGroup.getRowCount();
+        }
+        LOGGER.debug("Calculating index for file {} ({} row groups, {} rows)", path, rowGroups.size(), numberOfRows);
+
+        final BloomFilter bloomFilter = FileIndex.createBloomFilter(numberOfRows);
+        List<PartitionKey> rowGroupFirstKeys = new ArrayList<>(rowGroups.size());
+        // The reader reads the row groups in order, so the number of rows read gives the row group of each element
+        int rowGroup = 0;
+        long endOfRowGroup = rowGroups.isEmpty() ? 0L : rowGroups.get(0).getRowCount();
+        long rowsRead = 0L;
+        PartitionKey previousKey = null;
+        try (final ParquetReader<Element> reader = new ParquetElementReader.Builder<Element>(path)
+                .isEntity(isEntity)
+                .usingConverter(converter)
+                .build()) {
+            Element element = reader.read();
+            while (null != element) {
+                final Object[] vertex = getVertex(element, isEntity, converter);
+                bloomFilter.add(FileIndex.getBloomFilterKey(vertex));
+                while (rowsRead >= endOfRowGroup && rowGroup < rowGroups.size() - 1) {
+                    rowGroup++;
+                    endOfRowGroup += rowGroups.get(rowGroup).getRowCount();
+                }
+                final PartitionKey key = new PartitionKey(vertex);
+                if (null != rowGroupFirstKeys && !isInOrder(previousKey, key)) {
+                    LOGGER.info("Not creating a sparse index for file {} as its vertices cannot be ordered", path);
+                    rowGroupFirstKeys = null;
+                }
+                if (null != rowGroupFirstKeys && rowGroupFirstKeys.size() == rowGroup) {
+                    rowGroupFirstKeys.add(key);
+                }
+                previousKey = key;
+                rowsRead++;
+                element = reader.read();
+            }
+        }
+
+        final FileIndex fileIndex = new FileIndex(bloomFilter, rowGroupFirstKeys);
+        final Path indexPath = FileIndex.getIndexPath(path);
+        LOGGER.info("Writing index {} for file {} containing {} rows", indexPath, path, rowsRead);
+        try (final FSDataOutputStream stream = fs.create(indexPath, true)) {
+            new FileIndexSerialiser().write(fileIndex, stream);
+        }
+        return fileIndex;
+    }
+
+    private Object[] getVertex(final Element element,
+                               final boolean isEntity,
+                               final GafferGroupObjectConverter converter) throws IOException {
+        // The seeds of a query are converted using the vertex column for entities and the source column for edges
+        if (isEntity) {
+            return converter.gafferObjectToParquetObjects(ParquetStore.VERTEX, ((Entity) element).getVertex());
+        }
+        final Edge edge = (Edge) element;
+        return converter.gafferObjectToParquetObjects(ParquetStore.SOURCE,
+                reversed ? edge.getDestination() : edge.getSource());
+    }
+
+    // The sparse index can only be used if the vertices can be compared in the same order as they are sorted in
+    private static boolean isInOrder(final PartitionKey previousKey, final PartitionKey key) {
+        try {
+            return null == previousKey || previousKey.compareTo(key) <= 0;
+        } catch (final RuntimeException e) {
+            return false;
+        }
+    }
+}
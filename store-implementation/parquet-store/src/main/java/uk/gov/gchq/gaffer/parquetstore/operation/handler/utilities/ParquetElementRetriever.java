@@ -30,17 +30,20 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.query.ParquetQuery;
 import uk.gov.gchq.gaffer.parquetstore.query.QueryGenerator;
+import uk.gov.gchq.gaffer.parquetstore.utils.ParquetTaskScheduler;
 import uk.gov.gchq.gaffer.user.User;
 
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentLinkedQueue;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 /**
@@ -76,10 +79,30 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
         }
     }
 
+    /**
+     * Streams the elements from the Parquet files matching the query. The files are read by tasks in a
+     * session on the store's shared task scheduler, which runs up to
+     * {@link uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties#getQueryMaxParallelism()} of them at once.
+     * The tasks put the elements onto a bounded queue, so the elements are only read as fast as they are consumed.
+     * <p>
+     * A task does not keep its thread whilst the queue is full. If there has been no space on the queue for a
+     * short time the task is paused, leaving its file open, and its thread is given back to the scheduler. The
+     * paused tasks are submitted to the session again once the iterator has taken elements from the queue, so a
+     * query that is consumed slowly, or not at all, does not stop the other operations on the store from running.
+     * Closing the iterator cancels the tasks and closes their files.
+     */
     protected static class ParquetIterator implements CloseableIterator<Element> {
-        private ConcurrentLinkedQueue<Element> queue;
-        private List<Future<OperationException>> runningTasks;
-        private ExecutorService executorServicePool;
+        private static final long POLL_TIMEOUT_MILLIS = 100L;
+        private static final long OFFER_TIMEOUT_MILLIS = 100L;
+
+        private final AtomicReference<Exception> failure = new AtomicReference<>();
+        private final Queue<RetrieveElementsFromFile> pausedTasks = new ConcurrentLinkedQueue<>();
+        private List<RetrieveElementsFromFile> tasks;
+        private ParquetTaskScheduler.Session session;
+        private AtomicInteger remainingTasks;
+        private BlockingQueue<Element> queue;
+        private Element next;
+        private boolean closed;
 
         protected ParquetIterator(final ParquetStore store, final Operation operation, final User user) throws OperationException {
             final QueryGenerator queryGenerator = new QueryGenerator(store);
@@ -93,90 +116,135 @@ public class ParquetElementRetriever implements CloseableIterable<Element> {
                 final ParquetQuery parquetQuery = queryGenerator.getParquetQuery(operation);
                 LOGGER.debug("Created ParquetQuery {}", parquetQuery);
                 if (!parquetQuery.isEmpty()) {
-                    queue = new ConcurrentLinkedQueue<>();
-                    executorServicePool = Executors.newFixedThreadPool(store.getProperties().getThreadsAvailable());
-                    final List<RetrieveElementsFromFile> tasks = new ArrayList<>();
-                    tasks.addAll(parquetQuery.getAllParquetFileQueries()
+                    queue = new ArrayBlockingQueue<>(store.getProperties().getQueryQueueSize());
+                    final List<RetrieveElementsFromFile> tasks = parquetQuery.getAllParquetFileQueries()
                             .stream()
-                            .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getFilter(),
+                            .map(entry -> new RetrieveElementsFromFile(entry.getFile(), entry.getRowGroups(), entry.getDeltaFiles(), entry.getFilter(),
                                     store.getSchema(), queue, !entry.isFullyApplied(),
-                                    store.getProperties().getSkipValidation(), view, user))
-                            .collect(Collectors.toList()));
-                    LOGGER.info("Invoking {} RetrieveElementsFromFile tasks", tasks.size());
-                    runningTasks = executorServicePool.invokeAll(tasks);
+                                    store.getProperties().getSkipValidation(), store.getProperties().getReadColumnBatches(), view, user))
+                            .collect(Collectors.toList());
+                    startTasks(store, tasks);
                 } else {
                     LOGGER.warn("No paths found - there will be no results from this query");
                 }
             } catch (final IOException | OperationException e) {
                 LOGGER.error("Exception while creating the mapping of file paths to Parquet filters: {}", e.getMessage());
                 throw new OperationException("Exception creating ParquetIterator", e);
+            }
+        }
+
+        private void startTasks(final ParquetStore store, final List<RetrieveElementsFromFile> tasks) {
+            final ParquetTaskScheduler scheduler = store.getTaskScheduler();
+            this.tasks = tasks;
+            session = scheduler.createSession("query", store.getProperties().getQueryMaxParallelism());
+            remainingTasks = new AtomicInteger(tasks.size());
+            LOGGER.info("Running {} RetrieveElementsFromFile tasks with parallelism {} on {}", tasks.size(),
+                    session.getParallelism(), scheduler);
+            for (final RetrieveElementsFromFile task : tasks) {
+                session.execute(() -> runTask(task));
+            }
+        }
+
+        private void runTask(final RetrieveElementsFromFile task) {
+            boolean finished = true;
+            try {
+                finished = task.putElements(OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (!finished) {
+                    // The queue is full, so give the thread back until the elements on the queue have been consumed
+                    pausedTasks.add(task);
+                }
             } catch (final InterruptedException e) {
-                LOGGER.error("InterruptedException in ParquetIterator {}", e.getMessage());
-                throw new OperationException("InterruptedException in ParquetIterator", e);
+                Thread.currentThread().interrupt();
+            } catch (final Exception e) {
+                failure.compareAndSet(null, e);
+                session.shutdownNow();
+            } finally {
+                // The session is only shut down once no more tasks will be submitted to it
+                if (finished && 0 == remainingTasks.decrementAndGet()) {
+                    session.shutdown();
+                }
+            }
+        }
+
+        // Submits the tasks that were paused because the queue was full to the session again
+        private void resumePausedTasks() {
+            RetrieveElementsFromFile task = pausedTasks.poll();
+            while (null != task) {
+                final RetrieveElementsFromFile pausedTask = task;
+                try {
+                    session.execute(() -> runTask(pausedTask));
+                } catch (final RejectedExecutionException e) {
+                    // The session has been stopped because a task failed
+                    pausedTask.close();
+                    remainingTasks.decrementAndGet();
+                }
+                task = pausedTasks.poll();
             }
         }
 
         @Override
         public boolean hasNext() {
-            if (null != queue) {
-                if (queue.isEmpty()) {
-                    boolean finishedAllTasks = runningTasks.isEmpty();
-                    while (!finishedAllTasks && queue.isEmpty()) {
-                        try {
-                            finishedAllTasks = hasFinishedAllTasks();
-                            if (!finishedAllTasks) {
-                                wait(100L);
-                            }
-                        } catch (final Exception e) {
-                            LOGGER.error(e.getMessage(), e);
-                            finishedAllTasks = true;
+            if (null != next) {
+                return true;
+            }
+            if (null == queue || closed) {
+                return false;
+            }
+            try {
+                while (null == next) {
+                    resumePausedTasks();
+                    // Read before polling - once all the tasks have finished every element is already on the queue
+                    final boolean finishedAllTasks = 0 == remainingTasks.get();
+                    next = finishedAllTasks ? queue.poll() : queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                    if (null == next) {
+                        checkForFailure();
+                        if (finishedAllTasks) {
+                            close();
+                            return false;
                         }
                     }
-                    return !queue.isEmpty();
-                } else {
-                    return true;
                 }
-            } else {
-                return false;
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                throw new RuntimeException("Interrupted whilst waiting for elements from the Parquet files", e);
             }
+            return true;
         }
 
-        private boolean hasFinishedAllTasks() throws ExecutionException, InterruptedException, OperationException {
-            final List<Future<OperationException>> completedTasks = new ArrayList<>();
-            for (final Future<OperationException> task : runningTasks) {
-                if (task.isDone()) {
-                    final OperationException taskResult = task.get();
-                    if (null != taskResult) {
-                        throw taskResult;
-                    } else {
-                        completedTasks.add(task);
-                    }
-                }
+        private void checkForFailure() {
+            final Exception e = failure.get();
+            if (null != e) {
+                close();
+                throw new RuntimeException("Exception retrieving elements from the Parquet files", e);
             }
-            runningTasks.removeAll(completedTasks);
-            return runningTasks.isEmpty();
         }
 
         @Override
         public Element next() throws NoSuchElementException {
-            Element e;
-            while (hasNext()) {
-                e = queue.poll();
-                if (null != e) {
-                    return e;
-                }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
             }
-            throw new NoSuchElementException();
+            final Element e = next;
+            next = null;
+            return e;
         }
 
         @Override
         public void close() {
-            if (null != executorServicePool) {
-                executorServicePool.shutdown();
-                executorServicePool = null;
+            if (!closed) {
+                closed = true;
+                if (null != session) {
+                    session.shutdownNow();
+                }
+                if (null != tasks) {
+                    // Closes the files of the tasks that were paused or had not started
+                    tasks.forEach(RetrieveElementsFromFile::close);
+                }
+                if (null != queue) {
+                    queue.clear();
+                }
             }
-            queue = null;
-            runningTasks = null;
         }
     }
 }
@@ -16,6 +16,7 @@
 
 package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
 
+import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.compat.FilterCompat;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -23,59 +24,127 @@ import org.apache.parquet.hadoop.ParquetReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import uk.gov.gchq.gaffer.commonutil.CloseableUtil;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.Authorisations;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.ElementVisibility;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.VisibilityEvaluator;
 import uk.gov.gchq.gaffer.commonutil.elementvisibilityutil.exception.VisibilityParseException;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
+import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
 import uk.gov.gchq.gaffer.data.element.function.ElementFilter;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewElementDefinition;
 import uk.gov.gchq.gaffer.data.elementdefinition.view.ViewUtil;
+import uk.gov.gchq.gaffer.exception.SerialisationException;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.ColumnBatchElementReader;
 import uk.gov.gchq.gaffer.parquetstore.io.reader.ParquetElementReader;
+import uk.gov.gchq.gaffer.parquetstore.io.reader.RowGroupElementReader;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.SeedComparator;
 import uk.gov.gchq.gaffer.store.schema.Schema;
+import uk.gov.gchq.gaffer.store.util.AggregatorUtil;
 import uk.gov.gchq.gaffer.user.User;
+import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
+import java.io.Closeable;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.Callable;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Used to retrieve the elements from a single file and put the elements into a shared
- * {@link java.util.concurrent.ConcurrentLinkedQueue}.
+ * {@link java.util.concurrent.BlockingQueue}. If the queue is bounded then this task waits
+ * for space in the queue, so the file is only read as fast as the elements are consumed.
+ * Interrupting the thread running this task stops the file being read.
+ * <p>
+ * Rather than waiting on the thread for as long as the queue is full, {@link #putElements(long, TimeUnit)} can
+ * give up after a timeout and be called again later to carry on reading the file.
+ * <p>
+ * If there are delta files for the same partition as the file then the file and the delta files are merged
+ * and aggregated before the validators and filters are applied, so the filter used to read the files should only
+ * select elements by their identifiers. Each file is sorted by vertex (by source, or by destination for reversed
+ * edges), so the files are read together in that order and only the elements for one vertex are held in memory
+ * and aggregated at a time.
+ * <p>
+ * If the row groups to read are given, only those row groups of the file are read. The delta files are always read in
+ * full.
+ * <p>
+ * If column batches are read then a file without delta files is read using a {@link ColumnBatchElementReader}. The
+ * visibility, validators and filters are applied to Elements containing only the identifiers and the properties that
+ * they use, and the rest of each Element is only built if it passes them.
  */
-public class RetrieveElementsFromFile implements Callable<OperationException> {
+public class RetrieveElementsFromFile implements Callable<OperationException>, Closeable {
     private static final Logger LOGGER = LoggerFactory.getLogger(RetrieveElementsFromFile.class);
+    private static final SeedComparator SEED_COMPARATOR = new SeedComparator();
 
     private final Path filePath;
+    private final List<Integer> rowGroups;
+    private final List<Path> deltaFiles;
     private final FilterPredicate filter;
     private final byte[] jsonGafferSchema;
     private transient SchemaUtils schemaUtils;
-    private final ConcurrentLinkedQueue<Element> queue;
+    private final BlockingQueue<Element> queue;
     private transient ElementFilter elementFilter;
     private final byte[] elementDefinitionJson;
     private final boolean needsValidatorsAndFiltersApplying;
     private final boolean skipValidation;
+    private final boolean readColumnBatches;
     private final String group;
+    private final boolean isReversed;
     private final View view;
     private final Schema gafferSchema;
     private final Authorisations auths;
     private final String visibility;
+    private final Lock lock = new ReentrantLock();
+    private Closeable reader;
+    private ElementSupplier elements;
+    private Element nextElement;
+    private volatile boolean closed;
 
     public RetrieveElementsFromFile(final Path filePath,
                                     final FilterPredicate filter,
                                     final Schema gafferSchema,
-                                    final ConcurrentLinkedQueue<Element> queue,
+                                    final BlockingQueue<Element> queue,
                                     final boolean needsValidatorsAndFiltersApplying,
                                     final boolean skipValidation,
                                     final View view,
                                     final User user) {
-        LOGGER.info("Creating RetrieveElementsFromFile for path {} with predicate {}", filePath, filter);
+        this(filePath, null, Collections.emptyList(), filter, gafferSchema, queue, needsValidatorsAndFiltersApplying,
+                skipValidation, false, view, user);
+    }
+
+    public RetrieveElementsFromFile(final Path filePath,
+                                    final List<Integer> rowGroups,
+                                    final List<Path> deltaFiles,
+                                    final FilterPredicate filter,
+                                    final Schema gafferSchema,
+                                    final BlockingQueue<Element> queue,
+                                    final boolean needsValidatorsAndFiltersApplying,
+                                    final boolean skipValidation,
+                                    final boolean readColumnBatches,
+                                    final View view,
+                                    final User user) {
+        LOGGER.info("Creating RetrieveElementsFromFile for path {} and {} delta files with predicate {}",
+                filePath, deltaFiles.size(), filter);
         this.filePath = filePath;
+        this.rowGroups = rowGroups;
+        this.deltaFiles = deltaFiles;
         this.filter = filter;
         this.jsonGafferSchema = gafferSchema.toCompactJson();
         this.gafferSchema = gafferSchema;
@@ -97,83 +166,255 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
         this.view = view;
         this.needsValidatorsAndFiltersApplying = needsValidatorsAndFiltersApplying;
         this.skipValidation = skipValidation;
+        this.readColumnBatches = readColumnBatches;
         if (filePath.getName().contains("=")) {
             group = filePath.getName().split("=")[1];
         } else {
             group = filePath.getParent().getName().split("=")[1];
         }
+        isReversed = filePath.getParent().getName().startsWith(ParquetStore.REVERSED_GROUP + "=");
         elementDefinitionJson = view.getElement(group).toCompactJson();
     }
 
     @Override
     public OperationException call() throws Exception {
+        putElements(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        return null;
+    }
+
+    /**
+     * Reads elements from the file and puts them on the queue until either all the elements have been read or
+     * the queue has stayed full for the given time. In the second case the file is left open, and calling this
+     * method again carries on reading it from where it stopped, so the thread can be used for other work whilst
+     * the consumer of the queue catches up.
+     *
+     * @param timeout how long to wait for space on the queue for each element
+     * @param unit    the unit of the timeout
+     * @return true if all the elements have been read, false if the queue was full
+     * @throws Exception if the file could not be read, or the thread was interrupted
+     */
+    public boolean putElements(final long timeout, final TimeUnit unit) throws Exception {
+        lock.lock();
+        try {
+            if (null == elements && !closed) {
+                openElements();
+            }
+            while (!closed) {
+                if (null == nextElement) {
+                    nextElement = elements.read();
+                    if (null == nextElement) {
+                        close();
+                        return true;
+                    }
+                }
+                if (!queue.offer(nextElement, timeout, unit)) {
+                    return false;
+                }
+                nextElement = null;
+            }
+            return true;
+        } catch (final IOException e) {
+            close();
+            if (!deltaFiles.isEmpty()) {
+                throw e;
+            }
+            LOGGER.error("IOException reading file", e);
+            // ignore as this file does not exist
+            return true;
+        } catch (final Exception e) {
+            close();
+            throw e;
+        } finally {
+            lock.unlock();
+            // The file may have been closed whilst it was being read
+            if (closed) {
+                close();
+            }
+        }
+    }
+
+    /**
+     * Closes the file, if it is open. Once closed no more elements are put on the queue. If the file is being
+     * read by another thread then that thread closes it, so this does not wait for it.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (lock.tryLock()) {
+            try {
+                nextElement = null;
+                elements = null;
+                CloseableUtil.close(reader);
+                reader = null;
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Opens the file, and any delta files, and sets the supplier of the elements to put on the queue
+    private void openElements() throws IOException, VisibilityParseException {
         if (null == elementFilter) {
             elementFilter = new ViewElementDefinition.Builder().json(elementDefinitionJson).build().getPreAggregationFilter();
         }
         if (null == schemaUtils) {
             schemaUtils = new SchemaUtils(Schema.fromJson(jsonGafferSchema));
         }
+        if (!deltaFiles.isEmpty()) {
+            final MergedElements mergedElements = openMergedElements();
+            reader = mergedElements;
+            elements = mergedElements::read;
+        } else if (readColumnBatches) {
+            final ColumnBatchElementReader fileReader = openColumnBatchReader(filePath);
+            reader = fileReader;
+            elements = () -> readFromColumnBatches(fileReader);
+        } else if (null != rowGroups) {
+            final RowGroupElementReader fileReader = openRowGroupReader(filePath);
+            reader = fileReader;
+            elements = () -> readAccepted(fileReader::read);
+        } else {
+            final ParquetReader<Element> fileReader = openParquetReader(filePath);
+            reader = fileReader;
+            elements = () -> readAccepted(fileReader::read);
+        }
+    }
+
+    private Element readFromColumnBatches(final ColumnBatchElementReader fileReader) throws IOException, VisibilityParseException {
+        Element e = fileReader.read();
+        while (null != e) {
+            // Only build the rest of the element if it is going to be returned
+            if (isAccepted(e)) {
+                final Element element = fileReader.materialise(e);
+                if (null != element) {
+                    ViewUtil.removeProperties(view, element);
+                    return element;
+                }
+            }
+            e = fileReader.read();
+        }
+        return null;
+    }
+
+    private Element readAccepted(final ElementSupplier supplier) throws IOException, VisibilityParseException {
+        Element e = supplier.read();
+        while (null != e) {
+            if (isAccepted(e)) {
+                ViewUtil.removeProperties(view, e);
+                return e;
+            }
+            e = supplier.read();
+        }
+        return null;
+    }
+
+    private MergedElements openMergedElements() throws IOException, VisibilityParseException {
+        final List<SortedInput> inputs = new ArrayList<>();
         try {
-            final ParquetReader<Element> fileReader = openParquetReader();
-            Element e = fileReader.read();
-            while (null != e) {
-                if (!visibility.isEmpty()) {
-                    if (isVisible(e)) {
-                        if (needsValidatorsAndFiltersApplying) {
-                            final String group = e.getGroup();
-                            final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                            if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                                if (elementFilter == null || elementFilter.test(e)) {
-                                    ViewUtil.removeProperties(view, e);
-                                    queue.add(e);
-                                }
-                            }
-                        } else {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
-                } else if (needsValidatorsAndFiltersApplying) {
-                    final String group = e.getGroup();
-                    final ElementFilter validatorFilter = gafferSchema.getElement(group).getValidator(false);
-                    if (skipValidation || validatorFilter == null || validatorFilter.test(e)) {
-                        if (elementFilter == null || elementFilter.test(e)) {
-                            ViewUtil.removeProperties(view, e);
-                            queue.add(e);
-                        }
-                    }
+            // The partition may only have data in the delta files
+            try {
+                if (null != rowGroups) {
+                    final RowGroupElementReader fileReader = openRowGroupReader(filePath);
+                    inputs.add(new SortedInput(filePath, fileReader, fileReader::read));
                 } else {
-                    ViewUtil.removeProperties(view, e);
-                    queue.add(e);
+                    final ParquetReader<Element> fileReader = openParquetReader(filePath);
+                    inputs.add(new SortedInput(filePath, fileReader, fileReader::read));
                 }
-                e = fileReader.read();
+            } catch (final FileNotFoundException e) {
+                LOGGER.debug("File {} does not exist, reading the delta files only", filePath);
             }
-            fileReader.close();
-        } catch (final IOException ignore) {
-            LOGGER.error("IOException reading file", ignore);
-            // ignore as this file does not exist
+            for (final Path deltaFile : deltaFiles) {
+                final ParquetReader<Element> fileReader = openParquetReader(deltaFile);
+                inputs.add(new SortedInput(deltaFile, fileReader, fileReader::read));
+            }
+            LOGGER.debug("Merging and aggregating the elements read from {} and {} delta files", filePath, deltaFiles.size());
+            return new MergedElements(inputs);
+        } catch (final Exception e) {
+            inputs.forEach(CloseableUtil::close);
+            throw e;
         }
-        return null;
     }
 
-    private ParquetReader<Element> openParquetReader() throws IOException {
+    // The vertex that the files for the group are sorted by, converted to the objects that are stored in Parquet
+    private Object[] getSortVertex(final Element element) throws SerialisationException {
+        final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
+        if (element instanceof Entity) {
+            return converter.gafferObjectToParquetObjects(ParquetStore.VERTEX, ((Entity) element).getVertex());
+        }
+        final Edge edge = (Edge) element;
+        return converter.gafferObjectToParquetObjects(ParquetStore.SOURCE,
+                isReversed ? edge.getDestination() : edge.getSource());
+    }
+
+    private boolean isAccepted(final Element e) throws VisibilityParseException {
+        if (!visibility.isEmpty() && !isVisible(e)) {
+            return false;
+        }
+        if (needsValidatorsAndFiltersApplying) {
+            final ElementFilter validatorFilter = gafferSchema.getElement(e.getGroup()).getValidator(false);
+            return (skipValidation || validatorFilter == null || validatorFilter.test(e))
+                    && (elementFilter == null || elementFilter.test(e));
+        }
+        return true;
+    }
+
+    // The columns that isAccepted needs, in addition to the identifiers
+    private Set<String> getColumnsToFilterOn() {
+        final Set<String> columns = new HashSet<>();
+        if (!visibility.isEmpty()) {
+            columns.add(visibility);
+        }
+        if (needsValidatorsAndFiltersApplying) {
+            if (!skipValidation) {
+                addSelectedColumns(gafferSchema.getElement(group).getValidator(false), columns);
+            }
+            addSelectedColumns(elementFilter, columns);
+        }
+        return columns;
+    }
+
+    private static void addSelectedColumns(final ElementFilter filter, final Set<String> columns) {
+        if (null != filter) {
+            for (final TupleAdaptedPredicate<String, ?> component : filter.getComponents()) {
+                if (null != component.getSelection()) {
+                    Collections.addAll(columns, component.getSelection());
+                }
+            }
+        }
+    }
+
+    private ParquetReader<Element> openParquetReader(final Path path) throws IOException {
         final boolean isEntity = schemaUtils.getEntityGroups().contains(group);
         final GafferGroupObjectConverter converter = schemaUtils.getConverter(group);
-        LOGGER.debug("Opening a new Parquet reader for file {}", filePath);
+        LOGGER.debug("Opening a new Parquet reader for file {}", path);
         if (null != filter) {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(path)
                     .isEntity(isEntity)
                     .usingConverter(converter)
                     .withFilter(FilterCompat.get(filter))
                     .build();
         } else {
-            return new ParquetElementReader.Builder<Element>(filePath)
+            return new ParquetElementReader.Builder<Element>(path)
                     .isEntity(isEntity)
                     .usingConverter(converter)
                     .build();
         }
     }
 
+    // Only reads the row groups of the file that the index shows can contain the seeds
+    private RowGroupElementReader openRowGroupReader(final Path path) throws IOException {
+        LOGGER.debug("Opening a new reader for row groups {} of file {}", rowGroups, path);
+        return new RowGroupElementReader(new Configuration(), path, rowGroups,
+                schemaUtils.getEntityGroups().contains(group), schemaUtils.getConverter(group),
+                null != filter ? FilterCompat.get(filter) : null);
+    }
+
+    private ColumnBatchElementReader openColumnBatchReader(final Path path) throws IOException {
+        LOGGER.debug("Opening a new column batch reader for file {}", path);
+        return new ColumnBatchElementReader(new Configuration(), path, rowGroups,
+                schemaUtils.getEntityGroups().contains(group), group, schemaUtils.getConverter(group), filter,
+                getColumnsToFilterOn());
+    }
+
     private Boolean isVisible(final Element e) throws VisibilityParseException {
         if (e.getProperty(visibility) != null) {
             final VisibilityEvaluator visibilityEvaluator = new VisibilityEvaluator(auths);
@@ -184,4 +425,104 @@ public class RetrieveElementsFromFile implements Callable<OperationException> {
             return true;
         }
     }
+
+    private interface ElementSupplier {
+        Element read() throws IOException, VisibilityParseException;
+    }
+
+    // Merges the file with its delta files, aggregating the elements for each vertex once they have all been read
+    private final class MergedElements implements Closeable {
+        private final List<SortedInput> inputs;
+        private final PriorityQueue<SortedInput> mergeQueue;
+        private final List<Element> elementsForVertex = new ArrayList<>();
+        private Iterator<Element> aggregatedElements = Collections.emptyIterator();
+
+        private MergedElements(final List<SortedInput> inputs) throws IOException, VisibilityParseException {
+            this.inputs = inputs;
+            this.mergeQueue = new PriorityQueue<>(Math.max(1, inputs.size()),
+                    (input1, input2) -> SEED_COMPARATOR.compare(input1.getVertex(), input2.getVertex()));
+            for (final SortedInput input : inputs) {
+                if (input.next()) {
+                    mergeQueue.add(input);
+                }
+            }
+        }
+
+        private Element read() throws IOException, VisibilityParseException {
+            while (true) {
+                while (aggregatedElements.hasNext()) {
+                    final Element e = aggregatedElements.next();
+                    if (isAccepted(e)) {
+                        ViewUtil.removeProperties(view, e);
+                        return e;
+                    }
+                }
+                if (mergeQueue.isEmpty()) {
+                    return null;
+                }
+                // All the elements for the smallest vertex are at the heads of the inputs, so once they have been
+                // read they can be aggregated without reading any more of the files
+                final Object[] vertex = mergeQueue.peek().getVertex();
+                while (!mergeQueue.isEmpty() && 0 == SEED_COMPARATOR.compare(vertex, mergeQueue.peek().getVertex())) {
+                    final SortedInput input = mergeQueue.poll();
+                    elementsForVertex.add(input.getElement());
+                    if (input.next()) {
+                        mergeQueue.add(input);
+                    }
+                }
+                final List<Element> aggregated = new ArrayList<>();
+                try (final CloseableIterable<Element> aggregatedRun = AggregatorUtil.ingestAggregate(elementsForVertex, gafferSchema)) {
+                    aggregatedRun.forEach(aggregated::add);
+                }
+                elementsForVertex.clear();
+                aggregatedElements = aggregated.iterator();
+            }
+        }
+
+        @Override
+        public void close() {
+            inputs.forEach(CloseableUtil::close);
+        }
+    }
+
+    // One of the sorted files being merged, positioned at its next element
+    private final class SortedInput implements Closeable {
+        private final Path path;
+        private final Closeable reader;
+        private final ElementSupplier supplier;
+        private Element element;
+        private Object[] vertex;
+
+        private SortedInput(final Path path, final Closeable reader, final ElementSupplier supplier) {
+            this.path = path;
+            this.reader = reader;
+            this.supplier = supplier;
+        }
+
+        private boolean next() throws IOException, VisibilityParseException {
+            element = supplier.read();
+            if (null == element) {
+                return false;
+            }
+            final Object[] previousVertex = vertex;
+            vertex = getSortVertex(element);
+            if (null != previousVertex && 0 < SEED_COMPARATOR.compare(previousVertex, vertex)) {
+                throw new IllegalStateException("The elements in file " + path + " are not sorted by vertex, so it cannot be merged with its delta files");
+            }
+            return true;
+        }
+
+        private Element getElement() {
+            return element;
+        }
+
+        private Object[] getVertex() {
+            return vertex;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.SparkSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+
+/**
+ * Writes new data to a delta directory in the current snapshot of a {@link ParquetStore}, rather than
+ * rewriting every partition of the snapshot. For every group and partition that has new data, the new data is
+ * aggregated and sorted on its own and then moved to {@code delta=<timestamp>/<group directory>/<partition file>}.
+ * The delta files are merged with the snapshot files when they are read and are compacted into a new snapshot
+ * by {@link ParquetStore#compactDeltas(SparkSession)}.
+ * <p>
+ * The delta is written to a directory whose name ends in "-tmp", which is renamed once all the data has been
+ * moved there, so that queries see either all or none of the new data.
+ */
+public class WriteDelta implements Callable<CallableResult> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteDelta.class);
+
+    private final ParquetStore store;
+    private final SparkSession spark;
+    private final ExecutorService threadPool;
+    private final BiFunction<String, Integer, String> directoryForGroupAndPartitionId;
+    private final BiFunction<String, Integer, String> directoryForGroupAndPartitionIdForReversedEdges;
+    private final String tmpDirectory;
+
+    /**
+     * @param store                                          the store
+     * @param spark                                          the Spark session
+     * @param threadPool                                     the thread pool to run the aggregate and sort tasks on
+     * @param directoryForGroupAndPartitionId                the directory of new data for each group and partition id
+     * @param directoryForGroupAndPartitionIdForReversedEdges the directory of new data for each reversed edge group and
+     *                                                       partition id
+     * @param tmpDirectory                                   the temporary directory to write to, which is deleted
+     *                                                       once the delta has been written
+     */
+    public WriteDelta(final ParquetStore store,
+                      final SparkSession spark,
+                      final ExecutorService threadPool,
+                      final BiFunction<String, Integer, String> directoryForGroupAndPartitionId,
+                      final BiFunction<String, Integer, String> directoryForGroupAndPartitionIdForReversedEdges,
+                      final String tmpDirectory) {
+        this.store = store;
+        this.spark = spark;
+        this.threadPool = threadPool;
+        this.directoryForGroupAndPartitionId = directoryForGroupAndPartitionId;
+        this.directoryForGroupAndPartitionIdForReversedEdges = directoryForGroupAndPartitionIdForReversedEdges;
+        this.tmpDirectory = tmpDirectory;
+    }
+
+    @Override
+    public CallableResult call() throws OperationException {
+        final FileSystem fs = store.getFS();
+        final Schema schema = store.getSchema();
+        final GraphPartitioner currentGraphPartitioner = store.getGraphPartitioner();
+
+        // The directory of sorted results, the group directory and the file name for each partition with new data
+        final List<String[]> moves = new ArrayList<>();
+        final List<Callable<CallableResult>> tasks = new ArrayList<>();
+        try {
+            for (final String group : schema.getGroups()) {
+                for (final Partition partition : currentGraphPartitioner.getGroupPartitioner(group).getPartitions()) {
+                    final String inputDir = directoryForGroupAndPartitionId.apply(group, partition.getPartitionId());
+                    if (!fs.exists(new Path(inputDir))) {
+                        continue;
+                    }
+                    final String outputDir = tmpDirectory + "/sorted_new"
+                            + "/group=" + group
+                            + "/partition=" + partition.getPartitionId();
+                    tasks.add(new AggregateAndSortData(store.getSchemaUtils(), fs, Collections.singletonList(inputDir), outputDir,
+                            group, "delta-" + group + "-" + partition.getPartitionId(), false, store.getProperties().getCompressionCodecName(), spark,
+                            store.getProperties().getWriteIndex()));
+                    moves.add(new String[]{outputDir, ParquetStore.GROUP + "=" + group, ParquetStore.getFile(partition.getPartitionId())});
+                    LOGGER.info("Created AggregateAndSortData task for delta for group {}, partition {}", group, partition.getPartitionId());
+                }
+            }
+            for (final String group : schema.getEdgeGroups()) {
+                for (final Partition partition : currentGraphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions()) {
+                    final String inputDir = directoryForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId());
+                    if (!fs.exists(new Path(inputDir))) {
+                        continue;
+                    }
+                    final String outputDir = tmpDirectory + "/sorted_new"
+                            + "/REVERSED-group=" + group
+                            + "/partition=" + partition.getPartitionId();
+                    tasks.add(new AggregateAndSortData(store.getSchemaUtils(), fs, Collections.singletonList(inputDir), outputDir,
+                            group, "delta-reversed-" + group + "-" + partition.getPartitionId(), true, store.getProperties().getCompressionCodecName(), spark,
+                            store.getProperties().getWriteIndex()));
+                    moves.add(new String[]{outputDir, ParquetStore.REVERSED_GROUP + "=" + group, ParquetStore.getFile(partition.getPartitionId())});
+                    LOGGER.info("Created AggregateAndSortData task for delta for reversed edge group {}, partition {}", group, partition.getPartitionId());
+                }
+            }
+        } catch (final IOException e) {
+            throw new OperationException("IOException finding the new data to write to a delta", e);
+        }
+        WriteSnapshot.runTasks(threadPool, tasks);
+
+        try {
+            // Write to a delta-tmp directory in the current snapshot and rename it once all the data is there
+            long timestamp = System.currentTimeMillis();
+            while (fs.exists(new Path(store.getSnapshotDir(), ParquetStore.getDeltaPath(timestamp)))) {
+                timestamp++;
+            }
+            final Path deltaDir = new Path(store.getSnapshotDir(), ParquetStore.getDeltaPath(timestamp));
+            final Path deltaTmpDir = new Path(deltaDir.toString() + "-tmp");
+            LOGGER.info("Moving aggregated and sorted data to new delta directory {}", deltaTmpDir);
+            fs.mkdirs(deltaTmpDir);
+            for (final String[] move : moves) {
+                WriteSnapshot.moveSortedFile(fs, new Path(move[0]), new Path(new Path(deltaTmpDir, move[1]), move[2]));
+            }
+
+            // Delete temporary data directory
+            LOGGER.info("Deleting temporary directory {}", tmpDirectory);
+            fs.delete(new Path(tmpDirectory), true);
+            LOGGER.info("Renaming {} to {}", deltaTmpDir, deltaDir);
+            fs.rename(deltaTmpDir, deltaDir);
+            store.reloadDeltaFiles();
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("IOException moving results files into new delta directory", e);
+        }
+        return CallableResult.SUCCESS;
+    }
+}
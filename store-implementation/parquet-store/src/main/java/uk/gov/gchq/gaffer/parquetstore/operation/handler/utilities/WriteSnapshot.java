@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.spark.sql.SparkSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.FileIndex;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.Partition;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.serialisation.GraphPartitionerSerialiser;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+
+/**
+ * Writes a new snapshot of a {@link ParquetStore}. For every group and partition, the new data (if there is any)
+ * is aggregated and sorted together with the data in the current snapshot file and delta files for that
+ * partition. The results are moved to a new snapshot directory, which becomes the store's latest snapshot.
+ * <p>
+ * The new snapshot is written to a directory whose name ends in "-tmp", which is renamed once all the data has
+ * been moved there. This makes the replacement of the old data with the new data an atomic operation and ensures
+ * that a get operation against the store will not read the directory when only some of the data has been moved
+ * there.
+ */
+public class WriteSnapshot implements Callable<CallableResult> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteSnapshot.class);
+
+    private final ParquetStore store;
+    private final SparkSession spark;
+    private final ExecutorService threadPool;
+    private final BiFunction<String, Integer, String> directoryForGroupAndPartitionId;
+    private final BiFunction<String, Integer, String> directoryForGroupAndPartitionIdForReversedEdges;
+    private final String tmpDirectory;
+
+    /**
+     * @param store                                          the store
+     * @param spark                                          the Spark session
+     * @param threadPool                                     the thread pool to run the aggregate and sort tasks on
+     * @param directoryForGroupAndPartitionId                the directory of new data for each group and partition id,
+     *                                                       or null if there is no new data
+     * @param directoryForGroupAndPartitionIdForReversedEdges the directory of new data for each reversed edge group and
+     *                                                       partition id, or null if there is no new data
+     * @param tmpDirectory                                   the temporary directory to write to, which is deleted
+     *                                                       once the snapshot has been written
+     */
+    public WriteSnapshot(final ParquetStore store,
+                         final SparkSession spark,
+                         final ExecutorService threadPool,
+                         final BiFunction<String, Integer, String> directoryForGroupAndPartitionId,
+                         final BiFunction<String, Integer, String> directoryForGroupAndPartitionIdForReversedEdges,
+                         final String tmpDirectory) {
+        this.store = store;
+        this.spark = spark;
+        this.threadPool = threadPool;
+        this.directoryForGroupAndPartitionId = directoryForGroupAndPartitionId;
+        this.directoryForGroupAndPartitionIdForReversedEdges = directoryForGroupAndPartitionIdForReversedEdges;
+        this.tmpDirectory = tmpDirectory;
+    }
+
+    @Override
+    public CallableResult call() throws OperationException {
+        final FileSystem fs = store.getFS();
+        final Schema schema = store.getSchema();
+        final GraphPartitioner currentGraphPartitioner = store.getGraphPartitioner();
+
+        // For every group and partition, aggregate the new data with the old data and then sort
+        final BiFunction<String, Integer, String> directoryForSortedResultsForGroupAndPartitionId = (group, partitionId) ->
+                tmpDirectory
+                        + "/sorted_new_old_merged"
+                        + "/group=" + group
+                        + "/partition=" + partitionId;
+        final BiFunction<String, Integer, String> directoryForSortedResultsForGroupAndPartitionIdForReversedEdges = (group, partitionId) ->
+                tmpDirectory
+                        + "/sorted_new_old_merged"
+                        + "/REVERSED-group=" + group
+                        + "/partition=" + partitionId;
+        final List<Callable<CallableResult>> tasks = new ArrayList<>();
+        for (final String group : schema.getGroups()) {
+            final List<Partition> partitions = currentGraphPartitioner.getGroupPartitioner(group).getPartitions();
+            for (final Partition partition : partitions) {
+                final List<String> inputFiles = new ArrayList<>();
+                // New data
+                if (null != directoryForGroupAndPartitionId) {
+                    inputFiles.add(directoryForGroupAndPartitionId.apply(group, partition.getPartitionId()));
+                }
+                // Old data
+                final String oldFile = store.getFile(group, partition);
+                inputFiles.add(oldFile);
+                store.getDeltaFiles(new Path(oldFile)).forEach(deltaFile -> inputFiles.add(deltaFile.toString()));
+                final String outputDir = directoryForSortedResultsForGroupAndPartitionId.apply(group, partition.getPartitionId());
+                final AggregateAndSortData task = new AggregateAndSortData(store.getSchemaUtils(), fs, inputFiles, outputDir,
+                        group, group + "-" + partition.getPartitionId(), false, store.getProperties().getCompressionCodecName(), spark,
+                        store.getProperties().getWriteIndex());
+                tasks.add(task);
+                LOGGER.info("Created AggregateAndSortData task for group {}, partition {}", group, partition.getPartitionId());
+            }
+        }
+        for (final String group : schema.getEdgeGroups()) {
+            final List<Partition> partitions = currentGraphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions();
+            for (final Partition partition : partitions) {
+                final List<String> inputFiles = new ArrayList<>();
+                // New data
+                if (null != directoryForGroupAndPartitionIdForReversedEdges) {
+                    inputFiles.add(directoryForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId()));
+                }
+                // Old data
+                final String oldFile = store.getFileForReversedEdges(group, partition);
+                inputFiles.add(oldFile);
+                store.getDeltaFiles(new Path(oldFile)).forEach(deltaFile -> inputFiles.add(deltaFile.toString()));
+                final String outputDir = directoryForSortedResultsForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId());
+                final AggregateAndSortData task = new AggregateAndSortData(store.getSchemaUtils(), fs, inputFiles, outputDir,
+                        group, "reversed-" + group + "-" + partition.getPartitionId(), true, store.getProperties().getCompressionCodecName(), spark,
+                        store.getProperties().getWriteIndex());
+                tasks.add(task);
+                LOGGER.info("Created AggregateAndSortData task for reversed edge group {}, partition {}", group, partition.getPartitionId());
+            }
+        }
+        runTasks(threadPool, tasks);
+
+        try {
+            // Move results to a new snapshot directory (the -tmp at the end allows us to add data to the directory,
+            // and then when this is all finished we rename the directory to remove the -tmp).
+            final long snapshot = System.currentTimeMillis();
+            final String newDataDir = store.getDataDir() + "/" + ParquetStore.getSnapshotPath(snapshot) + "-tmp";
+            LOGGER.info("Moving aggregated and sorted data to new snapshot directory {}", newDataDir);
+            fs.mkdirs(new Path(newDataDir));
+            for (final String group : schema.getGroups()) {
+                final Path groupDir = new Path(newDataDir, ParquetStore.GROUP + "=" + group);
+                fs.mkdirs(groupDir);
+                LOGGER.info("Created directory {}", groupDir);
+            }
+            for (final String group : schema.getEdgeGroups()) {
+                final Path groupDir = new Path(newDataDir, ParquetStore.REVERSED_GROUP + "=" + group);
+                fs.mkdirs(groupDir);
+                LOGGER.info("Created directory {}", groupDir);
+            }
+            for (final String group : schema.getGroups()) {
+                final String groupDir = newDataDir + "/" + ParquetStore.GROUP + "=" + group;
+                final List<Partition> partitions = currentGraphPartitioner.getGroupPartitioner(group).getPartitions();
+                for (final Partition partition : partitions) {
+                    final Path outputDir = new Path(directoryForSortedResultsForGroupAndPartitionId.apply(group, partition.getPartitionId()));
+                    moveSortedFile(fs, outputDir, new Path(groupDir, ParquetStore.getFile(partition.getPartitionId())));
+                }
+            }
+            for (final String group : schema.getEdgeGroups()) {
+                final String groupDir = newDataDir + "/" + ParquetStore.REVERSED_GROUP + "=" + group;
+                final List<Partition> partitions = currentGraphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitions();
+                for (final Partition partition : partitions) {
+                    final Path outputDir = new Path(directoryForSortedResultsForGroupAndPartitionIdForReversedEdges.apply(group, partition.getPartitionId()));
+                    moveSortedFile(fs, outputDir, new Path(groupDir, ParquetStore.getFile(partition.getPartitionId())));
+                }
+            }
+
+            // Delete temporary data directory
+            LOGGER.info("Deleting temporary directory {}", tmpDirectory);
+            fs.delete(new Path(tmpDirectory), true);
+            // Write out graph partitioner (unchanged from previous one)
+            final Path newGraphPartitionerPath = new Path(newDataDir + "/graphPartitioner");
+            final FSDataOutputStream stream = fs.create(newGraphPartitionerPath);
+            LOGGER.info("Writing graph partitioner to {}", newGraphPartitionerPath);
+            new GraphPartitionerSerialiser().write(currentGraphPartitioner, stream);
+            stream.close();
+            // Move snapshot-tmp directory to snapshot
+            final String directoryWithoutTmp = newDataDir.substring(0, newDataDir.lastIndexOf("-tmp"));
+            LOGGER.info("Renaming {} to {}", newDataDir, directoryWithoutTmp);
+            fs.rename(new Path(newDataDir), new Path(directoryWithoutTmp));
+            // Set snapshot on store to new value
+            LOGGER.info("Updating latest snapshot on store to {}", snapshot);
+            store.setLatestSnapshot(snapshot);
+        } catch (final IOException | StoreException e) {
+            throw new OperationException("IOException moving results files into new snapshot directory", e);
+        }
+        return CallableResult.SUCCESS;
+    }
+
+    static void runTasks(final ExecutorService threadPool, final List<Callable<CallableResult>> tasks) throws OperationException {
+        try {
+            LOGGER.info("Invoking {} AggregateAndSortData tasks", tasks.size());
+            final List<Future<CallableResult>> futures = threadPool.invokeAll(tasks);
+            for (final Future<CallableResult> future : futures) {
+                final CallableResult result = future.get();
+                LOGGER.info("Result {} from task", result);
+            }
+        } catch (final InterruptedException e) {
+            throw new OperationException("InterruptedException running AggregateAndSortData tasks", e);
+        } catch (final ExecutionException e) {
+            throw new OperationException("ExecutionException running AggregateAndSortData tasks", e);
+        }
+    }
+
+    // Moves the single Parquet file written by an AggregateAndSortData task to its destination. Returns false if
+    // the task did not write any data.
+    static boolean moveSortedFile(final FileSystem fs, final Path outputDir, final Path destination)
+            throws IOException, OperationException {
+        if (!fs.exists(outputDir)) {
+            LOGGER.info("Not moving data to {} as the outputDir {} does not exist", destination, outputDir);
+            return false;
+        }
+        // One .parquet file and one .parquet.crc file
+        final FileStatus[] status = fs.listStatus(outputDir, path -> path.getName().endsWith(".parquet"));
+        if (1 != status.length) {
+            LOGGER.error("Didn't find one Parquet file in path {} (found {} files)", outputDir, status.length);
+            throw new OperationException("Expected to find one Parquet file in path " + outputDir
+                    + " (found " + status.length + " files)");
+        }
+        fs.mkdirs(destination.getParent());
+        LOGGER.info("Renaming {} to {}", status[0].getPath(), destination);
+        if (!fs.rename(status[0].getPath(), destination)) {
+            throw new OperationException("Failed to rename " + status[0].getPath() + " to " + destination);
+        }
+        final Path index = FileIndex.getIndexPath(status[0].getPath());
+        if (fs.exists(index) && !fs.rename(index, FileIndex.getIndexPath(destination))) {
+            throw new OperationException("Failed to rename " + index + " to " + FileIndex.getIndexPath(destination));
+        }
+        return true;
+    }
+}
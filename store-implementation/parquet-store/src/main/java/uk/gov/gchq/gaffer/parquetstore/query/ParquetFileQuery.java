@@ -23,17 +23,48 @@ import org.apache.parquet.filter2.predicate.FilterPredicate;
 
 import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
 
+import java.util.Collections;
+import java.util.List;
+
 public class ParquetFileQuery {
 
     private Path file;
     private FilterPredicate filter;
     private boolean fullyApplied;
+    private List<Path> deltaFiles;
+    private List<Integer> rowGroups;
 
     public ParquetFileQuery(final Path file, final FilterPredicate filter, final boolean fullyApplied) {
+        this(file, filter, fullyApplied, Collections.emptyList());
+    }
+
+    /**
+     * @param file         the file to read
+     * @param filter       the filter to apply when reading the file and the delta files
+     * @param fullyApplied whether the filter fully applies the view
+     * @param deltaFiles   delta files containing elements that must be aggregated with the elements in the file
+     *                     before the view is applied
+     */
+    public ParquetFileQuery(final Path file, final FilterPredicate filter, final boolean fullyApplied, final List<Path> deltaFiles) {
+        this(file, filter, fullyApplied, deltaFiles, null);
+    }
+
+    /**
+     * @param file         the file to read
+     * @param filter       the filter to apply when reading the file and the delta files
+     * @param fullyApplied whether the filter fully applies the view
+     * @param deltaFiles   delta files containing elements that must be aggregated with the elements in the file
+     *                     before the view is applied
+     * @param rowGroups    the indices of the row groups of the file to read, or null if all the row groups should
+     *                     be read
+     */
+    public ParquetFileQuery(final Path file, final FilterPredicate filter, final boolean fullyApplied, final List<Path> deltaFiles,
+                            final List<Integer> rowGroups) {
         this.file = file;
         this.filter = filter;
         this.fullyApplied = fullyApplied;
-
+        this.deltaFiles = deltaFiles;
+        this.rowGroups = rowGroups;
     }
 
     public Path getFile() {
@@ -48,12 +79,22 @@ public class ParquetFileQuery {
         return fullyApplied;
     }
 
+    public List<Path> getDeltaFiles() {
+        return deltaFiles;
+    }
+
+    public List<Integer> getRowGroups() {
+        return rowGroups;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this)
                 .append("file", file)
                 .append("filter", filter)
                 .append("fullyApplied", fullyApplied)
+                .append("deltaFiles", deltaFiles)
+                .append("rowGroups", rowGroups)
                 .toString();
     }
 
@@ -73,6 +114,8 @@ public class ParquetFileQuery {
                 .append(file, other.file)
                 .append(filter, other.filter)
                 .append(fullyApplied, other.fullyApplied)
+                .append(deltaFiles, other.deltaFiles)
+                .append(rowGroups, other.rowGroups)
                 .isEquals();
     }
 
@@ -82,6 +125,8 @@ public class ParquetFileQuery {
                 .append(file)
                 .append(filter)
                 .append(fullyApplied)
+                .append(deltaFiles)
+                .append(rowGroups)
                 .toHashCode();
     }
 }
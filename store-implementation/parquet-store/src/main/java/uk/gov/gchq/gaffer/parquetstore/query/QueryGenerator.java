@@ -38,14 +38,17 @@ import uk.gov.gchq.gaffer.operation.graph.SeededGraphFilters;
 import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
 import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.index.FileIndex;
 import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
 import uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+import uk.gov.gchq.gaffer.parquetstore.utils.StoreState;
 import uk.gov.gchq.koryphe.tuple.n.Tuple3;
 import uk.gov.gchq.koryphe.tuple.predicate.TupleAdaptedPredicate;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -68,10 +71,14 @@ public class QueryGenerator {
     private static final Logger LOGGER = LoggerFactory.getLogger(QueryGenerator.class);
 
     private final ParquetStore store;
+    private final StoreState state;
     private final SchemaUtils schemaUtils;
 
     public QueryGenerator(final ParquetStore store) {
         this.store = store;
+        // All the files for the query come from this state, so they belong to the same snapshot even if the store
+        // moves on to a new one whilst the query is being generated
+        this.state = store.getState();
         this.schemaUtils = new SchemaUtils(store.getSchema());
     }
 
@@ -93,7 +100,7 @@ public class QueryGenerator {
         // Stage 2: Create map from group to list of files containing data for that group
         final Map<String, List<Path>> groupToPaths = new HashMap<>();
         for (final String group : allRelevantGroups) {
-            groupToPaths.put(group, store.getFilesForGroup(group));
+            groupToPaths.put(group, state.getFilesForGroup(store.getFS(), group));
         }
 
         // Stage 3: For each of the above groups, create a Parquet predicate from the view and directedType
@@ -113,15 +120,25 @@ public class QueryGenerator {
             }
         }
 
-        // Stage 4: Build a ParquetQuery by iterating through the map from group to list of Paths
+        // Stage 4: Build a ParquetQuery by iterating through the map from group to list of Paths, including the
+        // delta files for each partition
         final ParquetQuery parquetQuery = new ParquetQuery();
         for (final Map.Entry<String, List<Path>> entry : groupToPaths.entrySet()) {
+            final String group = entry.getKey();
+            final FilterPredicate filter = groupToPredicate.containsKey(group) ? groupToPredicate.get(group).getFirst() : null;
+            final boolean fullyApplied = groupToPredicate.containsKey(group) && groupToPredicate.get(group).getSecond();
+            final FilterPredicate keyFilter = schemaUtils.getEdgeGroups().contains(group)
+                    ? getPredicateFromDirectedType(getAllElements.getDirectedType()) : null;
+            final Set<Integer> partitionIdsWithoutFiles = new HashSet<>(state.getPartitionIdsWithDeltaFiles(group));
             for (final Path path : entry.getValue()) {
-                final String group = entry.getKey();
-                final ParquetFileQuery fileQuery = groupToPredicate.containsKey(group) ?
-                        new ParquetFileQuery(path, groupToPredicate.get(group).getFirst(), groupToPredicate.get(group).getSecond())
-                                : new ParquetFileQuery(path, null, false);
-                parquetQuery.add(group, fileQuery);
+                partitionIdsWithoutFiles.remove(ParquetStore.getPartitionId(path.getName()));
+                addFileQueries(parquetQuery, group, path, null, state.getDeltaFiles(path), filter, fullyApplied, keyFilter);
+            }
+            // Partitions that only have data in delta files
+            for (final Integer partitionId : partitionIdsWithoutFiles) {
+                final List<Path> deltaFiles = state.getDeltaFiles(new Path(state.getFile(group, partitionId)));
+                addFileQueries(parquetQuery, group, deltaFiles.get(0), null, deltaFiles.subList(1, deltaFiles.size()),
+                        filter, fullyApplied, keyFilter);
             }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
@@ -202,19 +219,61 @@ public class QueryGenerator {
             FilterPredicate filterPredicate = seedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
             if (null != filterPredicate) {
                 final String group = pathInfo.getGroup();
+                // Use the indices of the file and its delta files to skip the files, and the row groups of the
+                // file, that do not contain any of the seeds
+                final List<Object[]> vertices = getVertices(seedList, seedMatchingType);
+                final List<Integer> rowGroups = getRowGroups(pathInfo.getPath(), vertices);
+                final List<Path> deltaFiles = state.getDeltaFiles(pathInfo.getPath())
+                        .stream()
+                        .filter(deltaFile -> mightContain(deltaFile, vertices))
+                        .collect(Collectors.toList());
+                if (null != rowGroups && rowGroups.isEmpty() && deltaFiles.isEmpty()) {
+                    LOGGER.debug("Not querying {} as its index shows it does not contain any of the seeds", pathInfo.getPath());
+                    continue;
+                }
+                final FilterPredicate keyFilter = schemaUtils.getEdgeGroups().contains(group)
+                        ? FilterPredicateUtils.and(getPredicateFromDirectedType(getElements.getDirectedType()), filterPredicate)
+                        : filterPredicate;
                 final Pair<FilterPredicate, Boolean> viewFilterPredicate = groupToPredicate.get(group);
                 if (null != viewFilterPredicate) {
                     // Put view predicate first as filter for checking whether it matches one of many seeds could be complex
                     filterPredicate = FilterPredicateUtils.and(viewFilterPredicate.getFirst(), filterPredicate);
                 }
-                final ParquetFileQuery fileQuery = new ParquetFileQuery(pathInfo.getPath(), filterPredicate, viewFilterPredicate.getSecond());
-                parquetQuery.add(group, fileQuery);
+                addFileQueries(parquetQuery, group, pathInfo.getPath(), rowGroups, deltaFiles,
+                        filterPredicate, viewFilterPredicate.getSecond(), keyFilter);
             }
         }
         LOGGER.info("Created ParquetQuery of {}", parquetQuery);
         return parquetQuery;
     }
 
+    // Adds the queries for a file and the delta files for the same partition. If the group is aggregated then the
+    // file and the delta files are read and aggregated together, so only the key filter (the directed type and
+    // the seeds) can be applied whilst reading them and the view is applied to the aggregated elements. If rowGroups
+    // is not null then only those row groups of the file are read.
+    private void addFileQueries(final ParquetQuery parquetQuery,
+                                final String group,
+                                final Path file,
+                                final List<Integer> rowGroups,
+                                final List<Path> deltaFiles,
+                                final FilterPredicate filter,
+                                final boolean fullyApplied,
+                                final FilterPredicate keyFilter) {
+        final boolean readFile = null == rowGroups || !rowGroups.isEmpty();
+        if (deltaFiles.isEmpty()) {
+            parquetQuery.add(group, new ParquetFileQuery(file, filter, fullyApplied, Collections.emptyList(), rowGroups));
+        } else if (store.getSchema().getAggregatedGroups().contains(group)) {
+            parquetQuery.add(group, new ParquetFileQuery(file, keyFilter, false, deltaFiles, rowGroups));
+        } else {
+            if (readFile) {
+                parquetQuery.add(group, new ParquetFileQuery(file, filter, fullyApplied, Collections.emptyList(), rowGroups));
+            }
+            for (final Path deltaFile : deltaFiles) {
+                parquetQuery.add(group, new ParquetFileQuery(deltaFile, filter, fullyApplied));
+            }
+        }
+    }
+
     // TODO raise issue saying that could optimise so that only the filters that have not been fully applied
     // are reapplied, and it should be able to return the fact that all filters have been applied
     // Either the result is:
@@ -294,7 +353,7 @@ public class QueryGenerator {
     }
 
     private Set<PathInfo> getPathsForSeed(final ParquetElementSeed parquetElementSeed, final String group) {
-        final GraphPartitioner graphPartitioner = store.getGraphPartitioner();
+        final GraphPartitioner graphPartitioner = state.getGraphPartitioner();
         final boolean isEntityGroup = store.getSchema().getEntityGroups().contains(group);
         final List<Object[]> seeds = new ArrayList<>();
         if (parquetElementSeed instanceof ParquetEntitySeed) {
@@ -321,10 +380,10 @@ public class QueryGenerator {
             final List<Integer> partitionIds = graphPartitioner.getGroupPartitioner(group).getPartitionIds(seed);
             LOGGER.debug("Partition ids for seed {} in group {}: {}", seed, group, partitionIds);
             final PathInfo.FILETYPE fileType = isEntityGroup ? PathInfo.FILETYPE.ENTITY : PathInfo.FILETYPE.EDGE;
-            partitionIds.forEach(id -> paths.add(new PathInfo(new Path(store.getFile(group, id)), group, fileType)));
+            partitionIds.forEach(id -> paths.add(new PathInfo(new Path(state.getFile(group, id)), group, fileType)));
             if (!isEntityGroup && parquetElementSeed instanceof ParquetEntitySeed) {
                 final List<Integer> partitionIdsFromReversed = graphPartitioner.getGroupPartitionerForReversedEdges(group).getPartitionIds(seed);
-                partitionIdsFromReversed.forEach(id -> paths.add(new PathInfo(new Path(store.getFileForReversedEdges(group, id)), group, PathInfo.FILETYPE.REVERSED_EDGE)));
+                partitionIdsFromReversed.forEach(id -> paths.add(new PathInfo(new Path(state.getFileForReversedEdges(group, id)), group, PathInfo.FILETYPE.REVERSED_EDGE)));
             }
         }
         LOGGER.debug("Returning {} paths for seed {} and group {} (paths are {})",
@@ -333,9 +392,56 @@ public class QueryGenerator {
     }
 
 
+    // Gets the vertices that the seeds for a file select on, i.e. the values of the column that the file is sorted by
+    // (the vertex for entities, the source for edges and the destination for reversed edges) that the file must contain
+    // for any of the seeds to match.
+    private List<Object[]> getVertices(final List<Tuple3<String, Boolean, ParquetElementSeed>> seedList,
+                                       final SeedMatching.SeedMatchingType seedMatchingType) {
+        final boolean related = seedMatchingType != SeedMatching.SeedMatchingType.EQUAL;
+        final List<Object[]> vertices = new ArrayList<>();
+        for (final Tuple3<String, Boolean, ParquetElementSeed> tuple : seedList) {
+            final boolean isEntityGroup = schemaUtils.getEntityGroups().contains(tuple.get0());
+            final ParquetElementSeed seed = tuple.get2();
+            if (seed instanceof ParquetEntitySeed) {
+                if (isEntityGroup || related) {
+                    vertices.add(((ParquetEntitySeed) seed).getSeed());
+                }
+            } else {
+                final ParquetEdgeSeed edgeSeed = (ParquetEdgeSeed) seed;
+                if (!isEntityGroup) {
+                    vertices.add(edgeSeed.getSource());
+                } else if (related) {
+                    vertices.add(edgeSeed.getSource());
+                    if (null != edgeSeed.getDestination()) {
+                        vertices.add(edgeSeed.getDestination());
+                    }
+                }
+            }
+        }
+        return vertices;
+    }
+
+    // Returns the row groups of the file that can contain the vertices, or null if all the row groups must be read
+    private List<Integer> getRowGroups(final Path file, final List<Object[]> vertices) {
+        final FileIndex fileIndex = store.getFileIndex(file);
+        if (null == fileIndex || vertices.isEmpty()) {
+            return null;
+        }
+        return fileIndex.getRowGroups(vertices);
+    }
+
+    private boolean mightContain(final Path file, final List<Object[]> vertices) {
+        final FileIndex fileIndex = store.getFileIndex(file);
+        return null == fileIndex || vertices.isEmpty() || vertices.stream().anyMatch(fileIndex::mightContain);
+    }
+
     private FilterPredicate seedsToPredicate(final List<Tuple3<String, Boolean, ParquetElementSeed>> seedList,
                                              final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType,
                                              final SeedMatching.SeedMatchingType seedMatchingType) throws SerialisationException {
+        final FilterPredicate sortedSeedsPredicate = sortedSeedsToPredicate(seedList, includeIncomingOutgoingType, seedMatchingType);
+        if (null != sortedSeedsPredicate) {
+            return sortedSeedsPredicate;
+        }
         FilterPredicate predicate = null;
         for (final Tuple3<String, Boolean, ParquetElementSeed> pair : seedList) {
             FilterPredicate pred = seedToPredicate(
@@ -347,6 +453,70 @@ public class QueryGenerator {
         return predicate;
     }
 
+    // If there are enough seeds that select on the column the file is sorted by then they are looked up in a
+    // SortedSeedPredicate, which skips row groups using their statistics and merges the sorted seeds with the
+    // sorted column, rather than ORing an equality predicate for each seed. Edge seeds in edge groups also select
+    // on the destination and directed columns so they are still ORed. Returns null if all the seeds should be
+    // converted by seedToPredicate.
+    private FilterPredicate sortedSeedsToPredicate(final List<Tuple3<String, Boolean, ParquetElementSeed>> seedList,
+                                                   final SeededGraphFilters.IncludeIncomingOutgoingType includeIncomingOutgoingType,
+                                                   final SeedMatching.SeedMatchingType seedMatchingType) {
+        final int threshold = store.getProperties().getSortedSeedsThreshold();
+        if (seedList.size() < threshold) {
+            return null;
+        }
+        // All the seeds for a file are for the same group and the same type of file
+        final String group = seedList.get(0).get0();
+        final boolean reversed = seedList.get(0).get1();
+        final boolean isEntityGroup = schemaUtils.getEntityGroups().contains(group);
+        final String column = isEntityGroup ? ParquetStore.VERTEX : (reversed ? ParquetStore.DESTINATION : ParquetStore.SOURCE);
+        final String[] paths = schemaUtils.getPaths(group, column);
+        if (null != paths && 1 != paths.length) {
+            return null;
+        }
+        final String path = null != paths ? paths[0] : column;
+
+        // If seedMatchingType is EQUAL then entity seeds only match entities and edge seeds only match edges
+        final boolean related = seedMatchingType != SeedMatching.SeedMatchingType.EQUAL;
+        final List<Object> values = new ArrayList<>(seedList.size());
+        FilterPredicate edgeSeedsPredicate = null;
+        for (final Tuple3<String, Boolean, ParquetElementSeed> tuple : seedList) {
+            final ParquetElementSeed seed = tuple.get2();
+            if (seed instanceof ParquetEntitySeed) {
+                if (isEntityGroup || related) {
+                    values.add(((ParquetEntitySeed) seed).getSeed()[0]);
+                }
+            } else if (isEntityGroup) {
+                if (related) {
+                    final ParquetEdgeSeed edgeSeed = (ParquetEdgeSeed) seed;
+                    values.add(edgeSeed.getSource()[0]);
+                    if (null != edgeSeed.getDestination()) {
+                        values.add(edgeSeed.getDestination()[0]);
+                    }
+                }
+            } else {
+                edgeSeedsPredicate = FilterPredicateUtils.or(edgeSeedsPredicate,
+                        seedToPredicate(seed, includeIncomingOutgoingType, seedMatchingType, group, reversed));
+            }
+        }
+        if (values.size() < threshold) {
+            return null;
+        }
+        FilterPredicate predicate = SortedSeedPredicate.in(path, values);
+        if (null == predicate) {
+            return null;
+        }
+        if (!isEntityGroup
+                && ((includeIncomingOutgoingType == SeededGraphFilters.IncludeIncomingOutgoingType.INCOMING && !reversed)
+                || (includeIncomingOutgoingType == SeededGraphFilters.IncludeIncomingOutgoingType.OUTGOING && reversed))) {
+            // The edge must be undirected for the seed to be its source if only incoming edges are wanted, or its
+            // destination if only outgoing edges are wanted
+            predicate = FilterPredicateUtils.and(predicate, getIsEqualFilter(ParquetStore.DIRECTED, new Object[]{false}, group));
+        }
+        LOGGER.debug("Created {} for {} seeds in group {}", predicate, values.size(), group);
+        return FilterPredicateUtils.or(predicate, edgeSeedsPredicate);
+    }
+
     private FilterPredicate getIsEqualFilter(final String colName,
                                              final Object[] parquetObjects,
                                              final String group) {
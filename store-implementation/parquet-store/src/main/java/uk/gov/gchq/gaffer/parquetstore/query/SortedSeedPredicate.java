@@ -0,0 +1,235 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Statistics;
+import org.apache.parquet.filter2.predicate.UserDefinedPredicate;
+import org.apache.parquet.io.api.Binary;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * A {@link UserDefinedPredicate} that keeps the rows whose value in a column is equal to one of a set of seeds. It
+ * replaces a predicate made by ORing an equality predicate for each seed, which Parquet evaluates by checking
+ * every seed against every row.
+ * <p>
+ * The seeds are held in a sorted array:
+ * <ul>
+ * <li>A row group is skipped if none of the seeds lie between the minimum and maximum values of the column in
+ * the row group.</li>
+ * <li>The files are sorted by the column, so the values in successive rows normally increase. The position
+ * of the last value in the seeds is remembered and the search for the next value gallops forward from there,
+ * so reading a file merges the sorted seeds with the sorted column. If a value is smaller than the last one
+ * then the seeds are searched from the start.</li>
+ * </ul>
+ *
+ * @param <T> the type of the column
+ */
+public final class SortedSeedPredicate<T extends Comparable<T>> extends UserDefinedPredicate<T> implements Serializable {
+    private static final long serialVersionUID = 2419476403256137352L;
+
+    private final Object[] seeds;
+    private int position;
+
+    private SortedSeedPredicate(final Collection<T> seeds) {
+        this.seeds = new TreeSet<>(seeds).toArray();
+    }
+
+    /**
+     * Creates a predicate that keeps the rows whose value in the column is equal to one of the seeds.
+     *
+     * @param path           the path of the column
+     * @param parquetObjects the seeds, as converted to Parquet objects by
+     *                       {@link uk.gov.gchq.gaffer.parquetstore.utils.GafferGroupObjectConverter}
+     * @return the predicate, or null if the seeds are not all of one type that this predicate supports
+     */
+    public static FilterPredicate in(final String path, final Collection<?> parquetObjects) {
+        if (parquetObjects.isEmpty()) {
+            return null;
+        }
+        final Object first = parquetObjects.iterator().next();
+        if (first instanceof String || first instanceof byte[]) {
+            final List<Binary> binaries = new ArrayList<>(parquetObjects.size());
+            for (final Object parquetObject : parquetObjects) {
+                if (parquetObject instanceof String) {
+                    binaries.add(Binary.fromString((String) parquetObject));
+                } else if (parquetObject instanceof byte[]) {
+                    binaries.add(Binary.fromConstantByteArray((byte[]) parquetObject));
+                } else {
+                    return null;
+                }
+            }
+            return FilterApi.userDefined(FilterApi.binaryColumn(path), new SortedSeedPredicate<>(binaries));
+        } else if (first instanceof Long || first instanceof Date) {
+            final List<Long> longs = new ArrayList<>(parquetObjects.size());
+            for (final Object parquetObject : parquetObjects) {
+                if (parquetObject instanceof Long) {
+                    longs.add((Long) parquetObject);
+                } else if (parquetObject instanceof Date) {
+                    longs.add(((Date) parquetObject).getTime());
+                } else {
+                    return null;
+                }
+            }
+            return FilterApi.userDefined(FilterApi.longColumn(path), new SortedSeedPredicate<>(longs));
+        } else if (first instanceof Integer || first instanceof Short) {
+            final List<Integer> integers = new ArrayList<>(parquetObjects.size());
+            for (final Object parquetObject : parquetObjects) {
+                if (parquetObject instanceof Integer || parquetObject instanceof Short) {
+                    integers.add(((Number) parquetObject).intValue());
+                } else {
+                    return null;
+                }
+            }
+            return FilterApi.userDefined(FilterApi.intColumn(path), new SortedSeedPredicate<>(integers));
+        } else if (first instanceof Double) {
+            final List<Double> doubles = new ArrayList<>(parquetObjects.size());
+            for (final Object parquetObject : parquetObjects) {
+                if (!(parquetObject instanceof Double)) {
+                    return null;
+                }
+                doubles.add((Double) parquetObject);
+            }
+            return FilterApi.userDefined(FilterApi.doubleColumn(path), new SortedSeedPredicate<>(doubles));
+        } else if (first instanceof Float) {
+            final List<Float> floats = new ArrayList<>(parquetObjects.size());
+            for (final Object parquetObject : parquetObjects) {
+                if (!(parquetObject instanceof Float)) {
+                    return null;
+                }
+                floats.add((Float) parquetObject);
+            }
+            return FilterApi.userDefined(FilterApi.floatColumn(path), new SortedSeedPredicate<>(floats));
+        }
+        return null;
+    }
+
+    @Override
+    public boolean keep(final T value) {
+        if (null == value) {
+            return false;
+        }
+        // Read the position once so that the search is consistent if the predicate is shared between readers
+        int start = position;
+        if (start > 0 && compare(start - 1, value) >= 0) {
+            start = 0;
+        }
+        final int index = search(start, value);
+        position = index;
+        return index < seeds.length && compare(index, value) == 0;
+    }
+
+    @Override
+    public boolean canDrop(final Statistics<T> statistics) {
+        final T min = statistics.getMin();
+        final T max = statistics.getMax();
+        if (null == min || null == max) {
+            return false;
+        }
+        final int index = lowerBound(0, seeds.length, min);
+        return index == seeds.length || compare(index, max) > 0;
+    }
+
+    @Override
+    public boolean inverseCanDrop(final Statistics<T> statistics) {
+        // Only if every value in the row group was a seed, which the statistics can't show when there are nulls
+        return false;
+    }
+
+    public int getNumberOfSeeds() {
+        return seeds.length;
+    }
+
+    // Returns the index of the first seed that is not less than the value, given that all the seeds before
+    // start are less than the value.
+    private int search(final int start, final T value) {
+        int low = start;
+        int high = start;
+        int step = 1;
+        while (high < seeds.length && compare(high, value) < 0) {
+            low = high + 1;
+            high = low + step;
+            step <<= 1;
+        }
+        return lowerBound(low, Math.min(high, seeds.length), value);
+    }
+
+    // Returns the index of the first seed in [low, high) that is not less than the value, or high if there is none.
+    private int lowerBound(final int low, final int high, final T value) {
+        int lo = low;
+        int hi = high;
+        while (lo < hi) {
+            final int mid = (lo + hi) >>> 1;
+            if (compare(mid, value) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int compare(final int index, final T value) {
+        return ((T) seeds[index]).compareTo(value);
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+
+        if (null == obj || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        final SortedSeedPredicate<?> other = (SortedSeedPredicate<?>) obj;
+
+        return new EqualsBuilder()
+                .append(seeds, other.seeds)
+                .isEquals();
+    }
+
+    @Override
+    public int hashCode() {
+        return new HashCodeBuilder(17, 37)
+                .append(seeds)
+                .toHashCode();
+    }
+
+    @Override
+    public String toString() {
+        // The seeds are not listed as there may be many of them
+        return new ToStringBuilder(this)
+                .append("numberOfSeeds", seeds.length)
+                .append("first", 0 < seeds.length ? seeds[0] : null)
+                .append("last", 0 < seeds.length ? seeds[seeds.length - 1] : null)
+                .toString();
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.utils;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * An immutable index of the delta files in a snapshot directory of a {@link ParquetStore}.
+ * <p>
+ * When elements are added incrementally each {@link uk.gov.gchq.gaffer.operation.impl.add.AddElements}
+ * writes a directory {@code delta=<timestamp>} inside the current snapshot directory. It contains a sorted
+ * and aggregated file for each partition that the new elements were added to, using the same layout as the
+ * snapshot directory, e.g. {@code delta=<timestamp>/group=<group>/partition-0000001.parquet}. The elements
+ * in a partition are the elements in the snapshot file for that partition combined with the elements in
+ * all the delta files for that partition.
+ */
+public final class DeltaFiles {
+    public static final DeltaFiles EMPTY = new DeltaFiles(Collections.emptyMap(), 0, 0L);
+
+    private final Map<String, Map<Integer, List<Path>>> groupDirectoryToPartitionToFiles;
+    private final int numberOfDeltas;
+    private final long sizeInBytes;
+
+    private DeltaFiles(final Map<String, Map<Integer, List<Path>>> groupDirectoryToPartitionToFiles,
+                       final int numberOfDeltas,
+                       final long sizeInBytes) {
+        this.groupDirectoryToPartitionToFiles = groupDirectoryToPartitionToFiles;
+        this.numberOfDeltas = numberOfDeltas;
+        this.sizeInBytes = sizeInBytes;
+    }
+
+    /**
+     * Finds the delta files in a snapshot directory. Delta directories that are still being written, i.e.
+     * whose names end in {@code -tmp}, are ignored.
+     *
+     * @param fs          the file system
+     * @param snapshotDir the snapshot directory
+     * @return the delta files in the snapshot directory
+     * @throws IOException if the snapshot directory could not be read
+     */
+    public static DeltaFiles load(final FileSystem fs, final Path snapshotDir) throws IOException {
+        if (!fs.exists(snapshotDir)) {
+            return EMPTY;
+        }
+        final FileStatus[] deltaDirs = fs.listStatus(snapshotDir, path -> path.getName().startsWith(ParquetStore.DELTA + "=")
+                && !path.getName().endsWith("-tmp"));
+        // The files for each partition are listed in the order they were added
+        Arrays.sort(deltaDirs, Comparator.comparingLong(status -> ParquetStore.getDeltaTimestamp(status.getPath().getName())));
+
+        final Map<String, Map<Integer, List<Path>>> groupDirectoryToPartitionToFiles = new HashMap<>();
+        int numberOfDeltas = 0;
+        long sizeInBytes = 0L;
+        for (final FileStatus deltaDir : deltaDirs) {
+            if (!deltaDir.isDirectory()) {
+                continue;
+            }
+            numberOfDeltas++;
+            for (final FileStatus groupDir : fs.listStatus(deltaDir.getPath())) {
+                if (!groupDir.isDirectory()) {
+                    continue;
+                }
+                final Map<Integer, List<Path>> partitionToFiles = groupDirectoryToPartitionToFiles
+                        .computeIfAbsent(groupDir.getPath().getName(), k -> new TreeMap<>());
+                for (final FileStatus file : fs.listStatus(groupDir.getPath(), path -> path.getName().endsWith(".parquet"))) {
+                    final Integer partitionId = ParquetStore.getPartitionId(file.getPath().getName());
+                    if (null != partitionId) {
+                        partitionToFiles.computeIfAbsent(partitionId, k -> new ArrayList<>()).add(file.getPath());
+                        sizeInBytes += file.getLen();
+                    }
+                }
+            }
+        }
+        return new DeltaFiles(groupDirectoryToPartitionToFiles, numberOfDeltas, sizeInBytes);
+    }
+
+    /**
+     * @param groupDirectory the name of the group directory, e.g. {@code group=<group>}
+     * @param partitionId    the partition id
+     * @return the delta files for the partition, oldest first
+     */
+    public List<Path> getFiles(final String groupDirectory, final int partitionId) {
+        final Map<Integer, List<Path>> partitionToFiles = groupDirectoryToPartitionToFiles.get(groupDirectory);
+        if (null == partitionToFiles) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(partitionToFiles.getOrDefault(partitionId, Collections.emptyList()));
+    }
+
+    /**
+     * @param groupDirectory the name of the group directory, e.g. {@code group=<group>}
+     * @return all the delta files for the group directory
+     */
+    public List<Path> getFiles(final String groupDirectory) {
+        final List<Path> files = new ArrayList<>();
+        groupDirectoryToPartitionToFiles.getOrDefault(groupDirectory, Collections.emptyMap()).values().forEach(files::addAll);
+        return files;
+    }
+
+    /**
+     * @param groupDirectory the name of the group directory, e.g. {@code group=<group>}
+     * @return the ids of the partitions that have delta files
+     */
+    public Set<Integer> getPartitionIds(final String groupDirectory) {
+        return Collections.unmodifiableSet(groupDirectoryToPartitionToFiles.getOrDefault(groupDirectory, Collections.emptyMap()).keySet());
+    }
+
+    public int getNumberOfDeltas() {
+        return numberOfDeltas;
+    }
+
+    public long getSizeInBytes() {
+        return sizeInBytes;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("numberOfDeltas", numberOfDeltas)
+                .append("sizeInBytes", sizeInBytes)
+                .append("groupDirectoryToPartitionToFiles", groupDirectoryToPartitionToFiles)
+                .toString();
+    }
+}
@@ -40,6 +40,7 @@ import uk.gov.gchq.gaffer.serialisation.Serialiser;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -324,80 +325,107 @@ public class GafferGroupObjectConverter implements Serializable {
         } else {
             e = new Edge(group);
         }
+        addParquetObjectsToElement(e, columnToPaths.keySet(), parquetColumnToObject);
+        return e;
+    }
+
+    /**
+     * Adds the Gaffer objects for some of the Gaffer columns to an element, using a map of parquetColumn to Object[]
+     * containing the relevant objects stored in that column. If any of the columns are identifiers of an Edge then all
+     * of the identifiers of the Edge are set.
+     *
+     * @param element               the Entity or Edge to add the objects to
+     * @param gafferColumns         the Gaffer columns to add to the element
+     * @param parquetColumnToObject is a map from parquet column path to a list of the objects stored on that path which
+     *                              only contains more then 1 if the column is storing an array or part of a map
+     * @throws SerialisationException if the parquet objects can not be de-serialised
+     */
+    public void addParquetObjectsToElement(final Element element,
+                                           final Collection<String> gafferColumns,
+                                           final Map<String, Object[]> parquetColumnToObject) throws SerialisationException {
+        final boolean isEntity = element instanceof Entity;
         Object src = null;
         Object dst = null;
         boolean isDir = false;
-        for (final Map.Entry<String, String[]> columnToPaths : this.columnToPaths.entrySet()) {
-            final String column = columnToPaths.getKey();
-            final String[] paths = columnToPaths.getValue();
-            final Object[] parquetObjectsForColumn = new Object[paths.length];
-            boolean isMap = false;
-            for (int i = 0; i < paths.length; i++) {
-                final String path = paths[i];
-                if (path.endsWith("key_value.key")) {
-                    isMap = true;
-                }
-                Object[] parquetColumnObjects = parquetColumnToObject.getOrDefault(paths[i], null);
-                if (null != parquetColumnObjects) {
-                    if (path.endsWith("list.element")) {
-                        final boolean expectsList = columnToSerialiser.get(column).canHandle(List.class);
-                        if (expectsList) {
-                            final List<Object> list = new ArrayList<>(parquetColumnObjects.length);
-                            for (final Object listObject : parquetColumnObjects) {
-                                list.add(listObject);
-                            }
-                            parquetObjectsForColumn[i] = list;
-                        } else {
-                            parquetObjectsForColumn[i] = parquetColumnObjects;
-                        }
-                    } else {
-                        if (isMap) {
-                            parquetObjectsForColumn[i] = parquetColumnObjects;
-                        } else {
-                            parquetObjectsForColumn[i] = parquetColumnObjects[0];
-                        }
+        boolean hasEdgeIdentifiers = false;
+        for (final String column : gafferColumns) {
+            final Object gafferObject = getGafferObject(column, columnToPaths.get(column), parquetColumnToObject);
+            if (isEntity) {
+                if (ParquetStore.VERTEX.equals(column)) {
+                    if (null != gafferObject) {
+                        ((Entity) element).setVertex(gafferObject);
                     }
-                }
-            }
-            final Object gafferObject;
-            if (isMap) {
-                final Object[] keys = (Object[]) parquetObjectsForColumn[0];
-                if (null != keys) {
-                    final Object[] values = (Object[]) parquetObjectsForColumn[1];
-                    final Map<Object, Object> map = new HashMap<>(keys.length);
-                    for (int i = 0; i < keys.length; i++) {
-                        map.put(keys[i], values[i]);
-                    }
-                    gafferObject = parquetObjectsToGafferObject(column, new Object[]{map});
-                } else {
-                    gafferObject = null;
+                } else if (null != gafferObject) {
+                    element.putProperty(column, gafferObject);
                 }
             } else {
-                gafferObject = parquetObjectsToGafferObject(column, parquetObjectsForColumn);
+                if (ParquetStore.SOURCE.equals(column)) {
+                    hasEdgeIdentifiers = true;
+                    src = gafferObject;
+                } else if (ParquetStore.DESTINATION.equals(column)) {
+                    hasEdgeIdentifiers = true;
+                    dst = gafferObject;
+                } else if (ParquetStore.DIRECTED.equals(column)) {
+                    hasEdgeIdentifiers = true;
+                    isDir = null != gafferObject && (boolean) gafferObject;
+                } else if (null != gafferObject) {
+                    element.putProperty(column, gafferObject);
+                }
+            }
+        }
+        if (hasEdgeIdentifiers) {
+            ((Edge) element).setIdentifiers(src, dst, isDir);
+        }
+    }
+
+    public Map<String, String[]> getColumnToPaths() {
+        return columnToPaths;
+    }
+
+    private Object getGafferObject(final String column,
+                                   final String[] paths,
+                                   final Map<String, Object[]> parquetColumnToObject) throws SerialisationException {
+        final Object[] parquetObjectsForColumn = new Object[paths.length];
+        boolean isMap = false;
+        for (int i = 0; i < paths.length; i++) {
+            final String path = paths[i];
+            if (path.endsWith("key_value.key")) {
+                isMap = true;
             }
-            if (null != gafferObject) {
-                if (isEntity) {
-                    if (ParquetStore.VERTEX.equals(column)) {
-                        ((Entity) e).setVertex(gafferObject);
+            Object[] parquetColumnObjects = parquetColumnToObject.getOrDefault(paths[i], null);
+            if (null != parquetColumnObjects) {
+                if (path.endsWith("list.element")) {
+                    final boolean expectsList = columnToSerialiser.get(column).canHandle(List.class);
+                    if (expectsList) {
+                        final List<Object> list = new ArrayList<>(parquetColumnObjects.length);
+                        for (final Object listObject : parquetColumnObjects) {
+                            list.add(listObject);
+                        }
+                        parquetObjectsForColumn[i] = list;
                     } else {
-                        e.putProperty(column, gafferObject);
+                        parquetObjectsForColumn[i] = parquetColumnObjects;
                     }
                 } else {
-                    if (ParquetStore.SOURCE.equals(column)) {
-                        src = gafferObject;
-                    } else if (ParquetStore.DESTINATION.equals(column)) {
-                        dst = gafferObject;
-                    } else if (ParquetStore.DIRECTED.equals(column)) {
-                        isDir = (boolean) gafferObject;
+                    if (isMap) {
+                        parquetObjectsForColumn[i] = parquetColumnObjects;
                     } else {
-                        e.putProperty(column, gafferObject);
+                        parquetObjectsForColumn[i] = parquetColumnObjects[0];
                     }
                 }
             }
         }
-        if (!isEntity) {
-            ((Edge) e).setIdentifiers(src, dst, isDir);
+        if (isMap) {
+            final Object[] keys = (Object[]) parquetObjectsForColumn[0];
+            if (null != keys) {
+                final Object[] values = (Object[]) parquetObjectsForColumn[1];
+                final Map<Object, Object> map = new HashMap<>(keys.length);
+                for (int i = 0; i < keys.length; i++) {
+                    map.put(keys[i], values[i]);
+                }
+                return parquetObjectsToGafferObject(column, new Object[]{map});
+            }
+            return null;
         }
-        return e;
+        return parquetObjectsToGafferObject(column, parquetObjectsForColumn);
     }
 }
@@ -0,0 +1,309 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the tasks that read and write the Parquet files of a store on a single, bounded pool of threads, so that
+ * the number of tasks using the disks at once is limited however many operations are running.
+ * <p>
+ * Each operation runs its tasks in its own {@link Session}, which is an {@link java.util.concurrent.ExecutorService}
+ * that has a parallelism budget. A session only passes at most that many tasks to the shared pool at a time and
+ * holds its other tasks back until one of them finishes. As each session has a bounded number of tasks waiting in
+ * the pool's queue, the tasks of a new operation are not stuck behind all the tasks of an operation that reads a
+ * large number of files, and the threads are shared fairly between the operations.
+ * <p>
+ * The number of queued and active tasks can be read from the scheduler and from each session, e.g. to monitor the
+ * load on the store.
+ */
+public class ParquetTaskScheduler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParquetTaskScheduler.class);
+    private static final long IDLE_THREAD_TIMEOUT_SECONDS = 60L;
+
+    private final String name;
+    private final ThreadPoolExecutor threadPool;
+    private final Set<Session> sessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * @param name               the name of the scheduler, which is used to name its threads
+     * @param maxConcurrentTasks the maximum number of tasks that run at once across all the sessions
+     */
+    public ParquetTaskScheduler(final String name, final int maxConcurrentTasks) {
+        if (maxConcurrentTasks < 1) {
+            throw new IllegalArgumentException("The maximum number of concurrent tasks must be at least 1, got "
+                    + maxConcurrentTasks);
+        }
+        this.name = name;
+        final AtomicInteger threadCount = new AtomicInteger();
+        this.threadPool = new ThreadPoolExecutor(maxConcurrentTasks, maxConcurrentTasks,
+                IDLE_THREAD_TIMEOUT_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+                    final Thread thread = new Thread(runnable, name + "-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Release the threads whilst the store is idle
+        this.threadPool.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Creates a session to run the tasks of one operation.
+     *
+     * @param sessionName the name of the session, used in log messages
+     * @param parallelism the maximum number of tasks from the session that run at once
+     * @return the new session
+     */
+    public Session createSession(final String sessionName, final int parallelism) {
+        if (threadPool.isShutdown()) {
+            throw new RejectedExecutionException("The scheduler " + name + " has been shut down");
+        }
+        final Session session = new Session(sessionName, Math.max(1, Math.min(parallelism, getMaxConcurrentTasks())));
+        sessions.add(session);
+        LOGGER.debug("Created session {} with parallelism {} ({} sessions, {} queued tasks, {} active tasks)",
+                sessionName, session.getParallelism(), sessions.size(), getQueuedTasks(), getActiveTasks());
+        return session;
+    }
+
+    public int getMaxConcurrentTasks() {
+        return threadPool.getMaximumPoolSize();
+    }
+
+    /**
+     * @return the number of tasks that are waiting to run, including those held back by their session
+     */
+    public int getQueuedTasks() {
+        int queuedTasks = threadPool.getQueue().size();
+        for (final Session session : sessions) {
+            queuedTasks += session.getPendingTasks();
+        }
+        return queuedTasks;
+    }
+
+    /**
+     * @return the approximate number of tasks that are running
+     */
+    public int getActiveTasks() {
+        return threadPool.getActiveCount();
+    }
+
+    /**
+     * @return the approximate number of tasks that have finished running
+     */
+    public long getCompletedTasks() {
+        return threadPool.getCompletedTaskCount();
+    }
+
+    /**
+     * @return the number of sessions that have not yet terminated
+     */
+    public int getNumberOfSessions() {
+        return sessions.size();
+    }
+
+    /**
+     * Stops all the sessions, interrupting their running tasks, and stops the threads.
+     */
+    public void shutdown() {
+        for (final Session session : sessions) {
+            session.shutdownNow();
+        }
+        // The tasks that had not started belong to stopped sessions, so running them just lets the sessions terminate
+        for (final Runnable task : threadPool.shutdownNow()) {
+            task.run();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name + "[maxConcurrentTasks=" + getMaxConcurrentTasks()
+                + ", sessions=" + getNumberOfSessions()
+                + ", queuedTasks=" + getQueuedTasks()
+                + ", activeTasks=" + getActiveTasks()
+                + ", completedTasks=" + getCompletedTasks() + "]";
+    }
+
+    /**
+     * The tasks of a single operation. A session runs at most its parallelism budget of tasks at once on the
+     * scheduler's threads, and runs the rest of its tasks in the order they were submitted as those tasks finish.
+     * <p>
+     * Shutting a session down does not affect the other sessions or the scheduler.
+     */
+    public final class Session extends AbstractExecutorService {
+        private final String sessionName;
+        private final int parallelism;
+        private final Queue<Runnable> pendingTasks = new ArrayDeque<>();
+        private final Set<Thread> runningThreads = new HashSet<>();
+        private int submittedTasks;
+        private boolean isShutdown;
+        private boolean isStopped;
+
+        private Session(final String sessionName, final int parallelism) {
+            this.sessionName = sessionName;
+            this.parallelism = parallelism;
+        }
+
+        public String getName() {
+            return sessionName;
+        }
+
+        public int getParallelism() {
+            return parallelism;
+        }
+
+        /**
+         * @return the number of tasks that the session is holding back because its parallelism budget is used up
+         */
+        public synchronized int getPendingTasks() {
+            return pendingTasks.size();
+        }
+
+        /**
+         * @return the number of tasks from the session that are running
+         */
+        public synchronized int getActiveTasks() {
+            return runningThreads.size();
+        }
+
+        @Override
+        public synchronized void execute(final Runnable task) {
+            if (isShutdown) {
+                throw new RejectedExecutionException("The session " + sessionName + " has been shut down");
+            }
+            pendingTasks.add(task);
+            submitPendingTasks();
+        }
+
+        @Override
+        public synchronized void shutdown() {
+            isShutdown = true;
+            terminateIfDone();
+        }
+
+        @Override
+        public synchronized List<Runnable> shutdownNow() {
+            isShutdown = true;
+            isStopped = true;
+            final List<Runnable> tasks = new ArrayList<>(pendingTasks);
+            pendingTasks.clear();
+            for (final Thread thread : runningThreads) {
+                thread.interrupt();
+            }
+            terminateIfDone();
+            return tasks;
+        }
+
+        @Override
+        public synchronized boolean isShutdown() {
+            return isShutdown;
+        }
+
+        @Override
+        public synchronized boolean isTerminated() {
+            return isShutdown && 0 == submittedTasks && pendingTasks.isEmpty();
+        }
+
+        @Override
+        public synchronized boolean awaitTermination(final long timeout, final TimeUnit unit) throws InterruptedException {
+            final long deadline = System.nanoTime() + unit.toNanos(timeout);
+            while (!isTerminated()) {
+                final long remaining = deadline - System.nanoTime();
+                if (remaining <= 0L) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return sessionName + "[parallelism=" + parallelism
+                    + ", pendingTasks=" + getPendingTasks()
+                    + ", activeTasks=" + getActiveTasks() + "]";
+        }
+
+        // Passes tasks to the shared pool until the parallelism budget is used up. Must hold the session's lock.
+        private void submitPendingTasks() {
+            while (submittedTasks < parallelism && !pendingTasks.isEmpty()) {
+                final Runnable task = pendingTasks.poll();
+                submittedTasks++;
+                try {
+                    threadPool.execute(() -> run(task));
+                } catch (final RejectedExecutionException e) {
+                    submittedTasks--;
+                    throw e;
+                }
+            }
+        }
+
+        private void run(final Runnable task) {
+            synchronized (this) {
+                if (isStopped) {
+                    finished();
+                    return;
+                }
+                runningThreads.add(Thread.currentThread());
+            }
+            try {
+                task.run();
+            } finally {
+                synchronized (this) {
+                    runningThreads.remove(Thread.currentThread());
+                    // Clear an interrupt from shutdownNow so that it does not affect the next task on this thread
+                    Thread.interrupted();
+                    finished();
+                }
+            }
+        }
+
+        // Must hold the session's lock
+        private void finished() {
+            submittedTasks--;
+            if (!isStopped) {
+                submitPendingTasks();
+            }
+            terminateIfDone();
+        }
+
+        // Must hold the session's lock
+        private void terminateIfDone() {
+            if (isTerminated()) {
+                // Only reads the shared pool, as taking the locks of the other sessions here could deadlock
+                if (sessions.remove(this)) {
+                    LOGGER.debug("Session {} terminated ({} sessions, {} tasks queued in the pool, {} active tasks)",
+                            sessionName, sessions.size(), threadPool.getQueue().size(), threadPool.getActiveCount());
+                }
+                notifyAll();
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.utils;
+
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+
+import uk.gov.gchq.gaffer.commonutil.ToStringBuilder;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.GraphPartitioner;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An immutable view of the data in a {@link ParquetStore}: the current snapshot, the {@link GraphPartitioner}
+ * for that snapshot and the {@link DeltaFiles} inside it.
+ * <p>
+ * The store replaces its state as a whole whenever a new snapshot or delta is written, so a query that gets
+ * the state once sees a partitioner and a set of delta files that belong to the same snapshot, even if the
+ * store moves on to a new snapshot whilst the query is being planned.
+ */
+public final class StoreState {
+    private final String dataDir;
+    private final long snapshot;
+    private final GraphPartitioner graphPartitioner;
+    private final DeltaFiles deltaFiles;
+
+    public StoreState(final String dataDir,
+                      final long snapshot,
+                      final GraphPartitioner graphPartitioner,
+                      final DeltaFiles deltaFiles) {
+        this.dataDir = dataDir;
+        this.snapshot = snapshot;
+        this.graphPartitioner = graphPartitioner;
+        this.deltaFiles = deltaFiles;
+    }
+
+    /**
+     * Creates a copy of this state with different delta files, for when a delta has been added to the snapshot.
+     *
+     * @param deltaFiles the delta files in the snapshot
+     * @return the new state
+     */
+    public StoreState withDeltaFiles(final DeltaFiles deltaFiles) {
+        return new StoreState(dataDir, snapshot, graphPartitioner, deltaFiles);
+    }
+
+    public long getSnapshot() {
+        return snapshot;
+    }
+
+    public GraphPartitioner getGraphPartitioner() {
+        return graphPartitioner;
+    }
+
+    public DeltaFiles getDeltaFiles() {
+        return deltaFiles;
+    }
+
+    public String getSnapshotDir() {
+        return dataDir + "/" + ParquetStore.getSnapshotPath(snapshot);
+    }
+
+    public String getFile(final String group, final Integer partitionId) {
+        return getSnapshotDir()
+                + "/" + ParquetStore.GROUP + "=" + group
+                + "/" + ParquetStore.getFile(partitionId);
+    }
+
+    public String getFileForReversedEdges(final String group, final Integer partitionId) {
+        return getSnapshotDir()
+                + "/" + ParquetStore.REVERSED_GROUP + "=" + group
+                + "/" + ParquetStore.getFile(partitionId);
+    }
+
+    public List<Path> getFilesForGroup(final FileSystem fs, final String group) throws IOException {
+        final Path dir = new Path(getSnapshotDir() + "/" + ParquetStore.GROUP + "=" + group);
+        final FileStatus[] files = fs.listStatus(dir, path -> path.getName().endsWith(".parquet"));
+        return Arrays
+                .stream(files)
+                .map(FileStatus::getPath)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Gets the delta files containing elements for the same partition as the given snapshot file.
+     *
+     * @param file a file in the snapshot, for a group or for reversed edges
+     * @return the delta files for the same partition, oldest first
+     */
+    public List<Path> getDeltaFiles(final Path file) {
+        final Integer partitionId = ParquetStore.getPartitionId(file.getName());
+        if (null == partitionId) {
+            return Collections.emptyList();
+        }
+        return deltaFiles.getFiles(file.getParent().getName(), partitionId);
+    }
+
+    public List<Path> getDeltaFilesForGroup(final String group) {
+        return deltaFiles.getFiles(ParquetStore.GROUP + "=" + group);
+    }
+
+    public Set<Integer> getPartitionIdsWithDeltaFiles(final String group) {
+        return deltaFiles.getPartitionIds(ParquetStore.GROUP + "=" + group);
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("dataDir", dataDir)
+                .append("snapshot", snapshot)
+                .append("deltaFiles", deltaFiles)
+                .toString();
+    }
+}
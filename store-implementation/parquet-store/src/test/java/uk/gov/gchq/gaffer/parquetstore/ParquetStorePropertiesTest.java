@@ -105,6 +105,49 @@ public class ParquetStorePropertiesTest {
         assertEquals(true, props.getSortBySplitsOnIngest());
     }
 
+    @Test
+    public void incrementalIngestTest() {
+        assertEquals(false, props.getIncrementalIngest());
+        props.setIncrementalIngest(true);
+        assertEquals(true, props.getIncrementalIngest());
+        assertEquals(10, props.getCompactionMaxDeltas());
+        props.setCompactionMaxDeltas(5);
+        assertEquals(5, props.getCompactionMaxDeltas());
+        assertEquals(1073741824L, props.getCompactionMaxDeltaSize());
+        props.setCompactionMaxDeltaSize(1024L);
+        assertEquals(1024L, props.getCompactionMaxDeltaSize());
+    }
+
+    @Test
+    public void sortedSeedsThresholdTest() {
+        assertEquals(16, (int) props.getSortedSeedsThreshold());
+        props.setSortedSeedsThreshold(100);
+        assertEquals(100, (int) props.getSortedSeedsThreshold());
+    }
+
+    @Test
+    public void queryMaxParallelismTest() {
+        assertEquals(props.getThreadsAvailable() - 1, (int) props.getQueryMaxParallelism());
+        props.setThreadsAvailable(1);
+        assertEquals(1, (int) props.getQueryMaxParallelism());
+        props.setQueryMaxParallelism(2);
+        assertEquals(2, (int) props.getQueryMaxParallelism());
+    }
+
+    @Test
+    public void readColumnBatchesTest() {
+        assertEquals(false, props.getReadColumnBatches());
+        props.setReadColumnBatches(true);
+        assertEquals(true, props.getReadColumnBatches());
+    }
+
+    @Test
+    public void writeIndexTest() {
+        assertEquals(true, props.getWriteIndex());
+        props.setWriteIndex(false);
+        assertEquals(false, props.getWriteIndex());
+    }
+
     @Test
     public void sparkMasterTest() {
         //might fail if Spark is properly installed
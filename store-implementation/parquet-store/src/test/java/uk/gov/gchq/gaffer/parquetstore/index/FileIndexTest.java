@@ -0,0 +1,125 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.index;
+
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.util.bloom.BloomFilter;
+import org.junit.Test;
+
+import uk.gov.gchq.gaffer.parquetstore.index.serialisation.FileIndexSerialiser;
+import uk.gov.gchq.gaffer.parquetstore.partitioner.PartitionKey;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FileIndexTest {
+
+    @Test
+    public void shouldNotContainVerticesThatWereNotAdded() throws IOException {
+        // Given
+        final FileIndex index = createIndex(true);
+
+        // When / Then
+        for (long i = 0L; i < 100L; i++) {
+            assertTrue(index.mightContain(new Object[]{i}));
+        }
+        int falsePositives = 0;
+        for (long i = 100L; i < 10100L; i++) {
+            if (index.mightContain(new Object[]{i})) {
+                falsePositives++;
+            }
+        }
+        assertTrue("Too many false positives: " + falsePositives, falsePositives < 500);
+    }
+
+    @Test
+    public void shouldGetRowGroupsForVertices() throws IOException {
+        // Given - row group i starts with vertex 10 * i, so vertex 30 may also be at the end of row group 2
+        final FileIndex index = createIndex(true);
+
+        // When / Then
+        assertEquals(Collections.singletonList(0), index.getRowGroups(Collections.singletonList(new Object[]{5L})));
+        assertEquals(Arrays.asList(2, 3), index.getRowGroups(Collections.singletonList(new Object[]{30L})));
+        assertEquals(Arrays.asList(0, 9), index.getRowGroups(Arrays.asList(new Object[]{99L}, new Object[]{0L})));
+        assertEquals(Collections.emptyList(), index.getRowGroups(Collections.singletonList(new Object[]{-1L})));
+    }
+
+    @Test
+    public void shouldReadAllRowGroupsIfThereIsNoSparseIndex() throws IOException {
+        // Given
+        final FileIndex index = createIndex(false);
+
+        // When / Then
+        assertNull(index.getRowGroups(Collections.singletonList(new Object[]{5L})));
+    }
+
+    @Test
+    public void shouldSerialiseAndDeserialise() throws IOException {
+        // Given
+        final FileIndex index = createIndex(true);
+        final FileIndexSerialiser serialiser = new FileIndexSerialiser();
+
+        // When
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        serialiser.write(index, new DataOutputStream(bytes));
+        final FileIndex read = serialiser.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Then
+        assertEquals(index.getRowGroupFirstKeys(), read.getRowGroupFirstKeys());
+        assertEquals(Arrays.asList(2, 3), read.getRowGroups(Collections.singletonList(new Object[]{30L})));
+        for (long i = 0L; i < 100L; i++) {
+            assertTrue(read.mightContain(new Object[]{i}));
+        }
+        assertFalse(read.getBloomFilter().toString().isEmpty());
+    }
+
+    @Test
+    public void shouldGetIndexPathThatSparkIgnores() {
+        // When
+        final Path indexPath = FileIndex.getIndexPath(new Path("/graph/snapshot/group=BasicEntity/partition-0.parquet"));
+
+        // Then
+        assertEquals(new Path("/graph/snapshot/group=BasicEntity/_partition-0.parquet.index"), indexPath);
+    }
+
+    private FileIndex createIndex(final boolean sparseIndex) throws IOException {
+        final BloomFilter bloomFilter = FileIndex.createBloomFilter(100L);
+        for (long i = 0L; i < 100L; i++) {
+            bloomFilter.add(FileIndex.getBloomFilterKey(new Object[]{i}));
+        }
+        if (!sparseIndex) {
+            return new FileIndex(bloomFilter, null);
+        }
+        final List<PartitionKey> rowGroupFirstKeys = new ArrayList<>();
+        for (long i = 0L; i < 10L; i++) {
+            rowGroupFirstKeys.add(new PartitionKey(new Object[]{10L * i}));
+        }
+        return new FileIndex(bloomFilter, rowGroupFirstKeys);
+    }
+}
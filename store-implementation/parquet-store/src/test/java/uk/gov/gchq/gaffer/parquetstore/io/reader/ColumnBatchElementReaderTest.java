@@ -0,0 +1,247 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.io.reader;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.Path;
+import org.apache.parquet.filter2.compat.FilterCompat;
+import org.apache.parquet.filter2.predicate.FilterApi;
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.hadoop.ParquetReader;
+import org.apache.parquet.hadoop.ParquetWriter;
+import org.apache.parquet.hadoop.metadata.CompressionCodecName;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.element.IdentifierType;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.io.writer.ParquetElementWriter;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.LongVertexOperationsTest;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitionerTest;
+import uk.gov.gchq.gaffer.parquetstore.query.SortedSeedPredicate;
+import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.apache.parquet.filter2.predicate.FilterApi.eq;
+import static org.apache.parquet.filter2.predicate.FilterApi.gtEq;
+import static org.apache.parquet.filter2.predicate.FilterApi.lt;
+import static org.apache.parquet.filter2.predicate.FilterApi.not;
+import static org.apache.parquet.filter2.predicate.FilterApi.or;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class ColumnBatchElementReaderTest {
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    private SchemaUtils schemaUtils;
+    private String folder;
+
+    @Before
+    public void setUp() throws IOException {
+        schemaUtils = new SchemaUtils(new LongVertexOperationsTest().createSchema());
+        folder = testFolder.newFolder().getAbsolutePath();
+        CalculatePartitionerTest.writeData(folder, schemaUtils);
+    }
+
+    @Test
+    public void shouldReadTheSameElementsAsTheRecordReader() throws IOException {
+        for (final String group : Arrays.asList(TestGroups.ENTITY, TestGroups.EDGE)) {
+            // Given
+            final Path file = getFile(group, 3);
+
+            // When
+            final List<Element> elements = readColumnBatches(file, group, null, null, null);
+
+            // Then
+            assertEquals(readRecords(file, group, null), elements);
+            assertEquals(10, elements.size());
+        }
+    }
+
+    @Test
+    public void shouldApplyFilterToColumnVectors() throws IOException {
+        // Given
+        final Path file = getFile(TestGroups.ENTITY, 0);
+        final FilterPredicate filter = or(eq(FilterApi.longColumn(ParquetStore.VERTEX), 5L),
+                gtEq(FilterApi.longColumn(ParquetStore.VERTEX), 8L));
+
+        // When
+        final List<Element> elements = readColumnBatches(file, TestGroups.ENTITY, null, filter, null);
+
+        // Then
+        assertEquals(readRecords(file, TestGroups.ENTITY, filter), elements);
+        assertEquals(Arrays.asList(5L, 8L, 9L), getVertices(elements));
+    }
+
+    @Test
+    public void shouldApplyUserDefinedPredicateToColumnVectors() throws IOException {
+        // Given
+        final Path file = getFile(TestGroups.ENTITY, 0);
+        final FilterPredicate filter = SortedSeedPredicate.in(ParquetStore.VERTEX, Arrays.asList(7L, 1L, 3L, 100L));
+
+        // When
+        final List<Element> elements = readColumnBatches(file, TestGroups.ENTITY, null, filter, null);
+
+        // Then
+        assertEquals(readRecords(file, TestGroups.ENTITY, filter), elements);
+        assertEquals(Arrays.asList(1L, 3L, 7L), getVertices(elements));
+    }
+
+    @Test
+    public void shouldNotMatchNullValuesWhenPredicateIsInverted() throws IOException {
+        // Given - the long property is only set on the entities with odd vertices
+        final Path file = new Path(folder, "nulls.parquet");
+        try (final ParquetWriter<Element> writer = new ParquetElementWriter.Builder(file)
+                .usingConverter(schemaUtils.getConverter(TestGroups.ENTITY))
+                .withType(schemaUtils.getParquetSchema(TestGroups.ENTITY))
+                .withCompressionCodec(CompressionCodecName.UNCOMPRESSED)
+                .withSparkSchema(schemaUtils.getSparkSchema(TestGroups.ENTITY))
+                .build()) {
+            for (long vertex = 0; vertex < 10; vertex++) {
+                final Entity entity = new Entity(TestGroups.ENTITY, vertex);
+                entity.putProperty("count", 1);
+                if (1 == vertex % 2) {
+                    entity.putProperty("long", vertex);
+                }
+                writer.write(entity);
+            }
+        }
+        final FilterPredicate filter = not(lt(FilterApi.longColumn("long"), 5L));
+
+        // When
+        final List<Element> elements = readColumnBatches(file, TestGroups.ENTITY, null, filter, null);
+
+        // Then
+        assertEquals(readRecords(file, TestGroups.ENTITY, filter), elements);
+        assertEquals(Arrays.asList(5L, 7L, 9L), getVertices(elements));
+    }
+
+    @Test
+    public void shouldOnlyReadGivenRowGroups() throws IOException {
+        // Given
+        final Path file = getFile(TestGroups.ENTITY, 0);
+
+        // When
+        final List<Element> firstRowGroup = readColumnBatches(file, TestGroups.ENTITY, Collections.singletonList(0), null, null);
+        final List<Element> missingRowGroup = readColumnBatches(file, TestGroups.ENTITY, Collections.singletonList(1), null, null);
+
+        // Then
+        assertEquals(readRecords(file, TestGroups.ENTITY, null), firstRowGroup);
+        assertEquals(Collections.emptyList(), missingRowGroup);
+    }
+
+    @Test
+    public void shouldOnlyReadFilterColumnsUntilMaterialised() throws IOException {
+        for (final String group : Arrays.asList(TestGroups.ENTITY, TestGroups.EDGE)) {
+            // Given
+            final Path file = getFile(group, 1);
+            final List<Element> expected = readRecords(file, group, null);
+
+            // When
+            final List<Element> partialElements = new ArrayList<>();
+            final List<Element> elements = new ArrayList<>();
+            try (final ColumnBatchElementReader reader = new ColumnBatchElementReader(new Configuration(), file, null,
+                    schemaUtils.getEntityGroups().contains(group), group, schemaUtils.getConverter(group), null,
+                    Collections.singleton("count"))) {
+                Element element = reader.read();
+                while (null != element) {
+                    partialElements.add(element.shallowClone());
+                    elements.add(reader.materialise(element));
+                    element = reader.read();
+                }
+            }
+
+            // Then
+            assertEquals(expected, elements);
+            for (int i = 0; i < expected.size(); i++) {
+                final Element partialElement = partialElements.get(i);
+                assertEquals(expected.get(i).getIdentifier(getFirstIdentifier(group)),
+                        partialElement.getIdentifier(getFirstIdentifier(group)));
+                assertEquals(50, partialElement.getProperty("count"));
+                assertNull(partialElement.getProperty("treeSet"));
+                assertNull(partialElement.getProperty("freqMap"));
+            }
+        }
+    }
+
+    private Path getFile(final String group, final int partition) {
+        return new Path(new Path(folder, ParquetStore.GROUP + "=" + group), ParquetStore.getFile(partition));
+    }
+
+    private List<Element> readColumnBatches(final Path file,
+                                            final String group,
+                                            final List<Integer> rowGroups,
+                                            final FilterPredicate filter,
+                                            final List<String> filterColumns) throws IOException {
+        final List<Element> elements = new ArrayList<>();
+        try (final ColumnBatchElementReader reader = new ColumnBatchElementReader(new Configuration(), file, rowGroups,
+                schemaUtils.getEntityGroups().contains(group), group, schemaUtils.getConverter(group), filter,
+                filterColumns)) {
+            Element element = reader.read();
+            while (null != element) {
+                elements.add(reader.materialise(element));
+                element = reader.read();
+            }
+        }
+        return elements;
+    }
+
+    private List<Element> readRecords(final Path file, final String group, final FilterPredicate filter) throws IOException {
+        final ParquetElementReader.Builder<Element> builder = new ParquetElementReader.Builder<Element>(file)
+                .isEntity(schemaUtils.getEntityGroups().contains(group))
+                .usingConverter(schemaUtils.getConverter(group));
+        if (null != filter) {
+            builder.withFilter(FilterCompat.get(filter));
+        }
+        final List<Element> elements = new ArrayList<>();
+        try (final ParquetReader<Element> reader = builder.build()) {
+            Element element = reader.read();
+            while (null != element) {
+                elements.add(element);
+                element = reader.read();
+            }
+        }
+        return elements;
+    }
+
+    private static List<Object> getVertices(final List<Element> elements) {
+        final List<Object> vertices = new ArrayList<>();
+        for (final Element element : elements) {
+            vertices.add(((Entity) element).getVertex());
+        }
+        return vertices;
+    }
+
+    private static IdentifierType getFirstIdentifier(final String group) {
+        return TestGroups.ENTITY.equals(group)
+                ? IdentifierType.VERTEX
+                : IdentifierType.SOURCE;
+    }
+}
@@ -31,13 +31,23 @@ import scala.collection.JavaConversions$;
 import scala.collection.mutable.WrappedArray;
 
 import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.TestGroups;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterable;
 import uk.gov.gchq.gaffer.data.element.Edge;
 import uk.gov.gchq.gaffer.data.element.Element;
 import uk.gov.gchq.gaffer.data.element.Entity;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.data.util.ElementUtil;
 import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.data.EntitySeed;
 import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
+import uk.gov.gchq.gaffer.operation.io.Output;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.index.FileIndex;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
 import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
 import uk.gov.gchq.gaffer.parquetstore.utils.AggregateAndSortDataTest;
 import uk.gov.gchq.gaffer.parquetstore.utils.WriteUnsortedDataTest;
@@ -57,6 +67,7 @@ import java.util.TreeSet;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 public class AddElementsHandlerTest {
@@ -99,6 +110,8 @@ public class AddElementsHandlerTest {
         //   directory.
         assertTrue(fs.exists(new Path(snapshotPath, "group=BasicEntity/" + ParquetStore.getFile(0))));
         assertTrue(fs.exists(new Path(snapshotPath, "group=BasicEntity/." + ParquetStore.getFile(0) + ".crc")));
+        // - There should be an index for the file
+        assertTrue(fs.exists(FileIndex.getIndexPath(new Path(snapshotPath, "group=BasicEntity/" + ParquetStore.getFile(0)))));
         // - The files should contain the data sorted by vertex and date.
         final Row[] results = (Row[]) sparkSession
                 .read()
@@ -678,6 +691,111 @@ public class AddElementsHandlerTest {
         checkEdge(WriteUnsortedDataTest.createEdgeForEdgeGroup_2(1L, 2000L, false), results[7]);
     }
 
+    @Test
+    public void shouldAddElementsIncrementallyAndCompactDeltas() throws IOException, OperationException, StoreException {
+        // Given
+        final Context context = new Context();
+        final Schema schema = TestUtils.gafferSchema("schemaUsingLongVertexType");
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        final String testDir = testFolder.newFolder().getPath();
+        storeProperties.setDataDir(testDir + "/data");
+        storeProperties.setTempFilesDir(testDir + "/tmpdata");
+        storeProperties.setIncrementalIngest(true);
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+        final long snapshotId = store.getLatestSnapshot();
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder().entity(TestGroups.ENTITY).build())
+                .build();
+
+        // When
+        new AddElementsHandler().doOperation(new AddElements.Builder()
+                .input(AggregateAndSortDataTest.generateData())
+                .build(), context, store);
+        new AddElementsHandler().doOperation(new AddElements.Builder()
+                .input(AggregateAndSortDataTest.generateData())
+                .build(), context, store);
+
+        // Then
+        // - The elements should have been written to two deltas in the existing snapshot
+        assertEquals(snapshotId, store.getLatestSnapshot());
+        assertEquals(2, store.getDeltaFiles().getNumberOfDeltas());
+        // - The elements from the deltas should be aggregated when they are read
+        List<Element> results = getElements(store, getAllElements, context);
+        assertEquals(40, results.size());
+        for (final Element element : results) {
+            assertEquals(2, element.getProperty("count"));
+        }
+
+        // When
+        store.compactDeltas(SparkSessionProvider.getSparkSession());
+
+        // Then
+        // - A new snapshot with no deltas should have been created, containing the same elements
+        assertNotEquals(snapshotId, store.getLatestSnapshot());
+        assertEquals(0, store.getDeltaFiles().getNumberOfDeltas());
+        results = getElements(store, getAllElements, context);
+        assertEquals(40, results.size());
+        for (final Element element : results) {
+            assertEquals(2, element.getProperty("count"));
+        }
+    }
+
+    @Test
+    public void shouldReadTheSameElementsFromDeltasAsFromASnapshot() throws IOException, OperationException, StoreException {
+        // Given
+        final Context context = new Context();
+        final Schema schema = TestUtils.gafferSchema("schemaUsingLongVertexType");
+        final ParquetStore store = createStore(schema, false);
+        final ParquetStore incrementalStore = createStore(schema, true);
+        final View view = new View.Builder()
+                .entities(schema.getEntityGroups())
+                .edges(schema.getEdgeGroups())
+                .build();
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(view)
+                .build();
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed(5L), new EntitySeed(10L), new EntitySeed(15L))
+                .view(view)
+                .build();
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            new AddElementsHandler().doOperation(new AddElements.Builder()
+                    .input(DataGen.generate300LongElements(false))
+                    .build(), context, store);
+            new AddElementsHandler().doOperation(new AddElements.Builder()
+                    .input(DataGen.generate300LongElements(false))
+                    .build(), context, incrementalStore);
+        }
+
+        // Then
+        assertEquals(2, incrementalStore.getDeltaFiles().getNumberOfDeltas());
+        ElementUtil.assertElementEquals(getElements(store, getAllElements, context),
+                getElements(incrementalStore, getAllElements, context));
+        ElementUtil.assertElementEquals(getElements(store, getElements, context),
+                getElements(incrementalStore, getElements, context));
+    }
+
+    private ParquetStore createStore(final Schema schema, final boolean incrementalIngest) throws IOException, StoreException {
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        final String testDir = testFolder.newFolder().getPath();
+        storeProperties.setDataDir(testDir + "/data");
+        storeProperties.setTempFilesDir(testDir + "/tmpdata");
+        storeProperties.setIncrementalIngest(incrementalIngest);
+        return (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+    }
+
+    private static List<Element> getElements(final ParquetStore store,
+                                             final Output<CloseableIterable<? extends Element>> operation,
+                                             final Context context) throws OperationException {
+        final List<Element> results = new ArrayList<>();
+        try (final CloseableIterable<? extends Element> elements = store.execute(operation, context)) {
+            elements.forEach(results::add);
+        }
+        return results;
+    }
+
     @Test
     public void testWhenInputIsEmpty() {
         // TODO
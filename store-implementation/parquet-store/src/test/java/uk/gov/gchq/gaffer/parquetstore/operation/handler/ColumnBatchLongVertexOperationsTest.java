@@ -0,0 +1,40 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler;
+
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.store.StoreProperties;
+
+import java.io.IOException;
+
+/**
+ * Runs the {@link LongVertexOperationsTest} queries with the Parquet files read into column batches.
+ */
+public class ColumnBatchLongVertexOperationsTest extends LongVertexOperationsTest {
+
+    @Override
+    public StoreProperties createStoreProperties() {
+        try {
+            final ParquetStoreProperties properties = TestUtils.getParquetStoreProperties(testFolder);
+            properties.setReadColumnBatches(true);
+            return properties;
+        } catch (final IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
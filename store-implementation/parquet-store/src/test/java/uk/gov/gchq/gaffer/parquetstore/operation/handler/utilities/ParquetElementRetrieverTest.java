@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import uk.gov.gchq.gaffer.commonutil.CommonTestConstants;
+import uk.gov.gchq.gaffer.commonutil.iterable.CloseableIterator;
+import uk.gov.gchq.gaffer.data.element.Element;
+import uk.gov.gchq.gaffer.data.elementdefinition.view.View;
+import uk.gov.gchq.gaffer.operation.OperationException;
+import uk.gov.gchq.gaffer.operation.impl.add.AddElements;
+import uk.gov.gchq.gaffer.operation.impl.get.GetAllElements;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
+import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.AddElementsHandler;
+import uk.gov.gchq.gaffer.parquetstore.testutils.DataGen;
+import uk.gov.gchq.gaffer.parquetstore.testutils.TestUtils;
+import uk.gov.gchq.gaffer.store.Context;
+import uk.gov.gchq.gaffer.store.StoreException;
+import uk.gov.gchq.gaffer.store.schema.Schema;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ParquetElementRetrieverTest {
+    private static final long TIMEOUT_SECONDS = 60L;
+
+    @Rule
+    public final TemporaryFolder testFolder = new TemporaryFolder(CommonTestConstants.TMP_DIRECTORY);
+
+    @Test
+    public void shouldRunQueryWhilstAnotherQueryIsNotBeingConsumed() throws Exception {
+        // Given - a single thread for the queries and a queue that is smaller than the results
+        final Schema schema = TestUtils.gafferSchema("schemaUsingLongVertexType");
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        final String testDir = testFolder.newFolder().getPath();
+        storeProperties.setDataDir(testDir + "/data");
+        storeProperties.setTempFilesDir(testDir + "/tmpdata");
+        storeProperties.setThreadsAvailable(1);
+        storeProperties.setQueryQueueSize(5);
+        final ParquetStore store = createStore(schema, storeProperties);
+        final GetAllElements getAllElements = new GetAllElements.Builder()
+                .view(new View.Builder()
+                        .entities(schema.getEntityGroups())
+                        .edges(schema.getEdgeGroups())
+                        .build())
+                .build();
+        final int expectedNumberOfElements = count(new ParquetElementRetriever(store, getAllElements, null).iterator());
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        // When - the first query is stalled after reading one element
+        final CloseableIterator<Element> stalledQuery = new ParquetElementRetriever(store, getAllElements, null).iterator();
+        try {
+            assertTrue(stalledQuery.hasNext());
+            stalledQuery.next();
+            final Future<Integer> otherQuery = executor.submit(
+                    () -> count(new ParquetElementRetriever(store, getAllElements, null).iterator()));
+
+            // Then - the other query should still return all the elements
+            assertEquals(expectedNumberOfElements, (int) otherQuery.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            // - and the stalled query should carry on from where it stopped
+            assertEquals(expectedNumberOfElements - 1, count(stalledQuery));
+        } finally {
+            stalledQuery.close();
+            executor.shutdownNow();
+        }
+    }
+
+    private ParquetStore createStore(final Schema schema, final ParquetStoreProperties storeProperties)
+            throws StoreException, OperationException {
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+        new AddElementsHandler().doOperation(new AddElements.Builder()
+                .input(DataGen.generate300LongElements(false))
+                .build(), new Context(), store);
+        return store;
+    }
+
+    private static int count(final CloseableIterator<Element> iterator) {
+        int count = 0;
+        try {
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+        } finally {
+            iterator.close();
+        }
+        return count;
+    }
+}
@@ -16,6 +16,8 @@
 
 package uk.gov.gchq.gaffer.parquetstore.query;
 
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.parquet.filter2.predicate.FilterApi;
 import org.apache.parquet.filter2.predicate.FilterPredicate;
@@ -37,6 +39,7 @@ import uk.gov.gchq.gaffer.operation.impl.get.GetElements;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStore;
 import uk.gov.gchq.gaffer.parquetstore.ParquetStoreProperties;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.LongVertexOperationsTest;
+import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculateFileIndex;
 import uk.gov.gchq.gaffer.parquetstore.operation.handler.utilities.CalculatePartitionerTest;
 import uk.gov.gchq.gaffer.parquetstore.utils.SchemaUtils;
 import uk.gov.gchq.gaffer.store.schema.Schema;
@@ -45,12 +48,14 @@ import uk.gov.gchq.koryphe.impl.predicate.IsMoreThan;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.function.Predicate;
 
 import static org.apache.parquet.filter2.predicate.FilterApi.*;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 
 public class QueryGeneratorTest {
 
@@ -410,6 +415,117 @@ public class QueryGeneratorTest {
         assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
     }
 
+    @Test
+    public void testQueryGeneratorForGetElementsWithSortedSeeds() throws IOException, OperationException {
+        // Given
+        // - Create snapshot folder
+        final String folder = "file:///" + testFolder.newFolder().toString();
+        final String snapshotFolder = folder + "/" + ParquetStore.getSnapshotPath(1000L);
+        // - Write out Parquet files so know the partitioning
+        CalculatePartitionerTest.writeData(snapshotFolder, new SchemaUtils(schema));
+        // - Initialise store, sorting the seeds if there are 2 or more for a file
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        storeProperties.setDataDir(folder);
+        storeProperties.setTempFilesDir(folder + "/tmpdata");
+        storeProperties.setSortedSeedsThreshold(2);
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+
+        // When - no view, query for vertices 0 and 1
+        final GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed(1L), new EntitySeed(0L))
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .build();
+        final ParquetQuery query = new QueryGenerator(store).getParquetQuery(getElements);
+
+        // Then
+        final List<ParquetFileQuery> expected = new ArrayList<>();
+        final FilterPredicate vertex0or1 = SortedSeedPredicate.in(ParquetStore.VERTEX, Arrays.asList(0L, 1L));
+        final FilterPredicate source0or1 = SortedSeedPredicate.in(ParquetStore.SOURCE, Arrays.asList(0L, 1L));
+        final FilterPredicate destination0or1 = SortedSeedPredicate.in(ParquetStore.DESTINATION, Arrays.asList(0L, 1L));
+        for (final String group : Arrays.asList(TestGroups.ENTITY, TestGroups.ENTITY_2)) {
+            final Path groupFolderPath = new Path(snapshotFolder, ParquetStore.GROUP + "=" + group);
+            final Path pathForPartitionFile = new Path(groupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForPartitionFile, vertex0or1, true));
+        }
+        for (final String group : Arrays.asList(TestGroups.EDGE, TestGroups.EDGE_2)) {
+            final Path groupFolderPath = new Path(snapshotFolder, ParquetStore.GROUP + "=" + group);
+            final Path pathForPartitionFile = new Path(groupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForPartitionFile, source0or1, true));
+            final Path reversedGroupFolderPath = new Path(snapshotFolder, ParquetStore.REVERSED_GROUP + "=" + group);
+            final Path pathForReversedPartitionFile = new Path(reversedGroupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForReversedPartitionFile, destination0or1, true));
+        }
+        assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
+    }
+
+    @Test
+    public void testQueryGeneratorForGetElementsUsingFileIndices() throws IOException, OperationException {
+        // Given
+        // - Create snapshot folder
+        final String folder = "file:///" + testFolder.newFolder().toString();
+        final String snapshotFolder = folder + "/" + ParquetStore.getSnapshotPath(1000L);
+        // - Write out Parquet files so know the partitioning, and an index for each file
+        final SchemaUtils schemaUtils = new SchemaUtils(schema);
+        CalculatePartitionerTest.writeData(snapshotFolder, schemaUtils);
+        final FileSystem fs = new Path(snapshotFolder).getFileSystem(new Configuration());
+        for (final String group : schemaUtils.getGroups()) {
+            final List<String> directories = new ArrayList<>();
+            directories.add(ParquetStore.GROUP + "=" + group);
+            if (schemaUtils.getEdgeGroups().contains(group)) {
+                directories.add(ParquetStore.REVERSED_GROUP + "=" + group);
+            }
+            for (final String directory : directories) {
+                for (int partition = 0; partition < 10; partition++) {
+                    final Path file = new Path(new Path(snapshotFolder, directory), ParquetStore.getFile(partition));
+                    new CalculateFileIndex(file, schemaUtils, group, directory.startsWith(ParquetStore.REVERSED_GROUP), fs).call();
+                }
+            }
+        }
+        // - Initialise store
+        final ParquetStoreProperties storeProperties = new ParquetStoreProperties();
+        storeProperties.setDataDir(folder);
+        storeProperties.setTempFilesDir(folder + "/tmpdata");
+        final ParquetStore store = (ParquetStore) ParquetStore.createStore("graphId", schema, storeProperties);
+
+        // When 1 - no view, query for vertex 5
+        GetElements getElements = new GetElements.Builder()
+                .input(new EntitySeed(5L))
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .build();
+        ParquetQuery query = new QueryGenerator(store).getParquetQuery(getElements);
+
+        // Then 1 - only the first row group of each file needs to be read
+        final List<ParquetFileQuery> expected = new ArrayList<>();
+        final List<Integer> firstRowGroup = Collections.singletonList(0);
+        final FilterPredicate vertex5 = eq(FilterApi.longColumn(ParquetStore.VERTEX), 5L);
+        final FilterPredicate source5 = eq(FilterApi.longColumn(ParquetStore.SOURCE), 5L);
+        final FilterPredicate destination5 = eq(FilterApi.longColumn(ParquetStore.DESTINATION), 5L);
+        for (final String group : Arrays.asList(TestGroups.ENTITY, TestGroups.ENTITY_2)) {
+            final Path groupFolderPath = new Path(snapshotFolder, ParquetStore.GROUP + "=" + group);
+            final Path pathForPartitionFile = new Path(groupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForPartitionFile, vertex5, true, Collections.emptyList(), firstRowGroup));
+        }
+        for (final String group : Arrays.asList(TestGroups.EDGE, TestGroups.EDGE_2)) {
+            final Path groupFolderPath = new Path(snapshotFolder, ParquetStore.GROUP + "=" + group);
+            final Path pathForPartitionFile = new Path(groupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForPartitionFile, source5, true, Collections.emptyList(), firstRowGroup));
+            final Path reversedGroupFolderPath = new Path(snapshotFolder, ParquetStore.REVERSED_GROUP + "=" + group);
+            final Path pathForReversedPartitionFile = new Path(reversedGroupFolderPath, ParquetStore.getFile(0));
+            expected.add(new ParquetFileQuery(pathForReversedPartitionFile, destination5, true, Collections.emptyList(), firstRowGroup));
+        }
+        assertThat(expected, containsInAnyOrder(query.getAllParquetFileQueries().toArray()));
+
+        // When 2 - no view, query for vertex 1000000 which is not in any of the files
+        getElements = new GetElements.Builder()
+                .input(new EntitySeed(1000000L))
+                .seedMatching(SeedMatching.SeedMatchingType.RELATED)
+                .build();
+        query = new QueryGenerator(store).getParquetQuery(getElements);
+
+        // Then 2 - the indices show that none of the files need to be read
+        assertTrue(query.isEmpty());
+    }
+
     public static class IsEvenFilter implements Predicate<Integer> {
 
         @Override
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.query;
+
+import org.apache.parquet.filter2.predicate.FilterPredicate;
+import org.apache.parquet.filter2.predicate.Operators.UserDefinedByInstance;
+import org.apache.parquet.filter2.predicate.Statistics;
+import org.apache.parquet.io.api.Binary;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SortedSeedPredicateTest {
+
+    @Test
+    public void shouldKeepSeedsWhenValuesIncrease() {
+        // Given
+        final SortedSeedPredicate<Long> predicate = getPredicate(SortedSeedPredicate.in("vertex", Arrays.asList(50L, 2L, 8L, 8L, 1000L)));
+
+        // When / Then
+        for (long value = 0L; value < 2000L; value++) {
+            assertEquals(value == 2L || value == 8L || value == 50L || value == 1000L, predicate.keep(value));
+        }
+        assertEquals(4, predicate.getNumberOfSeeds());
+    }
+
+    @Test
+    public void shouldKeepSeedsWhenValuesAreNotInOrder() {
+        // Given
+        final SortedSeedPredicate<Long> predicate = getPredicate(SortedSeedPredicate.in("vertex", Arrays.asList(1L, 5L, 9L)));
+
+        // When / Then
+        assertTrue(predicate.keep(9L));
+        assertTrue(predicate.keep(1L));
+        assertFalse(predicate.keep(4L));
+        assertTrue(predicate.keep(5L));
+        assertFalse(predicate.keep(0L));
+        assertFalse(predicate.keep(10L));
+        assertTrue(predicate.keep(5L));
+        assertFalse(predicate.keep(null));
+    }
+
+    @Test
+    public void shouldDropRowGroupsThatContainNoSeeds() {
+        // Given
+        final SortedSeedPredicate<Binary> predicate = getPredicate(SortedSeedPredicate.in("vertex", Arrays.asList("b", "x")));
+
+        // When / Then
+        assertTrue(predicate.canDrop(new Statistics<>(Binary.fromString("c"), Binary.fromString("w"))));
+        assertTrue(predicate.canDrop(new Statistics<>(Binary.fromString("y"), Binary.fromString("z"))));
+        assertTrue(predicate.canDrop(new Statistics<>(Binary.fromString("a"), Binary.fromString("a"))));
+        assertFalse(predicate.canDrop(new Statistics<>(Binary.fromString("a"), Binary.fromString("c"))));
+        assertFalse(predicate.canDrop(new Statistics<>(Binary.fromString("x"), Binary.fromString("x"))));
+        assertFalse(predicate.canDrop(new Statistics<>(Binary.fromString("c"), Binary.fromString("y"))));
+        assertFalse(predicate.inverseCanDrop(new Statistics<>(Binary.fromString("b"), Binary.fromString("b"))));
+    }
+
+    @Test
+    public void shouldOnlyCreatePredicateForSupportedTypes() {
+        assertNull(SortedSeedPredicate.in("vertex", Collections.emptyList()));
+        assertNull(SortedSeedPredicate.in("vertex", Arrays.asList(true, false)));
+        assertNull(SortedSeedPredicate.in("vertex", Arrays.asList(1L, "A")));
+        assertEquals(SortedSeedPredicate.in("vertex", Arrays.asList(1, 2)),
+                SortedSeedPredicate.in("vertex", Arrays.asList((short) 2, (short) 1)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends Comparable<T>> SortedSeedPredicate<T> getPredicate(final FilterPredicate filterPredicate) {
+        return (SortedSeedPredicate<T>) ((UserDefinedByInstance) filterPredicate).getUserDefinedPredicate();
+    }
+}
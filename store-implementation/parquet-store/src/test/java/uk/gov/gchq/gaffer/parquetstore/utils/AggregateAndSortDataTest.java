@@ -104,7 +104,7 @@ public class AggregateAndSortDataTest {
         final String outputFolder = testFolder.newFolder().getAbsolutePath() + "/aggregated";
 
         // When
-        new AggregateAndSortData(schemaUtils, fs, inputFiles, outputFolder, TestGroups.ENTITY, "test", false, CompressionCodecName.GZIP, sparkSession)
+        new AggregateAndSortData(schemaUtils, fs, inputFiles, outputFolder, TestGroups.ENTITY, "test", false, CompressionCodecName.GZIP, sparkSession, true)
                 .call();
 
         // Then
@@ -0,0 +1,200 @@
+/*
+ * Copyright 2019 Crown Copyright
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package uk.gov.gchq.gaffer.parquetstore.utils;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ParquetTaskSchedulerTest {
+    private static final long TIMEOUT_SECONDS = 10L;
+
+    private ParquetTaskScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new ParquetTaskScheduler("test", 4);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdown();
+    }
+
+    @Test
+    public void shouldRunAllTasksInSession() throws InterruptedException, ExecutionException {
+        // Given
+        final ParquetTaskScheduler.Session session = scheduler.createSession("session", 2);
+        final List<Callable<Integer>> tasks = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            final int result = i;
+            tasks.add(() -> result);
+        }
+
+        // When
+        final List<Future<Integer>> futures = session.invokeAll(tasks);
+        session.shutdown();
+
+        // Then
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, (int) futures.get(i).get());
+        }
+        assertTrue(session.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getNumberOfSessions());
+    }
+
+    @Test
+    public void shouldNotRunMoreTasksThanParallelismOfSession() throws InterruptedException {
+        // Given
+        final ParquetTaskScheduler.Session session = scheduler.createSession("session", 2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            session.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep();
+                running.decrementAndGet();
+            });
+        }
+        session.shutdown();
+
+        // Then
+        assertTrue(session.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+    }
+
+    @Test
+    public void shouldRunTasksOfNewSessionWhilstOtherSessionHasQueuedTasks() throws InterruptedException {
+        // Given - a session that would use all the threads for a long time if it was allowed to
+        final CountDownLatch release = new CountDownLatch(1);
+        final ParquetTaskScheduler.Session busySession = scheduler.createSession("busy", 2);
+        for (int i = 0; i < 100; i++) {
+            busySession.execute(() -> await(release));
+        }
+
+        // When
+        final ParquetTaskScheduler.Session session = scheduler.createSession("session", 2);
+        final CountDownLatch ran = new CountDownLatch(2);
+        session.execute(ran::countDown);
+        session.execute(ran::countDown);
+
+        // Then
+        assertTrue(ran.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(2, busySession.getActiveTasks());
+        assertEquals(98, busySession.getPendingTasks());
+        assertEquals(98, scheduler.getQueuedTasks());
+        release.countDown();
+    }
+
+    @Test
+    public void shouldLimitParallelismOfSessionToMaxConcurrentTasks() {
+        // When
+        final ParquetTaskScheduler.Session session = scheduler.createSession("session", 100);
+
+        // Then
+        assertEquals(4, session.getParallelism());
+    }
+
+    @Test
+    public void shouldInterruptRunningTasksAndDropPendingTasksOnShutdownNow() throws InterruptedException {
+        // Given
+        final ParquetTaskScheduler.Session session = scheduler.createSession("session", 1);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch interrupted = new CountDownLatch(1);
+        session.execute(() -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await();
+            } catch (final InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        session.execute(() -> {
+        });
+        assertTrue(started.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+
+        // When
+        final List<Runnable> pendingTasks = session.shutdownNow();
+
+        // Then
+        assertEquals(1, pendingTasks.size());
+        assertTrue(interrupted.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(session.awaitTermination(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertEquals(0, scheduler.getNumberOfSessions());
+    }
+
+    @Test(expected = RejectedExecutionException.class)
+    public void shouldRejectTasksAfterShutdown() {
+        // Given
+        final ParquetTaskScheduler.Session session = scheduler.createSession("session", 1);
+        session.shutdown();
+
+        // When
+        session.execute(() -> {
+        });
+    }
+
+    @Test
+    public void shouldNotAffectOtherSessionsWhenSessionIsShutDown() throws InterruptedException {
+        // Given
+        final ParquetTaskScheduler.Session session = scheduler.createSession("session", 1);
+        final ParquetTaskScheduler.Session otherSession = scheduler.createSession("other", 1);
+        session.shutdownNow();
+
+        // When
+        final CountDownLatch ran = new CountDownLatch(1);
+        otherSession.execute(ran::countDown);
+
+        // Then
+        assertTrue(ran.await(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertTrue(session.isTerminated());
+        assertFalse(otherSession.isShutdown());
+        assertEquals(1, scheduler.getNumberOfSessions());
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(10L);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}